@@ -0,0 +1,36 @@
+-- Structured product locations ([ZONE-]AISLE-RACK-BIN) for existing databases
+-- Oracle Database 21c XE
+
+ALTER TABLE products ADD (
+    loc_zone VARCHAR2(10),
+    loc_aisle VARCHAR2(5),
+    loc_rack NUMBER(4),
+    loc_bin NUMBER(4)
+);
+
+-- AISLE-RACK-BIN codes go to the default zone
+UPDATE products
+SET loc_zone = 'MAIN',
+    loc_aisle = CASE
+        WHEN REGEXP_LIKE(REGEXP_SUBSTR(UPPER(location), '[^-]+', 1, 1), '^[0-9]+$')
+        THEN TO_CHAR(TO_NUMBER(REGEXP_SUBSTR(location, '[^-]+', 1, 1)))
+        ELSE REGEXP_SUBSTR(UPPER(location), '[^-]+', 1, 1)
+    END,
+    loc_rack = TO_NUMBER(REGEXP_SUBSTR(location, '[^-]+', 1, 2)),
+    loc_bin = TO_NUMBER(REGEXP_SUBSTR(location, '[^-]+', 1, 3))
+WHERE REGEXP_LIKE(UPPER(TRIM(location)), '^[A-Z0-9]{1,5}-[0-9]{1,4}-[0-9]{1,4}$');
+
+UPDATE products
+SET loc_zone = REGEXP_SUBSTR(UPPER(location), '[^-]+', 1, 1),
+    loc_aisle = CASE
+        WHEN REGEXP_LIKE(REGEXP_SUBSTR(UPPER(location), '[^-]+', 1, 2), '^[0-9]+$')
+        THEN TO_CHAR(TO_NUMBER(REGEXP_SUBSTR(location, '[^-]+', 1, 2)))
+        ELSE REGEXP_SUBSTR(UPPER(location), '[^-]+', 1, 2)
+    END,
+    loc_rack = TO_NUMBER(REGEXP_SUBSTR(location, '[^-]+', 1, 3)),
+    loc_bin = TO_NUMBER(REGEXP_SUBSTR(location, '[^-]+', 1, 4))
+WHERE REGEXP_LIKE(UPPER(TRIM(location)), '^[A-Z0-9]{1,10}-[A-Z0-9]{1,5}-[0-9]{1,4}-[0-9]{1,4}$');
+
+CREATE INDEX idx_product_location ON products(loc_zone, loc_aisle, loc_rack, loc_bin);
+
+COMMIT;
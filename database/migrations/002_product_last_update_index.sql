@@ -0,0 +1,5 @@
+-- Index on products.last_update for existing databases
+-- Oracle Database 21c XE
+-- Lets a warm start refetch only the products changed since its snapshot was written
+
+CREATE INDEX idx_product_last_update ON products(last_update);
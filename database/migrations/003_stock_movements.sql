@@ -0,0 +1,16 @@
+-- Stock movement ledger for existing databases
+-- Oracle Database 21c XE
+-- Movements are append-only, so a product with stock history can no longer be deleted
+
+CREATE TABLE stock_movements (
+    id NUMBER GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    product_id NUMBER NOT NULL,
+    movement_type VARCHAR2(20) NOT NULL CHECK (movement_type IN ('RECEIPT', 'COUNT_ADJUSTMENT')),
+    quantity NUMBER NOT NULL,
+    reference VARCHAR2(50) NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_movement_product FOREIGN KEY (product_id) REFERENCES products(id)
+);
+
+CREATE INDEX idx_movement_product ON stock_movements(product_id);
+CREATE INDEX idx_movement_reference ON stock_movements(reference);
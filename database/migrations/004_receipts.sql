@@ -0,0 +1,14 @@
+-- Receipt headers for existing databases
+-- Oracle Database 21c XE
+-- The unique reference stops an ASN from being received twice, even by concurrent postings
+
+CREATE TABLE receipts (
+    id NUMBER GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    reference VARCHAR2(50) NOT NULL UNIQUE,
+    received_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+INSERT INTO receipts (reference, received_at)
+SELECT reference, MIN(created_at) FROM stock_movements WHERE movement_type = 'RECEIPT' GROUP BY reference;
+
+COMMIT;
@@ -1,6 +1,8 @@
 -- E-COMMERCE WAREHOUSE SYSTEM - DATABASE SCHEMA
 -- Oracle Database 21c XE
 
+DROP TABLE receipts CASCADE CONSTRAINTS;
+DROP TABLE stock_movements CASCADE CONSTRAINTS;
 DROP TABLE products CASCADE CONSTRAINTS;
 DROP TABLE categories CASCADE CONSTRAINTS;
 DROP TABLE users CASCADE CONSTRAINTS;
@@ -32,6 +34,10 @@ CREATE TABLE products (
     reserved_stock NUMBER DEFAULT 0 CHECK (reserved_stock >= 0),
     min_stock NUMBER DEFAULT 5 CHECK (min_stock >= 0),
     location VARCHAR2(20),
+    loc_zone VARCHAR2(10),
+    loc_aisle VARCHAR2(5),
+    loc_rack NUMBER(4),
+    loc_bin NUMBER(4),
     status VARCHAR2(20) NOT NULL CHECK (status IN ('AVAILABLE', 'LOW_STOCK', 'OUT_OF_STOCK')),
     category_id NUMBER NOT NULL,
     last_update TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
@@ -41,4 +47,26 @@ CREATE TABLE products (
 CREATE INDEX idx_product_sku ON products(sku);
 CREATE INDEX idx_product_category ON products(category_id);
 CREATE INDEX idx_product_status ON products(status);
-CREATE INDEX idx_user_username ON users(username);
\ No newline at end of file
+CREATE INDEX idx_product_location ON products(loc_zone, loc_aisle, loc_rack, loc_bin);
+CREATE INDEX idx_product_last_update ON products(last_update);
+CREATE INDEX idx_user_username ON users(username);
+
+CREATE TABLE stock_movements (
+    id NUMBER GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    product_id NUMBER NOT NULL,
+    movement_type VARCHAR2(20) NOT NULL CHECK (movement_type IN ('RECEIPT', 'COUNT_ADJUSTMENT')),
+    quantity NUMBER NOT NULL,
+    reference VARCHAR2(50) NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_movement_product FOREIGN KEY (product_id) REFERENCES products(id)
+);
+
+CREATE INDEX idx_movement_product ON stock_movements(product_id);
+CREATE INDEX idx_movement_reference ON stock_movements(reference);
+
+-- One row per posted delivery. The unique reference stops an ASN from being received twice
+CREATE TABLE receipts (
+    id NUMBER GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    reference VARCHAR2(50) NOT NULL UNIQUE,
+    received_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
\ No newline at end of file
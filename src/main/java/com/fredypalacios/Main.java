@@ -1,30 +1,99 @@
 package com.fredypalacios;
 
+import java.io.BufferedReader;
+import java.io.Console;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
 import java.util.Scanner;
 
 import static com.fredypalacios.ui.utils.MessagesUI.*;
 import static com.fredypalacios.ui.utils.ConsoleColors.*;
 
+import com.fredypalacios.model.ScanSummary;
+import com.fredypalacios.model.Session;
+import com.fredypalacios.security.AccessGuard;
+import com.fredypalacios.service.LoginService;
+import com.fredypalacios.service.ScanIngestionService;
 import com.fredypalacios.ui.MenuServiceUI;
+import com.fredypalacios.utils.AuthenticationException;
 
 public class Main {
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--scan")) {
+            runScanMode(args.length > 1 ? Path.of(args[1]) : null);
+            return;
+        }
+
         Scanner scanner = new Scanner(System.in);
 
         try (scanner) {
             MenuServiceUI menuServiceUI = new MenuServiceUI(scanner);
+            Runtime.getRuntime().addShutdownHook(new Thread(menuServiceUI::shutdown, "catalog-snapshot"));
+            menuServiceUI.startCacheWarmUp();
             showWelcome();
-            runApplication(menuServiceUI);
+            if (menuServiceUI.login()) {
+                runApplication(menuServiceUI);
+            } else {
+                showGoodbye();
+            }
         } catch (Exception e) {
             System.out.println(error(Prefix.ERROR + e.getMessage()));
             e.printStackTrace();
         }
     }
 
+    // Headless receiving by barcode: scans from a file or piped from a scanner into stdin, without
+    // the interactive menus in the way. It signs in first, like the console, so only roles that may
+    // receive stock can post.
+    private static void runScanMode(Path file) {
+        try (BufferedReader reader = file != null
+                ? Files.newBufferedReader(file, StandardCharsets.UTF_8)
+                : new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))) {
+            AccessGuard accessGuard = AccessGuard.signedOut();
+            accessGuard.signIn(signInForScans());
+            ScanSummary summary = new ScanIngestionService(accessGuard).ingest(reader);
+            System.out.printf("%,d scan(s), %,d unit(s) received in %,d batch(es), %,.0f scans/s%n",
+                    summary.scans(), summary.units(), summary.batches(), summary.scansPerSecond());
+            if (!summary.unknownSkus().isEmpty()) {
+                System.out.println(warning(Prefix.WARNING + " Unknown SKU(s): " + String.join(", ", summary.unknownSkus())));
+            }
+        } catch (Exception e) {
+            System.out.println(error(Prefix.ERROR + e.getMessage()));
+            System.exit(1);
+        }
+    }
+
+    // Stdin may be carrying the scans, so credentials come from WAREHOUSE_USER and WAREHOUSE_PASSWORD
+    // when set, otherwise from a prompt on the terminal
+    private static Session signInForScans() throws AuthenticationException, SQLException {
+        String username = System.getenv("WAREHOUSE_USER");
+        String password = System.getenv("WAREHOUSE_PASSWORD");
+        Console console = System.console();
+        if ((username == null || password == null) && console != null) {
+            username = console.readLine("Username: ");
+            char[] typed = console.readPassword("Password: ");
+            password = typed == null ? null : new String(typed);
+        }
+        if (username == null || password == null) {
+            throw new AuthenticationException("Scan mode needs WAREHOUSE_USER and WAREHOUSE_PASSWORD, or a terminal to sign in on");
+        }
+        return new LoginService().login(username, password);
+    }
+
     private static void runApplication(MenuServiceUI menuServiceUI) throws Exception {
         boolean running = true;
 
         while (running) {
+            if (!menuServiceUI.isSignedIn()) {
+                System.out.println(warning(Prefix.WARNING + " Your session has ended, please sign in again"));
+                Thread.sleep(1500);
+                if (!menuServiceUI.login()) {
+                    break;
+                }
+            }
             clearScreen();
             menuServiceUI.showMainMenu();
 
@@ -36,6 +105,7 @@ public class Main {
                 menuServiceUI.handleMainMenuOption(option);
             }
         }
+        menuServiceUI.logout();
         showGoodbye();
     }
 }
\ No newline at end of file
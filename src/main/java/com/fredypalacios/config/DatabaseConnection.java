@@ -32,10 +32,8 @@ public class DatabaseConnection {
     public static Connection getConnection() {
         try {
             Class.forName("oracle.jdbc.driver.OracleDriver");
-            Connection connection =
-                    DriverManager.getConnection(URL, USER, PASSWORD);
-            System.out.println("Successfully connected to Oracle Database");
-            return connection;
+            // DAOs open a connection per call, some from the background warm-up, so success is silent
+            return DriverManager.getConnection(URL, USER, PASSWORD);
         } catch (ClassNotFoundException e) {
             System.err.println("Oracle JDBC Driver not found");
             throw new RuntimeException(e);
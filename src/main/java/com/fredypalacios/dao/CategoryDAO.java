@@ -1,15 +1,25 @@
 package com.fredypalacios.dao;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
 import java.util.function.Supplier;
 
 import com.fredypalacios.dao.base.AbstractDAO;
+import com.fredypalacios.dao.base.GenericDAO;
+import com.fredypalacios.dao.base.BatchLoader;
+import com.fredypalacios.dao.base.RowHandler;
 import com.fredypalacios.model.Category;
 
-public class CategoryDAO extends AbstractDAO<Category, Integer> {
+public class CategoryDAO extends AbstractDAO<Category, Integer> implements GenericDAO<Category, Integer> {
+
+    private static final String INSERT_SQL = """
+        INSERT INTO categories(name, description, active)
+        VALUES (?, ?, ?)
+        """;
 
     public CategoryDAO() {
         super();
@@ -31,15 +41,16 @@ public class CategoryDAO extends AbstractDAO<Category, Integer> {
 
     @Override
     public boolean create(Category category) throws SQLException {
-        String sql = """
-            INSERT INTO categories(name, description, active)
-            VALUES (?, ?, ?)
-            """;
-        return executeUpdate(sql, preparedStatement -> {
-            preparedStatement.setString(1, category.name());
-            preparedStatement.setString(2, category.description());
-            preparedStatement.setInt(3, category.active() ? 1 : 0);
-        }) > 0;
+        return executeUpdate(INSERT_SQL, preparedStatement -> bindInsertColumns(preparedStatement, category)) > 0;
+    }
+
+    // Plain batched insert in one transaction; names must not exist yet
+    public int createAll(List<Category> categories) throws SQLException {
+        int created = 0;
+        for (int count : executeBatch(INSERT_SQL, categories, CategoryDAO::bindInsertColumns)) {
+            created += count;
+        }
+        return created;
     }
 
     @Override
@@ -76,10 +87,40 @@ public class CategoryDAO extends AbstractDAO<Category, Integer> {
         return executeQueryForList("SELECT * FROM categories ORDER BY name");
     }
 
+    public long forEach(RowHandler<Category> handler) throws SQLException {
+        return executeQueryForEach("""
+            SELECT * FROM categories ORDER BY id
+            """, handler);
+    }
+
+    public long countAll() throws SQLException {
+        return count("categories");
+    }
+
     public List<Category> findAllActive() throws SQLException {
         String sql = """
             SELECT * FROM categories WHERE active = 1 ORDER BY name
             """;
         return executeQueryForList(sql);
     }
-}
\ No newline at end of file
+
+    public List<Category> findByIds(Collection<Integer> ids) throws SQLException {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return executeQueryForListIn("""
+            SELECT * FROM categories WHERE id IN (%s)
+            """, ids);
+    }
+
+    // Loader to resolve categories of many rows with one query per scope
+    public BatchLoader<Integer, Category> newLoader() {
+        return BatchLoader.of(this::findByIds, Category::id);
+    }
+
+    private static void bindInsertColumns(PreparedStatement preparedStatement, Category category) throws SQLException {
+        preparedStatement.setString(1, category.name());
+        preparedStatement.setString(2, category.description());
+        preparedStatement.setInt(3, category.active() ? 1 : 0);
+    }
+}
@@ -1,16 +1,88 @@
 package com.fredypalacios.dao;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.function.Supplier;
 
 import com.fredypalacios.dao.base.AbstractDAO;
+import com.fredypalacios.dao.base.GenericDAO;
+import com.fredypalacios.dao.base.BatchLoader;
+import com.fredypalacios.dao.base.RowHandler;
+import com.fredypalacios.dao.base.SqlDialect;
+import com.fredypalacios.enums.MovementType;
+import com.fredypalacios.enums.ProductInsertResult;
 import com.fredypalacios.enums.ProductStatus;
+import com.fredypalacios.enums.UpsertOutcome;
+import com.fredypalacios.model.Location;
 import com.fredypalacios.model.Product;
+import com.fredypalacios.model.StockMovement;
+import com.fredypalacios.model.StockVariance;
+import com.fredypalacios.model.UpsertSummary;
 
-public class ProductDAO extends AbstractDAO<Product, Integer> {
+public class ProductDAO extends AbstractDAO<Product, Integer> implements GenericDAO<Product, Integer> {
+
+    private static final String INSERT_SQL = """
+        INSERT INTO products (sku, name, description, price, stock, reserved_stock, min_stock, location,
+                              loc_zone, loc_aisle, loc_rack, loc_bin, status, category_id)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+
+    private static final String GUARDED_INSERT_SQL = """
+        INSERT INTO products (sku, name, description, price, stock, reserved_stock, min_stock, location,
+                              loc_zone, loc_aisle, loc_rack, loc_bin, status, category_id)
+        SELECT ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, c.id FROM categories c WHERE c.id = ? AND c.active = 1
+        """;
+
+    private static final String MERGE_SOURCE = """
+        MERGE INTO products p
+        USING (
+            SELECT CAST(? AS VARCHAR2(50)) AS sku, CAST(? AS VARCHAR2(100)) AS name,
+                   CAST(? AS VARCHAR2(255)) AS description, CAST(? AS NUMBER(10,2)) AS price,
+                   CAST(? AS NUMBER) AS stock, CAST(? AS NUMBER) AS min_stock,
+                   CAST(? AS VARCHAR2(20)) AS location, CAST(? AS VARCHAR2(10)) AS loc_zone,
+                   CAST(? AS VARCHAR2(5)) AS loc_aisle, CAST(? AS NUMBER(4)) AS loc_rack,
+                   CAST(? AS NUMBER(4)) AS loc_bin, CAST(? AS VARCHAR2(20)) AS status,
+                   CAST(? AS NUMBER) AS category_id
+            FROM dual
+        ) s
+        ON (p.sku = s.sku)
+        """;
+
+    // DECODE compares NULLs as equal, so rows whose columns all match are left untouched
+    private static final String MERGE_CHANGED = """
+        DECODE(p.name, s.name, 0, 1) = 1 OR DECODE(p.description, s.description, 0, 1) = 1
+            OR p.price <> s.price OR p.stock <> s.stock OR p.min_stock <> s.min_stock
+            OR DECODE(p.location, s.location, 0, 1) = 1 OR p.status <> s.status
+            OR p.category_id <> s.category_id
+        """;
+
+    private static final String MERGE_UPDATE = """
+        UPDATE SET name = s.name, description = s.description, price = s.price, stock = s.stock,
+            min_stock = s.min_stock, location = s.location, loc_zone = s.loc_zone, loc_aisle = s.loc_aisle,
+            loc_rack = s.loc_rack, loc_bin = s.loc_bin, status = s.status,
+            category_id = s.category_id, last_update = CURRENT_TIMESTAMP
+        """;
+
+    private static final String MERGE_INSERT = """
+        WHEN NOT MATCHED THEN INSERT (sku, name, description, price, stock, min_stock, location,
+                                      loc_zone, loc_aisle, loc_rack, loc_bin, status, category_id)
+        VALUES (s.sku, s.name, s.description, s.price, s.stock, s.min_stock, s.location,
+                s.loc_zone, s.loc_aisle, s.loc_rack, s.loc_bin, s.status, s.category_id)
+        """;
 
     public ProductDAO() {
         super();
@@ -40,44 +112,73 @@ public class ProductDAO extends AbstractDAO<Product, Integer> {
 
     @Override
     public boolean create(Product product) throws SQLException {
-        String sql = """
-            INSERT INTO products (sku, name, description, price, stock, reserved_stock, min_stock, location, status, category_id)
-            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
-            """;
-        return executeUpdate(sql, preparedStatement -> {
-            preparedStatement.setString(1, product.sku());
-            preparedStatement.setString(2, product.name());
-            preparedStatement.setString(3, product.description());
-            preparedStatement.setDouble(4, product.price());
-            preparedStatement.setInt(5, product.stock());
-            preparedStatement.setInt(6, product.reservedStock());
-            preparedStatement.setInt(7, product.minStock());
-            preparedStatement.setString(8, product.location());
-            preparedStatement.setString(9, product.status().name());
-            preparedStatement.setInt(10, product.categoryId());
+        return executeUpdate(INSERT_SQL, preparedStatement -> {
+            bindInsertColumns(preparedStatement, product);
+            preparedStatement.setInt(14, product.categoryId());
         }) > 0;
     }
 
+    // Plain batched insert in one transaction; callers check categories and SKU uniqueness first
+    public int createAll(List<Product> products) throws SQLException {
+        int created = 0;
+        for (int count : executeBatch(INSERT_SQL, products, (preparedStatement, product) -> {
+            bindInsertColumns(preparedStatement, product);
+            preparedStatement.setInt(14, product.categoryId());
+        })) {
+            created += count;
+        }
+        return created;
+    }
+
+    // Inserts only if the category exists and is active, checked by the INSERT itself in one round trip
+    public ProductInsertResult createInActiveCategory(Product product) throws SQLException {
+        return createAllInActiveCategory(List.of(product)).get(0);
+    }
+
+    // Batched form for bulk imports; one result per product, in order
+    public List<ProductInsertResult> createAllInActiveCategory(List<Product> products) throws SQLException {
+        if (products.isEmpty()) {
+            return List.of();
+        }
+
+        return executeInTransaction(connection -> {
+            int[] counts = executeBatch(connection, GUARDED_INSERT_SQL, products, (preparedStatement, product) -> {
+                bindInsertColumns(preparedStatement, product);
+                preparedStatement.setInt(14, product.categoryId());
+            }, DEFAULT_BATCH_SIZE);
+
+            List<ProductInsertResult> results = new ArrayList<>(products.size());
+            Map<Integer, ProductInsertResult> failures = new HashMap<>();
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > 0) {
+                    results.add(ProductInsertResult.CREATED);
+                } else {
+                    int categoryId = products.get(i).categoryId();
+                    ProductInsertResult failure = failures.get(categoryId);
+                    if (failure == null) {
+                        failure = categoryFailure(connection, categoryId);
+                        failures.put(categoryId, failure);
+                    }
+                    results.add(failure);
+                }
+            }
+            return results;
+        });
+    }
+
     @Override
     public boolean update(Product product) throws SQLException {
         String sql = """
             UPDATE products
             SET sku = ?, name = ?, description = ?, price = ?, stock = ?, reserved_stock = ?, min_stock = ?,
-                location = ?, status = ?, category_id = ?, last_update = CURRENT_TIMESTAMP
+                location = ?, loc_zone = ?, loc_aisle = ?, loc_rack = ?, loc_bin = ?, status = ?, category_id = ?,
+                last_update = CURRENT_TIMESTAMP
             WHERE id = ?
             """;
         return executeUpdate(sql, preparedStatement -> {
-            preparedStatement.setString(1, product.sku());
-            preparedStatement.setString(2, product.name());
-            preparedStatement.setString(3, product.description());
-            preparedStatement.setDouble(4, product.price());
-            preparedStatement.setInt(5, product.stock());
-            preparedStatement.setInt(6, product.reservedStock());
-            preparedStatement.setInt(7, product.minStock());
-            preparedStatement.setString(8, product.location());
-            preparedStatement.setString(9, product.status().name());
-            preparedStatement.setInt(10, product.categoryId());
-            preparedStatement.setInt(11, product.id());
+            bindInsertColumns(preparedStatement, product);
+            preparedStatement.setInt(14, product.categoryId());
+            preparedStatement.setInt(15, product.id());
         }) > 0;
     }
 
@@ -104,6 +205,46 @@ public class ProductDAO extends AbstractDAO<Product, Integer> {
             """);
     }
 
+    public long forEach(RowHandler<Product> handler) throws SQLException {
+        return executeQueryForEach("""
+            SELECT * FROM products ORDER BY id
+            """, handler);
+    }
+
+    // Streams rows in binary SKU order, the order String.compareTo uses. Oracle sorts by the session's
+    // NLS_SORT, which may be linguistic, so it is told to compare bytes instead.
+    public long forEachOrderedBySku(RowHandler<Product> handler) throws SQLException {
+        String orderBy = getDialect() == SqlDialect.ORACLE ? "NLSSORT(sku, 'NLS_SORT=BINARY')" : "sku";
+        return executeQueryForEach("SELECT * FROM products ORDER BY " + orderBy, handler);
+    }
+
+    // Rows written at or after the given time, the only rows a snapshot-restored cache has to refetch
+    public List<Product> findUpdatedSince(LocalDateTime since) throws SQLException {
+        String sql = """
+            SELECT * FROM products WHERE last_update >= ? ORDER BY id
+            """;
+        return executeQueryForList(sql, preparedStatement -> preparedStatement.setTimestamp(1, Timestamp.valueOf(since)));
+    }
+
+    // All product ids as a bit set: one bit per id is enough to spot rows deleted since a snapshot
+    public BitSet findAllIds() throws SQLException {
+        BitSet ids = new BitSet();
+        try (
+            Connection connection = getConnection();
+            PreparedStatement preparedStatement = connection.prepareStatement(
+                "SELECT id FROM products", ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY
+            )
+        ) {
+            preparedStatement.setFetchSize(STREAM_FETCH_SIZE);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    ids.set(resultSet.getInt(1));
+                }
+            }
+        }
+        return ids;
+    }
+
     public Product findBySku(String sku) throws SQLException {
         String sql = """
             SELECT * FROM products WHERE sku = ?
@@ -111,6 +252,136 @@ public class ProductDAO extends AbstractDAO<Product, Integer> {
         return executeQueryForOne(sql, preparedStatement -> preparedStatement.setString(1, sku));
     }
 
+    // Inserts the product or updates the row with the same SKU; reserved stock is never overwritten
+    public UpsertOutcome upsertBySku(Product product) throws SQLException {
+        return upsertAll(List.of(product)).get(0);
+    }
+
+    // Batched MERGE for catalog feeds; rows identical to the stored ones are not rewritten
+    public UpsertSummary upsertAllBySku(List<Product> products) throws SQLException {
+        return UpsertSummary.of(upsertAll(products));
+    }
+
+    private List<UpsertOutcome> upsertAll(List<Product> products) throws SQLException {
+        if (products.isEmpty()) {
+            return List.of();
+        }
+
+        return executeInTransaction(connection -> {
+            Set<String> knownSkus = findExistingSkus(
+                connection,
+                products.stream().map(Product::sku).distinct().toList()
+            );
+
+            int[] counts = executeBatch(connection, mergeSql(getDialect(connection)), products,
+                (preparedStatement, product) -> {
+                    preparedStatement.setString(1, product.sku());
+                    preparedStatement.setString(2, product.name());
+                    preparedStatement.setString(3, product.description());
+                    preparedStatement.setDouble(4, product.price());
+                    preparedStatement.setInt(5, product.stock());
+                    preparedStatement.setInt(6, product.minStock());
+                    preparedStatement.setString(7, product.location());
+                    bindLocation(preparedStatement, 8, product.structuredLocation());
+                    preparedStatement.setString(12, product.status().name());
+                    preparedStatement.setInt(13, product.categoryId());
+                }, DEFAULT_BATCH_SIZE);
+
+            List<UpsertOutcome> outcomes = new ArrayList<>(products.size());
+            for (int i = 0; i < counts.length; i++) {
+                // The same SKU may appear twice in a feed; later rows see the earlier insert
+                boolean existed = !knownSkus.add(products.get(i).sku());
+                if (counts[i] == 0) {
+                    outcomes.add(UpsertOutcome.UNCHANGED);
+                } else {
+                    outcomes.add(existed ? UpsertOutcome.UPDATED : UpsertOutcome.INSERTED);
+                }
+            }
+            return outcomes;
+        });
+    }
+
+    private static String mergeSql(SqlDialect dialect) {
+        // H2 does not support the Oracle WHERE clause on the MERGE update branch
+        return switch (dialect) {
+            case ORACLE -> MERGE_SOURCE + "WHEN MATCHED THEN " + MERGE_UPDATE + "WHERE " + MERGE_CHANGED + MERGE_INSERT;
+            case H2 -> MERGE_SOURCE + "WHEN MATCHED AND (" + MERGE_CHANGED + ") THEN " + MERGE_UPDATE + MERGE_INSERT;
+        };
+    }
+
+    public Set<String> findExistingSkus(Collection<String> skus) throws SQLException {
+        if (skus.isEmpty()) {
+            return new HashSet<>();
+        }
+        try (Connection connection = getConnection()) {
+            return findExistingSkus(connection, skus.stream().distinct().toList());
+        }
+    }
+
+    public boolean skuExists(String sku) throws SQLException {
+        return executeQueryForExists("""
+            SELECT 1 FROM products WHERE sku = ?
+            """, preparedStatement -> preparedStatement.setString(1, sku));
+    }
+
+    // Streams every SKU without building products, to seed in-memory key filters
+    public long forEachSku(RowHandler<String> handler) throws SQLException {
+        return executeQueryForEachRow("""
+            SELECT sku FROM products
+            """, resultSet -> handler.accept(resultSet.getString(1)));
+    }
+
+    public long countAll() throws SQLException {
+        return count("products");
+    }
+
+    private static Set<String> findExistingSkus(Connection connection, List<String> skus) throws SQLException {
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < skus.size(); from += MAX_IN_LIST_SIZE) {
+            List<String> chunk = skus.subList(from, Math.min(from + MAX_IN_LIST_SIZE, skus.size()));
+            String sql = "SELECT sku FROM products WHERE sku IN (" + inPlaceholders(chunk.size()) + ")";
+
+            try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    preparedStatement.setString(i + 1, chunk.get(i));
+                }
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    while (resultSet.next()) {
+                        existing.add(resultSet.getString(1));
+                    }
+                }
+            }
+        }
+        return existing;
+    }
+
+    public List<Product> findByIds(Collection<Integer> ids) throws SQLException {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return executeQueryForListIn("""
+            SELECT * FROM products WHERE id IN (%s)
+            """, ids);
+    }
+
+    public List<Product> findBySkus(Collection<String> skus) throws SQLException {
+        if (skus.isEmpty()) {
+            return List.of();
+        }
+        return executeQueryForListIn("""
+            SELECT * FROM products WHERE sku IN (%s)
+            """, skus);
+    }
+
+    // Loaders to resolve products of many rows with one query per scope
+    public BatchLoader<Integer, Product> newLoader() {
+        return BatchLoader.of(this::findByIds, Product::id);
+    }
+
+    public BatchLoader<String, Product> newSkuLoader() {
+        return BatchLoader.of(this::findBySkus, Product::sku);
+    }
+
     public List<Product> findByCategory(String categoryId) throws SQLException {
         String sql = """
             SELECT * FROM products WHERE category_id = ? ORDER BY name
@@ -118,6 +389,41 @@ public class ProductDAO extends AbstractDAO<Product, Integer> {
         return executeQueryForList(sql, preparedStatement -> preparedStatement.setString(1, categoryId));
     }
 
+    public List<Product> findByAisle(String zone, String aisle) throws SQLException {
+        Location start = Location.aisleStart(zone, aisle);
+        String sql = """
+            SELECT * FROM products WHERE loc_zone = ? AND loc_aisle = ? ORDER BY loc_rack, loc_bin
+            """;
+        return executeQueryForList(sql, preparedStatement -> {
+            preparedStatement.setString(1, start.zone());
+            preparedStatement.setString(2, start.aisle());
+        });
+    }
+
+    public List<Product> findByRackRange(String zone, String aisle, int fromRack, int toRack) throws SQLException {
+        Location start = Location.aisleStart(zone, aisle);
+        String sql = """
+            SELECT * FROM products
+            WHERE loc_zone = ? AND loc_aisle = ? AND loc_rack BETWEEN ? AND ?
+            ORDER BY loc_rack, loc_bin
+            """;
+        return executeQueryForList(sql, preparedStatement -> {
+            preparedStatement.setString(1, start.zone());
+            preparedStatement.setString(2, start.aisle());
+            preparedStatement.setInt(3, fromRack);
+            preparedStatement.setInt(4, toRack);
+        });
+    }
+
+    public List<Product> findByBin(Location location) throws SQLException {
+        String sql = """
+            SELECT * FROM products
+            WHERE loc_zone = ? AND loc_aisle = ? AND loc_rack = ? AND loc_bin = ?
+            ORDER BY sku
+            """;
+        return executeQueryForList(sql, preparedStatement -> bindLocation(preparedStatement, 1, location));
+    }
+
     public List<Product> findLowStockProducts() throws SQLException {
         String sql = """
             SELECT * FROM products WHERE stock <= min_stock ORDER BY stock ASC
@@ -144,4 +450,189 @@ public class ProductDAO extends AbstractDAO<Product, Integer> {
             preparedStatement.setInt(4, id);
         }) > 0;
     }
-}
\ No newline at end of file
+
+    // Adds each quantity to reserved_stock in one transaction. A row only changes while enough
+    // unreserved stock is left; if any row falls short nothing is reserved and the short product
+    // ids are returned, so an empty result means the whole batch was reserved.
+    public List<Integer> reserveStock(Map<Integer, Integer> quantities) throws SQLException {
+        String sql = """
+            UPDATE products
+            SET reserved_stock = reserved_stock + ?,
+            last_update = CURRENT_TIMESTAMP
+            WHERE id = ? AND stock - reserved_stock >= ?
+            """;
+        if (quantities.isEmpty()) {
+            return List.of();
+        }
+
+        List<Map.Entry<Integer, Integer>> items = new ArrayList<>(quantities.entrySet());
+        return executeInTransaction(connection -> {
+            int[] counts = executeBatch(connection, sql, items, (preparedStatement, item) -> {
+                preparedStatement.setInt(1, item.getValue());
+                preparedStatement.setInt(2, item.getKey());
+                preparedStatement.setInt(3, item.getValue());
+            }, DEFAULT_BATCH_SIZE);
+
+            List<Integer> shortIds = new ArrayList<>();
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] == 0) {
+                    shortIds.add(items.get(i).getKey());
+                }
+            }
+            if (!shortIds.isEmpty()) {
+                connection.rollback();
+            }
+            return shortIds;
+        });
+    }
+
+    // Sets each counted quantity in one transaction, guarded by the stock the count was compared with,
+    // and records the differences as movements under the given reference. When any row has moved
+    // since, nothing is applied and the ids of the moved rows are returned.
+    public List<Integer> applyStockCounts(String reference, List<StockVariance> adjustments) throws SQLException {
+        String sql = """
+            UPDATE products
+            SET stock = ?,
+            status = CASE
+                WHEN ? = 0 THEN 'OUT_OF_STOCK'
+                WHEN ? <= min_stock THEN 'LOW_STOCK'
+                ELSE 'AVAILABLE'
+            END,
+            last_update = CURRENT_TIMESTAMP
+            WHERE id = ? AND stock = ?
+            """;
+        if (adjustments.isEmpty()) {
+            return List.of();
+        }
+
+        return executeInTransaction(connection -> {
+            int[] counts = executeBatch(connection, sql, adjustments, (preparedStatement, adjustment) -> {
+                preparedStatement.setInt(1, adjustment.counted());
+                preparedStatement.setInt(2, adjustment.counted());
+                preparedStatement.setInt(3, adjustment.counted());
+                preparedStatement.setInt(4, adjustment.productId());
+                preparedStatement.setInt(5, adjustment.systemStock());
+            }, DEFAULT_BATCH_SIZE);
+
+            List<Integer> movedIds = new ArrayList<>();
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] == 0) {
+                    movedIds.add(adjustments.get(i).productId());
+                }
+            }
+            if (!movedIds.isEmpty()) {
+                connection.rollback();
+                return movedIds;
+            }
+
+            List<StockMovement> movements = new ArrayList<>(adjustments.size());
+            for (StockVariance adjustment : adjustments) {
+                movements.add(new StockMovement(adjustment.productId(), MovementType.COUNT_ADJUSTMENT,
+                        adjustment.difference(), reference));
+            }
+            StockMovementDAO.insertAll(connection, movements);
+            return movedIds;
+        });
+    }
+
+    // Posts a delivery under its ASN. The receipt header goes in first, in the same transaction, so a
+    // second posting of the same reference fails on the unique key before any stock moves, even when
+    // both arrive at once. A product that no longer exists rolls back the header too.
+    public List<Integer> postReceipt(String reference, List<StockMovement> movements) throws SQLException {
+        if (movements.isEmpty()) {
+            return List.of();
+        }
+        return executeInTransaction(connection -> {
+            StockMovementDAO.insertReceipt(connection, reference);
+            return applyMovements(connection, movements);
+        });
+    }
+
+    // Adds every movement's quantity to its product and appends the movements to the ledger. Lines
+    // for the same product are summed into a single UPDATE. When a product no longer exists the
+    // transaction is rolled back and the missing ids are returned.
+    private static List<Integer> applyMovements(Connection connection, List<StockMovement> movements)
+            throws SQLException {
+        String sql = """
+            UPDATE products
+            SET stock = stock + ?,
+            status = CASE
+                WHEN stock + ? = 0 THEN 'OUT_OF_STOCK'
+                WHEN stock + ? <= min_stock THEN 'LOW_STOCK'
+                ELSE 'AVAILABLE'
+            END,
+            last_update = CURRENT_TIMESTAMP
+            WHERE id = ?
+            """;
+        Map<Integer, Integer> totals = new LinkedHashMap<>();
+        for (StockMovement movement : movements) {
+            totals.merge(movement.productId(), movement.quantity(), Math::addExact);
+        }
+        List<Map.Entry<Integer, Integer>> items = new ArrayList<>(totals.entrySet());
+
+        int[] counts = executeBatch(connection, sql, items, (preparedStatement, item) -> {
+            preparedStatement.setInt(1, item.getValue());
+            preparedStatement.setInt(2, item.getValue());
+            preparedStatement.setInt(3, item.getValue());
+            preparedStatement.setInt(4, item.getKey());
+        }, DEFAULT_BATCH_SIZE);
+
+        List<Integer> missingIds = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                missingIds.add(items.get(i).getKey());
+            }
+        }
+        if (!missingIds.isEmpty()) {
+            connection.rollback();
+            return missingIds;
+        }
+
+        StockMovementDAO.insertAll(connection, movements);
+        return missingIds;
+    }
+
+    private static void bindInsertColumns(PreparedStatement preparedStatement, Product product) throws SQLException {
+        preparedStatement.setString(1, product.sku());
+        preparedStatement.setString(2, product.name());
+        preparedStatement.setString(3, product.description());
+        preparedStatement.setDouble(4, product.price());
+        preparedStatement.setInt(5, product.stock());
+        preparedStatement.setInt(6, product.reservedStock());
+        preparedStatement.setInt(7, product.minStock());
+        preparedStatement.setString(8, product.location());
+        bindLocation(preparedStatement, 9, product.structuredLocation());
+        preparedStatement.setString(13, product.status().name());
+    }
+
+    // Binds zone, aisle, rack and bin starting at the given index; NULLs for free-form locations
+    private static void bindLocation(PreparedStatement preparedStatement, int index, Location location)
+            throws SQLException {
+        if (location == null) {
+            preparedStatement.setNull(index, Types.VARCHAR);
+            preparedStatement.setNull(index + 1, Types.VARCHAR);
+            preparedStatement.setNull(index + 2, Types.INTEGER);
+            preparedStatement.setNull(index + 3, Types.INTEGER);
+        } else {
+            preparedStatement.setString(index, location.zone());
+            preparedStatement.setString(index + 1, location.aisle());
+            preparedStatement.setInt(index + 2, location.rack());
+            preparedStatement.setInt(index + 3, location.bin());
+        }
+    }
+
+    // Only reached when a guarded insert was rejected, to tell a missing category from an inactive one
+    private static ProductInsertResult categoryFailure(Connection connection, int categoryId) throws SQLException {
+        String sql = """
+            SELECT active FROM categories WHERE id = ?
+            """;
+        try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+            preparedStatement.setInt(1, categoryId);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return resultSet.next()
+                        ? ProductInsertResult.CATEGORY_INACTIVE
+                        : ProductInsertResult.CATEGORY_NOT_FOUND;
+            }
+        }
+    }
+}
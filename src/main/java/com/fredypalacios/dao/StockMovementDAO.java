@@ -0,0 +1,97 @@
+package com.fredypalacios.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.function.Supplier;
+
+import com.fredypalacios.dao.base.AbstractDAO;
+import com.fredypalacios.enums.MovementType;
+import com.fredypalacios.model.StockMovement;
+
+// The stock movement ledger. Rows are only ever appended, in the same transaction as the stock
+// change they record; there is no update or delete, so it is not a GenericDAO.
+public class StockMovementDAO extends AbstractDAO<StockMovement, Integer> {
+
+    private static final String INSERT_SQL = """
+        INSERT INTO stock_movements (product_id, movement_type, quantity, reference)
+        VALUES (?, ?, ?, ?)
+        """;
+
+    public StockMovementDAO() {
+        super();
+    }
+
+    public StockMovementDAO(Supplier<Connection> connectionSupplier) {
+        super(connectionSupplier);
+    }
+
+    @Override
+    protected StockMovement mapRow(ResultSet resultSet) throws SQLException {
+        Timestamp createdAt = resultSet.getTimestamp("created_at");
+        return new StockMovement(
+            resultSet.getInt("id"),
+            resultSet.getInt("product_id"),
+            MovementType.valueOf(resultSet.getString("movement_type")),
+            resultSet.getInt("quantity"),
+            resultSet.getString("reference"),
+            createdAt != null ? createdAt.toLocalDateTime() : null
+        );
+    }
+
+    public boolean create(StockMovement movement) throws SQLException {
+        return executeUpdate(INSERT_SQL, preparedStatement -> bind(preparedStatement, movement)) > 0;
+    }
+
+    public StockMovement findById(Integer id) throws SQLException {
+        String sql = """
+            SELECT * FROM stock_movements WHERE id = ?
+            """;
+        return executeQueryForOne(sql, preparedStatement -> preparedStatement.setInt(1, id));
+    }
+
+    public List<StockMovement> findAll() throws SQLException {
+        return executeQueryForList("SELECT * FROM stock_movements ORDER BY id");
+    }
+
+    public List<StockMovement> findByProduct(int productId) throws SQLException {
+        String sql = """
+            SELECT * FROM stock_movements WHERE product_id = ? ORDER BY id
+            """;
+        return executeQueryForList(sql, preparedStatement -> preparedStatement.setInt(1, productId));
+    }
+
+    public List<StockMovement> findByReference(String reference) throws SQLException {
+        String sql = """
+            SELECT * FROM stock_movements WHERE reference = ? ORDER BY id
+            """;
+        return executeQueryForList(sql, preparedStatement -> preparedStatement.setString(1, reference));
+    }
+
+    // Batched insert on the caller's connection, so the ledger commits or rolls back with the stock
+    public static void insertAll(Connection connection, List<StockMovement> movements) throws SQLException {
+        executeBatch(connection, INSERT_SQL, movements, StockMovementDAO::bind, DEFAULT_BATCH_SIZE);
+    }
+
+    // Records a delivery's ASN on the caller's connection; the unique reference refuses a second posting
+    public static void insertReceipt(Connection connection, String reference) throws SQLException {
+        String sql = """
+            INSERT INTO receipts (reference) VALUES (?)
+            """;
+        try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+            preparedStatement.setString(1, reference);
+            preparedStatement.executeUpdate();
+        }
+    }
+
+    private static void bind(PreparedStatement preparedStatement, StockMovement movement)
+            throws SQLException {
+        preparedStatement.setInt(1, movement.productId());
+        preparedStatement.setString(2, movement.type().name());
+        preparedStatement.setInt(3, movement.quantity());
+        preparedStatement.setString(4, movement.reference());
+    }
+}
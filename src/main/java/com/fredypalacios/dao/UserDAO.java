@@ -1,16 +1,29 @@
 package com.fredypalacios.dao;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 import com.fredypalacios.dao.base.AbstractDAO;
+import com.fredypalacios.dao.base.GenericDAO;
+import com.fredypalacios.dao.base.RowHandler;
+import com.fredypalacios.enums.UserInsertResult;
 import com.fredypalacios.enums.UserRole;
 import com.fredypalacios.model.User;
 
-public class UserDAO extends AbstractDAO<User, Integer> {
+public class UserDAO extends AbstractDAO<User, Integer> implements GenericDAO<User, Integer> {
+
+    private static final String INSERT_SQL = """
+        INSERT INTO users (username, password, email, full_name, role)
+        VALUES (?, ?, ?, ?, ?)
+        """;
 
     public UserDAO() {
         super();
@@ -35,17 +48,50 @@ public class UserDAO extends AbstractDAO<User, Integer> {
 
     @Override
     public boolean create(User user) throws SQLException {
-        String sql = """
-            INSERT INTO users (username, password, email, full_name, role)
-            VALUES (?, ?, ?, ?, ?)
-            """;
-        return executeUpdate(sql, preparedStatement -> {
-            preparedStatement.setString(1, user.username());
-            preparedStatement.setString(2, user.password());
-            preparedStatement.setString(3, user.email());
-            preparedStatement.setString(4, user.fullName());
-            preparedStatement.setString(5, user.role().name());
-        }) > 0;
+        return executeUpdate(INSERT_SQL, preparedStatement -> bindInsertColumns(preparedStatement, user)) > 0;
+    }
+
+    // Batched insert for bulk onboarding; one result per user, in order. A username or email taken in
+    // the table, or by an earlier user in the list, skips that row instead of failing the batch.
+    public List<UserInsertResult> createAll(List<User> users) throws SQLException {
+        return createAll(users, username -> true, email -> true);
+    }
+
+    // Only keys the predicates say may already exist are looked up before inserting; a key they
+    // wrongly rule out still fails on the unique constraint
+    public List<UserInsertResult> createAll(
+        List<User> users,
+        Predicate<String> usernameMayExist,
+        Predicate<String> emailMayExist
+    ) throws SQLException {
+        if (users.isEmpty()) {
+            return List.of();
+        }
+
+        return executeInTransaction(connection -> {
+            Set<String> usernames = findExisting(connection, "username",
+                users.stream().map(User::username).filter(usernameMayExist).distinct().toList());
+            Set<String> emails = findExisting(connection, "email",
+                users.stream().map(User::email).filter(emailMayExist).distinct().toList());
+
+            List<UserInsertResult> results = new ArrayList<>(users.size());
+            List<User> fresh = new ArrayList<>(users.size());
+            for (User user : users) {
+                if (usernames.contains(user.username())) {
+                    results.add(UserInsertResult.DUPLICATE_USERNAME);
+                } else if (emails.contains(user.email())) {
+                    results.add(UserInsertResult.DUPLICATE_EMAIL);
+                } else {
+                    usernames.add(user.username());
+                    emails.add(user.email());
+                    fresh.add(user);
+                    results.add(UserInsertResult.CREATED);
+                }
+            }
+
+            executeBatch(connection, INSERT_SQL, fresh, UserDAO::bindInsertColumns, DEFAULT_BATCH_SIZE);
+            return results;
+        });
     }
 
     @Override
@@ -57,11 +103,33 @@ public class UserDAO extends AbstractDAO<User, Integer> {
             """;
         return executeUpdate(sql, preparedStatement -> {
             preparedStatement.setString(1, user.username());
-            preparedStatement.setString(2, user.password());
-            preparedStatement.setString(3, user.email());
-            preparedStatement.setString(4, user.fullName());
-            preparedStatement.setString(5, user.role().name());
-            preparedStatement.setInt(6, user.id());
+            preparedStatement.setString(2, user.email());
+            preparedStatement.setString(3, user.fullName());
+            preparedStatement.setString(4, user.role().name());
+            preparedStatement.setInt(5, user.id());
+        }) > 0;
+    }
+
+    // Passwords change only through here, so a profile update can never overwrite a hash
+    public boolean updatePassword(int id, String passwordHash) throws SQLException {
+        String sql = """
+            UPDATE users SET password = ? WHERE id = ?
+            """;
+        return executeUpdate(sql, preparedStatement -> {
+            preparedStatement.setString(1, passwordHash);
+            preparedStatement.setInt(2, id);
+        }) > 0;
+    }
+
+    // Compare-and-set form for background rehashing: a password changed meanwhile is left alone
+    public boolean updatePasswordIfUnchanged(int id, String expectedHash, String passwordHash) throws SQLException {
+        String sql = """
+            UPDATE users SET password = ? WHERE id = ? AND password = ?
+            """;
+        return executeUpdate(sql, preparedStatement -> {
+            preparedStatement.setString(1, passwordHash);
+            preparedStatement.setInt(2, id);
+            preparedStatement.setString(3, expectedHash);
         }) > 0;
     }
 
@@ -88,6 +156,12 @@ public class UserDAO extends AbstractDAO<User, Integer> {
             """);
     }
 
+    public long forEach(RowHandler<User> handler) throws SQLException {
+        return executeQueryForEach("""
+            SELECT * FROM users ORDER BY id
+            """, handler);
+    }
+
     public User findByUserName(String username) throws SQLException {
         String sql = """
             SELECT * FROM users WHERE username = ?
@@ -95,6 +169,62 @@ public class UserDAO extends AbstractDAO<User, Integer> {
         return executeQueryForOne(sql, preparedStatement -> preparedStatement.setString(1, username));
     }
 
+    public boolean usernameExists(String username) throws SQLException {
+        return executeQueryForExists("""
+            SELECT 1 FROM users WHERE username = ?
+            """, preparedStatement -> preparedStatement.setString(1, username));
+    }
+
+    public boolean emailExists(String email) throws SQLException {
+        return executeQueryForExists("""
+            SELECT 1 FROM users WHERE email = ?
+            """, preparedStatement -> preparedStatement.setString(1, email));
+    }
+
+    // Streams both unique columns in one scan, to seed in-memory key filters
+    public long forEachUniqueKey(RowHandler<String> usernames, RowHandler<String> emails) throws SQLException {
+        return executeQueryForEachRow("""
+            SELECT username, email FROM users
+            """, resultSet -> {
+                usernames.accept(resultSet.getString(1));
+                emails.accept(resultSet.getString(2));
+            });
+    }
+
+    public long countAll() throws SQLException {
+        return count("users");
+    }
+
+    private static void bindInsertColumns(PreparedStatement preparedStatement, User user) throws SQLException {
+        preparedStatement.setString(1, user.username());
+        preparedStatement.setString(2, user.password());
+        preparedStatement.setString(3, user.email());
+        preparedStatement.setString(4, user.fullName());
+        preparedStatement.setString(5, user.role().name());
+    }
+
+    // Column is one of the unique user columns, never user input
+    private static Set<String> findExisting(Connection connection, String column, List<String> values)
+            throws SQLException {
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < values.size(); from += MAX_IN_LIST_SIZE) {
+            List<String> chunk = values.subList(from, Math.min(from + MAX_IN_LIST_SIZE, values.size()));
+            String sql = "SELECT " + column + " FROM users WHERE " + column + " IN (" + inPlaceholders(chunk.size()) + ")";
+
+            try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    preparedStatement.setString(i + 1, chunk.get(i));
+                }
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    while (resultSet.next()) {
+                        existing.add(resultSet.getString(1));
+                    }
+                }
+            }
+        }
+        return existing;
+    }
+
     public List<User> findByRole(UserRole role) throws SQLException {
         String sql = """
             SELECT * FROM users WHERE role = ? ORDER BY username
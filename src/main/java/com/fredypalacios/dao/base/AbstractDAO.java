@@ -1,18 +1,34 @@
 package com.fredypalacios.dao.base;
 
 import java.sql.Connection;
+import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.function.Supplier;
 
 import com.fredypalacios.config.DatabaseConnection;
 
-public abstract class AbstractDAO<T, ID> implements GenericDAO<T,ID> {
+// Query and batch helpers shared by the DAOs. CRUD tables also implement GenericDAO; the
+// append-only stock ledger does not.
+public abstract class AbstractDAO<T, ID> {
+
+    // Oracle rejects IN lists with more than 1000 expressions
+    protected static final int MAX_IN_LIST_SIZE = 1000;
+
+    protected static final int DEFAULT_BATCH_SIZE = 500;
+
+    // Rows fetched per round trip when streaming a cursor
+    protected static final int STREAM_FETCH_SIZE = 1000;
 
     private final Supplier<Connection> connectionSupplier;
+    private volatile SqlDialect dialect;
+    private volatile String databaseIdentity;
 
     public AbstractDAO() {
         this(() -> DatabaseConnection.getConnection());
@@ -26,6 +42,34 @@ public abstract class AbstractDAO<T, ID> implements GenericDAO<T,ID> {
         return connectionSupplier.get();
     }
 
+    protected SqlDialect getDialect(Connection connection) throws SQLException {
+        if (dialect == null) {
+            dialect = SqlDialect.of(connection);
+        }
+        return dialect;
+    }
+
+    // Same, for queries that need the dialect before they open their own connection
+    protected SqlDialect getDialect() throws SQLException {
+        if (dialect == null) {
+            try (Connection connection = getConnection()) {
+                return getDialect(connection);
+            }
+        }
+        return dialect;
+    }
+
+    // URL and user of the database behind this DAO, to tell data read from it apart from another's
+    public String getDatabaseIdentity() throws SQLException {
+        if (databaseIdentity == null) {
+            try (Connection connection = getConnection()) {
+                DatabaseMetaData metaData = connection.getMetaData();
+                databaseIdentity = metaData.getUserName() + "@" + metaData.getURL();
+            }
+        }
+        return databaseIdentity;
+    }
+
     // Maps a ResultSet row to an entity
     protected abstract T mapRow(ResultSet resultSet) throws SQLException;
 
@@ -67,10 +111,135 @@ public abstract class AbstractDAO<T, ID> implements GenericDAO<T,ID> {
         return result;
     }
 
+    // True when the query returns a row; meant for lookups on a unique index
+    protected boolean executeQueryForExists(String sql, SQLConsumer consumer) throws SQLException {
+        try (
+            Connection connection = getConnection();
+            PreparedStatement preparedStatement = connection.prepareStatement(sql)
+        ) {
+            consumer.accept(preparedStatement);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return resultSet.next();
+            }
+        }
+    }
+
+    protected long count(String tableName) throws SQLException {
+        String sql = String.format("SELECT COUNT(*) FROM %s", tableName);
+        try (
+            Connection connection = getConnection();
+            PreparedStatement preparedStatement = connection.prepareStatement(sql);
+            ResultSet resultSet = preparedStatement.executeQuery()
+        ) {
+            return resultSet.next() ? resultSet.getLong(1) : 0;
+        }
+    }
+
     protected List<T> executeQueryForList(String sql) throws SQLException {
         return executeQueryForList(sql, ps -> {});
     }
 
+    // Hands each row to the handler as the forward-only cursor reaches it, so memory stays flat
+    // however many rows the query returns; the result is the number of rows streamed
+    protected long executeQueryForEach(String sql, RowHandler<T> handler) throws SQLException {
+        return executeQueryForEachRow(sql, resultSet -> handler.accept(mapRow(resultSet)));
+    }
+
+    // Same streaming, but the handler reads the columns it needs itself, for key scans that have
+    // no use for a whole entity
+    protected long executeQueryForEachRow(String sql, RowHandler<ResultSet> handler) throws SQLException {
+        try (
+            Connection connection = getConnection();
+            PreparedStatement preparedStatement = connection.prepareStatement(
+                sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY
+            )
+        ) {
+            preparedStatement.setFetchSize(STREAM_FETCH_SIZE);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                long count = 0;
+                while (resultSet.next()) {
+                    handler.accept(resultSet);
+                    count++;
+                }
+                return count;
+            }
+        }
+    }
+
+    // Runs a query whose "%s" placeholder is expanded to an IN list, chunked to the Oracle limit
+    protected List<T> executeQueryForListIn(String sqlTemplate, Collection<?> keys) throws SQLException {
+        List<?> distinctKeys = keys.stream().distinct().toList();
+        List<T> result = new ArrayList<>();
+
+        for (int from = 0; from < distinctKeys.size(); from += MAX_IN_LIST_SIZE) {
+            List<?> chunk = distinctKeys.subList(from, Math.min(from + MAX_IN_LIST_SIZE, distinctKeys.size()));
+            result.addAll(executeQueryForList(String.format(sqlTemplate, inPlaceholders(chunk.size())), preparedStatement -> {
+                for (int i = 0; i < chunk.size(); i++) {
+                    preparedStatement.setObject(i + 1, chunk.get(i));
+                }
+            }));
+        }
+        return result;
+    }
+
+    protected static String inPlaceholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    // Runs the work on one connection and commits it as a single transaction
+    protected <R> R executeInTransaction(SQLFunction<Connection, R> work) throws SQLException {
+        try (Connection connection = getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                R result = work.apply(connection);
+                connection.commit();
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    // Executes the statement once per item in JDBC batches, all within one transaction
+    protected <E> int[] executeBatch(String sql, List<E> items, SQLBinder<E> binder) throws SQLException {
+        if (items.isEmpty()) {
+            return new int[0];
+        }
+        return executeInTransaction(connection -> executeBatch(connection, sql, items, binder, DEFAULT_BATCH_SIZE));
+    }
+
+    // Batch execution on a caller-managed connection; each count is the number of rows the item affected
+    protected static <E> int[] executeBatch(
+        Connection connection,
+        String sql,
+        List<E> items,
+        SQLBinder<E> binder,
+        int batchSize
+    ) throws SQLException {
+        int[] counts = new int[items.size()];
+        try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+            int from = 0;
+            for (int i = 0; i < items.size(); i++) {
+                binder.bind(preparedStatement, items.get(i));
+                preparedStatement.addBatch();
+
+                if (i - from + 1 == batchSize || i == items.size() - 1) {
+                    int[] batchCounts = preparedStatement.executeBatch();
+                    for (int j = 0; j < batchCounts.length; j++) {
+                        // Some drivers only report that the statement succeeded
+                        counts[from + j] = batchCounts[j] == Statement.SUCCESS_NO_INFO ? 1 : batchCounts[j];
+                    }
+                    from = i + 1;
+                }
+            }
+        }
+        return counts;
+    }
+
     protected boolean exists(String tableName, ID id) throws SQLException {
         String sql = String.format("SELECT COUNT(*) FROM %s WHERE id = ?", tableName);
         try (
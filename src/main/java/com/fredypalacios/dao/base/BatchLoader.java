@@ -0,0 +1,100 @@
+package com.fredypalacios.dao.base;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+// Collects the keys requested during one scope (a screen, a report) and resolves them
+// with a single IN query instead of one findById per row. Results, including misses,
+// are memoized for the lifetime of the loader. Not thread-safe: one loader per scope.
+public class BatchLoader<K, V> {
+
+    private final SQLFunction<List<K>, Map<K, V>> batchFunction;
+    private final Map<K, V> cache = new HashMap<>();
+    private final Set<K> pending = new LinkedHashSet<>();
+
+    public BatchLoader(SQLFunction<List<K>, Map<K, V>> batchFunction) {
+        this.batchFunction = batchFunction;
+    }
+
+    // Builds a loader from a query returning entities and the function that extracts their key
+    public static <K, V> BatchLoader<K, V> of(
+        SQLFunction<List<K>, List<V>> queryFunction,
+        Function<V, K> keyExtractor
+    ) {
+        return new BatchLoader<>(keys -> {
+            Map<K, V> result = new HashMap<>();
+            for (V value : queryFunction.apply(keys)) {
+                result.put(keyExtractor.apply(value), value);
+            }
+            return result;
+        });
+    }
+
+    // Registers a key to be resolved on the next dispatch
+    public void load(K key) {
+        if (key != null && !cache.containsKey(key)) {
+            pending.add(key);
+        }
+    }
+
+    public void loadAll(Collection<K> keys) {
+        for (K key : keys) {
+            load(key);
+        }
+    }
+
+    // Resolves every pending key with one batch query
+    public void dispatch() throws SQLException {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<K> keys = new ArrayList<>(pending);
+        pending.clear();
+
+        Map<K, V> loaded = batchFunction.apply(keys);
+        for (K key : keys) {
+            cache.put(key, loaded.get(key));
+        }
+    }
+
+    // Returns the value for the key, dispatching pending keys together with it if needed
+    public V get(K key) throws SQLException {
+        if (key == null) {
+            return null;
+        }
+        if (!cache.containsKey(key)) {
+            pending.add(key);
+            dispatch();
+        }
+        return cache.get(key);
+    }
+
+    // Returns the found values in the order of the given keys; missing keys are skipped
+    public Map<K, V> getAll(Collection<K> keys) throws SQLException {
+        loadAll(keys);
+        dispatch();
+
+        Map<K, V> result = new LinkedHashMap<>();
+        for (K key : keys) {
+            V value = cache.get(key);
+            if (value != null) {
+                result.put(key, value);
+            }
+        }
+        return result;
+    }
+
+    public void clear() {
+        cache.clear();
+        pending.clear();
+    }
+}
@@ -0,0 +1,9 @@
+package com.fredypalacios.dao.base;
+
+import java.sql.SQLException;
+
+// Receives each row of a streamed query as it is read from the cursor
+@FunctionalInterface
+public interface RowHandler<T> {
+    void accept(T row) throws SQLException;
+}
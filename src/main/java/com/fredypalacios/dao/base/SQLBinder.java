@@ -0,0 +1,10 @@
+package com.fredypalacios.dao.base;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+// To bind one item of a JDBC batch to the statement
+@FunctionalInterface
+public interface SQLBinder<E> {
+    void bind(PreparedStatement preparedStatement, E item) throws SQLException;
+}
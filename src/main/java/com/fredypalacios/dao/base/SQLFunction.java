@@ -0,0 +1,9 @@
+package com.fredypalacios.dao.base;
+
+import java.sql.SQLException;
+
+// To pass lambdas that query the database and return a value
+@FunctionalInterface
+public interface SQLFunction<T, R> {
+    R apply(T input) throws SQLException;
+}
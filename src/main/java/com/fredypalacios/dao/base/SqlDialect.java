@@ -0,0 +1,15 @@
+package com.fredypalacios.dao.base;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+// Production runs on Oracle; tests run on H2 in Oracle mode, which differs in a few statements
+public enum SqlDialect {
+    ORACLE,
+    H2;
+
+    public static SqlDialect of(Connection connection) throws SQLException {
+        String productName = connection.getMetaData().getDatabaseProductName();
+        return productName != null && productName.toUpperCase().contains("H2") ? H2 : ORACLE;
+    }
+}
@@ -0,0 +1,35 @@
+package com.fredypalacios.dao.base;
+
+import java.sql.SQLException;
+
+// Classifies driver errors by SQL state and vendor code rather than by message text, which differs
+// per database
+public final class SqlErrors {
+
+    // H2 and the SQL standard report a unique key violation as 23505
+    private static final String UNIQUE_VIOLATION_STATE = "23505";
+    // Oracle reports every integrity violation as 23000; ORA-00001 is the unique one
+    private static final String ORACLE_INTEGRITY_STATE = "23000";
+    private static final int ORACLE_UNIQUE_VIOLATION_CODE = 1;
+
+    private SqlErrors() {
+    }
+
+    // Only duplicate keys; foreign key, check and NOT NULL violations are not a "duplicate".
+    // Batch failures may wrap the violation, so the cause and next-exception chains are searched.
+    public static boolean isUniqueViolation(SQLException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sql) {
+                String state = sql.getSQLState();
+                if (UNIQUE_VIOLATION_STATE.equals(state)
+                        || (ORACLE_INTEGRITY_STATE.equals(state) && sql.getErrorCode() == ORACLE_UNIQUE_VIOLATION_CODE)) {
+                    return true;
+                }
+                if (sql.getNextException() != null && isUniqueViolation(sql.getNextException())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
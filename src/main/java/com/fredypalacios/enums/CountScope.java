@@ -0,0 +1,18 @@
+package com.fredypalacios.enums;
+
+public enum CountScope {
+    // Only the SKUs in the count file are compared
+    PARTIAL("Partial count"),
+    // Every product is compared; a SKU missing from the file was counted as zero
+    FULL("Full warehouse count");
+
+    private final String displayName;
+
+    CountScope(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+}
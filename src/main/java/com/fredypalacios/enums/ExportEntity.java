@@ -0,0 +1,21 @@
+package com.fredypalacios.enums;
+
+import java.util.List;
+
+// Tables that can be exported, with the columns written for each. User passwords are never exported.
+public enum ExportEntity {
+    PRODUCTS(List.of("id", "sku", "name", "description", "price", "stock", "reserved_stock",
+            "min_stock", "location", "status", "category_id", "last_update")),
+    USERS(List.of("id", "username", "email", "full_name", "role", "created_at")),
+    CATEGORIES(List.of("id", "name", "description", "active"));
+
+    private final List<String> columns;
+
+    ExportEntity(List<String> columns) {
+        this.columns = columns;
+    }
+
+    public List<String> getColumns() {
+        return columns;
+    }
+}
@@ -0,0 +1,16 @@
+package com.fredypalacios.enums;
+
+public enum ExportFormat {
+    CSV("csv"),
+    JSON_LINES("jsonl");
+
+    private final String extension;
+
+    ExportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
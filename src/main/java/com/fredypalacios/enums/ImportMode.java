@@ -0,0 +1,8 @@
+package com.fredypalacios.enums;
+
+public enum ImportMode {
+    // New SKUs only; rows for SKUs that already exist are rejected
+    INSERT,
+    // New SKUs are inserted and existing ones updated in place
+    UPSERT
+}
@@ -0,0 +1,16 @@
+package com.fredypalacios.enums;
+
+public enum MovementType {
+    RECEIPT("Receipt"),
+    COUNT_ADJUSTMENT("Count adjustment");
+
+    private final String displayName;
+
+    MovementType(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+}
@@ -0,0 +1,42 @@
+package com.fredypalacios.enums;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import static com.fredypalacios.enums.UserRole.*;
+
+// What a role may do; AccessGuard compiles the role lists into one bit mask per role
+public enum Permission {
+    USER_VIEW("view users", MANAGER),
+    USER_MANAGE("manage users", MANAGER),
+    PRODUCT_VIEW("view products", MANAGER, PICKER, RECEIVER, CONTROLLER),
+    PRODUCT_MANAGE("manage products", MANAGER),
+    STOCK_ADJUST("adjust stock", MANAGER, CONTROLLER),
+    STOCK_RECEIVE("receive stock", MANAGER, RECEIVER),
+    STOCK_COUNT("post cycle counts", MANAGER, CONTROLLER),
+    STOCK_RESERVE("reserve stock for pick waves", MANAGER),
+    CATEGORY_VIEW("view categories", MANAGER, PICKER, RECEIVER, CONTROLLER),
+    CATEGORY_MANAGE("manage categories", MANAGER),
+    DASHBOARD_VIEW("view the dashboard", MANAGER, CONTROLLER);
+
+    private final String description;
+    private final Set<UserRole> roles;
+    private final long mask = 1L << ordinal();
+
+    Permission(String description, UserRole... roles) {
+        this.description = description;
+        this.roles = roles.length == 0 ? EnumSet.noneOf(UserRole.class) : EnumSet.of(roles[0], roles);
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public Set<UserRole> getRoles() {
+        return roles;
+    }
+
+    public long mask() {
+        return mask;
+    }
+}
@@ -0,0 +1,21 @@
+package com.fredypalacios.enums;
+
+public enum ProductInsertResult {
+    CREATED(null),
+    CATEGORY_NOT_FOUND("Category does not exist"),
+    CATEGORY_INACTIVE("Category is inactive");
+
+    private final String message;
+
+    ProductInsertResult(String message) {
+        this.message = message;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public boolean isCreated() {
+        return this == CREATED;
+    }
+}
@@ -0,0 +1,7 @@
+package com.fredypalacios.enums;
+
+public enum UpsertOutcome {
+    INSERTED,
+    UPDATED,
+    UNCHANGED
+}
@@ -0,0 +1,22 @@
+package com.fredypalacios.enums;
+
+public enum UserInsertResult {
+    CREATED(null),
+    DUPLICATE_USERNAME("Username already exists"),
+    DUPLICATE_EMAIL("Email already exists"),
+    CONFLICT("Username or email was taken by a concurrent insert");
+
+    private final String message;
+
+    UserInsertResult(String message) {
+        this.message = message;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public boolean isCreated() {
+        return this == CREATED;
+    }
+}
@@ -0,0 +1,174 @@
+package com.fredypalacios.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.fredypalacios.model.Location;
+import com.fredypalacios.model.Product;
+
+// Products ordered by zone, aisle, rack and bin. Range lookups are a sorted-map slice,
+// occupancy per aisle and rack is kept in counters so it is answered in constant time.
+public class LocationIndex {
+
+    private final NavigableMap<Location, Map<Integer, Product>> byLocation = new TreeMap<>();
+    private final Map<Integer, Location> locationsById = new HashMap<>();
+    private final Map<String, Integer> productsPerAisle = new HashMap<>();
+    private final Map<String, Integer> binsPerAisle = new HashMap<>();
+    private final Map<String, Integer> productsPerRack = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void rebuild(Collection<Product> catalog) {
+        lock.writeLock().lock();
+        try {
+            byLocation.clear();
+            locationsById.clear();
+            productsPerAisle.clear();
+            binsPerAisle.clear();
+            productsPerRack.clear();
+            for (Product product : catalog) {
+                add(product);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void put(Product product) {
+        lock.writeLock().lock();
+        try {
+            removeById(product.id());
+            add(product);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int productId) {
+        lock.writeLock().lock();
+        try {
+            removeById(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Product> findInBin(Location location) {
+        lock.readLock().lock();
+        try {
+            Map<Integer, Product> products = byLocation.get(location);
+            return products == null ? List.of() : new ArrayList<>(products.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Product> findInAisle(String zone, String aisle) {
+        return findInRackRange(zone, aisle, 0, Integer.MAX_VALUE);
+    }
+
+    // Inclusive on both ends; a reversed or negative range matches nothing, like BETWEEN in SQL
+    public List<Product> findInRackRange(String zone, String aisle, int fromRack, int toRack) {
+        if (fromRack > toRack || toRack < 0) {
+            return List.of();
+        }
+        fromRack = Math.max(0, fromRack);
+        Location start = Location.aisleStart(zone, aisle);
+        Location from = new Location(start.zone(), start.aisle(), fromRack, 0);
+        Location to = new Location(start.zone(), start.aisle(), toRack, Integer.MAX_VALUE);
+
+        lock.readLock().lock();
+        try {
+            List<Product> result = new ArrayList<>();
+            for (Map<Integer, Product> products : byLocation.subMap(from, true, to, true).values()) {
+                result.addAll(products.values());
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int countInBin(Location location) {
+        lock.readLock().lock();
+        try {
+            Map<Integer, Product> products = byLocation.get(location);
+            return products == null ? 0 : products.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int countInAisle(String zone, String aisle) {
+        return count(productsPerAisle, aisleKey(Location.aisleStart(zone, aisle)));
+    }
+
+    public int occupiedBinsInAisle(String zone, String aisle) {
+        return count(binsPerAisle, aisleKey(Location.aisleStart(zone, aisle)));
+    }
+
+    public int countInRack(String zone, String aisle, int rack) {
+        Location start = Location.aisleStart(zone, aisle);
+        return count(productsPerRack, rackKey(new Location(start.zone(), start.aisle(), rack, 0)));
+    }
+
+    private int count(Map<String, Integer> counters, String key) {
+        lock.readLock().lock();
+        try {
+            return counters.getOrDefault(key, 0);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(Product product) {
+        Location location = product.structuredLocation();
+        if (location == null) {
+            return;
+        }
+
+        Map<Integer, Product> products = byLocation.computeIfAbsent(location, key -> new LinkedHashMap<>());
+        if (products.isEmpty()) {
+            binsPerAisle.merge(aisleKey(location), 1, Integer::sum);
+        }
+        products.put(product.id(), product);
+        locationsById.put(product.id(), location);
+        productsPerAisle.merge(aisleKey(location), 1, Integer::sum);
+        productsPerRack.merge(rackKey(location), 1, Integer::sum);
+    }
+
+    private void removeById(int productId) {
+        Location location = locationsById.remove(productId);
+        if (location == null) {
+            return;
+        }
+
+        Map<Integer, Product> products = byLocation.get(location);
+        products.remove(productId);
+        if (products.isEmpty()) {
+            byLocation.remove(location);
+            decrement(binsPerAisle, aisleKey(location));
+        }
+        decrement(productsPerAisle, aisleKey(location));
+        decrement(productsPerRack, rackKey(location));
+    }
+
+    private static void decrement(Map<String, Integer> counters, String key) {
+        counters.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private static String aisleKey(Location location) {
+        return location.zone() + '/' + location.aisle();
+    }
+
+    private static String rackKey(Location location) {
+        return aisleKey(location) + '/' + location.rack();
+    }
+}
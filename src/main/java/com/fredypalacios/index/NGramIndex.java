@@ -0,0 +1,126 @@
+package com.fredypalacios.index;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+// Trigram index for substring lookups. Postings are sorted int arrays without duplicates, kept in
+// step with the indexed texts: replace() and remove() drop the ids of grams a text no longer has.
+// A candidate only shares every query gram, so callers must still verify the substring.
+public class NGramIndex {
+
+    public static final int GRAM_LENGTH = 3;
+
+    private final Map<Long, Postings> postings = new HashMap<>();
+
+    public void add(String text, int id) {
+        for (long gram : grams(text)) {
+            postings.computeIfAbsent(gram, key -> new Postings()).add(id);
+        }
+    }
+
+    // Only touches the grams that differ between the two texts
+    public void replace(String previousText, String text, int id) {
+        Set<Long> previous = grams(previousText);
+        Set<Long> current = grams(text);
+        for (long gram : previous) {
+            if (!current.contains(gram)) {
+                removePosting(gram, id);
+            }
+        }
+        for (long gram : current) {
+            if (!previous.contains(gram)) {
+                postings.computeIfAbsent(gram, key -> new Postings()).add(id);
+            }
+        }
+    }
+
+    public void remove(String text, int id) {
+        for (long gram : grams(text)) {
+            removePosting(gram, id);
+        }
+    }
+
+    // Number of distinct grams with at least one id
+    public int gramCount() {
+        return postings.size();
+    }
+
+    // Visits the shortest posting list among the query grams until the visitor returns false.
+    // Every id containing the query is visited; the rest must be filtered by the caller.
+    public void visitCandidates(String query, IntPredicate visitor) {
+        Postings best = null;
+        for (long gram : grams(query)) {
+            Postings list = postings.get(gram);
+            if (list == null) {
+                return;
+            }
+            if (best == null || list.size < best.size) {
+                best = list;
+            }
+        }
+
+        if (best != null) {
+            for (int i = 0; i < best.size; i++) {
+                if (!visitor.test(best.ids[i])) {
+                    return;
+                }
+            }
+        }
+    }
+
+    public void clear() {
+        postings.clear();
+    }
+
+    private void removePosting(long gram, int id) {
+        Postings list = postings.get(gram);
+        if (list != null && list.remove(id) && list.size == 0) {
+            postings.remove(gram);
+        }
+    }
+
+    private static Set<Long> grams(String text) {
+        Set<Long> grams = new HashSet<>();
+        if (text == null) {
+            return grams;
+        }
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+        return grams;
+    }
+
+    private static final class Postings {
+        private int[] ids = new int[2];
+        private int size;
+
+        // Appending is the common case: rebuilds add ids in ascending order and new products get higher ids
+        private void add(int id) {
+            int index = size == 0 || ids[size - 1] < id ? -(size + 1) : Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                return;
+            }
+            int insertAt = -(index + 1);
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        private boolean remove(int id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+            return true;
+        }
+    }
+}
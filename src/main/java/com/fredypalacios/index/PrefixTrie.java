@@ -0,0 +1,192 @@
+package com.fredypalacios.index;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.function.IntPredicate;
+
+// Character trie mapping normalized keys to ids. Children are kept in sorted arrays
+// instead of maps so a catalog of a million keys stays compact in memory.
+public class PrefixTrie {
+
+    private static final char[] NO_LABELS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final int[] NO_IDS = new int[0];
+
+    private Node root = new Node();
+
+    public void add(String key, int id) {
+        Node node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.getOrAddChild(key.charAt(i));
+        }
+        node.addId(id);
+    }
+
+    public void remove(String key, int id) {
+        Node node = find(key);
+        if (node != null) {
+            node.removeId(id);
+        }
+    }
+
+    public void clear() {
+        root = new Node();
+    }
+
+    // Visits the ids stored under exactly this key until the visitor returns false
+    public void visitExact(String key, IntPredicate visitor) {
+        Node node = find(key);
+        if (node != null) {
+            node.visitIds(visitor);
+        }
+    }
+
+    // Breadth-first, so keys closest in length to the prefix are visited first
+    public void visitPrefix(String prefix, IntPredicate visitor) {
+        Node start = find(prefix);
+        if (start == null) {
+            return;
+        }
+
+        Deque<Node> queue = new ArrayDeque<>();
+        queue.add(start);
+        while (!queue.isEmpty()) {
+            Node node = queue.poll();
+            if (!node.visitIds(visitor)) {
+                return;
+            }
+            for (int i = 0; i < node.childCount; i++) {
+                queue.add(node.children[i]);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface FuzzyVisitor {
+        void visit(String key, int id, int distance);
+    }
+
+    // Visits every key within maxDistance edits of the query. Walks the trie carrying one row
+    // of the Levenshtein table per level, which behaves like a Levenshtein automaton: shared
+    // prefixes are computed once and a subtree is skipped as soon as its row exceeds the bound.
+    public void visitWithinDistance(String query, int maxDistance, FuzzyVisitor visitor) {
+        int[] firstRow = new int[query.length() + 1];
+        for (int j = 0; j <= query.length(); j++) {
+            firstRow[j] = j;
+        }
+
+        StringBuilder path = new StringBuilder();
+        for (int i = 0; i < root.childCount; i++) {
+            visitWithinDistance(root.children[i], root.labels[i], query, firstRow, maxDistance, path, visitor);
+        }
+    }
+
+    private static void visitWithinDistance(
+        Node node,
+        char label,
+        String query,
+        int[] previousRow,
+        int maxDistance,
+        StringBuilder path,
+        FuzzyVisitor visitor
+    ) {
+        int columns = query.length() + 1;
+        int[] row = new int[columns];
+        row[0] = previousRow[0] + 1;
+        int rowMin = row[0];
+
+        for (int j = 1; j < columns; j++) {
+            int substitution = previousRow[j - 1] + (query.charAt(j - 1) == label ? 0 : 1);
+            row[j] = Math.min(Math.min(row[j - 1] + 1, previousRow[j] + 1), substitution);
+            rowMin = Math.min(rowMin, row[j]);
+        }
+
+        path.append(label);
+        int distance = row[columns - 1];
+        if (distance <= maxDistance && node.idCount > 0) {
+            String key = path.toString();
+            for (int i = 0; i < node.idCount; i++) {
+                visitor.visit(key, node.ids[i], distance);
+            }
+        }
+        if (rowMin <= maxDistance) {
+            for (int i = 0; i < node.childCount; i++) {
+                visitWithinDistance(node.children[i], node.labels[i], query, row, maxDistance, path, visitor);
+            }
+        }
+        path.setLength(path.length() - 1);
+    }
+
+    private Node find(String key) {
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.child(key.charAt(i));
+        }
+        return node;
+    }
+
+    private static final class Node {
+        private char[] labels = NO_LABELS;
+        private Node[] children = NO_CHILDREN;
+        private int childCount;
+        private int[] ids = NO_IDS;
+        private int idCount;
+
+        private Node child(char label) {
+            int index = Arrays.binarySearch(labels, 0, childCount, label);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private Node getOrAddChild(char label) {
+            int index = Arrays.binarySearch(labels, 0, childCount, label);
+            if (index >= 0) {
+                return children[index];
+            }
+
+            int insertAt = -index - 1;
+            if (childCount == labels.length) {
+                int capacity = Math.max(2, childCount * 2);
+                labels = Arrays.copyOf(labels, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(labels, insertAt, labels, insertAt + 1, childCount - insertAt);
+            System.arraycopy(children, insertAt, children, insertAt + 1, childCount - insertAt);
+
+            Node child = new Node();
+            labels[insertAt] = label;
+            children[insertAt] = child;
+            childCount++;
+            return child;
+        }
+
+        private void addId(int id) {
+            // Repeated words of one entry arrive back to back; a full scan would be quadratic on hot keys
+            if (idCount > 0 && ids[idCount - 1] == id) {
+                return;
+            }
+            if (idCount == ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(1, idCount * 2));
+            }
+            ids[idCount++] = id;
+        }
+
+        private void removeId(int id) {
+            for (int i = 0; i < idCount; i++) {
+                if (ids[i] == id) {
+                    ids[i] = ids[--idCount];
+                    return;
+                }
+            }
+        }
+
+        private boolean visitIds(IntPredicate visitor) {
+            for (int i = 0; i < idCount; i++) {
+                if (!visitor.test(ids[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.fredypalacios.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.fredypalacios.model.Product;
+
+// In-memory search over SKU and name. Results are ranked by match kind:
+// exact SKU, SKU prefix, name prefix, word prefix, then substring anywhere.
+// Typo-tolerant suggestions walk the same tries with a bounded edit distance.
+public class ProductSearchIndex {
+
+    // Keeps trigrams from spanning the SKU and the name
+    private static final char FIELD_SEPARATOR = '\n';
+
+    private final Map<Integer, Product> products = new HashMap<>();
+    private final PrefixTrie skus = new PrefixTrie();
+    private final PrefixTrie names = new PrefixTrie();
+    private final PrefixTrie words = new PrefixTrie();
+    private final NGramIndex grams = new NGramIndex();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private record FuzzyMatch(String key, int id, int distance) {
+    }
+
+    public void rebuild(Collection<Product> catalog) {
+        lock.writeLock().lock();
+        try {
+            products.clear();
+            skus.clear();
+            names.clear();
+            words.clear();
+            grams.clear();
+            // In id order so the gram postings are filled by appending
+            List<Product> byId = new ArrayList<>(catalog);
+            byId.sort(Comparator.comparingInt(Product::id));
+            for (Product product : byId) {
+                products.put(product.id(), product);
+                addKeys(product);
+                grams.add(searchableText(product), product.id());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void put(Product product) {
+        lock.writeLock().lock();
+        try {
+            Product previous = products.put(product.id(), product);
+            if (previous != null) {
+                removeKeys(previous);
+            }
+            addKeys(product);
+            grams.replace(previous != null ? searchableText(previous) : null, searchableText(product), product.id());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int productId) {
+        lock.writeLock().lock();
+        try {
+            Product previous = products.remove(productId);
+            if (previous != null) {
+                removeKeys(previous);
+                grams.remove(searchableText(previous), productId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int gramCount() {
+        lock.readLock().lock();
+        try {
+            return grams.gramCount();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return products.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Product> search(String query, int limit) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Set<Integer> matches = new LinkedHashSet<>();
+            skus.visitExact(normalized, id -> add(matches, id, limit));
+            skus.visitPrefix(normalized, id -> add(matches, id, limit));
+            names.visitPrefix(normalized, id -> add(matches, id, limit));
+            words.visitPrefix(normalized, id -> add(matches, id, limit));
+
+            if (matches.size() < limit && normalized.length() >= NGramIndex.GRAM_LENGTH) {
+                grams.visitCandidates(normalized, id -> {
+                    Product product = products.get(id);
+                    // Sharing every gram does not guarantee the grams are adjacent
+                    if (product != null && searchableText(product).contains(normalized)) {
+                        return add(matches, id, limit);
+                    }
+                    return true;
+                });
+            }
+
+            List<Product> result = new ArrayList<>(matches.size());
+            for (int id : matches) {
+                result.add(products.get(id));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Closest products by edit distance to the SKU or name, for "did you mean" after a miss
+    public List<Product> suggest(String query, int limit) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            // Widening the bound one edit at a time stops early on dense catalogs,
+            // where a generous bound would match thousands of SKUs
+            Set<Integer> ids = new LinkedHashSet<>();
+            for (int maxDistance = 1; maxDistance <= maxTypos(normalized) && ids.size() < limit; maxDistance++) {
+                List<FuzzyMatch> matches = new ArrayList<>();
+                skus.visitWithinDistance(normalized, maxDistance,
+                        (key, id, distance) -> matches.add(new FuzzyMatch(key, id, distance)));
+                names.visitWithinDistance(normalized, maxDistance,
+                        (key, id, distance) -> matches.add(new FuzzyMatch(key, id, distance)));
+                matches.sort(Comparator.comparingInt(FuzzyMatch::distance).thenComparing(FuzzyMatch::key));
+
+                for (FuzzyMatch match : matches) {
+                    if (!add(ids, match.id(), limit)) {
+                        break;
+                    }
+                }
+            }
+
+            List<Product> result = new ArrayList<>(ids.size());
+            for (int id : ids) {
+                result.add(products.get(id));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // One typo per three characters, capped so short queries do not match everything
+    static int maxTypos(String query) {
+        return Math.max(1, Math.min(3, query.length() / 3));
+    }
+
+    public static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean add(Set<Integer> matches, int id, int limit) {
+        if (matches.size() >= limit) {
+            return false;
+        }
+        matches.add(id);
+        return matches.size() < limit;
+    }
+
+    private void addKeys(Product product) {
+        skus.add(normalize(product.sku()), product.id());
+        String name = normalize(product.name());
+        names.add(name, product.id());
+        for (String word : name.split("\\s+")) {
+            words.add(word, product.id());
+        }
+    }
+
+    private void removeKeys(Product product) {
+        skus.remove(normalize(product.sku()), product.id());
+        String name = normalize(product.name());
+        names.remove(name, product.id());
+        for (String word : name.split("\\s+")) {
+            words.remove(word, product.id());
+        }
+    }
+
+    private static String searchableText(Product product) {
+        return normalize(product.sku()) + FIELD_SEPARATOR + normalize(product.name());
+    }
+}
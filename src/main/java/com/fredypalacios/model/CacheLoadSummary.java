@@ -0,0 +1,16 @@
+package com.fredypalacios.model;
+
+// How the product catalog cache was filled: restored rows were read from the snapshot file,
+// refreshed rows fetched from the database; a cold load refreshes everything
+public record CacheLoadSummary(
+    boolean fromSnapshot,
+    int products,
+    int restored,
+    int refreshed,
+    int removed,
+    long elapsedNanos
+) {
+    public double elapsedMillis() {
+        return elapsedNanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,17 @@
+package com.fredypalacios.model;
+
+// What one synthetic catalog run inserted and how long the inserts took
+public record CatalogGenerationSummary(
+    long seed,
+    int categories,
+    int products,
+    long elapsedNanos
+) {
+    public double elapsedMillis() {
+        return elapsedNanos / 1_000_000.0;
+    }
+
+    public double productsPerSecond() {
+        return elapsedNanos == 0 ? 0 : products * 1_000_000_000.0 / elapsedNanos;
+    }
+}
@@ -0,0 +1,13 @@
+package com.fredypalacios.model;
+
+// Figures shown on the dashboard; low stock counts products at or below their minimum
+public record DashboardStats(
+    long products,
+    long available,
+    long outOfStock,
+    long lowStock,
+    double inventoryValue,
+    long categories,
+    long users
+) {
+}
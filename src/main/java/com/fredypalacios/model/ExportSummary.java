@@ -0,0 +1,16 @@
+package com.fredypalacios.model;
+
+// bytes is the size of the written file, after compression when enabled
+public record ExportSummary(
+    long rows,
+    long bytes,
+    long elapsedNanos
+) {
+    public double rowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : rows * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    public double megabytesPerSecond() {
+        return elapsedNanos == 0 ? 0 : bytes * 1_000_000_000.0 / elapsedNanos / (1024 * 1024);
+    }
+}
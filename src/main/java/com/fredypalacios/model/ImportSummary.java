@@ -0,0 +1,15 @@
+package com.fredypalacios.model;
+
+// Running totals of an import; rows read excludes the header and blank lines
+public record ImportSummary(
+    long read,
+    long inserted,
+    long updated,
+    long unchanged,
+    long rejected,
+    long elapsedNanos
+) {
+    public double rowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : read * 1_000_000_000.0 / elapsedNanos;
+    }
+}
@@ -0,0 +1,91 @@
+package com.fredypalacios.model;
+
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Structured form of a location code: [ZONE-]AISLE-RACK-BIN, e.g. "A-12-3" or "COLD-B-4-1"
+public record Location(
+    String zone,
+    String aisle,
+    int rack,
+    int bin
+) implements Comparable<Location> {
+
+    public static final String DEFAULT_ZONE = "MAIN";
+
+    private static final Pattern CODE_PATTERN =
+            Pattern.compile("^(?:([A-Z0-9]{1,10})-)?([A-Z0-9]{1,5})-(\\d{1,4})-(\\d{1,4})$");
+
+    // Aisles compare by length first so "B" < "AA" and "9" < "10"
+    private static final Comparator<String> AISLE_ORDER =
+            Comparator.comparingInt(String::length).thenComparing(Comparator.naturalOrder());
+
+    private static final Comparator<Location> ORDER = Comparator
+            .comparing(Location::zone)
+            .thenComparing(Location::aisle, AISLE_ORDER)
+            .thenComparingInt(Location::rack)
+            .thenComparingInt(Location::bin);
+
+    public Location {
+        if (zone == null || zone.isBlank()) {
+            throw new IllegalArgumentException("Zone cannot be empty");
+        }
+        if (aisle == null || aisle.isBlank()) {
+            throw new IllegalArgumentException("Aisle cannot be empty");
+        }
+        if (rack < 0 || bin < 0) {
+            throw new IllegalArgumentException("Rack and bin cannot be negative");
+        }
+    }
+
+    public Location(String aisle, int rack, int bin) {
+        this(DEFAULT_ZONE, aisle, rack, bin);
+    }
+
+    // Returns null for blank or free-form codes that do not follow the structured format
+    public static Location parse(String code) {
+        if (code == null || code.isBlank()) {
+            return null;
+        }
+
+        Matcher matcher = CODE_PATTERN.matcher(code.trim().toUpperCase(Locale.ROOT));
+        if (!matcher.matches()) {
+            return null;
+        }
+
+        String zone = matcher.group(1) != null ? matcher.group(1) : DEFAULT_ZONE;
+        return new Location(
+            zone,
+            normalizeAisle(matcher.group(2)),
+            Integer.parseInt(matcher.group(3)),
+            Integer.parseInt(matcher.group(4))
+        );
+    }
+
+    // Lowest and highest possible locations of an aisle, as bounds for range lookups
+    public static Location aisleStart(String zone, String aisle) {
+        return new Location(zone, normalizeAisle(aisle), 0, 0);
+    }
+
+    public static Location aisleEnd(String zone, String aisle) {
+        return new Location(zone, normalizeAisle(aisle), Integer.MAX_VALUE, Integer.MAX_VALUE);
+    }
+
+    // Numeric aisles drop leading zeros so "A-01-3" and "A-1-3" share an aisle
+    private static String normalizeAisle(String aisle) {
+        String upper = aisle.trim().toUpperCase(Locale.ROOT);
+        return upper.chars().allMatch(Character::isDigit) ? String.valueOf(Integer.parseInt(upper)) : upper;
+    }
+
+    public String code() {
+        String code = aisle + "-" + rack + "-" + bin;
+        return DEFAULT_ZONE.equals(zone) ? code : zone + "-" + code;
+    }
+
+    @Override
+    public int compareTo(Location other) {
+        return ORDER.compare(this, other);
+    }
+}
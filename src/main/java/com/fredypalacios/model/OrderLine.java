@@ -0,0 +1,19 @@
+package com.fredypalacios.model;
+
+public record OrderLine(
+    String orderId,
+    String sku,
+    int quantity
+) {
+    public OrderLine {
+        if (orderId == null || orderId.isBlank()) {
+            throw new IllegalArgumentException("Order id cannot be empty");
+        }
+        if (sku == null || sku.isBlank()) {
+            throw new IllegalArgumentException("SKU cannot be empty");
+        }
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.fredypalacios.model;
+
+public record PickLine(
+    String sku,
+    int quantity
+) {
+    public PickLine {
+        if (sku == null || sku.isBlank()) {
+            throw new IllegalArgumentException("SKU cannot be empty");
+        }
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+    }
+}
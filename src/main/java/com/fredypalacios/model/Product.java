@@ -59,6 +59,11 @@ public record Product(
         }
     }
 
+    // Null when the location is empty or not in the [ZONE-]AISLE-RACK-BIN format
+    public Location structuredLocation() {
+        return Location.parse(location);
+    }
+
     public boolean needsRestock() {
         return stock <= minStock;
     }
@@ -0,0 +1,15 @@
+package com.fredypalacios.model;
+
+public record ReceiptLine(
+    String sku,
+    int quantity
+) {
+    public ReceiptLine {
+        if (sku == null || sku.isBlank()) {
+            throw new IllegalArgumentException("SKU cannot be empty");
+        }
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+    }
+}
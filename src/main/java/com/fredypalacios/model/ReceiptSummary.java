@@ -0,0 +1,11 @@
+package com.fredypalacios.model;
+
+// A posted delivery: every line became one movement, products counts the distinct SKUs
+public record ReceiptSummary(
+    String reference,
+    int lines,
+    int products,
+    long units,
+    long elapsedNanos
+) {
+}
@@ -0,0 +1,46 @@
+package com.fredypalacios.model;
+
+import java.util.List;
+
+// Outcome of merging a count file against stock. Variances are in SKU order; unknown SKUs were
+// counted but have no product, rejected lines could not be read.
+public record ReconciliationReport(
+    long scanned,
+    int countedSkus,
+    int matched,
+    int uncounted,
+    List<StockVariance> variances,
+    List<String> unknownSkus,
+    List<String> rejectedLines,
+    long elapsedNanos
+) {
+    public long netUnits() {
+        long total = 0;
+        for (StockVariance variance : variances) {
+            total += variance.difference();
+        }
+        return total;
+    }
+
+    public long absoluteUnits() {
+        long total = 0;
+        for (StockVariance variance : variances) {
+            total += Math.abs(variance.difference());
+        }
+        return total;
+    }
+
+    public double netValue() {
+        double total = 0;
+        for (StockVariance variance : variances) {
+            total += variance.value();
+        }
+        return total;
+    }
+
+    // Share of compared products whose stock matched the count
+    public double accuracy() {
+        long compared = matched + uncounted;
+        return compared == 0 ? 1.0 : (compared - variances.size()) / (double) compared;
+    }
+}
@@ -0,0 +1,19 @@
+package com.fredypalacios.model;
+
+import java.util.List;
+
+// Totals of a scan session. Units only count scans of known SKUs that were committed; blocked time
+// is how long the sources waited on a full queue for the database to catch up.
+public record ScanSummary(
+    long scans,
+    long invalidLines,
+    long units,
+    long batches,
+    List<String> unknownSkus,
+    long blockedNanos,
+    long elapsedNanos
+) {
+    public double scansPerSecond() {
+        return elapsedNanos == 0 ? 0 : scans * 1_000_000_000.0 / elapsedNanos;
+    }
+}
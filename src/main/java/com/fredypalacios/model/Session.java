@@ -0,0 +1,19 @@
+package com.fredypalacios.model;
+
+import java.time.Instant;
+
+import com.fredypalacios.enums.UserRole;
+
+// A signed-in user; the token is the only thing a caller needs to keep
+public record Session(
+    String token,
+    int userId,
+    String username,
+    UserRole role,
+    Instant issuedAt,
+    Instant expiresAt
+) {
+    public boolean isExpired(Instant now) {
+        return !now.isBefore(expiresAt);
+    }
+}
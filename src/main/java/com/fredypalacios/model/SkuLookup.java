@@ -0,0 +1,13 @@
+package com.fredypalacios.model;
+
+import java.util.List;
+
+// Result of looking a SKU up: the product, or the closest matches when there is none
+public record SkuLookup(
+    Product product,
+    List<Product> suggestions
+) {
+    public boolean found() {
+        return product != null;
+    }
+}
@@ -0,0 +1,19 @@
+package com.fredypalacios.model;
+
+import java.time.LocalDateTime;
+
+import com.fredypalacios.enums.MovementType;
+
+// One signed change to a product's stock; the reference is the ASN number or count that caused it
+public record StockMovement(
+    Integer id,
+    int productId,
+    MovementType type,
+    int quantity,
+    String reference,
+    LocalDateTime createdAt
+) {
+    public StockMovement(int productId, MovementType type, int quantity, String reference) {
+        this(null, productId, type, quantity, reference, null);
+    }
+}
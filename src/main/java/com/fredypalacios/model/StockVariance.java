@@ -0,0 +1,26 @@
+package com.fredypalacios.model;
+
+// Difference between the stock on record and the quantity counted for one product
+public record StockVariance(
+    int productId,
+    String sku,
+    String name,
+    String location,
+    double price,
+    int systemStock,
+    int reservedStock,
+    int counted
+) {
+    public int difference() {
+        return counted - systemStock;
+    }
+
+    public double value() {
+        return difference() * price;
+    }
+
+    // Fewer units on the shelf than already promised to open orders
+    public boolean belowReserved() {
+        return counted < reservedStock;
+    }
+}
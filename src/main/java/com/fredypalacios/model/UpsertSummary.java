@@ -0,0 +1,37 @@
+package com.fredypalacios.model;
+
+import com.fredypalacios.enums.UpsertOutcome;
+
+public record UpsertSummary(
+    int inserted,
+    int updated,
+    int unchanged
+) {
+    public static final UpsertSummary EMPTY = new UpsertSummary(0, 0, 0);
+
+    public static UpsertSummary of(Iterable<UpsertOutcome> outcomes) {
+        int inserted = 0;
+        int updated = 0;
+        int unchanged = 0;
+        for (UpsertOutcome outcome : outcomes) {
+            switch (outcome) {
+                case INSERTED -> inserted++;
+                case UPDATED -> updated++;
+                case UNCHANGED -> unchanged++;
+            }
+        }
+        return new UpsertSummary(inserted, updated, unchanged);
+    }
+
+    public UpsertSummary plus(UpsertSummary other) {
+        return new UpsertSummary(
+            inserted + other.inserted,
+            updated + other.updated,
+            unchanged + other.unchanged
+        );
+    }
+
+    public int total() {
+        return inserted + updated + unchanged;
+    }
+}
@@ -0,0 +1,13 @@
+package com.fredypalacios.model;
+
+// Running totals of a user import; rows read excludes the header and blank lines
+public record UserImportSummary(
+    long read,
+    long created,
+    long rejected,
+    long elapsedNanos
+) {
+    public double rowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : read * 1_000_000_000.0 / elapsedNanos;
+    }
+}
@@ -0,0 +1,10 @@
+package com.fredypalacios.picking;
+
+import java.util.List;
+
+// The stretch of a wave route walked by one picker
+public record PickList(
+    int picker,
+    List<PickStop> stops
+) {
+}
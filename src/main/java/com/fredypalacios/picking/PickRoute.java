@@ -0,0 +1,13 @@
+package com.fredypalacios.picking;
+
+import java.util.List;
+
+// Stops in walking order; unlocated stops cannot be placed on the grid and are picked last
+public record PickRoute(
+    RoutingStrategy strategy,
+    List<PickStop> stops,
+    List<PickStop> unlocated,
+    double length,
+    long computeNanos
+) {
+}
@@ -0,0 +1,212 @@
+package com.fredypalacios.picking;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fredypalacios.model.Location;
+
+// Orders the stops of a pick batch into a short walk over a WarehouseLayout.
+// Each zone is a separate pick area with its own depot and is routed on its own.
+public class PickRouteOptimizer {
+
+    private static final int MAX_TWO_OPT_PASSES = 50;
+    private static final double EPSILON = 1e-9;
+
+    private final WarehouseLayout layout;
+
+    public PickRouteOptimizer(WarehouseLayout layout) {
+        this.layout = layout;
+    }
+
+    public PickRoute route(List<PickStop> stops, RoutingStrategy strategy) {
+        long start = System.nanoTime();
+
+        Map<String, List<PickStop>> byZone = new TreeMap<>();
+        List<PickStop> unlocated = new ArrayList<>();
+        for (PickStop stop : stops) {
+            if (stop.location() == null || !WarehouseLayout.isGridAisle(stop.location().aisle())) {
+                unlocated.add(stop);
+            } else {
+                byZone.computeIfAbsent(stop.location().zone(), zone -> new ArrayList<>()).add(stop);
+            }
+        }
+
+        List<PickStop> ordered = new ArrayList<>(stops.size());
+        double length = 0;
+        for (List<PickStop> zoneStops : byZone.values()) {
+            List<PickStop> zoneRoute = switch (strategy) {
+                case S_SHAPE -> sShape(zoneStops);
+                case LARGEST_GAP -> largestGap(zoneStops);
+                case OPTIMIZED -> optimized(zoneStops);
+            };
+            ordered.addAll(zoneRoute);
+            length += routeLength(zoneRoute);
+        }
+
+        return new PickRoute(strategy, ordered, unlocated, length, System.nanoTime() - start);
+    }
+
+    // Walking distance from the depot through the stops in order and back; stops must share a zone
+    public double routeLength(List<PickStop> route) {
+        double length = 0;
+        double x = 0;
+        double y = 0;
+        for (PickStop stop : route) {
+            double nextX = layout.x(stop.location());
+            double nextY = layout.y(stop.location());
+            length += layout.distance(x, y, nextX, nextY);
+            x = nextX;
+            y = nextY;
+        }
+        return length + layout.distance(x, y, 0, 0);
+    }
+
+    List<PickStop> sShape(List<PickStop> stops) {
+        List<PickStop> route = new ArrayList<>(stops.size());
+        boolean upwards = true;
+        for (List<PickStop> aisle : byAisle(stops).values()) {
+            aisle.sort(upwards ? byDepth() : byDepth().reversed());
+            route.addAll(aisle);
+            upwards = !upwards;
+        }
+        return route;
+    }
+
+    List<PickStop> largestGap(List<PickStop> stops) {
+        List<List<PickStop>> aisles = new ArrayList<>(byAisle(stops).values());
+        for (List<PickStop> aisle : aisles) {
+            aisle.sort(byDepth());
+        }
+        if (aisles.size() == 1) {
+            return aisles.get(0);
+        }
+
+        List<List<PickStop>> frontParts = new ArrayList<>();
+        List<List<PickStop>> backParts = new ArrayList<>();
+        for (List<PickStop> aisle : aisles.subList(1, aisles.size() - 1)) {
+            int split = largestGapIndex(aisle);
+            frontParts.add(aisle.subList(0, split));
+            backParts.add(reversed(aisle.subList(split, aisle.size())));
+        }
+
+        // Up the first aisle, along the back, down the last aisle and home along the front
+        List<PickStop> route = new ArrayList<>(aisles.get(0));
+        backParts.forEach(route::addAll);
+        route.addAll(reversed(aisles.get(aisles.size() - 1)));
+        for (int i = frontParts.size() - 1; i >= 0; i--) {
+            route.addAll(frontParts.get(i));
+        }
+        return route;
+    }
+
+    List<PickStop> optimized(List<PickStop> stops) {
+        List<PickStop> sShape = sShape(stops);
+        List<PickStop> largestGap = largestGap(stops);
+        List<PickStop> best = routeLength(sShape) <= routeLength(largestGap) ? sShape : largestGap;
+        return twoOpt(best);
+    }
+
+    // Reverses segments of the route while that shortens it; the depot stays at both ends
+    List<PickStop> twoOpt(List<PickStop> route) {
+        int n = route.size();
+        if (n < 3) {
+            return route;
+        }
+
+        double[] xs = new double[n + 2];
+        double[] ys = new double[n + 2];
+        for (int i = 0; i < n; i++) {
+            xs[i + 1] = layout.x(route.get(i).location());
+            ys[i + 1] = layout.y(route.get(i).location());
+        }
+
+        double[][] distances = new double[n + 2][n + 2];
+        for (int i = 0; i < n + 2; i++) {
+            for (int j = i + 1; j < n + 2; j++) {
+                distances[i][j] = layout.distance(xs[i], ys[i], xs[j], ys[j]);
+                distances[j][i] = distances[i][j];
+            }
+        }
+
+        // order[p] is the point visited at position p; 0 and n + 1 are the depot
+        int[] order = new int[n + 2];
+        for (int i = 0; i < n + 2; i++) {
+            order[i] = i;
+        }
+        order[n + 1] = 0;
+
+        boolean improved = true;
+        for (int pass = 0; pass < MAX_TWO_OPT_PASSES && improved; pass++) {
+            improved = false;
+            for (int i = 1; i < n; i++) {
+                for (int k = i + 1; k <= n; k++) {
+                    int a = order[i - 1];
+                    int b = order[i];
+                    int c = order[k];
+                    int d = order[k + 1];
+                    double delta = distances[a][c] + distances[b][d] - distances[a][b] - distances[c][d];
+                    if (delta < -EPSILON) {
+                        reverse(order, i, k);
+                        improved = true;
+                    }
+                }
+            }
+        }
+
+        List<PickStop> optimized = new ArrayList<>(n);
+        for (int p = 1; p <= n; p++) {
+            optimized.add(route.get(order[p] - 1));
+        }
+        return optimized;
+    }
+
+    // Index of the first stop picked from the back: stops before it lie below the largest gap
+    private int largestGapIndex(List<PickStop> aisle) {
+        double previous = 0;
+        double largest = -1;
+        int split = 0;
+        for (int i = 0; i <= aisle.size(); i++) {
+            double current = i < aisle.size() ? layout.y(aisle.get(i).location()) : layout.aisleLength();
+            if (current - previous > largest) {
+                largest = current - previous;
+                split = i;
+            }
+            previous = current;
+        }
+        return split;
+    }
+
+    // Keyed by the aisle code, so aisles "1" and "A" of a zone that mixes both stay apart
+    private Map<String, List<PickStop>> byAisle(List<PickStop> stops) {
+        Map<String, List<PickStop>> aisles = new TreeMap<>(
+                Comparator.comparingInt(WarehouseLayout::aisleNumber).thenComparing(Comparator.naturalOrder()));
+        for (PickStop stop : stops) {
+            Location location = stop.location();
+            aisles.computeIfAbsent(location.aisle(), aisle -> new ArrayList<>()).add(stop);
+        }
+        return aisles;
+    }
+
+    private Comparator<PickStop> byDepth() {
+        return Comparator.comparingDouble((PickStop stop) -> layout.y(stop.location()))
+                .thenComparingInt(stop -> stop.location().bin());
+    }
+
+    private static List<PickStop> reversed(List<PickStop> stops) {
+        List<PickStop> copy = new ArrayList<>(stops);
+        Collections.reverse(copy);
+        return copy;
+    }
+
+    private static void reverse(int[] order, int from, int to) {
+        while (from < to) {
+            int swap = order[from];
+            order[from++] = order[to];
+            order[to--] = swap;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.fredypalacios.picking;
+
+import com.fredypalacios.model.Location;
+
+// One stop of a route; location is null for products without a structured location
+public record PickStop(
+    String sku,
+    String name,
+    int quantity,
+    Location location
+) {
+}
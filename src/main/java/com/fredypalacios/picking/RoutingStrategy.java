@@ -0,0 +1,10 @@
+package com.fredypalacios.picking;
+
+public enum RoutingStrategy {
+    // Walk every aisle with picks end to end, alternating direction
+    S_SHAPE,
+    // Enter each middle aisle from the front or the back, never crossing its largest gap
+    LARGEST_GAP,
+    // Shorter of the two heuristics, refined with 2-opt
+    OPTIMIZED
+}
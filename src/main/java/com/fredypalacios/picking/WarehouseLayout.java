@@ -0,0 +1,74 @@
+package com.fredypalacios.picking;
+
+import java.util.Locale;
+
+import com.fredypalacios.model.Location;
+
+// Parallel-aisle grid of one zone: aisles run front to back, joined by a front and a back
+// cross-aisle. The depot sits at the front of aisle zero. Distances are in meters.
+public record WarehouseLayout(
+    double aisleSpacing,
+    double rackDepth,
+    int racksPerAisle
+) {
+    public static final double DEFAULT_AISLE_SPACING = 3.0;
+    public static final double DEFAULT_RACK_DEPTH = 1.2;
+
+    public WarehouseLayout {
+        if (aisleSpacing <= 0 || rackDepth <= 0) {
+            throw new IllegalArgumentException("Spacing must be positive");
+        }
+        if (racksPerAisle <= 0) {
+            throw new IllegalArgumentException("Racks per aisle must be positive");
+        }
+    }
+
+    public WarehouseLayout(int racksPerAisle) {
+        this(DEFAULT_AISLE_SPACING, DEFAULT_RACK_DEPTH, racksPerAisle);
+    }
+
+    public double x(Location location) {
+        return aisleNumber(location.aisle()) * aisleSpacing;
+    }
+
+    // Position along the aisle; rack zero starts right after the front cross-aisle
+    public double y(Location location) {
+        return (Math.min(location.rack(), racksPerAisle - 1) + 0.5) * rackDepth;
+    }
+
+    public double aisleLength() {
+        return racksPerAisle * rackDepth;
+    }
+
+    // Shortest walk between two points on the grid
+    public double distance(double x1, double y1, double x2, double y2) {
+        if (x1 == x2) {
+            return Math.abs(y1 - y2);
+        }
+        double viaFront = y1 + y2;
+        double viaBack = (aisleLength() - y1) + (aisleLength() - y2);
+        return Math.abs(x1 - x2) + Math.min(viaFront, viaBack);
+    }
+
+    // Letter aisles count like spreadsheet columns (A=1, Z=26, AA=27); numeric aisles by value. A zone
+    // numbers its aisles one way or the other; codes mixing letters and digits have no place on the grid.
+    static int aisleNumber(String aisle) {
+        if (!isGridAisle(aisle)) {
+            throw new IllegalArgumentException("Aisle code mixes letters and digits: " + aisle);
+        }
+        String upper = aisle.toUpperCase(Locale.ROOT);
+        if (Character.isDigit(upper.charAt(0))) {
+            return Integer.parseInt(upper);
+        }
+        int number = 0;
+        for (int i = 0; i < upper.length(); i++) {
+            number = number * 26 + upper.charAt(i) - 'A' + 1;
+        }
+        return number;
+    }
+
+    static boolean isGridAisle(String aisle) {
+        return !aisle.isEmpty() && (aisle.chars().allMatch(c -> c >= '0' && c <= '9')
+                || aisle.chars().allMatch(c -> (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z')));
+    }
+}
@@ -0,0 +1,18 @@
+package com.fredypalacios.picking;
+
+import java.util.List;
+import java.util.Map;
+
+// Orders released together; reservations holds the quantity to reserve per product id
+public record Wave(
+    int id,
+    String zone,
+    List<String> orderIds,
+    Map<Integer, Integer> reservations,
+    PickRoute route,
+    List<PickList> pickLists
+) {
+    public int stopCount() {
+        return route.stops().size() + route.unlocated().size();
+    }
+}
@@ -0,0 +1,15 @@
+package com.fredypalacios.picking;
+
+import java.util.List;
+import java.util.Map;
+
+// Result of a planning run; held maps each order left out of every wave to the reason
+public record WavePlan(
+    List<Wave> waves,
+    Map<String, String> held,
+    long computeNanos
+) {
+    public int releasedOrders() {
+        return waves.stream().mapToInt(wave -> wave.orderIds().size()).sum();
+    }
+}
@@ -0,0 +1,257 @@
+package com.fredypalacios.picking;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+
+import com.fredypalacios.model.Location;
+import com.fredypalacios.model.OrderLine;
+import com.fredypalacios.model.Product;
+
+// Groups pending order lines into pick waves. Orders are allocated first come, first served
+// against available stock, assigned to the zone holding most of their lines and clustered
+// greedily so that each wave shares as many SKUs as possible.
+public class WavePlanner {
+
+    public static final String UNKNOWN_SKU = "Unknown SKU ";
+    public static final String INSUFFICIENT_STOCK = "Insufficient stock for ";
+
+    private final WarehouseLayout layout;
+    private final int maxOrdersPerWave;
+    private final int maxStopsPerWave;
+    private final int pickersPerWave;
+
+    public WavePlanner(WarehouseLayout layout, int maxOrdersPerWave, int maxStopsPerWave, int pickersPerWave) {
+        if (maxOrdersPerWave <= 0 || maxStopsPerWave <= 0 || pickersPerWave <= 0) {
+            throw new IllegalArgumentException("Wave limits must be positive");
+        }
+        this.layout = layout;
+        this.maxOrdersPerWave = maxOrdersPerWave;
+        this.maxStopsPerWave = maxStopsPerWave;
+        this.pickersPerWave = pickersPerWave;
+    }
+
+    // products maps each known SKU to its current row
+    public WavePlan plan(List<OrderLine> lines, Map<String, Product> products) {
+        long start = System.nanoTime();
+
+        Map<String, Map<String, Integer>> demand = new LinkedHashMap<>();
+        for (OrderLine line : lines) {
+            demand.computeIfAbsent(line.orderId(), id -> new LinkedHashMap<>())
+                    .merge(line.sku(), line.quantity(), Integer::sum);
+        }
+
+        Map<String, String> held = new LinkedHashMap<>();
+        Map<String, Integer> available = new HashMap<>();
+        Map<String, List<PendingOrder>> byZone = new TreeMap<>();
+
+        for (Map.Entry<String, Map<String, Integer>> entry : demand.entrySet()) {
+            String reason = allocate(entry.getValue(), products, available);
+            if (reason != null) {
+                held.put(entry.getKey(), reason);
+                continue;
+            }
+            PendingOrder order = new PendingOrder(entry.getKey(), entry.getValue());
+            byZone.computeIfAbsent(primaryZone(order, products), zone -> new ArrayList<>()).add(order);
+        }
+
+        PickRouteOptimizer optimizer = new PickRouteOptimizer(layout);
+        List<Wave> waves = new ArrayList<>();
+        for (Map.Entry<String, List<PendingOrder>> zone : byZone.entrySet()) {
+            for (List<PendingOrder> cluster : cluster(zone.getValue())) {
+                waves.add(buildWave(waves.size() + 1, zone.getKey(), cluster, products, optimizer));
+            }
+        }
+
+        return new WavePlan(waves, held, System.nanoTime() - start);
+    }
+
+    // Deducts the order from the running availability, or returns why it cannot be filled
+    private static String allocate(
+        Map<String, Integer> order,
+        Map<String, Product> products,
+        Map<String, Integer> available
+    ) {
+        for (Map.Entry<String, Integer> line : order.entrySet()) {
+            Product product = products.get(line.getKey());
+            if (product == null) {
+                return UNKNOWN_SKU + line.getKey();
+            }
+            int free = available.computeIfAbsent(line.getKey(), sku -> product.stock() - product.reservedStock());
+            if (free < line.getValue()) {
+                return INSUFFICIENT_STOCK + line.getKey();
+            }
+        }
+        for (Map.Entry<String, Integer> line : order.entrySet()) {
+            available.merge(line.getKey(), -line.getValue(), Integer::sum);
+        }
+        return null;
+    }
+
+    private static String primaryZone(PendingOrder order, Map<String, Product> products) {
+        Map<String, Integer> linesPerZone = new HashMap<>();
+        for (String sku : order.quantities().keySet()) {
+            Location location = products.get(sku).structuredLocation();
+            linesPerZone.merge(location != null ? location.zone() : Location.DEFAULT_ZONE, 1, Integer::sum);
+        }
+        return linesPerZone.entrySet().stream()
+                .max(Map.Entry.<String, Integer>comparingByValue().thenComparing(Map.Entry.comparingByKey()))
+                .orElseThrow()
+                .getKey();
+    }
+
+    // Seeds each wave with the largest open order, then keeps adding the open order that shares
+    // the most SKUs with the wave. Scores live in an array and a lazy max-heap, updated through an
+    // SKU -> orders index, so each wave only touches orders that overlap it.
+    private List<List<PendingOrder>> cluster(List<PendingOrder> orders) {
+        List<PendingOrder> bySize = new ArrayList<>(orders);
+        bySize.sort(Comparator.comparingInt((PendingOrder order) -> order.quantities().size()).reversed());
+
+        Map<String, List<Integer>> ordersBySku = new HashMap<>();
+        for (int i = 0; i < bySize.size(); i++) {
+            for (String sku : bySize.get(i).quantities().keySet()) {
+                ordersBySku.computeIfAbsent(sku, key -> new ArrayList<>()).add(i);
+            }
+        }
+
+        boolean[] assigned = new boolean[bySize.size()];
+        int[] scores = new int[bySize.size()];
+        List<Integer> touched = new ArrayList<>();
+        PriorityQueue<int[]> candidates = new PriorityQueue<>(
+                Comparator.comparingInt((int[] entry) -> -entry[0]).thenComparingInt(entry -> entry[1]));
+
+        List<List<PendingOrder>> clusters = new ArrayList<>();
+        int nextSeed = 0;
+        while (true) {
+            while (nextSeed < bySize.size() && assigned[nextSeed]) {
+                nextSeed++;
+            }
+            if (nextSeed == bySize.size()) {
+                return clusters;
+            }
+
+            List<PendingOrder> wave = new ArrayList<>();
+            Set<String> waveSkus = new HashSet<>();
+            int next = nextSeed;
+            while (next >= 0) {
+                assigned[next] = true;
+                wave.add(bySize.get(next));
+                for (String sku : bySize.get(next).quantities().keySet()) {
+                    if (waveSkus.add(sku)) {
+                        for (int other : ordersBySku.get(sku)) {
+                            if (!assigned[other]) {
+                                if (scores[other]++ == 0) {
+                                    touched.add(other);
+                                }
+                                candidates.add(new int[] {scores[other], other});
+                            }
+                        }
+                    }
+                }
+                next = wave.size() < maxOrdersPerWave ? nextCandidate(bySize, assigned, scores, candidates, waveSkus) : -1;
+                if (next < 0 && wave.size() < maxOrdersPerWave) {
+                    next = nextFiller(bySize, assigned, nextSeed, waveSkus);
+                }
+            }
+
+            clusters.add(wave);
+            for (int index : touched) {
+                scores[index] = 0;
+            }
+            touched.clear();
+            candidates.clear();
+        }
+    }
+
+    // Highest-overlap open order that still fits, or -1; entries with outdated scores are skipped
+    private int nextCandidate(
+        List<PendingOrder> orders,
+        boolean[] assigned,
+        int[] scores,
+        PriorityQueue<int[]> candidates,
+        Set<String> waveSkus
+    ) {
+        while (!candidates.isEmpty()) {
+            int[] entry = candidates.poll();
+            int index = entry[1];
+            if (assigned[index] || entry[0] != scores[index]) {
+                continue;
+            }
+            if (fits(orders.get(index), waveSkus)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    // Once no open order overlaps the wave, fill it with the next largest order that fits
+    private int nextFiller(List<PendingOrder> orders, boolean[] assigned, int from, Set<String> waveSkus) {
+        for (int i = from; i < orders.size(); i++) {
+            if (!assigned[i]) {
+                return fits(orders.get(i), waveSkus) ? i : -1;
+            }
+        }
+        return -1;
+    }
+
+    private boolean fits(PendingOrder order, Set<String> waveSkus) {
+        int newStops = 0;
+        for (String sku : order.quantities().keySet()) {
+            if (!waveSkus.contains(sku)) {
+                newStops++;
+            }
+        }
+        return waveSkus.size() + newStops <= maxStopsPerWave;
+    }
+
+    private Wave buildWave(
+        int id,
+        String zone,
+        List<PendingOrder> orders,
+        Map<String, Product> products,
+        PickRouteOptimizer optimizer
+    ) {
+        Map<String, Integer> quantities = new LinkedHashMap<>();
+        List<String> orderIds = new ArrayList<>(orders.size());
+        for (PendingOrder order : orders) {
+            orderIds.add(order.orderId());
+            order.quantities().forEach((sku, quantity) -> quantities.merge(sku, quantity, Integer::sum));
+        }
+
+        Map<Integer, Integer> reservations = new LinkedHashMap<>();
+        List<PickStop> stops = new ArrayList<>(quantities.size());
+        quantities.forEach((sku, quantity) -> {
+            Product product = products.get(sku);
+            reservations.put(product.id(), quantity);
+            stops.add(new PickStop(product.sku(), product.name(), quantity, product.structuredLocation()));
+        });
+
+        PickRoute route = optimizer.route(stops, RoutingStrategy.OPTIMIZED);
+        return new Wave(id, zone, orderIds, reservations, route, split(route));
+    }
+
+    // Cuts the route into contiguous stretches so pickers work separate parts of the zone
+    private List<PickList> split(PickRoute route) {
+        List<PickStop> walk = new ArrayList<>(route.stops());
+        walk.addAll(route.unlocated());
+
+        int pickers = Math.min(pickersPerWave, walk.size());
+        List<PickList> pickLists = new ArrayList<>(pickers);
+        for (int picker = 0; picker < pickers; picker++) {
+            int from = walk.size() * picker / pickers;
+            int to = walk.size() * (picker + 1) / pickers;
+            pickLists.add(new PickList(picker + 1, List.copyOf(walk.subList(from, to))));
+        }
+        return pickLists;
+    }
+
+    private record PendingOrder(String orderId, Map<String, Integer> quantities) {
+    }
+}
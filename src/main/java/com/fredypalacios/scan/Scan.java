@@ -0,0 +1,34 @@
+package com.fredypalacios.scan;
+
+import com.fredypalacios.utils.InputValidator;
+import com.fredypalacios.utils.ValidationException;
+
+// One scan event: a SKU and how many units it stands for
+public record Scan(
+    String sku,
+    int quantity
+) {
+    // "SKU" for a single unit or "SKU,QUANTITY"; returns null for a blank line
+    public static Scan parse(String line) throws ValidationException {
+        String trimmed = line.trim();
+        if (trimmed.isEmpty()) {
+            return null;
+        }
+
+        int comma = trimmed.indexOf(',');
+        String sku = InputValidator.validateSKU(comma < 0 ? trimmed : trimmed.substring(0, comma).trim());
+        if (comma < 0) {
+            return new Scan(sku, 1);
+        }
+        String quantity = trimmed.substring(comma + 1).trim();
+        try {
+            int value = Integer.parseInt(quantity);
+            if (value <= 0) {
+                throw new ValidationException("Scan quantity must be positive: " + quantity);
+            }
+            return new Scan(sku, value);
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Invalid scan quantity: " + quantity);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.fredypalacios.scan;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Sums scans per SKU and commits them in micro-batches: after maxScans scans or maxDelayMillis
+// after the first scan of a batch, whichever comes first. A single committer thread drains a
+// bounded queue, so producers block in offer() once it is full: a database that falls behind
+// slows the scanners down instead of growing the heap.
+public class ScanBatcher implements AutoCloseable {
+    static final int MAX_ATTEMPTS = 3;
+    static final long RETRY_DELAY_MILLIS = 200;
+
+    // Put on the queue by close() so the committer flushes and stops after everything before it
+    private static final Scan END = new Scan("", 0);
+
+    private final ScanSink sink;
+    private final int maxScans;
+    private final long maxDelayNanos;
+    private final BlockingQueue<Scan> queue;
+    private final Thread committer;
+    private final Map<String, Integer> pending = new LinkedHashMap<>();
+    private final Set<String> unknownSkus = new ConcurrentSkipListSet<>();
+    private final AtomicLong scans = new AtomicLong();
+    private final AtomicLong committedUnits = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong blockedNanos = new AtomicLong();
+    private int pendingScans;
+    private long batchDeadline;
+    private volatile Exception failure;
+    private boolean closed;
+
+    public ScanBatcher(ScanSink sink, int maxScans, long maxDelayMillis, int queueCapacity) {
+        if (maxScans <= 0 || maxDelayMillis <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("Batch size, delay and queue capacity must be positive");
+        }
+        this.sink = sink;
+        this.maxScans = maxScans;
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.committer = new Thread(this::run, "scan-committer");
+        this.committer.setDaemon(true);
+        this.committer.start();
+    }
+
+    // Blocks while the queue is full; fails once the committer has given up
+    public void offer(Scan scan) throws SQLException, InterruptedException {
+        checkFailure();
+        if (!queue.offer(scan)) {
+            long start = System.nanoTime();
+            queue.put(scan);
+            blockedNanos.addAndGet(System.nanoTime() - start);
+        }
+        scans.incrementAndGet();
+    }
+
+    public long getScans() {
+        return scans.get();
+    }
+
+    public long getCommittedUnits() {
+        return committedUnits.get();
+    }
+
+    public long getBatches() {
+        return batches.get();
+    }
+
+    // Total time producers spent waiting for room in the queue
+    public long getBlockedNanos() {
+        return blockedNanos.get();
+    }
+
+    public List<String> getUnknownSkus() {
+        return new ArrayList<>(unknownSkus);
+    }
+
+    // Commits what is left and waits for the committer; rethrows the error that stopped it, if any
+    @Override
+    public synchronized void close() throws SQLException, InterruptedException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (failure == null) {
+            queue.put(END);
+        }
+        committer.join();
+        checkFailure();
+    }
+
+    private void checkFailure() throws SQLException {
+        if (failure instanceof SQLException e) {
+            throw e;
+        }
+        if (failure != null) {
+            throw new IllegalStateException("Scan commits stopped: " + failure.getMessage(), failure);
+        }
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                Scan scan = pendingScans == 0
+                        ? queue.take()
+                        : queue.poll(batchDeadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (scan == END) {
+                    flush();
+                    return;
+                }
+                if (scan == null) {
+                    flush();
+                    continue;
+                }
+                if (pendingScans == 0) {
+                    batchDeadline = System.nanoTime() + maxDelayNanos;
+                }
+                pending.merge(scan.sku(), scan.quantity(), Integer::sum);
+                if (++pendingScans >= maxScans) {
+                    flush();
+                }
+            }
+        } catch (SQLException | InterruptedException | RuntimeException e) {
+            failure = e;
+            // Frees producers blocked on a full queue; they see the failure on their next offer
+            queue.clear();
+        }
+    }
+
+    private void flush() throws SQLException, InterruptedException {
+        if (pendingScans == 0) {
+            return;
+        }
+        long batch = batches.get() + 1;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Set<String> dropped = sink.commit(batch, Collections.unmodifiableMap(pending));
+                long units = 0;
+                for (Map.Entry<String, Integer> entry : pending.entrySet()) {
+                    if (!dropped.contains(entry.getKey())) {
+                        units += entry.getValue();
+                    }
+                }
+                unknownSkus.addAll(dropped);
+                committedUnits.addAndGet(units);
+                batches.incrementAndGet();
+                break;
+            } catch (SQLException e) {
+                if (attempt == MAX_ATTEMPTS) {
+                    throw e;
+                }
+                // The batch stays pending; meanwhile the queue fills and holds the producers back
+                Thread.sleep(RETRY_DELAY_MILLIS * attempt);
+            }
+        }
+        pending.clear();
+        pendingScans = 0;
+    }
+}
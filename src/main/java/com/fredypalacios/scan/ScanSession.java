@@ -0,0 +1,146 @@
+package com.fredypalacios.scan;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import com.fredypalacios.model.ScanSummary;
+import com.fredypalacios.utils.ValidationException;
+
+// One scanning run. Lines can come from any mix of sources at once: single lines from the
+// console, a reader (stdin or a file) and handhelds connected to a loopback socket, each line
+// being "SKU" or "SKU,QUANTITY". All of them feed the same batcher.
+public class ScanSession {
+    private final ScanBatcher batcher;
+    private final Consumer<ScanSummary> onFinish;
+    private final long start = System.nanoTime();
+    private final AtomicLong invalidLines = new AtomicLong();
+    private final List<Socket> clients = new CopyOnWriteArrayList<>();
+    private final List<Thread> readers = new CopyOnWriteArrayList<>();
+    private ServerSocket server;
+    private Thread acceptor;
+    private ScanSummary summary;
+
+    public ScanSession(ScanBatcher batcher, Consumer<ScanSummary> onFinish) {
+        this.batcher = batcher;
+        this.onFinish = onFinish;
+    }
+
+    // Returns false when the line is not a valid scan
+    public boolean accept(String line) throws SQLException, InterruptedException {
+        Scan scan;
+        try {
+            scan = Scan.parse(line);
+        } catch (ValidationException e) {
+            invalidLines.incrementAndGet();
+            return false;
+        }
+        if (scan != null) {
+            batcher.offer(scan);
+        }
+        return true;
+    }
+
+    // Reads until the end of the stream; the caller owns and closes the reader
+    public void ingest(Reader reader) throws IOException, SQLException, InterruptedException {
+        BufferedReader lines = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        for (String line = lines.readLine(); line != null; line = lines.readLine()) {
+            accept(line);
+        }
+    }
+
+    // Accepts scanner connections on the loopback interface until finish(); port 0 picks a free port
+    public synchronized int listen(int port) throws IOException {
+        if (server != null) {
+            throw new IllegalStateException("Already listening on port " + server.getLocalPort());
+        }
+        server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        acceptor = new Thread(this::acceptConnections, "scan-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        return server.getLocalPort();
+    }
+
+    public long getScans() {
+        return batcher.getScans();
+    }
+
+    public long getCommittedUnits() {
+        return batcher.getCommittedUnits();
+    }
+
+    // Stops listening, commits the last batch and reports; safe to call more than once
+    public synchronized ScanSummary finish() throws SQLException, InterruptedException {
+        if (summary != null) {
+            return summary;
+        }
+        if (server != null) {
+            try {
+                server.close();
+            } catch (IOException ignored) {
+                // Already closed
+            }
+            // No connections are added once the acceptor is gone
+            acceptor.join();
+        }
+        for (Socket client : clients) {
+            try {
+                client.close();
+            } catch (IOException ignored) {
+                // Already closed
+            }
+        }
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        batcher.close();
+
+        summary = new ScanSummary(batcher.getScans(), invalidLines.get(), batcher.getCommittedUnits(),
+                batcher.getBatches(), batcher.getUnknownSkus(), batcher.getBlockedNanos(), System.nanoTime() - start);
+        onFinish.accept(summary);
+        return summary;
+    }
+
+    private void acceptConnections() {
+        while (true) {
+            Socket client;
+            try {
+                client = server.accept();
+            } catch (IOException e) {
+                return;
+            }
+            clients.add(client);
+            Thread reader = new Thread(() -> readConnection(client), "scan-client-" + client.getPort());
+            reader.setDaemon(true);
+            readers.add(reader);
+            reader.start();
+        }
+    }
+
+    // The socket is only read as fast as the batcher takes scans, so TCP flow control carries the
+    // backpressure back to the handheld
+    private void readConnection(Socket client) {
+        try (client; Reader reader = new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8)) {
+            ingest(reader);
+        } catch (SocketException e) {
+            // Closed by finish()
+        } catch (IOException | SQLException | RuntimeException e) {
+            System.err.println("Scanner connection closed: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            clients.remove(client);
+        }
+    }
+}
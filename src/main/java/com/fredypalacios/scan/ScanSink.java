@@ -0,0 +1,15 @@
+package com.fredypalacios.scan;
+
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Set;
+
+// Where a micro-batch of scans ends up; quantities are already summed per SKU
+@FunctionalInterface
+public interface ScanSink {
+
+    // Batches are numbered from 1 and a retry of a failed commit gets the same number, so a sink can
+    // recognise a batch that went through although its commit reported an error. Returns the SKUs
+    // that were dropped because no product has them.
+    Set<String> commit(long batch, Map<String, Integer> quantities) throws SQLException;
+}
@@ -0,0 +1,18 @@
+package com.fredypalacios.security;
+
+import com.fredypalacios.enums.Permission;
+
+// Unchecked so a guard can sit in front of any service method; the menus catch it
+public class AccessDeniedException extends RuntimeException {
+
+    private final Permission permission;
+
+    public AccessDeniedException(String message, Permission permission) {
+        super(message);
+        this.permission = permission;
+    }
+
+    public Permission getPermission() {
+        return permission;
+    }
+}
@@ -0,0 +1,97 @@
+package com.fredypalacios.security;
+
+import com.fredypalacios.enums.Permission;
+import com.fredypalacios.enums.UserRole;
+import com.fredypalacios.model.Session;
+
+// Permission checks at the service boundary. Each role's permissions are compiled once into a long
+// mask, and the guard keeps the signed-in user's mask in a single volatile field, so a check is one
+// read and one AND. Every service takes its guard explicitly: the console and scan mode pass the
+// guard they sign users in on, and only trusted callers such as tools and tests ask for system().
+public final class AccessGuard {
+
+    private static final long[] ROLE_MASKS = compileRoleMasks();
+    private static final Grant NOBODY = new Grant(-1, null, 0L);
+    private static final Grant SYSTEM = new Grant(-1, null, -1L);
+
+    private volatile Grant grant;
+
+    private AccessGuard(Grant grant) {
+        this.grant = grant;
+    }
+
+    // Allows everything and cannot be signed out of
+    public static AccessGuard system() {
+        return new AccessGuard(SYSTEM);
+    }
+
+    // Denies everything until signIn
+    public static AccessGuard signedOut() {
+        return new AccessGuard(NOBODY);
+    }
+
+    public static AccessGuard forRole(UserRole role) {
+        return new AccessGuard(new Grant(-1, role, ROLE_MASKS[role.ordinal()]));
+    }
+
+    public static boolean allows(UserRole role, Permission permission) {
+        return role != null && (ROLE_MASKS[role.ordinal()] & permission.mask()) != 0;
+    }
+
+    public void signIn(Session session) {
+        requireMutable();
+        grant = new Grant(session.userId(), session.role(), ROLE_MASKS[session.role().ordinal()]);
+    }
+
+    public void signOut() {
+        requireMutable();
+        grant = NOBODY;
+    }
+
+    public void require(Permission permission) {
+        Grant current = grant;
+        if ((current.mask() & permission.mask()) == 0) {
+            throw denied(current, permission);
+        }
+    }
+
+    // For actions a user may always take on their own account, such as changing their password
+    public void requireSelfOr(int userId, Permission permission) {
+        Grant current = grant;
+        boolean self = current.userId() >= 0 && current.userId() == userId;
+        if (!self && (current.mask() & permission.mask()) == 0) {
+            throw denied(current, permission);
+        }
+    }
+
+    public boolean can(Permission permission) {
+        return (grant.mask() & permission.mask()) != 0;
+    }
+
+    private void requireMutable() {
+        if (grant == SYSTEM) {
+            throw new IllegalStateException("The system guard has no signed-in user");
+        }
+    }
+
+    private static AccessDeniedException denied(Grant current, Permission permission) {
+        String who = current.role() == null ? "Signed-out users" : current.role().getDisplayName() + "s";
+        return new AccessDeniedException("Access denied: " + who + " cannot " + permission.getDescription(), permission);
+    }
+
+    private static long[] compileRoleMasks() {
+        if (Permission.values().length > Long.SIZE) {
+            throw new IllegalStateException("Permissions no longer fit a long mask");
+        }
+        long[] masks = new long[UserRole.values().length];
+        for (Permission permission : Permission.values()) {
+            for (UserRole role : permission.getRoles()) {
+                masks[role.ordinal()] |= permission.mask();
+            }
+        }
+        return masks;
+    }
+
+    private record Grant(int userId, UserRole role, long mask) {
+    }
+}
@@ -0,0 +1,50 @@
+package com.fredypalacios.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Load state of a cache kept current by ProductChangeListener events. A change that arrives while a
+// load is reading is queued and applied once the load has finished, and a bulk replace during a
+// load leaves the cache unloaded afterwards, so neither is lost to the load it raced with.
+final class CacheLoadState {
+    private final List<Runnable> pending = new ArrayList<>();
+    private volatile boolean loaded;
+    private boolean loading;
+    private boolean replacedWhileLoading;
+
+    boolean isLoaded() {
+        return loaded;
+    }
+
+    // Applies a single-row change now, queues it behind a running load, or drops it when nothing is
+    // loaded, since the next load reads it from the database
+    synchronized void apply(Runnable change) {
+        if (loading) {
+            pending.add(change);
+        } else if (loaded) {
+            change.run();
+        }
+    }
+
+    synchronized void invalidate() {
+        loaded = false;
+        if (loading) {
+            replacedWhileLoading = true;
+        }
+    }
+
+    synchronized void startLoad() {
+        loading = true;
+        replacedWhileLoading = false;
+        pending.clear();
+    }
+
+    synchronized void finishLoad(boolean succeeded) {
+        if (succeeded) {
+            pending.forEach(Runnable::run);
+        }
+        pending.clear();
+        loading = false;
+        loaded = succeeded && !replacedWhileLoading;
+    }
+}
@@ -0,0 +1,209 @@
+package com.fredypalacios.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fredypalacios.dao.ProductDAO;
+import com.fredypalacios.model.CacheLoadSummary;
+import com.fredypalacios.model.Product;
+import com.fredypalacios.snapshot.CatalogSnapshot;
+import com.fredypalacios.snapshot.CatalogSnapshotWriter;
+
+// The product rows the in-memory indexes are built from. The first load restores them from the
+// local snapshot and fetches only rows whose last_update is at or past the snapshot watermark;
+// later reloads after bulk changes use the same delta. saveSnapshot() writes them back for the
+// next start, stamped with the database they came from. Without a usable snapshot of this
+// database everything is read from the database.
+public class CatalogCacheService implements ProductChangeListener {
+    public static final Path DEFAULT_SNAPSHOT = Path.of(
+        System.getProperty("warehouse.snapshot",
+            Path.of(System.getProperty("user.home"), ".warehouse", "catalog.snap").toString())
+    );
+
+    // A row stamped just before a refresh can commit just after it, so each delta starts this far
+    // before the watermark
+    static final Duration REFRESH_OVERLAP = Duration.ofMinutes(1);
+
+    private final ProductDAO productDAO;
+    private final Path snapshotFile;
+    private final Map<Integer, Product> products = new ConcurrentHashMap<>();
+    // Newest last_update read from the database, never advanced by local writes, so changes made
+    // by other sessions after the last read are always inside the next delta
+    private volatile LocalDateTime watermark;
+    private volatile String source;
+    private final CacheLoadState state = new CacheLoadState();
+    private volatile CacheLoadSummary lastLoad;
+
+    public CatalogCacheService(ProductDAO productDAO, Path snapshotFile) {
+        this.productDAO = productDAO;
+        this.snapshotFile = snapshotFile;
+    }
+
+    public CatalogCacheService() {
+        this(new ProductDAO(), DEFAULT_SNAPSHOT);
+    }
+
+    public List<Product> products() throws SQLException {
+        ensureLoaded();
+        return new ArrayList<>(products.values());
+    }
+
+    public void ensureLoaded() throws SQLException {
+        if (!state.isLoaded()) {
+            synchronized (this) {
+                if (!state.isLoaded()) {
+                    load();
+                }
+            }
+        }
+    }
+
+    // Null until the first load
+    public CacheLoadSummary getLastLoad() {
+        return lastLoad;
+    }
+
+    // Writes the cached rows in id order; nothing is written before the first load, which leaves
+    // an older snapshot in place to be refreshed next time
+    public synchronized boolean saveSnapshot() throws IOException {
+        if (!state.isLoaded()) {
+            return false;
+        }
+        List<Product> sorted = new ArrayList<>(products.values());
+        sorted.sort(Comparator.comparingInt(Product::id));
+
+        Path parent = snapshotFile.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (CatalogSnapshotWriter writer = new CatalogSnapshotWriter(snapshotFile)) {
+            for (Product product : sorted) {
+                writer.writeProduct(product);
+            }
+            writer.setWatermark(watermark);
+            writer.setSource(source);
+        }
+        return true;
+    }
+
+    @Override
+    public void onProductSaved(Product product) {
+        state.apply(() -> products.put(product.id(), product));
+    }
+
+    @Override
+    public void onProductDeleted(int productId) {
+        state.apply(() -> products.remove(productId));
+    }
+
+    // Brought up to date with a delta query on next access
+    @Override
+    public void onProductsReplaced() {
+        state.invalidate();
+    }
+
+    private void load() throws SQLException {
+        state.startLoad();
+        boolean succeeded = false;
+        try {
+            lastLoad = readProducts();
+            succeeded = true;
+        } finally {
+            state.finishLoad(succeeded);
+        }
+    }
+
+    private CacheLoadSummary readProducts() throws SQLException {
+        long start = System.nanoTime();
+        source = productDAO.getDatabaseIdentity();
+        boolean fromSnapshot = false;
+        int restored = 0;
+        if (watermark == null) {
+            restored = restore();
+            fromSnapshot = watermark != null;
+        }
+
+        CacheLoadSummary summary = watermark == null ? null : refresh(start, fromSnapshot, restored);
+        return summary != null ? summary : loadAll(start);
+    }
+
+    // Fills the map from the snapshot file and returns the number of rows read; a missing,
+    // unreadable or empty snapshot, or one of another database, leaves the watermark unset
+    private int restore() {
+        try {
+            CatalogSnapshot snapshot = CatalogSnapshot.open(snapshotFile);
+            if (snapshot.watermark() == null) {
+                return 0;
+            }
+            if (source == null || !source.equals(snapshot.source())) {
+                System.err.println("Ignoring catalog snapshot " + snapshotFile + ": taken from another database");
+                return 0;
+            }
+            products.clear();
+            CatalogSnapshot.ProductCursor cursor = snapshot.products();
+            while (cursor.next()) {
+                Product product = cursor.toProduct();
+                products.put(product.id(), product);
+            }
+            watermark = snapshot.watermark();
+            return products.size();
+        } catch (NoSuchFileException e) {
+            return 0;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Ignoring catalog snapshot " + snapshotFile + ": " + e.getMessage());
+            products.clear();
+            return 0;
+        }
+    }
+
+    // Applies changes since the watermark. Returns null when the resulting ids do not match the
+    // database, e.g. a row stamped before the watermark that the delta cannot see, so a full load
+    // follows. Rows present on both sides are trusted to be unchanged below the watermark.
+    private CacheLoadSummary refresh(long start, boolean fromSnapshot, int restored) throws SQLException {
+        List<Product> changed = productDAO.findUpdatedSince(watermark.minus(REFRESH_OVERLAP));
+        BitSet ids = productDAO.findAllIds();
+
+        int before = products.size();
+        products.keySet().removeIf(id -> !ids.get(id));
+        int removed = before - products.size();
+        for (Product product : changed) {
+            products.put(product.id(), product);
+            advanceWatermark(product);
+        }
+
+        if (products.size() != ids.cardinality()) {
+            products.clear();
+            watermark = null;
+            return null;
+        }
+        return new CacheLoadSummary(fromSnapshot, products.size(), restored, changed.size(), removed,
+                System.nanoTime() - start);
+    }
+
+    private CacheLoadSummary loadAll(long start) throws SQLException {
+        products.clear();
+        watermark = null;
+        productDAO.forEach(product -> {
+            products.put(product.id(), product);
+            advanceWatermark(product);
+        });
+        return new CacheLoadSummary(false, products.size(), 0, products.size(), 0, System.nanoTime() - start);
+    }
+
+    private void advanceWatermark(Product product) {
+        if (product.lastUpdate() != null && (watermark == null || product.lastUpdate().isAfter(watermark))) {
+            watermark = product.lastUpdate();
+        }
+    }
+}
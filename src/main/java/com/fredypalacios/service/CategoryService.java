@@ -4,23 +4,29 @@ import java.sql.SQLException;
 import java.util.List;
 
 import com.fredypalacios.dao.CategoryDAO;
+import com.fredypalacios.dao.base.BatchLoader;
+import com.fredypalacios.enums.Permission;
 import com.fredypalacios.model.Category;
+import com.fredypalacios.security.AccessGuard;
 import com.fredypalacios.utils.InputValidator;
 import com.fredypalacios.utils.ValidationException;
 
 public class CategoryService {
 
     private final CategoryDAO categoryDAO;
+    private final AccessGuard accessGuard;
 
-    public CategoryService(CategoryDAO categoryDAO) {
+    public CategoryService(CategoryDAO categoryDAO, AccessGuard accessGuard) {
         this.categoryDAO = categoryDAO;
+        this.accessGuard = accessGuard;
     }
 
-    public CategoryService() {
-        this(new CategoryDAO());
+    public CategoryService(AccessGuard accessGuard) {
+        this(new CategoryDAO(), accessGuard);
     }
 
     public boolean create(String name, String description) throws ValidationException, SQLException {
+        accessGuard.require(Permission.CATEGORY_MANAGE);
         String validName = InputValidator.validateString(name, "Category name", 2, 100, false);
         String validDescription = InputValidator.validateString(description, "Description", 0, 255, true);
 
@@ -29,6 +35,7 @@ public class CategoryService {
     }
 
     public boolean update(Category category) throws SQLException {
+        accessGuard.require(Permission.CATEGORY_MANAGE);
         if (category == null) {
             throw new IllegalArgumentException("Category cannot be null");
         }
@@ -36,22 +43,33 @@ public class CategoryService {
     }
 
     public boolean delete(int id) throws SQLException {
+        accessGuard.require(Permission.CATEGORY_MANAGE);
         return categoryDAO.delete(id);
     }
 
     public Category findById(int id) throws SQLException {
+        accessGuard.require(Permission.CATEGORY_VIEW);
         return categoryDAO.findById(id);
     }
 
     public List<Category> findAll() throws SQLException {
+        accessGuard.require(Permission.CATEGORY_VIEW);
         return categoryDAO.findAll();
     }
 
     public List<Category> findAllActive() throws SQLException {
+        accessGuard.require(Permission.CATEGORY_VIEW);
         return categoryDAO.findAllActive();
     }
 
+    // One loader per screen or report so category lookups of a listing cost a single query
+    public BatchLoader<Integer, Category> newLoader() {
+        accessGuard.require(Permission.CATEGORY_VIEW);
+        return categoryDAO.newLoader();
+    }
+
     public boolean toggleActive(int id) throws SQLException {
+        accessGuard.require(Permission.CATEGORY_MANAGE);
         Category category = findById(id);
         if (category == null) {
             return false;
@@ -0,0 +1,222 @@
+package com.fredypalacios.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.fredypalacios.dao.ProductDAO;
+import com.fredypalacios.enums.CountScope;
+import com.fredypalacios.enums.Permission;
+import com.fredypalacios.model.Product;
+import com.fredypalacios.model.ReconciliationReport;
+import com.fredypalacios.model.StockVariance;
+import com.fredypalacios.security.AccessGuard;
+import com.fredypalacios.utils.CsvReader;
+import com.fredypalacios.utils.CsvWriter;
+import com.fredypalacios.utils.InputValidator;
+import com.fredypalacios.utils.ValidationException;
+
+// Reconciles a cycle count against stock. The counts are summed per SKU and sorted, then each product
+// streamed from the table is looked up by binary search, so one pass finds every variance whatever
+// collation the database sorts SKUs with.
+public class CycleCountService {
+    private static final DateTimeFormatter REFERENCE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final ProductDAO productDAO;
+    private final AccessGuard accessGuard;
+    private final List<ProductChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+
+    public CycleCountService(ProductDAO productDAO, AccessGuard accessGuard) {
+        this.productDAO = productDAO;
+        this.accessGuard = accessGuard;
+    }
+
+    public CycleCountService(AccessGuard accessGuard) {
+        this(new ProductDAO(), accessGuard);
+    }
+
+    public void addChangeListener(ProductChangeListener listener) {
+        changeListeners.add(listener);
+    }
+
+    public ReconciliationReport reconcile(Path countFile, CountScope scope)
+            throws IOException, ValidationException, SQLException {
+        try (CsvReader reader = new CsvReader(Files.newBufferedReader(countFile, StandardCharsets.UTF_8))) {
+            return reconcile(reader, scope);
+        }
+    }
+
+    // The header needs a sku column and a counted (or quantity) column; other columns such as the
+    // bin are ignored. A SKU counted in several bins is summed.
+    public ReconciliationReport reconcile(CsvReader reader, CountScope scope)
+            throws IOException, ValidationException, SQLException {
+        long start = System.nanoTime();
+        List<String> rejected = new ArrayList<>();
+        Counts counts = readCounts(reader, rejected);
+
+        Merge merge = new Merge(counts, scope);
+        long scanned = productDAO.forEachOrderedBySku(merge::accept);
+        merge.finish();
+
+        return new ReconciliationReport(scanned, counts.skus.length, merge.matched, merge.uncounted,
+                merge.variances, merge.unknown, rejected, System.nanoTime() - start);
+    }
+
+    // Applies the approved counts in one transaction, recording each difference as a movement under a
+    // COUNT-<timestamp> reference. Returns the variances whose stock changed after the report was made;
+    // in that case nothing is applied and those SKUs need a fresh count.
+    public List<StockVariance> applyAdjustments(List<StockVariance> approved) throws SQLException {
+        accessGuard.require(Permission.STOCK_COUNT);
+        String reference = "COUNT-" + LocalDateTime.now().format(REFERENCE_FORMAT);
+        Set<Integer> movedIds = new HashSet<>(productDAO.applyStockCounts(reference, approved));
+        if (!movedIds.isEmpty()) {
+            return approved.stream().filter(variance -> movedIds.contains(variance.productId())).toList();
+        }
+        if (!approved.isEmpty()) {
+            for (ProductChangeListener listener : changeListeners) {
+                listener.onProductsReplaced();
+            }
+        }
+        return List.of();
+    }
+
+    public void writeVarianceReport(ReconciliationReport report, Path target) throws IOException {
+        try (CsvWriter writer = new CsvWriter(Files.newBufferedWriter(target, StandardCharsets.UTF_8))) {
+            writer.writeRecord("sku", "name", "location", "system_stock", "counted", "difference", "value",
+                    "below_reserved");
+            for (StockVariance variance : report.variances()) {
+                writer.writeRecord(
+                    variance.sku(),
+                    variance.name(),
+                    variance.location(),
+                    String.valueOf(variance.systemStock()),
+                    String.valueOf(variance.counted()),
+                    String.valueOf(variance.difference()),
+                    String.format(Locale.ROOT, "%.2f", variance.value()),
+                    String.valueOf(variance.belowReserved())
+                );
+            }
+        }
+    }
+
+    private static Counts readCounts(CsvReader reader, List<String> rejected)
+            throws IOException, ValidationException {
+        List<String> header = reader.next();
+        if (header == null) {
+            throw new ValidationException("The file is empty");
+        }
+        int skuColumn = -1;
+        int countedColumn = -1;
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim().toLowerCase(Locale.ROOT);
+            if (name.equals("sku")) {
+                skuColumn = i;
+            } else if (name.equals("counted") || (name.equals("quantity") && countedColumn < 0)) {
+                countedColumn = i;
+            }
+        }
+        if (skuColumn < 0 || countedColumn < 0) {
+            throw new ValidationException("The header needs sku and counted columns");
+        }
+
+        Map<String, Integer> totals = new HashMap<>();
+        for (List<String> record = reader.next(); record != null; record = reader.next()) {
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            try {
+                if (record.size() <= Math.max(skuColumn, countedColumn)) {
+                    throw new ValidationException("Expected " + header.size() + " fields but found " + record.size());
+                }
+                String sku = InputValidator.validateSKU(record.get(skuColumn).trim());
+                int counted = parseCount(record.get(countedColumn));
+                totals.merge(sku, counted, Math::addExact);
+            } catch (ValidationException | ArithmeticException e) {
+                rejected.add("Line " + reader.getLineNumber() + ": " + e.getMessage());
+            }
+        }
+
+        String[] skus = totals.keySet().toArray(String[]::new);
+        Arrays.sort(skus);
+        int[] quantities = new int[skus.length];
+        for (int i = 0; i < skus.length; i++) {
+            quantities[i] = totals.get(skus[i]);
+        }
+        return new Counts(skus, quantities);
+    }
+
+    private static int parseCount(String value) throws ValidationException {
+        try {
+            int counted = Integer.parseInt(value.trim());
+            if (counted < 0) {
+                throw new ValidationException("Counted quantity cannot be negative: " + value);
+            }
+            return counted;
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Invalid counted quantity: " + value);
+        }
+    }
+
+    // Counted quantities in ascending SKU order
+    private record Counts(String[] skus, int[] quantities) {
+    }
+
+    // Matches the products as they stream past against the sorted counts
+    private static final class Merge {
+        private final Counts counts;
+        private final CountScope scope;
+        private final BitSet counted;
+        private final List<StockVariance> variances = new ArrayList<>();
+        private final List<String> unknown = new ArrayList<>();
+        private int matched;
+        private int uncounted;
+
+        Merge(Counts counts, CountScope scope) {
+            this.counts = counts;
+            this.scope = scope;
+            this.counted = new BitSet(counts.skus.length);
+        }
+
+        void accept(Product product) {
+            int index = Arrays.binarySearch(counts.skus, product.sku());
+            if (index >= 0) {
+                matched++;
+                counted.set(index);
+                compare(product, counts.quantities[index]);
+            } else if (scope == CountScope.FULL) {
+                uncounted++;
+                compare(product, 0);
+            }
+        }
+
+        void finish() {
+            for (int index = counted.nextClearBit(0); index < counts.skus.length;
+                    index = counted.nextClearBit(index + 1)) {
+                unknown.add(counts.skus[index]);
+            }
+            variances.sort(Comparator.comparing(StockVariance::sku));
+        }
+
+        private void compare(Product product, int counted) {
+            if (counted != product.stock()) {
+                variances.add(new StockVariance(product.id(), product.sku(), product.name(), product.location(),
+                        product.price(), product.stock(), product.reservedStock(), counted));
+            }
+        }
+    }
+}
@@ -1,60 +1,72 @@
 package com.fredypalacios.service;
 
 import java.sql.SQLException;
-import java.util.List;
 
 import static com.fredypalacios.ui.utils.ConsoleColors.*;
 
 import com.fredypalacios.dao.CategoryDAO;
 import com.fredypalacios.dao.ProductDAO;
 import com.fredypalacios.dao.UserDAO;
+import com.fredypalacios.enums.Permission;
 import com.fredypalacios.enums.ProductStatus;
-import com.fredypalacios.model.Category;
-import com.fredypalacios.model.Product;
-import com.fredypalacios.model.User;
+import com.fredypalacios.model.DashboardStats;
+import com.fredypalacios.security.AccessGuard;
 
 public class DashboardService {
     private final ProductDAO productDAO;
     private final UserDAO userDAO;
     private final CategoryDAO categoryDAO;
+    private final AccessGuard accessGuard;
 
-    public DashboardService() {
-        this.productDAO = new ProductDAO();
-        this.userDAO = new UserDAO();
-        this.categoryDAO = new CategoryDAO();
+    public DashboardService(ProductDAO productDAO, UserDAO userDAO, CategoryDAO categoryDAO, AccessGuard accessGuard) {
+        this.productDAO = productDAO;
+        this.userDAO = userDAO;
+        this.categoryDAO = categoryDAO;
+        this.accessGuard = accessGuard;
     }
 
-    public void showStatistics() throws SQLException {
-        List<Product> products = productDAO.findAll();
-        List<Product> lowStock = productDAO.findLowStockProducts();
-        List<User> users = userDAO.findAll();
-        List<Category> categories = categoryDAO.findAll();
+    public DashboardService(AccessGuard accessGuard) {
+        this(new ProductDAO(), new UserDAO(), new CategoryDAO(), accessGuard);
+    }
 
-        double totalValue = products.stream()
-                .mapToDouble(product -> product.price() * product.stock())
-                .sum();
+    // One streamed pass over the products; users and categories are only counted
+    public DashboardStats getStatistics() throws SQLException {
+        accessGuard.require(Permission.DASHBOARD_VIEW);
+        long[] counts = new long[3];
+        double[] totalValue = new double[1];
 
-        long available = products.stream()
-                .filter(product -> product.status() == ProductStatus.AVAILABLE)
-                .count();
+        long products = productDAO.forEach(product -> {
+            totalValue[0] += product.price() * product.stock();
+            if (product.status() == ProductStatus.AVAILABLE) {
+                counts[0]++;
+            } else if (product.status() == ProductStatus.OUT_OF_STOCK) {
+                counts[1]++;
+            }
+            if (product.needsRestock()) {
+                counts[2]++;
+            }
+        });
 
-        long outOfStock = products.stream()
-                .filter(product -> product.status() == ProductStatus.OUT_OF_STOCK)
-                .count();
+        return new DashboardStats(products, counts[0], counts[1], counts[2], totalValue[0],
+                categoryDAO.countAll(), userDAO.countAll());
+    }
+
+    public void showStatistics() throws SQLException {
+        DashboardStats stats = getStatistics();
 
         System.out.println(infoBg(" INVENTORY "));
-        System.out.println(info("  • Total products:     ") + success(products.size() + " items"));
-        System.out.println(info("  • Available:          ") + success(available + " items"));
-        System.out.println(info("  • Out of stock:       ") + error(outOfStock + " items"));
-        System.out.println(info("  • Inventory value:    ") + success(String.format("$%.2f", totalValue)));
+        System.out.println(info("  • Total products:     ") + success(stats.products() + " items"));
+        System.out.println(info("  • Available:          ") + success(stats.available() + " items"));
+        System.out.println(info("  • Out of stock:       ") + error(stats.outOfStock() + " items"));
+        System.out.println(info("  • Inventory value:    ") + success(String.format("$%.2f", stats.inventoryValue())));
         System.out.println();
 
         System.out.println(warningBg(" ALERTS "));
-        System.out.println(warning("  • Low stock:          ") + errorBg(" " + lowStock.size() + " "));
+        System.out.println(warning("  • Low stock:          ") + errorBg(" " + stats.lowStock() + " "));
         System.out.println();
 
         System.out.println(infoBg(" OTHERS "));
-        System.out.println(info("  • Categories:         ") + success(categories.size() + ""));
-        System.out.println(info("  • Users:              ") + success(users.size() + ""));
+        System.out.println(info("  • Categories:         ") + success(stats.categories() + ""));
+        System.out.println(info("  • Users:              ") + success(stats.users() + ""));
     }
 }
@@ -0,0 +1,149 @@
+package com.fredypalacios.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.util.zip.GZIPOutputStream;
+
+import com.fredypalacios.dao.CategoryDAO;
+import com.fredypalacios.dao.ProductDAO;
+import com.fredypalacios.dao.UserDAO;
+import com.fredypalacios.enums.ExportEntity;
+import com.fredypalacios.enums.ExportFormat;
+import com.fredypalacios.enums.Permission;
+import com.fredypalacios.model.ExportSummary;
+import com.fredypalacios.security.AccessGuard;
+import com.fredypalacios.utils.ChannelWriter;
+import com.fredypalacios.utils.CsvWriter;
+import com.fredypalacios.utils.JsonLinesWriter;
+
+// Streams a whole table to a file: rows go from the database cursor through one reused value
+// array into a buffered channel writer, so heap use does not grow with the table.
+public class ExportService {
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final ProductDAO productDAO;
+    private final UserDAO userDAO;
+    private final CategoryDAO categoryDAO;
+    private final AccessGuard accessGuard;
+
+    public ExportService(ProductDAO productDAO, UserDAO userDAO, CategoryDAO categoryDAO, AccessGuard accessGuard) {
+        this.productDAO = productDAO;
+        this.userDAO = userDAO;
+        this.categoryDAO = categoryDAO;
+        this.accessGuard = accessGuard;
+    }
+
+    public ExportService(AccessGuard accessGuard) {
+        this(new ProductDAO(), new UserDAO(), new CategoryDAO(), accessGuard);
+    }
+
+    public ExportSummary export(ExportEntity entity, ExportFormat format, Path target, boolean gzip)
+            throws IOException, SQLException {
+        accessGuard.require(switch (entity) {
+            case PRODUCTS -> Permission.PRODUCT_VIEW;
+            case USERS -> Permission.USER_VIEW;
+            case CATEGORIES -> Permission.CATEGORY_VIEW;
+        });
+
+        long start = System.nanoTime();
+        long rows;
+        try (
+            FileChannel file = FileChannel.open(target, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            ChannelWriter writer = new ChannelWriter(gzip ? gzipChannel(file) : file)
+        ) {
+            RecordSink sink = newSink(format, writer, entity.getColumns().toArray(String[]::new));
+            Object[] values = new Object[entity.getColumns().size()];
+
+            rows = switch (entity) {
+                case PRODUCTS -> productDAO.forEach(product -> {
+                    values[0] = product.id();
+                    values[1] = product.sku();
+                    values[2] = product.name();
+                    values[3] = product.description();
+                    values[4] = product.price();
+                    values[5] = product.stock();
+                    values[6] = product.reservedStock();
+                    values[7] = product.minStock();
+                    values[8] = product.location();
+                    values[9] = product.status();
+                    values[10] = product.categoryId();
+                    values[11] = product.lastUpdate();
+                    write(sink, values);
+                });
+                case USERS -> userDAO.forEach(user -> {
+                    values[0] = user.id();
+                    values[1] = user.username();
+                    values[2] = user.email();
+                    values[3] = user.fullName();
+                    values[4] = user.role();
+                    values[5] = user.createdAt();
+                    write(sink, values);
+                });
+                case CATEGORIES -> categoryDAO.forEach(category -> {
+                    values[0] = category.id();
+                    values[1] = category.name();
+                    values[2] = category.description();
+                    values[3] = category.active();
+                    write(sink, values);
+                });
+            };
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        return new ExportSummary(rows, Files.size(target), System.nanoTime() - start);
+    }
+
+    // Default file name for an export, e.g. products.csv.gz
+    public static String fileName(ExportEntity entity, ExportFormat format, boolean gzip) {
+        String name = entity.name().toLowerCase() + "." + format.getExtension();
+        return gzip ? name + ".gz" : name;
+    }
+
+    private static WritableByteChannel gzipChannel(FileChannel file) throws IOException {
+        return Channels.newChannel(new GZIPOutputStream(Channels.newOutputStream(file), GZIP_BUFFER_SIZE));
+    }
+
+    private static RecordSink newSink(ExportFormat format, ChannelWriter writer, String[] columns)
+            throws IOException {
+        return switch (format) {
+            case CSV -> {
+                CsvWriter csv = new CsvWriter(writer);
+                csv.writeRecord(columns);
+                String[] fields = new String[columns.length];
+                yield values -> {
+                    for (int i = 0; i < values.length; i++) {
+                        fields[i] = values[i] == null ? null : values[i].toString();
+                    }
+                    csv.writeRecord(fields);
+                };
+            }
+            case JSON_LINES -> {
+                JsonLinesWriter json = new JsonLinesWriter(writer);
+                yield values -> json.writeRecord(columns, values);
+            }
+        };
+    }
+
+    // Row handlers may only throw SQLException, so write failures travel unchecked to export()
+    private static void write(RecordSink sink, Object[] values) {
+        try {
+            sink.write(values);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface RecordSink {
+        void write(Object[] values) throws IOException;
+    }
+}
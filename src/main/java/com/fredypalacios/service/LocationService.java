@@ -0,0 +1,90 @@
+package com.fredypalacios.service;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import com.fredypalacios.index.LocationIndex;
+import com.fredypalacios.model.Location;
+import com.fredypalacios.model.Product;
+
+public class LocationService implements ProductChangeListener {
+
+    private final CatalogCacheService catalogCache;
+    private final LocationIndex index = new LocationIndex();
+    private final CacheLoadState state = new CacheLoadState();
+
+    public LocationService(CatalogCacheService catalogCache) {
+        this.catalogCache = catalogCache;
+    }
+
+    public LocationService() {
+        this(new CatalogCacheService());
+    }
+
+    public List<Product> findInAisle(String zone, String aisle) throws SQLException {
+        ensureLoaded();
+        return index.findInAisle(zone, aisle);
+    }
+
+    public List<Product> findInRackRange(String zone, String aisle, int fromRack, int toRack) throws SQLException {
+        ensureLoaded();
+        return index.findInRackRange(zone, aisle, fromRack, toRack);
+    }
+
+    public List<Product> findInBin(Location location) throws SQLException {
+        ensureLoaded();
+        return index.findInBin(location);
+    }
+
+    public int countInAisle(String zone, String aisle) throws SQLException {
+        ensureLoaded();
+        return index.countInAisle(zone, aisle);
+    }
+
+    public int occupiedBinsInAisle(String zone, String aisle) throws SQLException {
+        ensureLoaded();
+        return index.occupiedBinsInAisle(zone, aisle);
+    }
+
+    public int countInRack(String zone, String aisle, int rack) throws SQLException {
+        ensureLoaded();
+        return index.countInRack(zone, aisle, rack);
+    }
+
+    public synchronized void reload() throws SQLException {
+        state.startLoad();
+        boolean succeeded = false;
+        try {
+            index.rebuild(catalogCache.products());
+            succeeded = true;
+        } finally {
+            state.finishLoad(succeeded);
+        }
+    }
+
+    @Override
+    public void onProductSaved(Product product) {
+        state.apply(() -> index.put(product));
+    }
+
+    @Override
+    public void onProductDeleted(int productId) {
+        state.apply(() -> index.remove(productId));
+    }
+
+    // The next lookup reloads the whole index
+    @Override
+    public void onProductsReplaced() {
+        state.invalidate();
+    }
+
+    public void ensureLoaded() throws SQLException {
+        if (!state.isLoaded()) {
+            synchronized (this) {
+                if (!state.isLoaded()) {
+                    reload();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.fredypalacios.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fredypalacios.dao.UserDAO;
+import com.fredypalacios.model.Session;
+import com.fredypalacios.model.User;
+import com.fredypalacios.utils.AuthenticationException;
+import com.fredypalacios.utils.PasswordHasher;
+
+// Verifies a password with BCrypt once per login and hands out a random session token; checking a
+// token afterwards is a map lookup. Failed attempts are counted per username and, past a few free
+// ones, lock that name out for a doubling period without running BCrypt at all. Spraying one
+// password over many names is bounded by a global failure budget: once a window's budget is spent,
+// names that already failed are refused outright and unknown names skip the decoy hash, so BCrypt
+// runs at most once per real account while users with the right password still get in. Hashes below the current cost are rehashed in the background after a good login; legacy
+// plain-text rows are rehashed before the login succeeds.
+public class LoginService {
+    public static final Duration SESSION_TTL = Duration.ofHours(8);
+    public static final int FREE_ATTEMPTS = 5;
+    public static final Duration BASE_LOCKOUT = Duration.ofSeconds(30);
+    public static final Duration MAX_LOCKOUT = Duration.ofMinutes(15);
+    public static final int DEFAULT_FAILURE_BUDGET = 100;
+    public static final Duration FAILURE_WINDOW = Duration.ofMinutes(1);
+
+    private static final String INVALID_CREDENTIALS = "Invalid username or password";
+    private static final int TOKEN_BYTES = 32;
+    private static final int PRUNE_THRESHOLD = 10_000;
+
+    private final UserDAO userDAO;
+    private final PasswordHashingService hashingService;
+    private final Clock clock;
+    private final SecureRandom random = new SecureRandom();
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final Map<String, Attempts> attempts = new ConcurrentHashMap<>();
+    private final FailureBudget failureBudget;
+    private volatile String decoyHash;
+
+    public LoginService(UserDAO userDAO, PasswordHashingService hashingService, Clock clock, int failureBudget) {
+        this.userDAO = userDAO;
+        this.hashingService = hashingService;
+        this.clock = clock;
+        this.failureBudget = new FailureBudget(failureBudget);
+    }
+
+    public LoginService(UserDAO userDAO, PasswordHashingService hashingService, Clock clock) {
+        this(userDAO, hashingService, clock, DEFAULT_FAILURE_BUDGET);
+    }
+
+    public LoginService() {
+        this(new UserDAO(), PasswordHashingService.shared(), Clock.systemUTC());
+    }
+
+    public Session login(String username, String password) throws AuthenticationException, SQLException {
+        if (username == null || username.isBlank() || password == null || password.isEmpty()) {
+            throw new AuthenticationException(INVALID_CREDENTIALS);
+        }
+        String name = username.trim();
+        String key = name.toLowerCase(Locale.ROOT);
+        Instant now = clock.instant();
+
+        Attempts failures = attempts.get(key);
+        if (failures != null && failures.isStale(now)) {
+            attempts.remove(key, failures);
+            failures = null;
+        }
+        if (failures != null) {
+            long wait = failures.lockedFor(now).toSeconds();
+            if (wait > 0) {
+                throw new AuthenticationException("Too many failed attempts, try again in " + wait + " s");
+            }
+        }
+
+        long globalWait = failureBudget.lockedFor(now).toSeconds();
+        if (globalWait > 0 && failures != null) {
+            throw new AuthenticationException("Too many failed logins, try again in " + globalWait + " s");
+        }
+
+        User user = userDAO.findByUserName(name);
+        // An unknown name still costs one BCrypt, so response time does not reveal which names exist,
+        // unless the failure budget is spent and a spray is under way
+        boolean valid;
+        if (user == null) {
+            valid = globalWait == 0 && rejectAfterDecoy(password);
+        } else if (isHash(user.password())) {
+            valid = hashingService.verify(password, user.password());
+        } else {
+            valid = matchesLegacy(user, password);
+        }
+        if (!valid) {
+            failureBudget.fail(now);
+            if (attempts.size() > PRUNE_THRESHOLD) {
+                attempts.values().removeIf(failed -> failed.isStale(now));
+            }
+            attempts.computeIfAbsent(key, k -> new Attempts()).fail(now);
+            throw new AuthenticationException(INVALID_CREDENTIALS);
+        }
+        attempts.remove(key);
+
+        if (isHash(user.password()) && PasswordHasher.needsRehash(user.password())) {
+            rehashInBackground(user, password);
+        }
+
+        sessions.values().removeIf(session -> session.isExpired(now));
+        Session session = new Session(newToken(), user.id(), user.username(), user.role(), now, now.plus(SESSION_TTL));
+        sessions.put(session.token(), session);
+        return session;
+    }
+
+    // The session behind a token, or null when the token is unknown, logged out or expired
+    public Session authenticate(String token) {
+        if (token == null) {
+            return null;
+        }
+        Session session = sessions.get(token);
+        if (session != null && session.isExpired(clock.instant())) {
+            sessions.remove(token, session);
+            return null;
+        }
+        return session;
+    }
+
+    public void logout(String token) {
+        if (token != null) {
+            sessions.remove(token);
+        }
+    }
+
+    // Ends every session of a user, e.g. after a password change or deletion
+    public void invalidateSessions(int userId) {
+        sessions.values().removeIf(session -> session.userId() == userId);
+    }
+
+    public int getActiveSessions() {
+        return sessions.size();
+    }
+
+    private static boolean isHash(String stored) {
+        return stored != null && stored.startsWith("$2");
+    }
+
+    // Rows seeded before passwords were hashed hold plain text. A match only logs in once the hash
+    // has replaced it, so a row that cannot be rehashed never becomes a plain-text login.
+    private boolean matchesLegacy(User user, String password) throws SQLException {
+        String stored = user.password();
+        if (stored == null || !MessageDigest.isEqual(
+                password.getBytes(StandardCharsets.UTF_8), stored.getBytes(StandardCharsets.UTF_8))) {
+            return rejectAfterDecoy(password);
+        }
+        return userDAO.updatePasswordIfUnchanged(user.id(), stored, hashingService.hash(password));
+    }
+
+    private boolean rejectAfterDecoy(String password) {
+        String decoy = decoyHash;
+        if (decoy == null) {
+            decoy = hashingService.hash(newToken());
+            decoyHash = decoy;
+        }
+        hashingService.verify(password, decoy);
+        return false;
+    }
+
+    // Best effort: a full hashing queue or a failed update just leaves it for the next login
+    private void rehashInBackground(User user, String password) {
+        hashingService.hashAsync(password).thenAccept(hash -> {
+            try {
+                userDAO.updatePasswordIfUnchanged(user.id(), user.password(), hash);
+            } catch (SQLException e) {
+                System.err.println("Password rehash failed for " + user.username() + ": " + e.getMessage());
+            }
+        });
+    }
+
+    private String newToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    // Failures across all usernames in fixed windows; once a window's budget is spent only names
+    // without failures of their own are still checked until the next one
+    private static final class FailureBudget {
+        private final int budget;
+        private Instant windowStart = Instant.MIN;
+        private int failures;
+
+        FailureBudget(int budget) {
+            this.budget = budget;
+        }
+
+        synchronized void fail(Instant now) {
+            if (!now.isBefore(windowStart.plus(FAILURE_WINDOW))) {
+                windowStart = now;
+                failures = 0;
+            }
+            failures++;
+        }
+
+        synchronized Duration lockedFor(Instant now) {
+            Instant windowEnd = windowStart.plus(FAILURE_WINDOW);
+            return failures >= budget && now.isBefore(windowEnd)
+                    ? Duration.between(now, windowEnd).plusSeconds(1) : Duration.ZERO;
+        }
+    }
+
+    // Failures of one username; the count is forgotten once the name has been quiet for MAX_LOCKOUT
+    private static final class Attempts {
+        private int failures;
+        private Instant lastFailure = Instant.MIN;
+        private Instant lockedUntil = Instant.MIN;
+
+        synchronized void fail(Instant now) {
+            failures++;
+            lastFailure = now;
+            if (failures >= FREE_ATTEMPTS) {
+                int doublings = Math.min(failures - FREE_ATTEMPTS, 20);
+                Duration lockout = BASE_LOCKOUT.multipliedBy(1L << doublings);
+                lockedUntil = now.plus(lockout.compareTo(MAX_LOCKOUT) > 0 ? MAX_LOCKOUT : lockout);
+            }
+        }
+
+        synchronized Duration lockedFor(Instant now) {
+            return now.isBefore(lockedUntil) ? Duration.between(now, lockedUntil).plusSeconds(1) : Duration.ZERO;
+        }
+
+        synchronized boolean isStale(Instant now) {
+            return !now.isBefore(lastFailure.plus(MAX_LOCKOUT)) && !now.isBefore(lockedUntil);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.fredypalacios.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import com.fredypalacios.utils.PasswordHasher;
+
+// Runs BCrypt on a dedicated pool sized to the cores, so callers never spend their own thread on
+// it. Bulk work is capped at queueLimit pending hashes and either fails fast (hashAsync) or waits
+// for room (hashWhenAvailable); interactive calls (hash, verify) jump ahead of queued bulk work.
+public class PasswordHashingService implements AutoCloseable {
+    public static final int DEFAULT_QUEUE_LIMIT = 256;
+
+    private static final int INTERACTIVE = 0;
+    private static final int BULK = 1;
+    private static final long CLOSE_TIMEOUT_SECONDS = 30;
+
+    private final ThreadPoolExecutor executor;
+    private final Semaphore bulkPermits;
+    private final int queueLimit;
+    private final AtomicLong sequence = new AtomicLong();
+
+    public PasswordHashingService(int threads, int queueLimit) {
+        if (threads <= 0 || queueLimit <= 0) {
+            throw new IllegalArgumentException("Threads and queue limit must be positive");
+        }
+        this.queueLimit = queueLimit;
+        this.bulkPermits = new Semaphore(queueLimit);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        // The queue itself is unbounded so it can order by priority; the bulk permits bound it, and
+        // interactive callers add at most one task each since they wait for their result
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new PriorityBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "password-hasher-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public PasswordHashingService() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_QUEUE_LIMIT);
+    }
+
+    // Pool shared by the services built with their no-arg constructors
+    public static PasswordHashingService shared() {
+        return Shared.INSTANCE;
+    }
+
+    // Completes with RejectedExecutionException when queueLimit bulk hashes are already pending
+    public CompletableFuture<String> hashAsync(String plainTextPassword) {
+        if (!bulkPermits.tryAcquire()) {
+            return CompletableFuture.failedFuture(new RejectedExecutionException(
+                "Password hashing queue is full (" + queueLimit + " pending)"));
+        }
+        return submitBulk(plainTextPassword);
+    }
+
+    // Blocks until the queue has room, which paces a bulk producer to the speed of the pool
+    public CompletableFuture<String> hashWhenAvailable(String plainTextPassword) throws InterruptedException {
+        bulkPermits.acquire();
+        return submitBulk(plainTextPassword);
+    }
+
+    public String hash(String plainTextPassword) {
+        return await(submit(INTERACTIVE, () -> PasswordHasher.hash(plainTextPassword)));
+    }
+
+    public boolean verify(String plainTextPassword, String hashedPassword) {
+        return await(submit(INTERACTIVE, () -> PasswordHasher.verify(plainTextPassword, hashedPassword)));
+    }
+
+    public int getThreads() {
+        return executor.getCorePoolSize();
+    }
+
+    public int getQueueLimit() {
+        return queueLimit;
+    }
+
+    // Hashes waiting for a thread, interactive ones included
+    public int getQueued() {
+        return executor.getQueue().size();
+    }
+
+    // Queued work still runs; new submissions are rejected
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private CompletableFuture<String> submitBulk(String plainTextPassword) {
+        CompletableFuture<String> future = submit(BULK, () -> PasswordHasher.hash(plainTextPassword));
+        future.whenComplete((hash, error) -> bulkPermits.release());
+        return future;
+    }
+
+    private <T> CompletableFuture<T> submit(int priority, Supplier<T> work) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executor.execute(new Task(priority, sequence.getAndIncrement(), () -> {
+                try {
+                    future.complete(work.get());
+                } catch (RuntimeException | Error e) {
+                    future.completeExceptionally(e);
+                }
+            }));
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    // Rethrows what the hashing task threw, so callers see the same exceptions as PasswordHasher
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // Queue order: interactive before bulk, then first come first served
+    private record Task(int priority, long sequence, Runnable work) implements Runnable, Comparable<Task> {
+        @Override
+        public void run() {
+            work.run();
+        }
+
+        @Override
+        public int compareTo(Task other) {
+            if (priority != other.priority) {
+                return Integer.compare(priority, other.priority);
+            }
+            return Long.compare(sequence, other.sequence);
+        }
+    }
+
+    private static final class Shared {
+        private static final PasswordHashingService INSTANCE = new PasswordHashingService();
+    }
+}
@@ -0,0 +1,81 @@
+package com.fredypalacios.service;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fredypalacios.dao.ProductDAO;
+import com.fredypalacios.enums.Permission;
+import com.fredypalacios.model.Location;
+import com.fredypalacios.model.PickLine;
+import com.fredypalacios.model.Product;
+import com.fredypalacios.picking.PickRoute;
+import com.fredypalacios.picking.PickRouteOptimizer;
+import com.fredypalacios.picking.PickStop;
+import com.fredypalacios.picking.RoutingStrategy;
+import com.fredypalacios.picking.WarehouseLayout;
+import com.fredypalacios.security.AccessGuard;
+import com.fredypalacios.utils.ValidationException;
+
+public class PickingService {
+    private final ProductDAO productDAO;
+    private final WarehouseLayout layout;
+    private final AccessGuard accessGuard;
+
+    // A null layout sizes the aisles from the deepest rack in each batch
+    public PickingService(ProductDAO productDAO, WarehouseLayout layout, AccessGuard accessGuard) {
+        this.productDAO = productDAO;
+        this.layout = layout;
+        this.accessGuard = accessGuard;
+    }
+
+    public PickingService(AccessGuard accessGuard) {
+        this(new ProductDAO(), null, accessGuard);
+    }
+
+    public PickRoute planRoute(List<PickLine> lines) throws ValidationException, SQLException {
+        return planRoute(lines, RoutingStrategy.OPTIMIZED);
+    }
+
+    public PickRoute planRoute(List<PickLine> lines, RoutingStrategy strategy)
+            throws ValidationException, SQLException {
+        accessGuard.require(Permission.PRODUCT_VIEW);
+
+        if (lines == null || lines.isEmpty()) {
+            throw new ValidationException("Pick list cannot be empty");
+        }
+
+        // Repeated SKUs become a single stop
+        Map<String, Integer> quantities = new LinkedHashMap<>();
+        for (PickLine line : lines) {
+            quantities.merge(line.sku().trim().toUpperCase(), line.quantity(), Integer::sum);
+        }
+
+        Map<String, Product> products = productDAO.newSkuLoader().getAll(quantities.keySet());
+
+        List<String> unknown = new ArrayList<>();
+        List<PickStop> stops = new ArrayList<>(quantities.size());
+        int deepestRack = 0;
+        for (Map.Entry<String, Integer> entry : quantities.entrySet()) {
+            Product product = products.get(entry.getKey());
+            if (product == null) {
+                unknown.add(entry.getKey());
+                continue;
+            }
+            Location location = product.structuredLocation();
+            if (location != null) {
+                deepestRack = Math.max(deepestRack, location.rack());
+            }
+            stops.add(new PickStop(product.sku(), product.name(), entry.getValue(), location));
+        }
+
+        if (!unknown.isEmpty()) {
+            throw new ValidationException("Unknown SKU(s): " + String.join(", ", unknown));
+        }
+
+        WarehouseLayout routeLayout = layout != null ? layout : new WarehouseLayout(deepestRack + 1);
+        return new PickRouteOptimizer(routeLayout).route(stops, strategy);
+    }
+}
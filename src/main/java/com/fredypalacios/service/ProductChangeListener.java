@@ -0,0 +1,13 @@
+package com.fredypalacios.service;
+
+import com.fredypalacios.model.Product;
+
+// Keeps in-memory structures in sync with product writes made through ProductService
+public interface ProductChangeListener {
+    void onProductSaved(Product product);
+    void onProductDeleted(int productId);
+
+    // Many rows changed at once, e.g. by an import; cheaper to rebuild than to replay each row
+    default void onProductsReplaced() {
+    }
+}
@@ -0,0 +1,349 @@
+package com.fredypalacios.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import com.fredypalacios.dao.CategoryDAO;
+import com.fredypalacios.dao.ProductDAO;
+import com.fredypalacios.dao.base.SqlErrors;
+import com.fredypalacios.enums.ImportMode;
+import com.fredypalacios.enums.Permission;
+import com.fredypalacios.enums.ProductInsertResult;
+import com.fredypalacios.model.Category;
+import com.fredypalacios.model.ImportSummary;
+import com.fredypalacios.model.Product;
+import com.fredypalacios.model.UpsertSummary;
+import com.fredypalacios.security.AccessGuard;
+import com.fredypalacios.utils.CsvReader;
+import com.fredypalacios.utils.CsvWriter;
+import com.fredypalacios.utils.ValidationException;
+
+// Streams a product CSV into the database chunk by chunk. Only one chunk is held in memory;
+// rejected rows go to a reject file with the reason appended as an extra column.
+public class ProductImportService {
+    public static final int DEFAULT_CHUNK_SIZE = 5_000;
+
+    private static final List<String> REQUIRED_COLUMNS = List.of("sku", "name", "price", "stock", "category");
+
+    private final ProductDAO productDAO;
+    private final CategoryDAO categoryDAO;
+    private final UniqueKeyService uniqueKeys;
+    private final AccessGuard accessGuard;
+    private final List<ProductChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+
+    public ProductImportService(
+        ProductDAO productDAO,
+        CategoryDAO categoryDAO,
+        UniqueKeyService uniqueKeys,
+        AccessGuard accessGuard
+    ) {
+        this.productDAO = productDAO;
+        this.categoryDAO = categoryDAO;
+        this.uniqueKeys = uniqueKeys;
+        this.accessGuard = accessGuard;
+    }
+
+    public ProductImportService(ProductDAO productDAO, CategoryDAO categoryDAO, AccessGuard accessGuard) {
+        this(productDAO, categoryDAO, UniqueKeyService.forProducts(productDAO), accessGuard);
+    }
+
+    public ProductImportService(AccessGuard accessGuard) {
+        this(new ProductDAO(), new CategoryDAO(), UniqueKeyService.shared(), accessGuard);
+    }
+
+    public void addChangeListener(ProductChangeListener listener) {
+        changeListeners.add(listener);
+    }
+
+    public ImportSummary importCsv(
+        Path source,
+        Path rejectFile,
+        ImportMode mode,
+        int chunkSize,
+        Consumer<ImportSummary> progress
+    ) throws IOException, ValidationException, SQLException {
+        accessGuard.require(Permission.PRODUCT_MANAGE);
+        try (
+            CsvReader reader = new CsvReader(Files.newBufferedReader(source, StandardCharsets.UTF_8));
+            CsvWriter rejects = new CsvWriter(Files.newBufferedWriter(rejectFile, StandardCharsets.UTF_8))
+        ) {
+            return importCsv(reader, rejects, mode, chunkSize, progress);
+        }
+    }
+
+    // The header names the columns in any order: sku, name, price, stock and category are required,
+    // description, min_stock and location optional. Category holds a category name or id.
+    public ImportSummary importCsv(
+        CsvReader reader,
+        CsvWriter rejects,
+        ImportMode mode,
+        int chunkSize,
+        Consumer<ImportSummary> progress
+    ) throws IOException, ValidationException, SQLException {
+        accessGuard.require(Permission.PRODUCT_MANAGE);
+        if (chunkSize <= 0) {
+            throw new ValidationException("Chunk size must be positive");
+        }
+
+        List<String> header = reader.next();
+        if (header == null) {
+            throw new ValidationException("The file is empty");
+        }
+        Columns columns = Columns.of(header);
+
+        List<String> rejectHeader = new ArrayList<>(header);
+        rejectHeader.add("error");
+        rejects.writeRecord(rejectHeader);
+
+        if (mode == ImportMode.INSERT) {
+            uniqueKeys.loadIfNeeded();
+        }
+
+        ImportRun run = new ImportRun(mode, chunkSize, rejects, loadCategories(), columns.category());
+        for (List<String> record = reader.next(); record != null; record = reader.next()) {
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            run.read++;
+            try {
+                run.add(record, columns.toProduct(record, run.categories));
+            } catch (ValidationException e) {
+                run.reject(record, "Line " + reader.getLineNumber() + ": " + e.getMessage());
+            }
+            if (run.chunk.size() == chunkSize) {
+                run.flush();
+                progress.accept(run.summary());
+            }
+        }
+        run.flush();
+        rejects.flush();
+
+        ImportSummary summary = run.summary();
+        progress.accept(summary);
+        if (summary.inserted() + summary.updated() > 0) {
+            for (ProductChangeListener listener : changeListeners) {
+                listener.onProductsReplaced();
+            }
+        }
+        return summary;
+    }
+
+    // Categories keyed by id and by lower-case name, read once per import
+    private Map<String, Category> loadCategories() throws SQLException {
+        Map<String, Category> categories = new HashMap<>();
+        for (Category category : categoryDAO.findAll()) {
+            categories.put(String.valueOf(category.id()), category);
+            categories.putIfAbsent(category.name().toLowerCase(Locale.ROOT), category);
+        }
+        return categories;
+    }
+
+    private record Columns(
+        int sku,
+        int name,
+        int description,
+        int price,
+        int stock,
+        int minStock,
+        int location,
+        int category,
+        int width
+    ) {
+        static Columns of(List<String> header) throws ValidationException {
+            Map<String, Integer> positions = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                positions.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+
+            List<String> missing = REQUIRED_COLUMNS.stream().filter(column -> !positions.containsKey(column)).toList();
+            if (!missing.isEmpty()) {
+                throw new ValidationException("Missing column(s): " + String.join(", ", missing));
+            }
+
+            return new Columns(
+                positions.get("sku"),
+                positions.get("name"),
+                positions.getOrDefault("description", -1),
+                positions.get("price"),
+                positions.get("stock"),
+                positions.getOrDefault("min_stock", -1),
+                positions.getOrDefault("location", -1),
+                positions.get("category"),
+                header.size()
+            );
+        }
+
+        Product toProduct(List<String> record, Map<String, Category> categories) throws ValidationException {
+            if (record.size() != width) {
+                throw new ValidationException("Expected " + width + " fields but found " + record.size());
+            }
+
+            String categoryKey = record.get(category).trim();
+            Category resolved = categories.get(categoryKey.toLowerCase(Locale.ROOT));
+            if (resolved == null) {
+                throw new ValidationException(ProductInsertResult.CATEGORY_NOT_FOUND.getMessage() + ": " + categoryKey);
+            }
+            if (!resolved.active()) {
+                throw new ValidationException(ProductInsertResult.CATEGORY_INACTIVE.getMessage() + ": " + categoryKey);
+            }
+
+            return ProductService.validatedProduct(
+                record.get(sku),
+                record.get(name),
+                optional(record, description),
+                parseDouble(record.get(price), "price"),
+                parseInt(record.get(stock), "stock"),
+                minStock < 0 ? 0 : parseInt(record.get(minStock), "min_stock"),
+                optional(record, location),
+                resolved.id()
+            );
+        }
+
+        private static String optional(List<String> record, int index) {
+            return index < 0 ? "" : record.get(index);
+        }
+
+        private static double parseDouble(String value, String column) throws ValidationException {
+            try {
+                return Double.parseDouble(value.trim());
+            } catch (NumberFormatException e) {
+                throw new ValidationException("Invalid " + column + ": " + value);
+            }
+        }
+
+        private static int parseInt(String value, String column) throws ValidationException {
+            try {
+                return Integer.parseInt(value.trim());
+            } catch (NumberFormatException e) {
+                throw new ValidationException("Invalid " + column + ": " + value);
+            }
+        }
+    }
+
+    // Mutable state of one import; the chunk keeps each product next to its source record
+    private final class ImportRun {
+        private final ImportMode mode;
+        private final CsvWriter rejects;
+        private final Map<String, Category> categories;
+        private final int categoryColumn;
+        private final List<Product> chunk;
+        private final List<List<String>> records;
+        private final Set<String> chunkSkus = new HashSet<>();
+        private final long start = System.nanoTime();
+        private long read;
+        private long inserted;
+        private long updated;
+        private long unchanged;
+        private long rejected;
+
+        ImportRun(
+            ImportMode mode,
+            int chunkSize,
+            CsvWriter rejects,
+            Map<String, Category> categories,
+            int categoryColumn
+        ) {
+            this.mode = mode;
+            this.rejects = rejects;
+            this.categories = categories;
+            this.categoryColumn = categoryColumn;
+            this.chunk = new ArrayList<>(chunkSize);
+            this.records = new ArrayList<>(chunkSize);
+        }
+
+        void add(List<String> record, Product product) throws IOException {
+            // A repeated SKU is a conflict for inserts; for upserts the later row wins
+            if (mode == ImportMode.INSERT && !chunkSkus.add(product.sku())) {
+                reject(record, "Duplicate SKU in file: " + product.sku());
+                return;
+            }
+            chunk.add(product);
+            records.add(List.copyOf(record));
+        }
+
+        void reject(List<String> record, String reason) throws IOException {
+            List<String> row = new ArrayList<>(record);
+            row.add(reason);
+            rejects.writeRecord(row);
+            rejected++;
+        }
+
+        void flush() throws IOException, SQLException {
+            if (chunk.isEmpty()) {
+                return;
+            }
+
+            if (mode == ImportMode.UPSERT) {
+                UpsertSummary summary = productDAO.upsertAllBySku(chunk);
+                inserted += summary.inserted();
+                updated += summary.updated();
+                unchanged += summary.unchanged();
+                chunk.forEach(product -> uniqueKeys.recordSku(product.sku()));
+            } else {
+                // Only SKUs the key filter cannot rule out are looked up. Earlier chunks are already
+                // committed and recorded, so this also catches repeats across chunks.
+                List<String> candidates = chunkSkus.stream().filter(uniqueKeys::mightContainSku).toList();
+                Set<String> existing = productDAO.findExistingSkus(candidates);
+                List<Product> toInsert = withoutSkus(existing);
+                List<ProductInsertResult> results;
+                try {
+                    results = productDAO.createAllInActiveCategory(toInsert);
+                } catch (SQLException e) {
+                    if (!SqlErrors.isUniqueViolation(e)) {
+                        throw e;
+                    }
+                    // Another session created one of them after the filter was loaded; check them all
+                    existing = productDAO.findExistingSkus(chunkSkus);
+                    toInsert = withoutSkus(existing);
+                    results = productDAO.createAllInActiveCategory(toInsert);
+                }
+
+                // The category map was read when the import started; the insert itself rechecks each category
+                Map<String, ProductInsertResult> failures = new HashMap<>();
+                for (int i = 0; i < results.size(); i++) {
+                    if (results.get(i).isCreated()) {
+                        inserted++;
+                    } else {
+                        failures.put(toInsert.get(i).sku(), results.get(i));
+                    }
+                }
+
+                for (int i = 0; i < chunk.size(); i++) {
+                    String sku = chunk.get(i).sku();
+                    ProductInsertResult failure = failures.get(sku);
+                    if (existing.contains(sku)) {
+                        reject(records.get(i), "SKU already exists: " + sku);
+                    } else if (failure != null) {
+                        reject(records.get(i), failure.getMessage() + ": " + records.get(i).get(categoryColumn).trim());
+                    } else {
+                        uniqueKeys.recordSku(sku);
+                    }
+                }
+            }
+
+            chunk.clear();
+            records.clear();
+            chunkSkus.clear();
+        }
+
+        private List<Product> withoutSkus(Set<String> skus) {
+            return chunk.stream().filter(product -> !skus.contains(product.sku())).toList();
+        }
+
+        ImportSummary summary() {
+            return new ImportSummary(read, inserted, updated, unchanged, rejected, System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.fredypalacios.service;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import com.fredypalacios.index.ProductSearchIndex;
+import com.fredypalacios.model.Product;
+
+public class ProductSearchService implements ProductChangeListener {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int DEFAULT_SUGGESTIONS = 5;
+
+    private final CatalogCacheService catalogCache;
+    private final ProductSearchIndex index = new ProductSearchIndex();
+    private final CacheLoadState state = new CacheLoadState();
+
+    public ProductSearchService(CatalogCacheService catalogCache) {
+        this.catalogCache = catalogCache;
+    }
+
+    public ProductSearchService() {
+        this(new CatalogCacheService());
+    }
+
+    // Prefix and substring search over SKU and name, without touching the database once loaded
+    public List<Product> search(String query, int limit) throws SQLException {
+        ensureLoaded();
+        return index.search(query, limit);
+    }
+
+    public List<Product> search(String query) throws SQLException {
+        return search(query, DEFAULT_LIMIT);
+    }
+
+    // Typo-tolerant "did you mean" candidates, cheap enough to run on every SKU miss
+    public List<Product> suggest(String query, int limit) throws SQLException {
+        ensureLoaded();
+        return index.suggest(query, limit);
+    }
+
+    public List<Product> suggest(String query) throws SQLException {
+        return suggest(query, DEFAULT_SUGGESTIONS);
+    }
+
+    public synchronized void reload() throws SQLException {
+        state.startLoad();
+        boolean succeeded = false;
+        try {
+            index.rebuild(catalogCache.products());
+            succeeded = true;
+        } finally {
+            state.finishLoad(succeeded);
+        }
+    }
+
+    public int indexedCount() {
+        return index.size();
+    }
+
+    @Override
+    public void onProductSaved(Product product) {
+        state.apply(() -> index.put(product));
+    }
+
+    @Override
+    public void onProductDeleted(int productId) {
+        state.apply(() -> index.remove(productId));
+    }
+
+    // Rebuilt from the refreshed catalog cache on next access
+    @Override
+    public void onProductsReplaced() {
+        state.invalidate();
+    }
+
+    public void ensureLoaded() throws SQLException {
+        if (!state.isLoaded()) {
+            synchronized (this) {
+                if (!state.isLoaded()) {
+                    reload();
+                }
+            }
+        }
+    }
+}
@@ -2,43 +2,100 @@ package com.fredypalacios.service;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
-import com.fredypalacios.dao.CategoryDAO;
 import com.fredypalacios.dao.ProductDAO;
-import com.fredypalacios.model.Category;
+import com.fredypalacios.dao.base.BatchLoader;
+import com.fredypalacios.dao.base.SqlErrors;
+import com.fredypalacios.enums.ProductInsertResult;
+import com.fredypalacios.enums.Permission;
 import com.fredypalacios.model.Product;
+import com.fredypalacios.model.SkuLookup;
+import com.fredypalacios.security.AccessGuard;
 import com.fredypalacios.utils.InputValidator;
 import com.fredypalacios.utils.ValidationException;
 
 public class ProductService {
-    private final ProductDAO productDAO;
-    private final CategoryDAO categoryDAO;
+    private static final String DUPLICATE_SKU = "SKU already exists: ";
 
-    public ProductService(ProductDAO productDAO, CategoryDAO categoryDAO) {
+    private final ProductDAO productDAO;
+    private final UniqueKeyService uniqueKeys;
+    private final ProductSearchService searchService;
+    private final AccessGuard accessGuard;
+    private final List<ProductChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+
+    public ProductService(
+        ProductDAO productDAO,
+        UniqueKeyService uniqueKeys,
+        ProductSearchService searchService,
+        AccessGuard accessGuard
+    ) {
         this.productDAO = productDAO;
-        this.categoryDAO = categoryDAO;
+        this.uniqueKeys = uniqueKeys;
+        this.searchService = searchService;
+        this.accessGuard = accessGuard;
+    }
+
+    // Without a search index a SKU miss comes back without suggestions
+    public ProductService(ProductDAO productDAO, UniqueKeyService uniqueKeys, AccessGuard accessGuard) {
+        this(productDAO, uniqueKeys, null, accessGuard);
+    }
+
+    public ProductService(ProductDAO productDAO, AccessGuard accessGuard) {
+        this(productDAO, UniqueKeyService.forProducts(productDAO), accessGuard);
+    }
+
+    public ProductService(ProductSearchService searchService, AccessGuard accessGuard) {
+        this(new ProductDAO(), UniqueKeyService.shared(), searchService, accessGuard);
+    }
+
+    public ProductService(AccessGuard accessGuard) {
+        this(new ProductDAO(), UniqueKeyService.shared(), accessGuard);
     }
 
-    public ProductService() {
-        this(new ProductDAO(), new CategoryDAO());
+    public void addChangeListener(ProductChangeListener listener) {
+        changeListeners.add(listener);
     }
 
     public List<Product> findAll() throws SQLException {
+        accessGuard.require(Permission.PRODUCT_VIEW);
         return productDAO.findAll();
     }
 
     public Product findById(int id) throws SQLException {
+        accessGuard.require(Permission.PRODUCT_VIEW);
         return productDAO.findById(id);
     }
 
     public Product findBySku(String sku) throws SQLException {
+        accessGuard.require(Permission.PRODUCT_VIEW);
         if (sku == null || sku.isBlank()) {
             return null;
         }
         return productDAO.findBySku(sku);
     }
 
+    // Exact SKU lookup; a miss comes with "did you mean" candidates from the search index
+    public SkuLookup lookupSku(String sku) throws SQLException {
+        Product product = findBySku(sku);
+        if (product != null || sku == null || sku.isBlank() || searchService == null) {
+            return new SkuLookup(product, List.of());
+        }
+        return new SkuLookup(null, searchService.suggest(sku.trim()));
+    }
+
+    public BatchLoader<Integer, Product> newLoader() {
+        accessGuard.require(Permission.PRODUCT_VIEW);
+        return productDAO.newLoader();
+    }
+
+    public BatchLoader<String, Product> newSkuLoader() {
+        accessGuard.require(Permission.PRODUCT_VIEW);
+        return productDAO.newSkuLoader();
+    }
+
     public List<Product> findLowStockProducts() throws SQLException {
+        accessGuard.require(Permission.PRODUCT_VIEW);
         return productDAO.findLowStockProducts();
     }
 
@@ -46,15 +103,44 @@ public class ProductService {
         String sku, String name, String description, double price,
         int stock, int minStock, String location, int categoryId
     ) throws ValidationException, SQLException {
+        accessGuard.require(Permission.PRODUCT_MANAGE);
+
+        Product product = validatedProduct(
+            sku, name, description, price, stock, minStock, location, categoryId
+        );
 
-        Category category = categoryDAO.findById(categoryId);
-        if (category == null) {
-            throw new ValidationException("Category does not exist");
+        if (uniqueKeys.skuExists(product.sku())) {
+            throw new ValidationException(DUPLICATE_SKU + product.sku());
         }
 
-        if (!category.active()) {
-            throw new ValidationException("Category is inactive");
+        // The category existence and active flag are checked by the insert itself
+        ProductInsertResult result;
+        try {
+            result = productDAO.createInActiveCategory(product);
+        } catch (SQLException e) {
+            // Another session took the SKU after the check
+            if (SqlErrors.isUniqueViolation(e)) {
+                throw new ValidationException(DUPLICATE_SKU + product.sku());
+            }
+            throw e;
+        }
+        if (!result.isCreated()) {
+            throw new ValidationException(result.getMessage());
         }
+        uniqueKeys.recordSku(product.sku());
+
+        // Listeners need the generated id, so the row is only read back when someone is listening
+        if (!changeListeners.isEmpty()) {
+            fireSaved(productDAO.findBySku(product.sku()));
+        }
+        return true;
+    }
+
+    // Field rules shared by interactive creation and bulk import
+    static Product validatedProduct(
+        String sku, String name, String description, double price,
+        int stock, int minStock, String location, int categoryId
+    ) throws ValidationException {
 
         String validSku = InputValidator.validateSKU(sku);
         String validName = InputValidator.validateString(
@@ -70,7 +156,7 @@ public class ProductService {
                 location, "Location", 0, 20, true
         );
 
-        Product product = new Product(
+        return new Product(
             validSku,
             validName,
             validDescription,
@@ -80,18 +166,24 @@ public class ProductService {
             validLocation,
             categoryId
         );
-
-        return productDAO.create(product);
     }
 
     public boolean update(Product product) throws SQLException {
+        accessGuard.require(Permission.PRODUCT_MANAGE);
         if (product == null) {
             throw new IllegalArgumentException("Product cannot be null");
         }
-        return productDAO.update(product);
+
+        boolean updated = productDAO.update(product);
+        if (updated) {
+            uniqueKeys.recordSku(product.sku());
+            fireSaved(product);
+        }
+        return updated;
     }
 
     public boolean updateStock(int productId, int newStock) throws ValidationException, SQLException {
+        accessGuard.require(Permission.STOCK_ADJUST);
         int validStock = InputValidator.validateStock(newStock);
 
         Product product = findById(productId);
@@ -99,14 +191,34 @@ public class ProductService {
             return false;
         }
 
-        return productDAO.updateStock(productId, validStock);
+        boolean updated = productDAO.updateStock(productId, validStock);
+        if (updated && !changeListeners.isEmpty()) {
+            fireSaved(productDAO.findById(productId));
+        }
+        return updated;
     }
 
     public boolean delete(int id) throws SQLException {
-        return productDAO.delete(id);
+        accessGuard.require(Permission.PRODUCT_MANAGE);
+        boolean deleted = productDAO.delete(id);
+        if (deleted) {
+            for (ProductChangeListener listener : changeListeners) {
+                listener.onProductDeleted(id);
+            }
+        }
+        return deleted;
     }
 
     public List<Product> getLowStockProducts() throws SQLException {
         return findLowStockProducts();
     }
-}
\ No newline at end of file
+
+    private void fireSaved(Product product) {
+        if (product == null) {
+            return;
+        }
+        for (ProductChangeListener listener : changeListeners) {
+            listener.onProductSaved(product);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.fredypalacios.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.fredypalacios.dao.ProductDAO;
+import com.fredypalacios.dao.base.SqlErrors;
+import com.fredypalacios.enums.MovementType;
+import com.fredypalacios.enums.Permission;
+import com.fredypalacios.model.Product;
+import com.fredypalacios.model.ReceiptLine;
+import com.fredypalacios.model.ReceiptSummary;
+import com.fredypalacios.model.StockMovement;
+import com.fredypalacios.security.AccessGuard;
+import com.fredypalacios.utils.CsvReader;
+import com.fredypalacios.utils.InputValidator;
+import com.fredypalacios.utils.ValidationException;
+
+// Posts an advance shipping notice (ASN) as a whole: the lines are matched to products with one
+// bulk SKU lookup, then every stock increment and its movement record are written in a single
+// batched transaction. A delivery is posted completely or not at all.
+public class ReceivingService {
+    private static final int MAX_REFERENCE_LENGTH = 50;
+
+    private final ProductDAO productDAO;
+    private final AccessGuard accessGuard;
+    private final List<ProductChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+
+    public ReceivingService(ProductDAO productDAO, AccessGuard accessGuard) {
+        this.productDAO = productDAO;
+        this.accessGuard = accessGuard;
+    }
+
+    public ReceivingService(AccessGuard accessGuard) {
+        this(new ProductDAO(), accessGuard);
+    }
+
+    public void addChangeListener(ProductChangeListener listener) {
+        changeListeners.add(listener);
+    }
+
+    public ReceiptSummary receive(String reference, List<ReceiptLine> lines) throws ValidationException, SQLException {
+        accessGuard.require(Permission.STOCK_RECEIVE);
+        long start = System.nanoTime();
+        String asn = validateReference(reference);
+        if (lines == null || lines.isEmpty()) {
+            throw new ValidationException("The delivery has no lines");
+        }
+        Set<String> skus = new LinkedHashSet<>();
+        for (ReceiptLine line : lines) {
+            skus.add(line.sku().trim().toUpperCase(Locale.ROOT));
+        }
+        Map<String, Product> products = productDAO.newSkuLoader().getAll(skus);
+
+        List<String> unknown = skus.stream().filter(sku -> !products.containsKey(sku)).toList();
+        if (!unknown.isEmpty()) {
+            throw new ValidationException("Unknown SKU(s): " + String.join(", ", unknown));
+        }
+
+        List<StockMovement> movements = new ArrayList<>(lines.size());
+        long units = 0;
+        for (ReceiptLine line : lines) {
+            Product product = products.get(line.sku().trim().toUpperCase(Locale.ROOT));
+            movements.add(new StockMovement(product.id(), MovementType.RECEIPT, line.quantity(), asn));
+            units += line.quantity();
+        }
+
+        // Posting the same notice twice would double the stock; the receipts table refuses it
+        List<Integer> missingIds;
+        try {
+            missingIds = productDAO.postReceipt(asn, movements);
+        } catch (SQLException e) {
+            if (!SqlErrors.isUniqueViolation(e)) {
+                throw e;
+            }
+            throw new ValidationException("ASN " + asn + " has already been posted");
+        }
+        if (!missingIds.isEmpty()) {
+            throw new ValidationException("Product(s) deleted while receiving, ids: " + missingIds);
+        }
+
+        for (ProductChangeListener listener : changeListeners) {
+            listener.onProductsReplaced();
+        }
+        return new ReceiptSummary(asn, lines.size(), skus.size(), units, System.nanoTime() - start);
+    }
+
+    // Reads ASN lines from a CSV with sku and quantity columns; any other columns are ignored.
+    // One bad line rejects the file, so a delivery is never posted in part.
+    public List<ReceiptLine> readLines(Path file) throws IOException, ValidationException {
+        try (CsvReader reader = new CsvReader(Files.newBufferedReader(file, StandardCharsets.UTF_8))) {
+            return readLines(reader);
+        }
+    }
+
+    public List<ReceiptLine> readLines(CsvReader reader) throws IOException, ValidationException {
+        List<String> header = reader.next();
+        if (header == null) {
+            throw new ValidationException("The file is empty");
+        }
+        int skuColumn = -1;
+        int quantityColumn = -1;
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim().toLowerCase(Locale.ROOT);
+            if (name.equals("sku")) {
+                skuColumn = i;
+            } else if (name.equals("quantity")) {
+                quantityColumn = i;
+            }
+        }
+        if (skuColumn < 0 || quantityColumn < 0) {
+            throw new ValidationException("The header needs sku and quantity columns");
+        }
+
+        List<ReceiptLine> lines = new ArrayList<>();
+        for (List<String> record = reader.next(); record != null; record = reader.next()) {
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            String prefix = "Line " + reader.getLineNumber() + ": ";
+            if (record.size() <= Math.max(skuColumn, quantityColumn)) {
+                throw new ValidationException(prefix + "Expected " + header.size() + " fields but found " + record.size());
+            }
+            try {
+                String sku = InputValidator.validateSKU(record.get(skuColumn).trim());
+                lines.add(new ReceiptLine(sku, Integer.parseInt(record.get(quantityColumn).trim())));
+            } catch (NumberFormatException e) {
+                throw new ValidationException(prefix + "Invalid quantity: " + record.get(quantityColumn));
+            } catch (IllegalArgumentException | ValidationException e) {
+                throw new ValidationException(prefix + e.getMessage());
+            }
+        }
+        return lines;
+    }
+
+    private static String validateReference(String reference) throws ValidationException {
+        if (reference == null || reference.isBlank()) {
+            throw new ValidationException("ASN number cannot be empty");
+        }
+        String trimmed = reference.trim().toUpperCase(Locale.ROOT);
+        if (trimmed.length() > MAX_REFERENCE_LENGTH) {
+            throw new ValidationException("ASN number cannot exceed " + MAX_REFERENCE_LENGTH + " characters");
+        }
+        return trimmed;
+    }
+}
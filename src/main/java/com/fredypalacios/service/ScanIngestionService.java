@@ -0,0 +1,129 @@
+package com.fredypalacios.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.fredypalacios.dao.ProductDAO;
+import com.fredypalacios.dao.base.SqlErrors;
+import com.fredypalacios.enums.MovementType;
+import com.fredypalacios.enums.Permission;
+import com.fredypalacios.model.Product;
+import com.fredypalacios.model.ScanSummary;
+import com.fredypalacios.model.StockMovement;
+import com.fredypalacios.scan.ScanBatcher;
+import com.fredypalacios.scan.ScanSession;
+import com.fredypalacios.security.AccessGuard;
+
+// Receives stock by barcode scan. Scans are summed per SKU and each micro-batch is posted as a
+// receipt in one transaction, under a SCAN-<timestamp>-<session>-<batch> reference. The receipts
+// table refuses a reference twice, so a retried batch whose first attempt did commit is not
+// posted again.
+public class ScanIngestionService {
+    public static final int DEFAULT_BATCH_SCANS = 500;
+    public static final long DEFAULT_BATCH_MILLIS = 1_000;
+    public static final int DEFAULT_QUEUE_CAPACITY = 10_000;
+
+    private static final DateTimeFormatter REFERENCE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final ProductDAO productDAO;
+    private final int batchScans;
+    private final long batchMillis;
+    private final int queueCapacity;
+    private final AccessGuard accessGuard;
+    private final List<ProductChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+
+    public ScanIngestionService(
+        ProductDAO productDAO,
+        int batchScans,
+        long batchMillis,
+        int queueCapacity,
+        AccessGuard accessGuard
+    ) {
+        this.productDAO = productDAO;
+        this.batchScans = batchScans;
+        this.batchMillis = batchMillis;
+        this.queueCapacity = queueCapacity;
+        this.accessGuard = accessGuard;
+    }
+
+    public ScanIngestionService(AccessGuard accessGuard) {
+        this(new ProductDAO(), DEFAULT_BATCH_SCANS, DEFAULT_BATCH_MILLIS, DEFAULT_QUEUE_CAPACITY, accessGuard);
+    }
+
+    public void addChangeListener(ProductChangeListener listener) {
+        changeListeners.add(listener);
+    }
+
+    public ScanSession openSession() {
+        accessGuard.require(Permission.STOCK_RECEIVE);
+        String reference = String.format("SCAN-%s-%08X", LocalDateTime.now().format(REFERENCE_FORMAT),
+                ThreadLocalRandom.current().nextInt());
+        ScanBatcher batcher = new ScanBatcher((batch, quantities) -> commit(reference + "-" + batch, quantities),
+                batchScans, batchMillis, queueCapacity);
+        return new ScanSession(batcher, summary -> {
+            // Caches are refreshed once per session rather than once per batch
+            if (summary.units() > 0) {
+                for (ProductChangeListener listener : changeListeners) {
+                    listener.onProductsReplaced();
+                }
+            }
+        });
+    }
+
+    // A whole stream in one session, e.g. stdin or a file of scans
+    public ScanSummary ingest(Reader reader) throws IOException, SQLException, InterruptedException {
+        ScanSession session = openSession();
+        try {
+            session.ingest(reader);
+        } catch (IOException | RuntimeException e) {
+            // Scans read before the source failed are still committed
+            session.finish();
+            throw e;
+        }
+        return session.finish();
+    }
+
+    private Set<String> commit(String reference, Map<String, Integer> quantities) throws SQLException {
+        Map<String, Product> products = productDAO.newSkuLoader().getAll(quantities.keySet());
+        Set<String> unknown = new HashSet<>(quantities.keySet());
+        unknown.removeAll(products.keySet());
+
+        List<StockMovement> movements = new ArrayList<>(products.size());
+        for (Map.Entry<String, Integer> entry : quantities.entrySet()) {
+            Product product = products.get(entry.getKey());
+            if (product != null) {
+                movements.add(new StockMovement(product.id(), MovementType.RECEIPT, entry.getValue(), reference));
+            }
+        }
+
+        // A product deleted between the lookup and the post is dropped like an unknown SKU. Each retry
+        // posts fewer movements, so this ends once a post goes through or nothing is left.
+        try {
+            List<Integer> missingIds = productDAO.postReceipt(reference, movements);
+            while (!missingIds.isEmpty()) {
+                Set<Integer> missing = new HashSet<>(missingIds);
+                movements.removeIf(movement -> missing.contains(movement.productId()));
+                products.values().stream()
+                        .filter(product -> missing.contains(product.id()))
+                        .forEach(product -> unknown.add(product.sku()));
+                missingIds = productDAO.postReceipt(reference, movements);
+            }
+        } catch (SQLException e) {
+            if (!SqlErrors.isUniqueViolation(e)) {
+                throw e;
+            }
+            // An earlier attempt of this batch committed before its connection failed
+        }
+        return unknown;
+    }
+}
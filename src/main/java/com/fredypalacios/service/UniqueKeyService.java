@@ -0,0 +1,180 @@
+package com.fredypalacios.service;
+
+import java.sql.SQLException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import com.fredypalacios.dao.ProductDAO;
+import com.fredypalacios.dao.UserDAO;
+import com.fredypalacios.index.BloomFilter;
+
+// Bloom filters over product SKUs, usernames and emails, so a create can tell a key is new without
+// a query. A "maybe" is confirmed with one lookup on the unique index, and the unique constraints
+// stay the final word against other sessions. Until load() has run every check goes to the
+// database; keys created through this process are added to the filters as they are written.
+public class UniqueKeyService {
+    public static final double FALSE_POSITIVE_RATE = 0.01;
+
+    // Room for growth after a load, so the filters stay accurate until the next start
+    static final int MIN_CAPACITY = 10_000;
+    static final int GROWTH_FACTOR = 2;
+
+    private final ProductDAO productDAO;
+    private final UserDAO userDAO;
+    private final LongAdder skippedLookups = new LongAdder();
+    private final LongAdder lookups = new LongAdder();
+    private volatile Filters filters;
+    // Filters being rebuilt; writes made meanwhile go to both, so none is lost when they swap
+    private volatile Filters building;
+
+    public UniqueKeyService(ProductDAO productDAO, UserDAO userDAO) {
+        this.productDAO = productDAO;
+        this.userDAO = userDAO;
+    }
+
+    public UniqueKeyService() {
+        this(new ProductDAO(), new UserDAO());
+    }
+
+    // Filters over one table only, for services built around their own DAO
+    public static UniqueKeyService forProducts(ProductDAO productDAO) {
+        return new UniqueKeyService(productDAO, null);
+    }
+
+    public static UniqueKeyService forUsers(UserDAO userDAO) {
+        return new UniqueKeyService(null, userDAO);
+    }
+
+    // Filters shared by the services built with their no-arg constructors
+    public static UniqueKeyService shared() {
+        return Shared.INSTANCE;
+    }
+
+    // Rebuilds the filters from the tables, sized for the current row counts
+    public synchronized void load() throws SQLException {
+        Filters next = new Filters(
+            capacity(productDAO == null ? 0 : productDAO.countAll()),
+            capacity(userDAO == null ? 0 : userDAO.countAll())
+        );
+        building = next;
+        try {
+            if (productDAO != null) {
+                productDAO.forEachSku(next.skus::put);
+            }
+            if (userDAO != null) {
+                userDAO.forEachUniqueKey(next.usernames::put, next.emails::put);
+            }
+            filters = next;
+        } finally {
+            building = null;
+        }
+    }
+
+    // For bulk work: loads on first use and rebuilds filters that outgrew their size
+    public void loadIfNeeded() throws SQLException {
+        Filters current = filters;
+        if (current == null || current.isSaturated()) {
+            load();
+        }
+    }
+
+    public boolean isLoaded() {
+        return filters != null;
+    }
+
+    public boolean skuExists(String sku) throws SQLException {
+        return mightContainSku(sku) && confirmed(productDAO.skuExists(sku));
+    }
+
+    public boolean usernameExists(String username) throws SQLException {
+        return mightContainUsername(username) && confirmed(userDAO.usernameExists(username));
+    }
+
+    public boolean emailExists(String email) throws SQLException {
+        return mightContainEmail(email) && confirmed(userDAO.emailExists(email));
+    }
+
+    // False only when the key is certainly not in the table; true means a lookup is needed
+    public boolean mightContainSku(String sku) {
+        Filters current = filters;
+        return current == null || counted(current.skus.mightContain(sku));
+    }
+
+    public boolean mightContainUsername(String username) {
+        Filters current = filters;
+        return current == null || counted(current.usernames.mightContain(username));
+    }
+
+    public boolean mightContainEmail(String email) {
+        Filters current = filters;
+        return current == null || counted(current.emails.mightContain(email));
+    }
+
+    public void recordSku(String sku) {
+        record(target -> target.skus().put(sku));
+    }
+
+    public void recordUser(String username, String email) {
+        record(target -> {
+            target.usernames().put(username);
+            target.emails().put(email);
+        });
+    }
+
+    // Checks the filters answered on their own
+    public long getSkippedLookups() {
+        return skippedLookups.sum();
+    }
+
+    // Checks that needed the database, to confirm a possible duplicate or for lack of filters
+    public long getLookups() {
+        return lookups.sum();
+    }
+
+    private boolean counted(boolean mightContain) {
+        if (!mightContain) {
+            skippedLookups.increment();
+        }
+        return mightContain;
+    }
+
+    private boolean confirmed(boolean exists) {
+        lookups.increment();
+        return exists;
+    }
+
+    // Called after the row is committed. The rebuild is read first: if it is not running yet, its
+    // scan will see the row; if it already finished, the filters read next are the rebuilt ones.
+    private void record(Consumer<Filters> write) {
+        Filters pending = building;
+        if (pending != null) {
+            write.accept(pending);
+        }
+        Filters current = filters;
+        if (current != null && current != pending) {
+            write.accept(current);
+        }
+    }
+
+    private static long capacity(long rows) {
+        return Math.max(MIN_CAPACITY, rows * GROWTH_FACTOR);
+    }
+
+    private record Filters(BloomFilter skus, BloomFilter usernames, BloomFilter emails) {
+        Filters(long products, long users) {
+            this(
+                new BloomFilter(products, FALSE_POSITIVE_RATE),
+                new BloomFilter(users, FALSE_POSITIVE_RATE),
+                new BloomFilter(users, FALSE_POSITIVE_RATE)
+            );
+        }
+
+        boolean isSaturated() {
+            return skus.isSaturated() || usernames.isSaturated() || emails.isSaturated();
+        }
+    }
+
+    private static final class Shared {
+        private static final UniqueKeyService INSTANCE = new UniqueKeyService();
+    }
+}
@@ -0,0 +1,326 @@
+package com.fredypalacios.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+import com.fredypalacios.dao.UserDAO;
+import com.fredypalacios.dao.base.SqlErrors;
+import com.fredypalacios.enums.Permission;
+import com.fredypalacios.enums.UserInsertResult;
+import com.fredypalacios.enums.UserRole;
+import com.fredypalacios.model.User;
+import com.fredypalacios.model.UserImportSummary;
+import com.fredypalacios.security.AccessGuard;
+import com.fredypalacios.utils.CsvReader;
+import com.fredypalacios.utils.CsvWriter;
+import com.fredypalacios.utils.InputValidator;
+import com.fredypalacios.utils.ValidationException;
+import com.fredypalacios.utils.ValidationResult;
+
+// Creates users from a CSV as a pipeline: rows are validated on the reading thread, their passwords
+// hashed on the hashing pool, and users inserted in JDBC batches in file order as hashes complete.
+// The hashing queue limit bounds how far reading runs ahead; rejected rows go to a reject file.
+public class UserImportService {
+    public static final int DEFAULT_BATCH_SIZE = 100;
+
+    private static final List<String> REQUIRED_COLUMNS = List.of("username", "password", "email", "full_name", "role");
+    private static final UserRole[] ROLES = UserRole.values();
+
+    private final UserDAO userDAO;
+    private final PasswordHashingService hashingService;
+    private final UniqueKeyService uniqueKeys;
+    private final AccessGuard accessGuard;
+
+    public UserImportService(
+        UserDAO userDAO,
+        PasswordHashingService hashingService,
+        UniqueKeyService uniqueKeys,
+        AccessGuard accessGuard
+    ) {
+        this.userDAO = userDAO;
+        this.hashingService = hashingService;
+        this.uniqueKeys = uniqueKeys;
+        this.accessGuard = accessGuard;
+    }
+
+    public UserImportService(UserDAO userDAO, PasswordHashingService hashingService, AccessGuard accessGuard) {
+        this(userDAO, hashingService, UniqueKeyService.forUsers(userDAO), accessGuard);
+    }
+
+    public UserImportService(AccessGuard accessGuard) {
+        this(new UserDAO(), PasswordHashingService.shared(), UniqueKeyService.shared(), accessGuard);
+    }
+
+    public UserImportSummary importCsv(Path source, Path rejectFile, int batchSize, Consumer<UserImportSummary> progress)
+            throws IOException, ValidationException, SQLException, InterruptedException {
+        accessGuard.require(Permission.USER_MANAGE);
+        try (
+            CsvReader reader = new CsvReader(Files.newBufferedReader(source, StandardCharsets.UTF_8));
+            CsvWriter rejects = new CsvWriter(Files.newBufferedWriter(rejectFile, StandardCharsets.UTF_8))
+        ) {
+            return importCsv(reader, rejects, batchSize, progress);
+        }
+    }
+
+    // The header names the columns in any order: username, password, email, full_name and role,
+    // where role is a role name such as PICKER
+    public UserImportSummary importCsv(CsvReader reader, CsvWriter rejects, int batchSize, Consumer<UserImportSummary> progress)
+            throws IOException, ValidationException, SQLException, InterruptedException {
+        accessGuard.require(Permission.USER_MANAGE);
+        if (batchSize <= 0) {
+            throw new ValidationException("Batch size must be positive");
+        }
+
+        List<String> header = reader.next();
+        if (header == null) {
+            throw new ValidationException("The file is empty");
+        }
+        Columns columns = Columns.of(header);
+
+        List<String> rejectHeader = new ArrayList<>(header);
+        rejectHeader.add("error");
+        rejects.writeRecord(rejectHeader);
+
+        // With the key filters loaded, only names and emails they cannot rule out are looked up
+        uniqueKeys.loadIfNeeded();
+
+        ImportRun run = new ImportRun(columns, rejects, batchSize, progress);
+        for (List<String> record = reader.next(); record != null; record = reader.next()) {
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            run.add(record, reader.getLineNumber());
+        }
+        run.finish();
+        rejects.flush();
+
+        UserImportSummary summary = run.summary();
+        progress.accept(summary);
+        return summary;
+    }
+
+    private record Columns(int username, int password, int email, int fullName, int role, int width) {
+        static Columns of(List<String> header) throws ValidationException {
+            Map<String, Integer> positions = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                positions.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+
+            List<String> missing = REQUIRED_COLUMNS.stream().filter(column -> !positions.containsKey(column)).toList();
+            if (!missing.isEmpty()) {
+                throw new ValidationException("Missing column(s): " + String.join(", ", missing));
+            }
+
+            return new Columns(
+                positions.get("username"),
+                positions.get("password"),
+                positions.get("email"),
+                positions.get("full_name"),
+                positions.get("role"),
+                header.size()
+            );
+        }
+
+        // Checks every field and collects all failures in the result; null when there were any
+        Candidate toCandidate(List<String> record, ValidationResult result) {
+            if (record.size() != width) {
+                result.add("Expected " + width + " fields but found " + record.size());
+                return null;
+            }
+
+            String usernameValue = record.get(username);
+            String passwordValue = record.get(password);
+            String emailValue = record.get(email);
+            String fullNameValue = record.get(fullName);
+            InputValidator.USERNAME.check(usernameValue, result);
+            InputValidator.PASSWORD.check(passwordValue, result);
+            InputValidator.EMAIL.check(emailValue, result);
+            InputValidator.FULL_NAME.check(fullNameValue, result);
+            UserRole parsedRole = parseRole(record.get(role), result);
+            if (!result.isValid()) {
+                return null;
+            }
+
+            return new Candidate(
+                InputValidator.USERNAME.normalize(usernameValue),
+                InputValidator.PASSWORD.normalize(passwordValue),
+                InputValidator.EMAIL.normalize(emailValue),
+                InputValidator.FULL_NAME.normalize(fullNameValue),
+                parsedRole
+            );
+        }
+
+        private static UserRole parseRole(String value, ValidationResult result) {
+            String name = value.trim();
+            for (UserRole candidate : ROLES) {
+                if (candidate.name().equalsIgnoreCase(name)) {
+                    return candidate;
+                }
+            }
+            result.add("Invalid role: " + value);
+            return null;
+        }
+    }
+
+    // A validated row; the plain-text password only leaves it as a hash
+    private record Candidate(String username, String password, String email, String fullName, UserRole role) {
+        User withHash(String hashedPassword) {
+            return new User(username, hashedPassword, email, fullName, role);
+        }
+    }
+
+    private record PendingUser(List<String> record, long line, Candidate candidate, CompletableFuture<String> hash) {
+        User toUser() {
+            return candidate.withHash(hash.join());
+        }
+    }
+
+    // Mutable state of one import: rows waiting for their hash in file order, then rows ready to insert
+    private final class ImportRun {
+        private final Columns columns;
+        private final CsvWriter rejects;
+        private final int batchSize;
+        private final Consumer<UserImportSummary> progress;
+        private final Deque<PendingUser> hashing = new ArrayDeque<>();
+        private final List<PendingUser> ready;
+        private final Set<String> usernames = new HashSet<>();
+        private final Set<String> emails = new HashSet<>();
+        private final ValidationResult validation = new ValidationResult();
+        private final long start = System.nanoTime();
+        private long read;
+        private long created;
+        private long rejected;
+
+        ImportRun(Columns columns, CsvWriter rejects, int batchSize, Consumer<UserImportSummary> progress) {
+            this.columns = columns;
+            this.rejects = rejects;
+            this.batchSize = batchSize;
+            this.progress = progress;
+            this.ready = new ArrayList<>(batchSize);
+        }
+
+        void add(List<String> record, long line) throws IOException, SQLException, InterruptedException {
+            read++;
+            validation.reset();
+            Candidate user = columns.toCandidate(record, validation);
+            if (user == null) {
+                reject(record, "Line " + line + ": " + validation.summary());
+                return;
+            }
+
+            // Caught here so a repeat never costs a hash
+            if (usernames.contains(user.username())) {
+                reject(record, "Line " + line + ": Duplicate username in file: " + user.username());
+                return;
+            }
+            if (emails.contains(user.email())) {
+                reject(record, "Line " + line + ": Duplicate email in file: " + user.email());
+                return;
+            }
+            usernames.add(user.username());
+            emails.add(user.email());
+
+            hashing.addLast(new PendingUser(record, line, user, hashingService.hashWhenAvailable(user.password())));
+            collect(false);
+        }
+
+        void finish() throws IOException, SQLException {
+            collect(true);
+            flush();
+        }
+
+        // Moves finished hashes to the insert batch, keeping file order; waits for them when asked
+        private void collect(boolean wait) throws IOException, SQLException {
+            while (!hashing.isEmpty() && (wait || hashing.peekFirst().hash().isDone())) {
+                PendingUser pending = hashing.pollFirst();
+                try {
+                    pending.hash().join();
+                } catch (CompletionException e) {
+                    reject(pending.record(), "Line " + pending.line() + ": " + e.getCause().getMessage());
+                    continue;
+                }
+                ready.add(pending);
+                if (ready.size() == batchSize) {
+                    flush();
+                }
+            }
+        }
+
+        private void flush() throws IOException, SQLException {
+            if (ready.isEmpty()) {
+                return;
+            }
+
+            List<User> users = ready.stream().map(PendingUser::toUser).toList();
+            List<UserInsertResult> results;
+            try {
+                results = userDAO.createAll(users, uniqueKeys::mightContainUsername, uniqueKeys::mightContainEmail);
+            } catch (SQLException e) {
+                if (!SqlErrors.isUniqueViolation(e)) {
+                    throw e;
+                }
+                // Another session took a name between the check and the insert; isolate the row
+                results = createOneByOne(users);
+            }
+
+            for (int i = 0; i < results.size(); i++) {
+                if (results.get(i).isCreated()) {
+                    uniqueKeys.recordUser(users.get(i).username(), users.get(i).email());
+                    created++;
+                } else {
+                    PendingUser pending = ready.get(i);
+                    reject(pending.record(), "Line " + pending.line() + ": " + results.get(i).getMessage());
+                }
+            }
+            ready.clear();
+            progress.accept(summary());
+        }
+
+        private List<UserInsertResult> createOneByOne(List<User> users) throws SQLException {
+            List<UserInsertResult> results = new ArrayList<>(users.size());
+            for (User user : users) {
+                List<UserInsertResult> single;
+                try {
+                    single = userDAO.createAll(List.of(user));
+                } catch (SQLException e) {
+                    if (!SqlErrors.isUniqueViolation(e)) {
+                        throw e;
+                    }
+                    single = List.of(UserInsertResult.CONFLICT);
+                }
+                results.add(single.get(0));
+            }
+            return results;
+        }
+
+        // The plain-text password never reaches the reject file
+        private void reject(List<String> record, String reason) throws IOException {
+            List<String> row = new ArrayList<>(record);
+            if (row.size() > columns.password()) {
+                row.set(columns.password(), "");
+            }
+            row.add(reason);
+            rejects.writeRecord(row);
+            rejected++;
+        }
+
+        UserImportSummary summary() {
+            return new UserImportSummary(read, created, rejected, System.nanoTime() - start);
+        }
+    }
+}
@@ -4,25 +4,45 @@ import java.sql.SQLException;
 import java.util.List;
 
 import com.fredypalacios.dao.UserDAO;
+import com.fredypalacios.dao.base.SqlErrors;
+import com.fredypalacios.enums.Permission;
 import com.fredypalacios.enums.UserRole;
 import com.fredypalacios.model.User;
+import com.fredypalacios.security.AccessGuard;
 import com.fredypalacios.utils.InputValidator;
-import com.fredypalacios.utils.PasswordHasher;
 import com.fredypalacios.utils.ValidationException;
 
 public class UserService {
+    private static final String DUPLICATE_USERNAME = "Username already exists: ";
+    private static final String DUPLICATE_EMAIL = "Email already exists: ";
 
     private final UserDAO userDAO;
-
-    public UserService(UserDAO userDAO) {
+    private final PasswordHashingService hashingService;
+    private final UniqueKeyService uniqueKeys;
+    private final AccessGuard accessGuard;
+
+    public UserService(
+        UserDAO userDAO,
+        PasswordHashingService hashingService,
+        UniqueKeyService uniqueKeys,
+        AccessGuard accessGuard
+    ) {
         this.userDAO = userDAO;
+        this.hashingService = hashingService;
+        this.uniqueKeys = uniqueKeys;
+        this.accessGuard = accessGuard;
+    }
+
+    public UserService(UserDAO userDAO, PasswordHashingService hashingService, AccessGuard accessGuard) {
+        this(userDAO, hashingService, UniqueKeyService.forUsers(userDAO), accessGuard);
     }
 
-    public UserService() {
-        this(new UserDAO());
+    public UserService(AccessGuard accessGuard) {
+        this(new UserDAO(), PasswordHashingService.shared(), UniqueKeyService.shared(), accessGuard);
     }
 
     public List<User> findByRole(UserRole role) throws SQLException {
+        accessGuard.require(Permission.USER_VIEW);
         if (role == null) {
             throw new IllegalArgumentException("Role cannot be null");
         }
@@ -36,6 +56,7 @@ public class UserService {
         String fullName,
         UserRole role
     ) throws ValidationException, SQLException {
+        accessGuard.require(Permission.USER_MANAGE);
 
         String validUsername = InputValidator.validateUsername(username);
         String validPassword = InputValidator.validatePassword(password);
@@ -46,32 +67,68 @@ public class UserService {
             throw new ValidationException("Role cannot be null");
         }
 
-        String hashedPassword = PasswordHasher.hash(validPassword);
+        // Checked before hashing, so a taken name does not cost a BCrypt round
+        if (uniqueKeys.usernameExists(validUsername)) {
+            throw new ValidationException(DUPLICATE_USERNAME + validUsername);
+        }
+        if (uniqueKeys.emailExists(validEmail)) {
+            throw new ValidationException(DUPLICATE_EMAIL + validEmail);
+        }
+
+        String hashedPassword = hashingService.hash(validPassword);
 
         User user = new User(validUsername, hashedPassword, validEmail, validFullName, role);
-        return userDAO.create(user);
+        boolean created;
+        try {
+            created = userDAO.create(user);
+        } catch (SQLException e) {
+            // Another session took the name or email after the check
+            if (SqlErrors.isUniqueViolation(e)) {
+                throw new ValidationException("Username or email already exists");
+            }
+            throw e;
+        }
+        if (created) {
+            uniqueKeys.recordUser(validUsername, validEmail);
+        }
+        return created;
     }
 
     public boolean update(User user) throws SQLException {
+        accessGuard.require(Permission.USER_MANAGE);
         if (user == null) {
             throw new IllegalArgumentException("User cannot be null");
         }
-        return userDAO.update(user);
+        boolean updated = userDAO.update(user);
+        if (updated) {
+            uniqueKeys.recordUser(user.username(), user.email());
+        }
+        return updated;
     }
 
     public boolean delete(int id) throws SQLException {
+        accessGuard.require(Permission.USER_MANAGE);
         return userDAO.delete(id);
     }
 
     public User findById(int id) throws SQLException {
+        accessGuard.require(Permission.USER_VIEW);
         return userDAO.findById(id);
     }
 
+    // A user's own account, e.g. for the password change screen; anyone's for those who may view users
+    public User findAccount(int userId) throws SQLException {
+        accessGuard.requireSelfOr(userId, Permission.USER_VIEW);
+        return userDAO.findById(userId);
+    }
+
     public List<User> findAll() throws SQLException {
+        accessGuard.require(Permission.USER_VIEW);
         return userDAO.findAll();
     }
 
     public User findByUsername(String username) throws SQLException {
+        accessGuard.require(Permission.USER_VIEW);
         if (username == null || username.isBlank()) {
             return null;
         }
@@ -79,24 +136,16 @@ public class UserService {
     }
 
     public boolean updatePassword(int userId, String newPassword) throws ValidationException, SQLException {
+        accessGuard.requireSelfOr(userId, Permission.USER_MANAGE);
         String validPassword = InputValidator.validatePassword(newPassword);
 
-        User user = findById(userId);
+        // Straight to the DAO: users changing their own password need not be allowed to view users
+        User user = userDAO.findById(userId);
         if (user == null) {
             return false;
         }
 
-        String hashedPassword = PasswordHasher.hash(validPassword);
-
-        User updated = new User(
-            user.id(),
-            user.username(),
-            hashedPassword,
-            user.email(),
-            user.fullName(),
-            user.role(),
-            user.createdAt()
-        );
-        return userDAO.update(updated);
+        String hashedPassword = hashingService.hash(validPassword);
+        return userDAO.updatePassword(userId, hashedPassword);
     }
 }
\ No newline at end of file
@@ -0,0 +1,110 @@
+package com.fredypalacios.service;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.fredypalacios.dao.ProductDAO;
+import com.fredypalacios.enums.Permission;
+import com.fredypalacios.model.Location;
+import com.fredypalacios.model.OrderLine;
+import com.fredypalacios.model.Product;
+import com.fredypalacios.picking.WarehouseLayout;
+import com.fredypalacios.picking.Wave;
+import com.fredypalacios.picking.WavePlan;
+import com.fredypalacios.picking.WavePlanner;
+import com.fredypalacios.security.AccessGuard;
+import com.fredypalacios.utils.ValidationException;
+
+public class WavePlanningService {
+    public static final int DEFAULT_MAX_ORDERS_PER_WAVE = 40;
+    public static final int DEFAULT_MAX_STOPS_PER_WAVE = 150;
+    public static final String STOCK_CHANGED = "Stock changed during planning";
+
+    private final ProductDAO productDAO;
+    private final AccessGuard accessGuard;
+    private final int maxOrdersPerWave;
+    private final int maxStopsPerWave;
+    private final List<ProductChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+
+    public WavePlanningService(
+        ProductDAO productDAO,
+        AccessGuard accessGuard,
+        int maxOrdersPerWave,
+        int maxStopsPerWave
+    ) {
+        this.productDAO = productDAO;
+        this.accessGuard = accessGuard;
+        this.maxOrdersPerWave = maxOrdersPerWave;
+        this.maxStopsPerWave = maxStopsPerWave;
+    }
+
+    public WavePlanningService(AccessGuard accessGuard) {
+        this(new ProductDAO(), accessGuard, DEFAULT_MAX_ORDERS_PER_WAVE, DEFAULT_MAX_STOPS_PER_WAVE);
+    }
+
+    public void addChangeListener(ProductChangeListener listener) {
+        changeListeners.add(listener);
+    }
+
+    // Plans waves for the pending lines and reserves stock wave by wave. A wave whose reservation
+    // loses a race with another writer is rolled back and its orders are held for the next run.
+    public WavePlan planAndReserve(List<OrderLine> lines, int pickersPerWave)
+            throws ValidationException, SQLException {
+        accessGuard.require(Permission.STOCK_RESERVE);
+
+        if (lines == null || lines.isEmpty()) {
+            throw new ValidationException("No order lines to plan");
+        }
+        if (pickersPerWave <= 0) {
+            throw new ValidationException("Pickers per wave must be positive");
+        }
+
+        // SKUs are stored upper-case; order files are not always
+        List<OrderLine> normalized = new ArrayList<>(lines.size());
+        Set<String> skus = new LinkedHashSet<>();
+        for (OrderLine line : lines) {
+            OrderLine clean = new OrderLine(line.orderId().trim(), line.sku().trim().toUpperCase(Locale.ROOT),
+                    line.quantity());
+            normalized.add(clean);
+            skus.add(clean.sku());
+        }
+        Map<String, Product> products = productDAO.newSkuLoader().getAll(skus);
+
+        int deepestRack = 0;
+        for (Product product : products.values()) {
+            Location location = product.structuredLocation();
+            if (location != null) {
+                deepestRack = Math.max(deepestRack, location.rack());
+            }
+        }
+
+        WavePlanner planner = new WavePlanner(
+                new WarehouseLayout(deepestRack + 1), maxOrdersPerWave, maxStopsPerWave, pickersPerWave);
+        WavePlan plan = planner.plan(normalized, products);
+
+        List<Wave> released = new ArrayList<>(plan.waves().size());
+        Map<String, String> held = new LinkedHashMap<>(plan.held());
+        for (Wave wave : plan.waves()) {
+            if (productDAO.reserveStock(wave.reservations()).isEmpty()) {
+                released.add(wave);
+            } else {
+                wave.orderIds().forEach(orderId -> held.put(orderId, STOCK_CHANGED));
+            }
+        }
+
+        // Reservations change reserved_stock on many rows; caches rebuild rather than replay them
+        if (!released.isEmpty()) {
+            for (ProductChangeListener listener : changeListeners) {
+                listener.onProductsReplaced();
+            }
+        }
+        return new WavePlan(released, held, plan.computeNanos());
+    }
+}
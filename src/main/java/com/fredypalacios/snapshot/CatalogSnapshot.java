@@ -0,0 +1,333 @@
+package com.fredypalacios.snapshot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+import com.fredypalacios.enums.ProductStatus;
+import com.fredypalacios.enums.UserRole;
+import com.fredypalacios.model.Category;
+import com.fredypalacios.model.Product;
+import com.fredypalacios.model.User;
+
+import static com.fredypalacios.snapshot.SnapshotFormat.*;
+
+// Read-only view of a snapshot file mapped into memory. Products are decoded straight from the
+// mapping on demand: a ProductCursor walks them without creating objects, and product(index) /
+// findById build a single Product through the offset index. The small user and category
+// sections and the string dictionary are decoded once on open.
+public final class CatalogSnapshot {
+
+    private static final ProductStatus[] STATUSES = ProductStatus.values();
+    private static final UserRole[] ROLES = UserRole.values();
+
+    private final ByteBuffer data;
+    private final int productCount;
+    private final boolean sortedById;
+    private final long productsEnd;
+    private final int indexOffset;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime watermark;
+    private final String source;
+    private final String[] dictionary;
+    private final List<Category> categories;
+    private final List<User> users;
+
+    private CatalogSnapshot(ByteBuffer data) throws IOException {
+        this.data = data;
+        if (data.limit() < HEADER_SIZE + CHECKSUM_SIZE || data.getInt(MAGIC_AT) != MAGIC) {
+            throw new IOException("Not a catalog snapshot");
+        }
+        short version = data.getShort(VERSION_AT);
+        if (version != VERSION) {
+            throw new IOException("Unsupported snapshot version " + version);
+        }
+        verifyChecksum(data);
+
+        this.sortedById = (data.getShort(FLAGS_AT) & FLAG_SORTED_BY_ID) != 0;
+        this.createdAt = decodeTimestamp(data.getLong(CREATED_AT));
+        this.watermark = decodeTimestamp(data.getLong(WATERMARK_AT));
+        this.productCount = data.getInt(PRODUCT_COUNT_AT);
+        this.productsEnd = data.getLong(USERS_OFFSET_AT);
+        this.indexOffset = (int) data.getLong(INDEX_OFFSET_AT);
+
+        Reader reader = new Reader((int) data.getLong(DICTIONARY_OFFSET_AT));
+        this.dictionary = new String[(int) reader.varLong()];
+        for (int i = 0; i < dictionary.length; i++) {
+            dictionary[i] = reader.string();
+        }
+        this.source = lookup(data.getInt(SOURCE_AT));
+
+        reader = new Reader((int) data.getLong(CATEGORIES_OFFSET_AT));
+        List<Category> categoryList = new ArrayList<>();
+        for (int i = data.getInt(CATEGORY_COUNT_AT); i > 0; i--) {
+            int id = (int) reader.varLong();
+            String name = lookup((int) reader.varLong());
+            String description = lookup((int) reader.varLong());
+            categoryList.add(new Category(id, name, description, reader.readByte() == 1));
+        }
+        this.categories = Collections.unmodifiableList(categoryList);
+
+        reader = new Reader((int) productsEnd);
+        List<User> userList = new ArrayList<>();
+        for (int i = data.getInt(USER_COUNT_AT); i > 0; i--) {
+            userList.add(new User((int) reader.varLong(), reader.string(), reader.string(), reader.string(),
+                    reader.string(), ROLES[reader.readByte()], decodeTimestamp(reader.varLong())));
+        }
+        this.users = Collections.unmodifiableList(userList);
+    }
+
+    public static CatalogSnapshot open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot exceeds the 2 GB limit of a single mapping");
+            }
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new CatalogSnapshot(mapped);
+        }
+    }
+
+    public int productCount() {
+        return productCount;
+    }
+
+    public LocalDateTime createdAt() {
+        return createdAt;
+    }
+
+    // Latest products.last_update captured; null for a snapshot without products
+    public LocalDateTime watermark() {
+        return watermark;
+    }
+
+    // Identity of the database the snapshot was taken from; null when the writer did not record one
+    public String source() {
+        return source;
+    }
+
+    public List<Category> categories() {
+        return categories;
+    }
+
+    public List<User> users() {
+        return users;
+    }
+
+    public ProductCursor products() {
+        return new ProductCursor();
+    }
+
+    public Product product(int index) {
+        if (index < 0 || index >= productCount) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        ProductCursor cursor = new ProductCursor();
+        cursor.moveTo(data.getInt(indexOffset + index * Integer.BYTES));
+        return cursor.toProduct();
+    }
+
+    // Binary search over the offset index when ids were written in order, a scan otherwise
+    public Product findById(int id) {
+        ProductCursor cursor = new ProductCursor();
+        if (!sortedById) {
+            while (cursor.next()) {
+                if (cursor.id() == id) {
+                    return cursor.toProduct();
+                }
+            }
+            return null;
+        }
+
+        int low = 0;
+        int high = productCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            cursor.moveTo(data.getInt(indexOffset + middle * Integer.BYTES));
+            if (cursor.id() < id) {
+                low = middle + 1;
+            } else if (cursor.id() > id) {
+                high = middle - 1;
+            } else {
+                return cursor.toProduct();
+            }
+        }
+        return null;
+    }
+
+    private String lookup(int reference) {
+        return reference == 0 ? null : dictionary[reference - 1];
+    }
+
+    private static void verifyChecksum(ByteBuffer data) throws IOException {
+        int end = data.limit() - CHECKSUM_SIZE;
+        CRC32C checksum = new CRC32C();
+        checksum.update(data.slice(HEADER_SIZE, end - HEADER_SIZE));
+        checksum.update(data.slice(0, HEADER_SIZE));
+        if ((int) checksum.getValue() != data.getInt(end)) {
+            throw new IOException("Snapshot checksum mismatch");
+        }
+    }
+
+    // Flyweight over the product section. Numeric fields are decoded as the cursor moves;
+    // strings are only decoded when asked for, and never copied out of the mapping otherwise.
+    public final class ProductCursor {
+        private final Reader reader = new Reader(HEADER_SIZE);
+        private int id;
+        private int skuAt;
+        private int nameAt;
+        private int descriptionAt;
+        private long priceCents;
+        private int stock;
+        private int reservedStock;
+        private int minStock;
+        private int locationRef;
+        private int status;
+        private int categoryId;
+        private long lastUpdate;
+
+        private ProductCursor() {
+        }
+
+        public boolean next() {
+            if (reader.position >= productsEnd) {
+                return false;
+            }
+            decode();
+            return true;
+        }
+
+        private void moveTo(int offset) {
+            reader.position = offset;
+            decode();
+        }
+
+        private void decode() {
+            id = (int) reader.varLong();
+            skuAt = reader.skipString();
+            nameAt = reader.skipString();
+            descriptionAt = reader.skipString();
+            priceCents = reader.varLong();
+            stock = (int) reader.varLong();
+            reservedStock = (int) reader.varLong();
+            minStock = (int) reader.varLong();
+            locationRef = (int) reader.varLong();
+            status = reader.readByte();
+            categoryId = (int) reader.varLong();
+            lastUpdate = reader.varLong();
+        }
+
+        public int id() {
+            return id;
+        }
+
+        public String sku() {
+            return new Reader(skuAt).string();
+        }
+
+        public String name() {
+            return new Reader(nameAt).string();
+        }
+
+        public String description() {
+            return new Reader(descriptionAt).string();
+        }
+
+        public long priceCents() {
+            return priceCents;
+        }
+
+        public double price() {
+            return fromCents(priceCents);
+        }
+
+        public int stock() {
+            return stock;
+        }
+
+        public int reservedStock() {
+            return reservedStock;
+        }
+
+        public int minStock() {
+            return minStock;
+        }
+
+        // Dictionary strings are shared, so reading the location allocates nothing
+        public String location() {
+            return lookup(locationRef);
+        }
+
+        public ProductStatus status() {
+            return STATUSES[status];
+        }
+
+        public int categoryId() {
+            return categoryId;
+        }
+
+        public LocalDateTime lastUpdate() {
+            return decodeTimestamp(lastUpdate);
+        }
+
+        public Product toProduct() {
+            return new Product(id, sku(), name(), description(), price(), stock, reservedStock, minStock,
+                    location(), status(), categoryId, lastUpdate());
+        }
+    }
+
+    // Sequential decoder over the mapping using absolute reads, so cursors never share state
+    private final class Reader {
+        private int position;
+
+        private Reader(int position) {
+            this.position = position;
+        }
+
+        private int readByte() {
+            return data.get(position++);
+        }
+
+        private long varLong() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data.get(position++);
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+
+        private String string() {
+            int length = (int) varLong() - 1;
+            if (length < 0) {
+                return null;
+            }
+            byte[] bytes = new byte[length];
+            data.get(position, bytes);
+            position += length;
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        // Returns where the string starts and moves past it
+        private int skipString() {
+            int start = position;
+            int length = (int) varLong() - 1;
+            if (length > 0) {
+                position += length;
+            }
+            return start;
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package com.fredypalacios.snapshot;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+import com.fredypalacios.model.Category;
+import com.fredypalacios.model.Product;
+import com.fredypalacios.model.User;
+
+import static com.fredypalacios.snapshot.SnapshotFormat.*;
+
+// Writes a snapshot in one pass: products stream straight to disk, users and categories are kept
+// until close() since those tables are small. The file is built next to the target and moved into
+// place on close, so readers never see a partial snapshot.
+public class CatalogSnapshotWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final Path target;
+    private final Path temporary;
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private final CRC32C checksum = new CRC32C();
+    private final Map<String, Integer> dictionary = new HashMap<>();
+    private final List<String> dictionaryStrings = new ArrayList<>();
+    private final List<User> users = new ArrayList<>();
+    private final List<Category> categories = new ArrayList<>();
+    private int[] productOffsets = new int[1024];
+    private int productCount;
+    private long flushed;
+    private int lastProductId = Integer.MIN_VALUE;
+    private boolean sortedById = true;
+    private LocalDateTime watermark;
+    private boolean watermarkFixed;
+    private String source;
+    private boolean finished;
+
+    public CatalogSnapshotWriter(Path target) throws IOException {
+        this.target = target;
+        this.temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        this.channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        // The snapshot holds password hashes, so it is readable by the owner only where supported
+        if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+            Files.setPosixFilePermissions(temporary, PosixFilePermissions.fromString("rw-------"));
+        }
+        channel.position(HEADER_SIZE);
+    }
+
+    public void writeProduct(Product product) throws IOException {
+        byte[] sku = utf8(product.sku());
+        byte[] name = utf8(product.name());
+        byte[] description = utf8(product.description());
+        int locationRef = reference(product.location());
+
+        ensureCapacity(stringSize(sku) + stringSize(name) + stringSize(description) + 64);
+        recordProductOffset();
+
+        putVarLong(buffer, product.id());
+        putString(sku);
+        putString(name);
+        putString(description);
+        putVarLong(buffer, toCents(product.price()));
+        putVarLong(buffer, product.stock());
+        putVarLong(buffer, product.reservedStock());
+        putVarLong(buffer, product.minStock());
+        putVarLong(buffer, locationRef);
+        buffer.put((byte) product.status().ordinal());
+        putVarLong(buffer, product.categoryId());
+        putVarLong(buffer, encodeTimestamp(product.lastUpdate()));
+
+        if (product.id() <= lastProductId) {
+            sortedById = false;
+        }
+        lastProductId = product.id();
+        if (!watermarkFixed && product.lastUpdate() != null
+                && (watermark == null || product.lastUpdate().isAfter(watermark))) {
+            watermark = product.lastUpdate();
+        }
+    }
+
+    public void writeUsers(List<User> users) {
+        this.users.addAll(users);
+    }
+
+    public void writeCategories(List<Category> categories) {
+        this.categories.addAll(categories);
+    }
+
+    // Latest products.last_update written so far, unless set explicitly; stored in the header as the
+    // refresh watermark
+    public LocalDateTime getWatermark() {
+        return watermark;
+    }
+
+    // Overrides the computed watermark, for writers whose rows are not all as fresh as the newest one
+    public void setWatermark(LocalDateTime watermark) {
+        this.watermark = watermark;
+        this.watermarkFixed = true;
+    }
+
+    // Identity of the database the rows come from, e.g. its URL and schema
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        try {
+            finish();
+            channel.close();
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+    }
+
+    private void finish() throws IOException {
+        long usersOffset = position();
+        for (User user : users) {
+            byte[] username = utf8(user.username());
+            byte[] password = utf8(user.password());
+            byte[] email = utf8(user.email());
+            byte[] fullName = utf8(user.fullName());
+            ensureCapacity(stringSize(username) + stringSize(password) + stringSize(email) + stringSize(fullName) + 32);
+            putVarLong(buffer, user.id() == null ? 0 : user.id());
+            putString(username);
+            putString(password);
+            putString(email);
+            putString(fullName);
+            buffer.put((byte) user.role().ordinal());
+            putVarLong(buffer, encodeTimestamp(user.createdAt()));
+        }
+
+        long categoriesOffset = position();
+        for (Category category : categories) {
+            int nameRef = reference(category.name());
+            int descriptionRef = reference(category.description());
+            ensureCapacity(32);
+            putVarLong(buffer, category.id());
+            putVarLong(buffer, nameRef);
+            putVarLong(buffer, descriptionRef);
+            buffer.put((byte) (category.active() ? 1 : 0));
+        }
+
+        int sourceRef = reference(source);
+        long dictionaryOffset = position();
+        ensureCapacity(8);
+        putVarLong(buffer, dictionaryStrings.size());
+        for (String value : dictionaryStrings) {
+            byte[] bytes = utf8(value);
+            ensureCapacity(stringSize(bytes));
+            putString(bytes);
+        }
+
+        long indexOffset = position();
+        for (int i = 0; i < productCount; i++) {
+            ensureCapacity(Integer.BYTES);
+            buffer.putInt(productOffsets[i]);
+        }
+        flush();
+
+        if (position() + CHECKSUM_SIZE > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot exceeds the 2 GB limit of a single mapping");
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC_AT, MAGIC);
+        header.putShort(VERSION_AT, VERSION);
+        header.putShort(FLAGS_AT, sortedById ? FLAG_SORTED_BY_ID : 0);
+        header.putLong(CREATED_AT, encodeTimestamp(LocalDateTime.now()));
+        header.putLong(WATERMARK_AT, encodeTimestamp(watermark));
+        header.putInt(PRODUCT_COUNT_AT, productCount);
+        header.putInt(USER_COUNT_AT, users.size());
+        header.putInt(CATEGORY_COUNT_AT, categories.size());
+        header.putLong(USERS_OFFSET_AT, usersOffset);
+        header.putLong(CATEGORIES_OFFSET_AT, categoriesOffset);
+        header.putLong(DICTIONARY_OFFSET_AT, dictionaryOffset);
+        header.putLong(INDEX_OFFSET_AT, indexOffset);
+        header.putInt(SOURCE_AT, sourceRef);
+        checksum.update(header.array());
+
+        ByteBuffer trailer = ByteBuffer.allocate(CHECKSUM_SIZE).putInt(0, (int) checksum.getValue());
+        while (trailer.hasRemaining()) {
+            channel.write(trailer);
+        }
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+        channel.force(true);
+    }
+
+    private void recordProductOffset() throws IOException {
+        long offset = position();
+        if (offset > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot exceeds the 2 GB limit of a single mapping");
+        }
+        if (productCount == productOffsets.length) {
+            productOffsets = Arrays.copyOf(productOffsets, productCount * 2);
+        }
+        productOffsets[productCount++] = (int) offset;
+    }
+
+    private int reference(String value) {
+        if (value == null) {
+            return 0;
+        }
+        Integer index = dictionary.get(value);
+        if (index == null) {
+            index = dictionaryStrings.size();
+            dictionary.put(value, index);
+            dictionaryStrings.add(value);
+        }
+        return index + 1;
+    }
+
+    private void putString(byte[] bytes) {
+        if (bytes == null) {
+            putVarLong(buffer, 0);
+            return;
+        }
+        putVarLong(buffer, bytes.length + 1L);
+        buffer.put(bytes);
+    }
+
+    private static int stringSize(byte[] bytes) {
+        return bytes == null ? 1 : varLongSize(bytes.length + 1L) + bytes.length;
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private long position() {
+        return HEADER_SIZE + flushed + buffer.position();
+    }
+
+    private void ensureCapacity(int bytes) throws IOException {
+        if (bytes > BUFFER_SIZE) {
+            throw new IOException("Record of " + bytes + " bytes does not fit the snapshot buffer");
+        }
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        checksum.update(buffer.array(), 0, buffer.limit());
+        while (buffer.hasRemaining()) {
+            flushed += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,109 @@
+package com.fredypalacios.snapshot;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+// Layout of a catalog snapshot file, version 1. All fixed-width numbers are big-endian.
+//
+//   header     80 bytes, see the *_AT offsets below
+//   products   one record per product, in write order
+//   users      one record per user
+//   categories one record per category
+//   dictionary varint count, then the shared strings (locations, category names and descriptions)
+//   index      int32 file offset of every product record, for random access
+//   checksum   int32 CRC32C of everything after the header, then of the header itself
+//
+// Product record: varint id, string sku, string name, string description, varlong price in cents,
+// varint stock, varint reserved stock, varint min stock, varint location ref, byte status ordinal,
+// varint category id, timestamp last update.
+// User record: varint id, string username, string password, string email, string full name,
+// byte role ordinal, timestamp created at.
+// Category record: varint id, varint name ref, varint description ref, byte active.
+//
+// The header's source is a dictionary ref to the identity of the database the rows were read from,
+// 0 when unknown, so a snapshot is not refreshed against a different database.
+//
+// Strings are varint (UTF-8 length + 1) followed by the bytes, 0 meaning null. Dictionary refs are
+// index + 1, 0 meaning null. Timestamps are varlong (zigzag epoch microseconds in UTC + 1), 0 meaning null.
+final class SnapshotFormat {
+
+    static final int MAGIC = 0x57484353;
+    static final short VERSION = 1;
+
+    // Set when product ids are strictly ascending, which allows binary search by id
+    static final short FLAG_SORTED_BY_ID = 1;
+
+    static final int MAGIC_AT = 0;
+    static final int VERSION_AT = 4;
+    static final int FLAGS_AT = 6;
+    static final int CREATED_AT = 8;
+    static final int WATERMARK_AT = 16;
+    static final int PRODUCT_COUNT_AT = 24;
+    static final int USER_COUNT_AT = 28;
+    static final int CATEGORY_COUNT_AT = 32;
+    static final int USERS_OFFSET_AT = 40;
+    static final int CATEGORIES_OFFSET_AT = 48;
+    static final int DICTIONARY_OFFSET_AT = 56;
+    static final int INDEX_OFFSET_AT = 64;
+    static final int SOURCE_AT = 72;
+    static final int HEADER_SIZE = 80;
+
+    static final int CHECKSUM_SIZE = 4;
+
+    private SnapshotFormat() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    static void putVarLong(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    static int varLongSize(long value) {
+        int size = 1;
+        while ((value & ~0x7FL) != 0) {
+            size++;
+            value >>>= 7;
+        }
+        return size;
+    }
+
+    static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    static long encodeTimestamp(LocalDateTime time) {
+        if (time == null) {
+            return 0;
+        }
+        long micros = time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+        return zigzag(micros) + 1;
+    }
+
+    static LocalDateTime decodeTimestamp(long encoded) {
+        if (encoded == 0) {
+            return null;
+        }
+        long micros = unzigzag(encoded - 1);
+        return LocalDateTime.ofEpochSecond(
+            Math.floorDiv(micros, 1_000_000L), (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC
+        );
+    }
+
+    // Prices are stored exactly as whole cents
+    static long toCents(double price) {
+        return Math.round(price * 100.0);
+    }
+
+    static double fromCents(long cents) {
+        return cents / 100.0;
+    }
+}
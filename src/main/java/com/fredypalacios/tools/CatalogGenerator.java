@@ -0,0 +1,193 @@
+package com.fredypalacios.tools;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.IntConsumer;
+
+import com.fredypalacios.dao.CategoryDAO;
+import com.fredypalacios.dao.ProductDAO;
+import com.fredypalacios.model.CatalogGenerationSummary;
+import com.fredypalacios.model.Category;
+import com.fredypalacios.model.Product;
+
+// Fills an empty catalog with a synthetic data set of production size for scale tests of the list,
+// search, dashboard and low-stock paths. Every product is a pure function of the seed and its index,
+// so two runs with the same seed produce the same rows, and a product can be recomputed without the
+// database. Rows are written with the DAOs' batched inserts, one transaction per chunk, so memory
+// stays flat at millions of products.
+// Run with: mvn -q compile exec:java -Dexec.mainClass=com.fredypalacios.tools.CatalogGenerator
+//           -Dexec.args="1000000 2000 42"   (products, categories, seed)
+public class CatalogGenerator {
+
+    public static final long DEFAULT_SEED = 42;
+    public static final String SKU_PREFIX = "GEN-";
+    public static final String CATEGORY_PREFIX = "Generated ";
+
+    private static final int CHUNK_SIZE = 10_000;
+    // Every twentieth category is retired, as in a catalog with some history
+    private static final int INACTIVE_CATEGORY_EVERY = 20;
+    // Higher values concentrate more products in the first categories
+    private static final double CATEGORY_SKEW = 2.5;
+    private static final double OUT_OF_STOCK_SHARE = 0.08;
+    private static final double LOW_STOCK_SHARE = 0.12;
+    // Pareto shape of the stock above the minimum: about 80% of the units sit in 20% of the products
+    private static final double STOCK_PARETO_SHAPE = 1.16;
+    private static final int MAX_STOCK = 100_000;
+    private static final int AISLES = 26;
+    private static final int RACKS_PER_AISLE = 60;
+    private static final int BINS_PER_RACK = 8;
+
+    private static final String[] ZONES = {"MAIN", "BULK", "COLD", "MEZZ"};
+    private static final int[] ZONE_WEIGHTS = {70, 15, 10, 5};
+    private static final String[] ADJECTIVES = {
+        "Steel", "Oak", "Compact", "Heavy", "Cordless", "Organic", "Insulated", "Foldable",
+        "Ceramic", "Wireless", "Outdoor", "Classic", "Premium", "Mini", "Smart", "Waterproof"
+    };
+    private static final String[] NOUNS = {
+        "Bracket", "Lamp", "Shelf", "Drill", "Kettle", "Blanket", "Cable", "Bottle",
+        "Chair", "Speaker", "Hammer", "Basket", "Charger", "Skillet", "Helmet", "Router"
+    };
+
+    private final ProductDAO productDAO;
+    private final CategoryDAO categoryDAO;
+    private final long seed;
+
+    public CatalogGenerator(ProductDAO productDAO, CategoryDAO categoryDAO, long seed) {
+        this.productDAO = productDAO;
+        this.categoryDAO = categoryDAO;
+        this.seed = seed;
+    }
+
+    public CatalogGenerator(long seed) {
+        this(new ProductDAO(), new CategoryDAO(), seed);
+    }
+
+    public CatalogGenerator() {
+        this(DEFAULT_SEED);
+    }
+
+    public CatalogGenerationSummary generate(int categories, int products) throws SQLException {
+        return generate(categories, products, written -> { });
+    }
+
+    // Inserts the categories, then the products chunk by chunk, reporting the running product count
+    public CatalogGenerationSummary generate(int categories, int products, IntConsumer progress)
+            throws SQLException {
+        if (categories <= 0) {
+            throw new IllegalArgumentException("At least one category is required");
+        }
+        if (products < 0) {
+            throw new IllegalArgumentException("Products cannot be negative");
+        }
+
+        long start = System.nanoTime();
+        List<Category> newCategories = new ArrayList<>(categories);
+        for (int i = 0; i < categories; i++) {
+            newCategories.add(category(i));
+        }
+        categoryDAO.createAll(newCategories);
+        int[] categoryIds = findGeneratedCategoryIds(categories);
+
+        List<Product> chunk = new ArrayList<>(Math.min(products, CHUNK_SIZE));
+        for (int from = 0; from < products; from += CHUNK_SIZE) {
+            int to = Math.min(from + CHUNK_SIZE, products);
+            chunk.clear();
+            for (int i = from; i < to; i++) {
+                chunk.add(product(i, categoryIds));
+            }
+            productDAO.createAll(chunk);
+            progress.accept(to);
+        }
+        return new CatalogGenerationSummary(seed, categories, products, System.nanoTime() - start);
+    }
+
+    public Category category(int index) {
+        return new Category(categoryName(index), "Synthetic category " + index,
+                index % INACTIVE_CATEGORY_EVERY != INACTIVE_CATEGORY_EVERY - 1);
+    }
+
+    // The product at the index, with its category picked from the given ids
+    public Product product(int index, int[] categoryIds) {
+        SplittableRandom random = new SplittableRandom(seed * 0x9E3779B97F4A7C15L + index);
+
+        String name = ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + NOUNS[random.nextInt(NOUNS.length)]
+                + " " + index;
+        // Log-uniform between about $2.70 and $1,100
+        double price = Math.round(Math.exp(1 + random.nextDouble() * 6) * 100) / 100.0;
+        int minStock = 1 + random.nextInt(20);
+        int category = (int) (categoryIds.length * Math.pow(random.nextDouble(), CATEGORY_SKEW));
+
+        return new Product(sku(index), name, "Synthetic product " + index, price,
+                stock(random, minStock), minStock, location(random), categoryIds[category]);
+    }
+
+    public static String sku(int index) {
+        String number = Integer.toString(index);
+        return SKU_PREFIX + "0".repeat(Math.max(0, 8 - number.length())) + number;
+    }
+
+    public static String categoryName(int index) {
+        String number = Integer.toString(index);
+        return CATEGORY_PREFIX + "0".repeat(Math.max(0, 5 - number.length())) + number;
+    }
+
+    private static int stock(SplittableRandom random, int minStock) {
+        double roll = random.nextDouble();
+        if (roll < OUT_OF_STOCK_SHARE) {
+            return 0;
+        }
+        if (roll < OUT_OF_STOCK_SHARE + LOW_STOCK_SHARE) {
+            return 1 + random.nextInt(minStock);
+        }
+        double pareto = Math.pow(1 - random.nextDouble(), -1 / STOCK_PARETO_SHAPE);
+        return (int) Math.min(MAX_STOCK, minStock + Math.ceil(minStock * pareto));
+    }
+
+    // [ZONE-]AISLE-RACK-BIN; the main zone is written without its prefix, like hand-entered codes
+    private static String location(SplittableRandom random) {
+        int roll = random.nextInt(100);
+        int zone = 0;
+        for (int upTo = ZONE_WEIGHTS[0]; roll >= upTo; upTo += ZONE_WEIGHTS[zone]) {
+            zone++;
+        }
+        String code = (char) ('A' + random.nextInt(AISLES)) + "-" + (1 + random.nextInt(RACKS_PER_AISLE))
+                + "-" + (1 + random.nextInt(BINS_PER_RACK));
+        return zone == 0 ? code : ZONES[zone] + "-" + code;
+    }
+
+    private int[] findGeneratedCategoryIds(int categories) throws SQLException {
+        Map<String, Integer> idsByName = new HashMap<>();
+        for (Category category : categoryDAO.findAll()) {
+            idsByName.put(category.name(), category.id());
+        }
+
+        int[] ids = new int[categories];
+        for (int i = 0; i < categories; i++) {
+            Integer id = idsByName.get(categoryName(i));
+            if (id == null) {
+                throw new IllegalStateException("Generated category not found: " + categoryName(i));
+            }
+            ids[i] = id;
+        }
+        return ids;
+    }
+
+    public static void main(String[] args) throws SQLException {
+        int products = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int categories = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_SEED;
+
+        System.out.printf("Generating %,d products in %,d categories with seed %d%n", products, categories, seed);
+        CatalogGenerationSummary summary = new CatalogGenerator(seed).generate(categories, products, written -> {
+            if (written % 100_000 == 0 || written == products) {
+                System.out.printf("  %,d products written%n", written);
+            }
+        });
+        System.out.printf("Done in %.1f s (%,.0f products/s)%n",
+                summary.elapsedMillis() / 1000, summary.productsPerSecond());
+    }
+}
@@ -7,7 +7,10 @@ import java.util.Scanner;
 import static com.fredypalacios.ui.utils.ConsoleColors.*;
 import static com.fredypalacios.ui.utils.MessagesUI.*;
 
+import com.fredypalacios.dao.base.SqlErrors;
 import com.fredypalacios.model.Category;
+import com.fredypalacios.security.AccessDeniedException;
+import com.fredypalacios.security.AccessGuard;
 import com.fredypalacios.service.CategoryService;
 import com.fredypalacios.utils.ValidationException;
 
@@ -16,8 +19,8 @@ public class CategoryConsoleUI {
     private final CategoryService categoryService;
     private final Scanner scanner;
 
-    public CategoryConsoleUI(Scanner scanner) {
-        this.categoryService = new CategoryService();
+    public CategoryConsoleUI(Scanner scanner, AccessGuard accessGuard) {
+        this.categoryService = new CategoryService(accessGuard);
         this.scanner = scanner;
     }
 
@@ -37,19 +40,24 @@ public class CategoryConsoleUI {
             System.out.println("  0. Back");
 
             int option = getIntInput(Prefix.OPTION);
-            switch (option) {
-                case 1 -> listAll();
-                case 2 -> listActive();
-                case 3 -> searchById();
-                case 4 -> create();
-                case 5 -> update();
-                case 6 -> toggleActive();
-                case 7 -> delete();
-                case 0 -> back = true;
-                default -> {
-                    System.out.println(error(Input.INVALID_OPTION));
-                    Thread.sleep(1000);
+            try {
+                switch (option) {
+                    case 1 -> listAll();
+                    case 2 -> listActive();
+                    case 3 -> searchById();
+                    case 4 -> create();
+                    case 5 -> update();
+                    case 6 -> toggleActive();
+                    case 7 -> delete();
+                    case 0 -> back = true;
+                    default -> {
+                        System.out.println(error(Input.INVALID_OPTION));
+                        Thread.sleep(1000);
+                    }
                 }
+            } catch (AccessDeniedException e) {
+                System.out.println(error(Prefix.WARNING + " " + e.getMessage()));
+                Thread.sleep(1500);
             }
         }
     }
@@ -161,7 +169,7 @@ public class CategoryConsoleUI {
         } catch (ValidationException e) {
             System.out.println(error(Prefix.WARNING + " Validation error: " + e.getMessage()));
         } catch (SQLException e) {
-            if (e.getMessage() != null && e.getMessage().contains("unique constraint")) {
+            if (SqlErrors.isUniqueViolation(e)) {
                 System.out.println(error(Prefix.ERROR + " Category name already exists"));
             } else {
                 System.out.println(error(Prefix.ERROR + " Database error"));
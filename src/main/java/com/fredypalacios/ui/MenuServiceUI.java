@@ -1,11 +1,25 @@
 package com.fredypalacios.ui;
 
+import com.fredypalacios.enums.ExportEntity;
+import com.fredypalacios.enums.ExportFormat;
+import com.fredypalacios.model.ExportSummary;
+import com.fredypalacios.model.Session;
+import com.fredypalacios.security.AccessDeniedException;
+import com.fredypalacios.security.AccessGuard;
+import com.fredypalacios.service.CatalogCacheService;
 import com.fredypalacios.service.DashboardService;
+import com.fredypalacios.service.ExportService;
+import com.fredypalacios.service.LoginService;
+import com.fredypalacios.service.UniqueKeyService;
+import com.fredypalacios.utils.AuthenticationException;
 
 import static com.fredypalacios.ui.utils.ConsoleColors.*;
 import static com.fredypalacios.ui.utils.MessagesUI.*;
 
-
+import java.io.Console;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
 import java.util.Scanner;
 
 public class MenuServiceUI {
@@ -14,13 +28,105 @@ public class MenuServiceUI {
     private final ProductConsoleUI productConsoleUI;
     private final CategoryConsoleUI categoryConsoleUI;
     private final DashboardService dashboardService;
+    private final ExportService exportService;
+    private final CatalogCacheService catalogCache;
+    private final LoginService loginService;
+    private final AccessGuard accessGuard;
+    private String sessionToken;
 
     public MenuServiceUI(Scanner scanner) {
         this.scanner = scanner;
-        this.userConsoleUI = new UserConsoleUI(scanner);
-        this.productConsoleUI = new ProductConsoleUI(scanner);
-        this.categoryConsoleUI = new CategoryConsoleUI(scanner);
-        this.dashboardService = new DashboardService();
+        this.catalogCache = new CatalogCacheService();
+        this.loginService = new LoginService();
+        this.accessGuard = AccessGuard.signedOut();
+        this.userConsoleUI = new UserConsoleUI(scanner, loginService, accessGuard);
+        this.productConsoleUI = new ProductConsoleUI(scanner, catalogCache, accessGuard);
+        this.categoryConsoleUI = new CategoryConsoleUI(scanner, accessGuard);
+        this.dashboardService = new DashboardService(accessGuard);
+        this.exportService = new ExportService(accessGuard);
+    }
+
+    // Restores the product caches and loads the duplicate-key filters on a daemon thread while the
+    // main menu is up; a product screen opened before it finishes waits for the same load instead of
+    // starting another, and creates check the database until the filters are in
+    public void startCacheWarmUp() {
+        Thread warmUp = new Thread(() -> {
+            try {
+                productConsoleUI.warmUpCaches();
+            } catch (SQLException | RuntimeException e) {
+                System.err.println("Cache warm-up failed: " + e.getMessage());
+            }
+            try {
+                UniqueKeyService.shared().load();
+            } catch (SQLException | RuntimeException e) {
+                System.err.println("Key filter load failed: " + e.getMessage());
+            }
+        }, "cache-warm-up");
+        warmUp.setDaemon(true);
+        warmUp.start();
+    }
+
+    // Persists the product caches for the next start
+    public void shutdown() {
+        try {
+            catalogCache.saveSnapshot();
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Cannot save catalog snapshot: " + e.getMessage());
+        }
+    }
+
+    // Prompts until a login succeeds; an empty username gives up and returns false
+    public boolean login() throws InterruptedException {
+        while (true) {
+            clearScreen();
+            System.out.println(title(Titles.LOGIN));
+            System.out.print(highlight("Username (empty to exit): "));
+            String username = scanner.nextLine().trim();
+            if (username.isEmpty()) {
+                return false;
+            }
+
+            try {
+                Session session = loginService.login(username, readPassword());
+                sessionToken = session.token();
+                accessGuard.signIn(session);
+                System.out.println(success(Prefix.SUCCESS + " Welcome, " + session.username()
+                        + " (" + session.role().formatted() + ")"));
+                Thread.sleep(800);
+                return true;
+            } catch (AuthenticationException e) {
+                System.out.println(error(Prefix.WARNING + " " + e.getMessage()));
+            } catch (SQLException e) {
+                System.out.println(error(Prefix.ERROR + e.getMessage()));
+            }
+            Thread.sleep(1500);
+        }
+    }
+
+    // False once the session has expired or was ended, e.g. by a password change
+    public boolean isSignedIn() {
+        if (loginService.authenticate(sessionToken) != null) {
+            return true;
+        }
+        accessGuard.signOut();
+        return false;
+    }
+
+    public void logout() {
+        loginService.logout(sessionToken);
+        sessionToken = null;
+        accessGuard.signOut();
+    }
+
+    // Hidden input on a real terminal; IDE consoles have none and fall back to the scanner
+    private String readPassword() {
+        Console console = System.console();
+        if (console != null) {
+            char[] password = console.readPassword(info("Password: "));
+            return password == null ? "" : new String(password);
+        }
+        System.out.print(info("Password: "));
+        return scanner.nextLine();
     }
 
     public void showMainMenu() {
@@ -28,10 +134,17 @@ public class MenuServiceUI {
         System.out.println(title("║") + bold("                       MAIN MENU                      ") + title("║"));
         System.out.println(title("╚══════════════════════════════════════════════════════╝\n"));
 
+        Session session = loginService.authenticate(sessionToken);
+        if (session != null) {
+            System.out.println(info("  Signed in as ") + highlight(session.username())
+                    + info(" (" + session.role().formatted() + ")\n"));
+        }
+
         System.out.println(info("  1.") + " 👤  User Management");
         System.out.println(info("  2.") + " 📦  Product Management");
         System.out.println(info("  3.") + " 🏷️  Category Management");
         System.out.println(info("  4.") + " 📊  Dashboard");
+        System.out.println(info("  5.") + " 📤  Export Data");
     }
 
     public void handleMainMenuOption(int option) throws Exception {
@@ -40,6 +153,7 @@ public class MenuServiceUI {
             case 2 -> productConsoleUI.showMenu();
             case 3 -> categoryConsoleUI.showMenu();
             case 4 -> showDashboard();
+            case 5 -> showExport();
             case 0 -> {}
             default -> {
                 System.out.println(error(Input.INVALID_OPTION));
@@ -54,7 +168,57 @@ public class MenuServiceUI {
         System.out.println(title("║") + bold("                       DASHBOARD                      ") + title("║"));
         System.out.println(title("╚══════════════════════════════════════════════════════╝\n"));
 
-        dashboardService.showStatistics();
+        try {
+            dashboardService.showStatistics();
+        } catch (AccessDeniedException e) {
+            System.out.println(warning(Prefix.WARNING + " " + e.getMessage()));
+        }
+
+        System.out.println(info(Input.PRESS_ENTER));
+        scanner.nextLine();
+    }
+
+    private void showExport() {
+        clearScreen();
+        System.out.println(title(Titles.EXPORT_DATA));
+        System.out.println("  1. Products");
+        System.out.println("  2. Users");
+        System.out.println("  3. Categories");
+
+        ExportEntity entity = switch (getIntInput(Prefix.OPTION)) {
+            case 1 -> ExportEntity.PRODUCTS;
+            case 2 -> ExportEntity.USERS;
+            case 3 -> ExportEntity.CATEGORIES;
+            default -> null;
+        };
+        if (entity == null) {
+            System.out.println(error(Input.INVALID_OPTION));
+            System.out.println(info(Input.PRESS_ENTER));
+            scanner.nextLine();
+            return;
+        }
+
+        System.out.print(highlight("Format - 1. CSV  2. JSON Lines: "));
+        ExportFormat format = scanner.nextLine().trim().equals("2") ? ExportFormat.JSON_LINES : ExportFormat.CSV;
+        System.out.print(highlight("Compress with gzip? (y/N): "));
+        boolean gzip = scanner.nextLine().trim().equalsIgnoreCase("y");
+        System.out.print(highlight("Directory (empty for current): "));
+        String directory = scanner.nextLine().trim();
+
+        Path target = Path.of(directory.isEmpty() ? "." : directory, ExportService.fileName(entity, format, gzip));
+        try {
+            ExportSummary summary = exportService.export(entity, format, target, gzip);
+            System.out.println(success(String.format("%n  %,d row(s) written to %s", summary.rows(), target)));
+            System.out.println(info(String.format("  %,d bytes in %.2f s (%,.0f rows/s, %.1f MB/s)",
+                    summary.bytes(), summary.elapsedNanos() / 1e9,
+                    summary.rowsPerSecond(), summary.megabytesPerSecond())));
+        } catch (IOException e) {
+            System.out.println(error(Prefix.ERROR + "Cannot write file: " + e.getMessage()));
+        } catch (SQLException e) {
+            System.out.println(error(Prefix.ERROR + e.getMessage()));
+        } catch (AccessDeniedException e) {
+            System.out.println(warning(Prefix.WARNING + " " + e.getMessage()));
+        }
 
         System.out.println(info(Input.PRESS_ENTER));
         scanner.nextLine();
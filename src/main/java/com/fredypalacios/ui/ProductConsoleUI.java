@@ -1,29 +1,109 @@
 package com.fredypalacios.ui;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Scanner;
 
 import static com.fredypalacios.ui.utils.ConsoleColors.*;
 import static com.fredypalacios.ui.utils.MessagesUI.*;
 
+import com.fredypalacios.dao.base.BatchLoader;
+import com.fredypalacios.enums.CountScope;
+import com.fredypalacios.enums.ImportMode;
 import com.fredypalacios.model.Category;
+import com.fredypalacios.model.ImportSummary;
+import com.fredypalacios.model.Location;
+import com.fredypalacios.model.OrderLine;
+import com.fredypalacios.model.PickLine;
 import com.fredypalacios.model.Product;
+import com.fredypalacios.model.ReceiptLine;
+import com.fredypalacios.model.ReceiptSummary;
+import com.fredypalacios.model.ReconciliationReport;
+import com.fredypalacios.model.ScanSummary;
+import com.fredypalacios.model.SkuLookup;
+import com.fredypalacios.model.StockVariance;
+import com.fredypalacios.picking.PickList;
+import com.fredypalacios.picking.PickRoute;
+import com.fredypalacios.picking.PickStop;
+import com.fredypalacios.picking.Wave;
+import com.fredypalacios.picking.WavePlan;
+import com.fredypalacios.scan.ScanSession;
+import com.fredypalacios.security.AccessDeniedException;
+import com.fredypalacios.security.AccessGuard;
+import com.fredypalacios.service.CatalogCacheService;
 import com.fredypalacios.service.CategoryService;
+import com.fredypalacios.service.CycleCountService;
+import com.fredypalacios.service.LocationService;
+import com.fredypalacios.service.PickingService;
+import com.fredypalacios.service.ProductImportService;
+import com.fredypalacios.service.ProductSearchService;
 import com.fredypalacios.service.ProductService;
+import com.fredypalacios.service.ReceivingService;
+import com.fredypalacios.service.ScanIngestionService;
+import com.fredypalacios.service.WavePlanningService;
 import com.fredypalacios.utils.ValidationException;
 
 public class ProductConsoleUI {
     private final ProductService productService;
     private final CategoryService categoryService;
+    private final ProductSearchService searchService;
+    private final LocationService locationService;
+    private final PickingService pickingService;
+    private final WavePlanningService wavePlanningService;
+    private final ProductImportService importService;
+    private final CycleCountService cycleCountService;
+    private final ReceivingService receivingService;
+    private final ScanIngestionService scanService;
     private final Scanner scanner;
 
-    public ProductConsoleUI(Scanner scanner) {
-        this.productService =  new ProductService();
-        this.categoryService = new CategoryService();
+    public ProductConsoleUI(Scanner scanner, CatalogCacheService catalogCache, AccessGuard accessGuard) {
+        this.searchService = new ProductSearchService(catalogCache);
+        this.productService =  new ProductService(searchService, accessGuard);
+        this.categoryService = new CategoryService(accessGuard);
+        this.locationService = new LocationService(catalogCache);
+        this.pickingService = new PickingService(accessGuard);
+        this.wavePlanningService = new WavePlanningService(accessGuard);
+        this.importService = new ProductImportService(accessGuard);
+        this.cycleCountService = new CycleCountService(accessGuard);
+        this.receivingService = new ReceivingService(accessGuard);
+        this.scanService = new ScanIngestionService(accessGuard);
+        this.productService.addChangeListener(catalogCache);
+        this.importService.addChangeListener(catalogCache);
+        this.productService.addChangeListener(searchService);
+        this.productService.addChangeListener(locationService);
+        this.importService.addChangeListener(searchService);
+        this.importService.addChangeListener(locationService);
+        this.cycleCountService.addChangeListener(catalogCache);
+        this.cycleCountService.addChangeListener(searchService);
+        this.cycleCountService.addChangeListener(locationService);
+        this.receivingService.addChangeListener(catalogCache);
+        this.receivingService.addChangeListener(searchService);
+        this.receivingService.addChangeListener(locationService);
+        this.scanService.addChangeListener(catalogCache);
+        this.scanService.addChangeListener(searchService);
+        this.scanService.addChangeListener(locationService);
+        this.wavePlanningService.addChangeListener(catalogCache);
+        this.wavePlanningService.addChangeListener(searchService);
+        this.wavePlanningService.addChangeListener(locationService);
         this.scanner = scanner;
     }
 
+    public ProductConsoleUI(Scanner scanner, AccessGuard accessGuard) {
+        this(scanner, new CatalogCacheService(), accessGuard);
+    }
+
+    // Builds the search and location indexes ahead of the first product screen
+    public void warmUpCaches() throws SQLException {
+        searchService.ensureLoaded();
+        locationService.ensureLoaded();
+    }
+
     public void showMenu() throws Exception {
         boolean back = false;
 
@@ -35,21 +115,42 @@ public class ProductConsoleUI {
             System.out.println("  3. Search by SKU");
             System.out.println("  4. Update stock");
             System.out.println("  5. Low stock products");
+            System.out.println("  6. Search by SKU or name");
+            System.out.println("  7. Browse by location");
+            System.out.println("  8. Plan pick route");
+            System.out.println("  9. Plan pick waves");
+            System.out.println("  10. Import products from CSV");
+            System.out.println("  11. Cycle count reconciliation");
+            System.out.println("  12. Receive delivery (ASN)");
+            System.out.println("  13. Scan mode (receive by barcode)");
             System.out.println("  0. Back");
 
             int option = getIntInput(Prefix.OPTION);
 
-            switch (option) {
-                case 1 -> listAll();
-                case 2 -> create();
-                case 3 -> searchBySku();
-                case 4 -> updateStock();
-                case 5 -> showLowStock();
-                case 0 -> back = true;
-                default -> {
-                    System.out.println(error(Prefix.WARNING + Input.INVALID_OPTION));
-                    Thread.sleep(1000);
+            try {
+                switch (option) {
+                    case 1 -> listAll();
+                    case 2 -> create();
+                    case 3 -> searchBySku();
+                    case 4 -> updateStock();
+                    case 5 -> showLowStock();
+                    case 6 -> searchProducts();
+                    case 7 -> browseByLocation();
+                    case 8 -> planPickRoute();
+                    case 9 -> planPickWaves();
+                    case 10 -> importProducts();
+                    case 11 -> reconcileCycleCount();
+                    case 12 -> receiveDelivery();
+                    case 13 -> scanMode();
+                    case 0 -> back = true;
+                    default -> {
+                        System.out.println(error(Prefix.WARNING + Input.INVALID_OPTION));
+                        Thread.sleep(1000);
+                    }
                 }
+            } catch (AccessDeniedException e) {
+                System.out.println(error(Prefix.WARNING + " " + e.getMessage()));
+                Thread.sleep(1500);
             }
         }
     }
@@ -62,13 +163,19 @@ public class ProductConsoleUI {
             if (products.isEmpty()) {
                 System.out.println(warning(Prefix.WARNING + "  No products registered"));
             } else {
+                BatchLoader<Integer, Category> categories = categoryService.newLoader();
+                products.forEach(p -> categories.load(p.categoryId()));
+                categories.dispatch();
+
                 printLine();
-                System.out.printf("%-5s %-12s %-25s %-10s %-8s%n",
-                        "ID", "SKU", "NAME", "PRICE", "STOCK");
+                System.out.printf("%-5s %-12s %-25s %-10s %-8s %-15s%n",
+                        "ID", "SKU", "NAME", "PRICE", "STOCK", "CATEGORY");
                 printLine();
                 for (Product p : products) {
-                    System.out.printf("%-5d %-12s %-25s $%-9.2f %-8d%n",
-                            p.id(), p.sku(), truncate(p.name(), 25), p.price(), p.stock());
+                    Category category = categories.get(p.categoryId());
+                    System.out.printf("%-5d %-12s %-25s $%-9.2f %-8d %-15s%n",
+                            p.id(), p.sku(), truncate(p.name(), 25), p.price(), p.stock(),
+                            truncate(category != null ? category.name() : "-", 15));
                 }
                 printLine();
                 System.out.println(info("\n  Total: " + products.size() + " product(s)"));
@@ -113,11 +220,7 @@ public class ProductConsoleUI {
             System.out.println(error(Prefix.WARNING + " Validation error: " + e.getMessage()));
 
         } catch (SQLException e) {
-            if (e.getMessage() != null && e.getMessage().contains("unique constraint")) {
-                System.out.println(error(Prefix.ERROR + " SKU already exists"));
-            } else {
-                System.out.println(error(Prefix.ERROR + " Database error"));
-            }
+            System.out.println(error(Prefix.ERROR + " Database error"));
         } catch (Exception e) {
             System.out.println(error(Prefix.ERROR + e.getMessage()));
         }
@@ -133,20 +236,426 @@ public class ProductConsoleUI {
 
         try {
             loadingAnimation(Status.SEARCHING, 400);
-            Product p = productService.findBySku(sku);
+            SkuLookup lookup = productService.lookupSku(sku);
 
-            if (p != null) {
+            if (lookup.found()) {
                 System.out.println(success("\n✓ Product found:\n"));
-                displayProductDetails(p);
+                displayProductDetails(lookup.product());
             } else {
                 System.out.println(error(Prefix.WARNING + " Product not found"));
+                displaySuggestions(lookup.suggestions());
+            }
+        } catch (SQLException e) {
+            System.out.println(error(Prefix.ERROR + e.getMessage()));
+        }
+        waitForEnter();
+    }
+
+    private void displaySuggestions(List<Product> suggestions) {
+        if (suggestions.isEmpty()) {
+            return;
+        }
+        System.out.println(info("\n  Did you mean:"));
+        for (Product p : suggestions) {
+            System.out.println("    " + highlight(p.sku()) + "  " + truncate(p.name(), 40));
+        }
+    }
+
+    private void searchProducts() {
+        clearScreen();
+        System.out.println(title(Titles.SEARCH_PRODUCTS));
+        String query = promptInput("SKU or name (prefix or fragment): ");
+
+        try {
+            long start = System.nanoTime();
+            List<Product> products = searchService.search(query);
+            double elapsedMs = (System.nanoTime() - start) / 1_000_000.0;
+
+            if (products.isEmpty()) {
+                System.out.println(warning(Prefix.WARNING + " No products match \"" + query.trim() + "\""));
+            } else {
+                printLine();
+                System.out.printf("%-5s %-12s %-25s %-10s %-8s%n", "ID", "SKU", "NAME", "PRICE", "STOCK");
+                printLine();
+                for (Product p : products) {
+                    System.out.printf("%-5d %-12s %-25s $%-9.2f %-8d%n",
+                            p.id(), p.sku(), truncate(p.name(), 25), p.price(), p.stock());
+                }
+                printLine();
+                System.out.println(info(String.format("%n  %d result(s) in %.3f ms", products.size(), elapsedMs)));
+            }
+        } catch (SQLException e) {
+            System.out.println(error(Prefix.ERROR + e.getMessage()));
+        }
+        waitForEnter();
+    }
+
+    private void browseByLocation() {
+        clearScreen();
+        System.out.println(title(Titles.BROWSE_BY_LOCATION));
+        String aisleInput = promptInput("Aisle (e.g. A, or ZONE-A): ").trim().toUpperCase();
+        String rackInput = promptInput("Rack range (e.g. 1-5, empty for whole aisle): ").trim();
+
+        if (aisleInput.isEmpty()) {
+            System.out.println(error(Prefix.WARNING + " Aisle cannot be empty"));
+            waitForEnter();
+            return;
+        }
+
+        int separator = aisleInput.lastIndexOf('-');
+        String zone = separator > 0 ? aisleInput.substring(0, separator) : Location.DEFAULT_ZONE;
+        String aisle = aisleInput.substring(separator + 1);
+
+        try {
+            List<Product> products;
+            if (rackInput.isEmpty()) {
+                products = locationService.findInAisle(zone, aisle);
+            } else {
+                String[] racks = rackInput.split("-");
+                int fromRack = Integer.parseInt(racks[0].trim());
+                int toRack = racks.length > 1 ? Integer.parseInt(racks[1].trim()) : fromRack;
+                if (racks.length > 2 || fromRack < 0 || toRack < 0) {
+                    throw new NumberFormatException(rackInput);
+                }
+                // "5-3" means the same racks as "3-5"
+                products = locationService.findInRackRange(zone, aisle,
+                        Math.min(fromRack, toRack), Math.max(fromRack, toRack));
+            }
+
+            if (products.isEmpty()) {
+                System.out.println(warning(Prefix.WARNING + " No products in that location"));
+            } else {
+                printLine();
+                System.out.printf("%-14s %-12s %-30s %-8s%n", "LOCATION", "SKU", "NAME", "STOCK");
+                printLine();
+                for (Product p : products) {
+                    System.out.printf("%-14s %-12s %-30s %-8d%n",
+                            p.structuredLocation().code(), p.sku(), truncate(p.name(), 30), p.stock());
+                }
+                printLine();
+            }
+
+            System.out.println(info(String.format("%n  Aisle %s: %d product(s) in %d occupied bin(s)",
+                    aisleInput, locationService.countInAisle(zone, aisle),
+                    locationService.occupiedBinsInAisle(zone, aisle))));
+        } catch (NumberFormatException e) {
+            System.out.println(error(Prefix.WARNING + Input.INVALID_NUMBER));
+        } catch (SQLException e) {
+            System.out.println(error(Prefix.ERROR + e.getMessage()));
+        }
+        waitForEnter();
+    }
+
+    private void planPickRoute() {
+        clearScreen();
+        System.out.println(title(Titles.PLAN_PICK_ROUTE));
+        System.out.println(info("  Enter one \"SKU QUANTITY\" per line, empty line to finish\n"));
+
+        List<PickLine> lines = new ArrayList<>();
+        try {
+            String input = promptInput("  > ").trim();
+            while (!input.isEmpty()) {
+                String[] parts = input.split("\\s+");
+                int quantity = parts.length > 1 ? Integer.parseInt(parts[1]) : 1;
+                lines.add(new PickLine(parts[0], quantity));
+                input = promptInput("  > ").trim();
+            }
+
+            PickRoute route = pickingService.planRoute(lines);
+
+            printLine();
+            System.out.printf("%-4s %-14s %-12s %-30s %-6s%n", "#", "LOCATION", "SKU", "NAME", "QTY");
+            printLine();
+            int step = 1;
+            for (PickStop stop : route.stops()) {
+                System.out.printf("%-4d %-14s %-12s %-30s %-6d%n",
+                        step++, stop.location().code(), stop.sku(), truncate(stop.name(), 30), stop.quantity());
+            }
+            for (PickStop stop : route.unlocated()) {
+                System.out.printf("%-4d %-14s %-12s %-30s %-6d%n",
+                        step++, "-", stop.sku(), truncate(stop.name(), 30), stop.quantity());
+            }
+            printLine();
+            System.out.println(info(String.format("%n  %d stop(s), %.1f m walk, planned in %.3f ms",
+                    route.stops().size() + route.unlocated().size(), route.length(),
+                    route.computeNanos() / 1_000_000.0)));
+            if (!route.unlocated().isEmpty()) {
+                System.out.println(warning(Prefix.WARNING + " " + route.unlocated().size()
+                        + " product(s) without a structured location are listed last"));
+            }
+        } catch (NumberFormatException e) {
+            System.out.println(error(Prefix.WARNING + Input.INVALID_NUMBER));
+        } catch (IllegalArgumentException | ValidationException e) {
+            System.out.println(error(Prefix.WARNING + " " + e.getMessage()));
+        } catch (SQLException e) {
+            System.out.println(error(Prefix.ERROR + e.getMessage()));
+        }
+        waitForEnter();
+    }
+
+    private void planPickWaves() {
+        clearScreen();
+        System.out.println(title(Titles.PLAN_PICK_WAVES));
+        String file = promptInput("Order lines file (ORDER,SKU,QUANTITY per line): ").trim();
+
+        try {
+            int pickers = getIntInput("Pickers per wave: ");
+            List<OrderLine> lines = new ArrayList<>();
+            for (String row : Files.readAllLines(Path.of(file))) {
+                if (row.isBlank()) {
+                    continue;
+                }
+                String[] fields = row.split(",");
+                lines.add(new OrderLine(fields[0].trim(), fields[1].trim().toUpperCase(),
+                        Integer.parseInt(fields[2].trim())));
+            }
+
+            WavePlan plan = wavePlanningService.planAndReserve(lines, pickers);
+
+            for (Wave wave : plan.waves()) {
+                System.out.println(highlight(String.format("%n  Wave %d (%s): %d order(s), %d stop(s), %.1f m",
+                        wave.id(), wave.zone(), wave.orderIds().size(), wave.stopCount(), wave.route().length())));
+                for (PickList pickList : wave.pickLists()) {
+                    System.out.printf("    Picker %d:", pickList.picker());
+                    for (PickStop stop : pickList.stops()) {
+                        String where = stop.location() != null ? stop.location().code() : "-";
+                        System.out.printf(" %s x%d @%s", stop.sku(), stop.quantity(), where);
+                    }
+                    System.out.println();
+                }
+            }
+            printLine();
+            System.out.println(info(String.format("%n  %d line(s): %d wave(s), %d order(s) released, planned in %.1f ms",
+                    lines.size(), plan.waves().size(), plan.releasedOrders(), plan.computeNanos() / 1_000_000.0)));
+            if (!plan.held().isEmpty()) {
+                System.out.println(warning(Prefix.WARNING + " " + plan.held().size() + " order(s) held:"));
+                plan.held().forEach((orderId, reason) -> System.out.println("    " + orderId + ": " + reason));
+            }
+        } catch (IOException e) {
+            System.out.println(error(Prefix.ERROR + "Cannot read file: " + e.getMessage()));
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            System.out.println(error(Prefix.WARNING + " Invalid order line: " + e.getMessage()));
+        } catch (IllegalArgumentException | ValidationException e) {
+            System.out.println(error(Prefix.WARNING + " " + e.getMessage()));
+        } catch (SQLException e) {
+            System.out.println(error(Prefix.ERROR + e.getMessage()));
+        }
+        waitForEnter();
+    }
+
+    private void importProducts() {
+        clearScreen();
+        System.out.println(title(Titles.IMPORT_PRODUCTS));
+        System.out.println(info("  Columns: sku, name, price, stock, category [, description, min_stock, location]\n"));
+        String file = promptInput("CSV file: ").trim();
+        String modeInput = promptInput("Update existing SKUs? (y/N): ").trim();
+        ImportMode mode = modeInput.equalsIgnoreCase("y") ? ImportMode.UPSERT : ImportMode.INSERT;
+
+        Path source = Path.of(file);
+        Path rejectFile = source.resolveSibling(source.getFileName() + ".rejects.csv");
+
+        try {
+            ImportSummary summary = importService.importCsv(source, rejectFile, mode,
+                    ProductImportService.DEFAULT_CHUNK_SIZE,
+                    progress -> System.out.printf("\r  %,d row(s) read, %,d rejected, %,.0f rows/s",
+                            progress.read(), progress.rejected(), progress.rowsPerSecond()));
+
+            System.out.println();
+            printLine();
+            System.out.println(success(String.format("  %,d inserted, %,d updated, %,d unchanged in %.1f s",
+                    summary.inserted(), summary.updated(), summary.unchanged(), summary.elapsedNanos() / 1e9)));
+            if (summary.rejected() > 0) {
+                System.out.println(warning(Prefix.WARNING + " " + summary.rejected()
+                        + " row(s) rejected, see " + rejectFile));
+            }
+        } catch (IOException e) {
+            System.out.println(error(Prefix.ERROR + "Cannot read file: " + e.getMessage()));
+        } catch (ValidationException e) {
+            System.out.println(error(Prefix.WARNING + " " + e.getMessage()));
+        } catch (SQLException e) {
+            System.out.println(error(Prefix.ERROR + e.getMessage()));
+        }
+        waitForEnter();
+    }
+
+    private void reconcileCycleCount() {
+        clearScreen();
+        System.out.println(title(Titles.CYCLE_COUNT));
+        System.out.println(info("  Columns: sku, counted [, any others such as the bin]\n"));
+        String file = promptInput("Count file: ").trim();
+        String scopeInput = promptInput("Full warehouse count, uncounted SKUs are zero? (y/N): ").trim();
+        CountScope scope = scopeInput.equalsIgnoreCase("y") ? CountScope.FULL : CountScope.PARTIAL;
+
+        Path source = Path.of(file);
+        Path reportFile = source.resolveSibling(source.getFileName() + ".variance.csv");
+
+        try {
+            ReconciliationReport report = cycleCountService.reconcile(source, scope);
+            cycleCountService.writeVarianceReport(report, reportFile);
+
+            printLine();
+            System.out.println(info(String.format("  %s: %,d product(s) scanned, %,d SKU(s) counted in %.1f s",
+                    scope.getDisplayName(), report.scanned(), report.countedSkus(), report.elapsedNanos() / 1e9)));
+            System.out.println(info(String.format("  %,d variance(s), net %+,d unit(s) / $%,.2f, accuracy %.1f%%",
+                    report.variances().size(), report.netUnits(), report.netValue(), report.accuracy() * 100)));
+            report.variances().stream().limit(10).forEach(v -> System.out.printf("  %-15s %-25s %8d -> %-8d %+d%n",
+                    v.sku(), truncate(v.name(), 25), v.systemStock(), v.counted(), v.difference()));
+            if (report.variances().size() > 10) {
+                System.out.println(info("  ... full list in " + reportFile));
+            }
+            if (!report.unknownSkus().isEmpty()) {
+                System.out.println(warning(Prefix.WARNING + " Unknown SKU(s): "
+                        + String.join(", ", report.unknownSkus().stream().limit(10).toList())
+                        + (report.unknownSkus().size() > 10 ? " ..." : "")));
+            }
+            report.rejectedLines().stream().limit(5).forEach(line -> System.out.println(warning("  " + line)));
+            long belowReserved = report.variances().stream().filter(StockVariance::belowReserved).count();
+            if (belowReserved > 0) {
+                System.out.println(warning(Prefix.WARNING + " " + belowReserved
+                        + " product(s) counted below their reserved stock"));
+            }
+            printLine();
+
+            if (report.variances().isEmpty()) {
+                waitForEnter();
+                return;
             }
+
+            System.out.println("  1. Apply all adjustments");
+            System.out.println("  2. Apply only differences within a tolerance, recount the rest");
+            System.out.println("  0. Cancel");
+            int option = getIntInput(Prefix.OPTION);
+            List<StockVariance> approved = switch (option) {
+                case 1 -> report.variances();
+                case 2 -> {
+                    int tolerance = getIntInput("Maximum difference in units: ");
+                    yield report.variances().stream()
+                            .filter(v -> Math.abs(v.difference()) <= tolerance)
+                            .toList();
+                }
+                default -> List.of();
+            };
+            if (approved.isEmpty()) {
+                System.out.println(warning(Prefix.WARNING + " No adjustments applied"));
+                waitForEnter();
+                return;
+            }
+
+            List<StockVariance> moved = cycleCountService.applyAdjustments(approved);
+            if (moved.isEmpty()) {
+                System.out.println(success(String.format("%s %,d adjustment(s) applied", Prefix.SUCCESS, approved.size())));
+            } else {
+                System.out.println(error(Prefix.WARNING + " Stock changed during the count for "
+                        + String.join(", ", moved.stream().limit(10).map(StockVariance::sku).toList())
+                        + ". Nothing was applied; recount these SKUs."));
+            }
+        } catch (IOException e) {
+            System.out.println(error(Prefix.ERROR + "Cannot read file: " + e.getMessage()));
+        } catch (ValidationException e) {
+            System.out.println(error(Prefix.WARNING + " " + e.getMessage()));
+        } catch (SQLException e) {
+            System.out.println(error(Prefix.ERROR + e.getMessage()));
+        }
+        waitForEnter();
+    }
+
+    private void receiveDelivery() {
+        clearScreen();
+        System.out.println(title(Titles.RECEIVE_DELIVERY));
+        System.out.println(info("  Columns: sku, quantity [, any others]\n"));
+        String file = promptInput("ASN file: ").trim();
+
+        Path source = Path.of(file);
+        // The file name without its extension, e.g. ASN-1042 for ASN-1042.csv
+        String defaultReference = source.getFileName() == null
+                ? ""
+                : source.getFileName().toString().replaceFirst("\\.[^.]*$", "");
+        String reference = promptInput("ASN number [" + defaultReference + "]: ").trim();
+        if (reference.isEmpty()) {
+            reference = defaultReference;
+        }
+
+        try {
+            List<ReceiptLine> lines = receivingService.readLines(source);
+            ReceiptSummary summary = receivingService.receive(reference, lines);
+            System.out.println(success(String.format("%s ASN %s posted: %,d line(s), %,d product(s), %,d unit(s) in %.0f ms",
+                    Prefix.SUCCESS, summary.reference(), summary.lines(), summary.products(), summary.units(),
+                    summary.elapsedNanos() / 1e6)));
+        } catch (IOException e) {
+            System.out.println(error(Prefix.ERROR + "Cannot read file: " + e.getMessage()));
+        } catch (ValidationException e) {
+            System.out.println(error(Prefix.WARNING + " " + e.getMessage()));
         } catch (SQLException e) {
             System.out.println(error(Prefix.ERROR + e.getMessage()));
         }
         waitForEnter();
     }
 
+    private void scanMode() {
+        clearScreen();
+        System.out.println(title(Titles.SCAN_MODE));
+        System.out.println("  1. Scanner or keyboard input");
+        System.out.println("  2. File of scans");
+        System.out.println("  3. Local socket for networked scanners");
+        int option = getIntInput(Prefix.OPTION);
+
+        try {
+            ScanSummary summary = switch (option) {
+                case 1 -> {
+                    System.out.println(info("  One scan per line (SKU or SKU,QUANTITY); an empty line ends the session"));
+                    ScanSession session = scanService.openSession();
+                    for (String line = scanner.nextLine(); !line.isBlank(); line = scanner.nextLine()) {
+                        if (!session.accept(line)) {
+                            System.out.println(warning(Prefix.WARNING + " Invalid scan: " + line));
+                        }
+                    }
+                    yield session.finish();
+                }
+                case 2 -> {
+                    String file = promptInput("Scan file: ").trim();
+                    try (Reader reader = Files.newBufferedReader(Path.of(file), StandardCharsets.UTF_8)) {
+                        yield scanService.ingest(reader);
+                    }
+                }
+                case 3 -> {
+                    int port = getIntInput("Port (0 for any free port): ");
+                    ScanSession session = scanService.openSession();
+                    int boundPort = session.listen(port);
+                    System.out.println(info("  Listening on 127.0.0.1:" + boundPort + ", press Enter to stop"));
+                    scanner.nextLine();
+                    yield session.finish();
+                }
+                default -> null;
+            };
+
+            if (summary == null) {
+                System.out.println(error(Input.INVALID_OPTION));
+            } else {
+                printLine();
+                System.out.println(success(String.format("  %,d scan(s), %,d unit(s) received in %,d batch(es), %,.0f scans/s",
+                        summary.scans(), summary.units(), summary.batches(), summary.scansPerSecond())));
+                if (summary.invalidLines() > 0) {
+                    System.out.println(warning(Prefix.WARNING + " " + summary.invalidLines() + " invalid line(s) skipped"));
+                }
+                if (!summary.unknownSkus().isEmpty()) {
+                    System.out.println(warning(Prefix.WARNING + " Unknown SKU(s) not received: "
+                            + String.join(", ", summary.unknownSkus())));
+                }
+                if (summary.blockedNanos() > 0) {
+                    System.out.println(info(String.format("  Scanners waited %.1f s for the database",
+                            summary.blockedNanos() / 1e9)));
+                }
+            }
+        } catch (IOException e) {
+            System.out.println(error(Prefix.ERROR + e.getMessage()));
+        } catch (SQLException | IllegalStateException e) {
+            System.out.println(error(Prefix.ERROR + e.getMessage()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        waitForEnter();
+    }
+
     private void updateStock() throws Exception {
         clearScreen();
         System.out.println(title(Titles.UPDATE_STOCK));
@@ -223,6 +732,7 @@ public class ProductConsoleUI {
         System.out.println(info("  Price:       ") + success("$" + p.price()));
         System.out.println(info("  Stock:       ") + success(String.valueOf(p.stock())));
         System.out.println(info("  Min Stock:   ") + p.minStock());
+        System.out.println(info("  Location:    ") + (p.location() != null ? p.location() : "-"));
         System.out.println(info("  Status:      ") + getStatusColor(p.status()));
     }
 
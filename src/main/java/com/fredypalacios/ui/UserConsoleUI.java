@@ -1,5 +1,7 @@
 package com.fredypalacios.ui;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.Scanner;
@@ -9,15 +11,24 @@ import static com.fredypalacios.ui.utils.MessagesUI.*;
 
 import com.fredypalacios.enums.UserRole;
 import com.fredypalacios.model.User;
+import com.fredypalacios.model.UserImportSummary;
+import com.fredypalacios.security.AccessDeniedException;
+import com.fredypalacios.security.AccessGuard;
+import com.fredypalacios.service.LoginService;
+import com.fredypalacios.service.UserImportService;
 import com.fredypalacios.service.UserService;
 import com.fredypalacios.utils.ValidationException;
 
 public class UserConsoleUI {
     private final UserService userService;
+    private final UserImportService importService;
+    private final LoginService loginService;
     private final Scanner scanner;
 
-    public UserConsoleUI(Scanner scanner) {
-        this.userService = new UserService();
+    public UserConsoleUI(Scanner scanner, LoginService loginService, AccessGuard accessGuard) {
+        this.userService = new UserService(accessGuard);
+        this.importService = new UserImportService(accessGuard);
+        this.loginService = loginService;
         this.scanner = scanner;
     }
 
@@ -34,23 +45,30 @@ public class UserConsoleUI {
             System.out.println("  5. Update user");
             System.out.println("  6. Change password");
             System.out.println("  7. Delete user");
+            System.out.println("  8. Import users (CSV)");
             System.out.println("  0. Back");
 
             int option = getIntInput(Prefix.OPTION);
 
-            switch (option) {
-                case 1 -> listAll();
-                case 2 -> searchById();
-                case 3 -> searchByUsername();
-                case 4 -> create();
-                case 5 -> update();
-                case 6 -> changePassword();
-                case 7 -> delete();
-                case 0 -> back = true;
-                default -> {
-                    System.out.println(error(Prefix.WARNING + Input.INVALID_OPTION));
-                    Thread.sleep(1000);
+            try {
+                switch (option) {
+                    case 1 -> listAll();
+                    case 2 -> searchById();
+                    case 3 -> searchByUsername();
+                    case 4 -> create();
+                    case 5 -> update();
+                    case 6 -> changePassword();
+                    case 7 -> delete();
+                    case 8 -> importUsers();
+                    case 0 -> back = true;
+                    default -> {
+                        System.out.println(error(Prefix.WARNING + Input.INVALID_OPTION));
+                        Thread.sleep(1000);
+                    }
                 }
+            } catch (AccessDeniedException e) {
+                System.out.println(error(Prefix.WARNING + " " + e.getMessage()));
+                Thread.sleep(1500);
             }
         }
     }
@@ -156,11 +174,7 @@ public class UserConsoleUI {
             System.out.println(error(Prefix.WARNING + " Validation error: " + e.getMessage()));
 
         } catch (SQLException e) {
-            if (e.getMessage() != null && e.getMessage().contains("unique")) {
-                System.out.println(error(Prefix.ERROR + " Username or email already exists"));
-            } else {
-                System.out.println(error(Prefix.ERROR + " Database error: " + e.getMessage()));
-            }
+            System.out.println(error(Prefix.ERROR + " Database error: " + e.getMessage()));
 
         } catch (Exception e) {
             System.out.println(error(Prefix.ERROR + e.getMessage()));
@@ -228,7 +242,7 @@ public class UserConsoleUI {
         int id = getIntInput("User ID: ");
 
         try {
-            User user = userService.findById(id);
+            User user = userService.findAccount(id);
 
             if (user == null) {
                 System.out.println(error(Prefix.WARNING + " User not found"));
@@ -255,6 +269,7 @@ public class UserConsoleUI {
             boolean result = userService.updatePassword(id, newPassword);
 
             if (result) {
+                loginService.invalidateSessions(id);
                 System.out.println(success(Prefix.SUCCESS + " Password updated successfully"));
             } else {
                 System.out.println(error(Prefix.WARNING + " Error updating password"));
@@ -296,6 +311,7 @@ public class UserConsoleUI {
                 boolean deleted = userService.delete(id);
 
                 if (deleted) {
+                    loginService.invalidateSessions(id);
                     System.out.println(success(Prefix.SUCCESS + " User deleted successfully"));
                 } else {
                     System.out.println(error(Prefix.WARNING + " Error deleting user"));
@@ -311,6 +327,42 @@ public class UserConsoleUI {
         Thread.sleep(1500);
     }
 
+    private void importUsers() {
+        clearScreen();
+        System.out.println(title(Titles.IMPORT_USERS));
+        System.out.println(info("  Columns: username, password, email, full_name, role\n"));
+        String file = promptInput("CSV file: ").trim();
+
+        Path source = Path.of(file);
+        Path rejectFile = source.resolveSibling(source.getFileName() + ".rejects.csv");
+
+        try {
+            UserImportSummary summary = importService.importCsv(source, rejectFile,
+                    UserImportService.DEFAULT_BATCH_SIZE,
+                    progress -> System.out.printf("\r  %,d row(s) read, %,d created, %,.0f rows/s",
+                            progress.read(), progress.created(), progress.rowsPerSecond()));
+
+            System.out.println();
+            printLine();
+            System.out.println(success(String.format("  %,d user(s) created in %.1f s",
+                    summary.created(), summary.elapsedNanos() / 1e9)));
+            if (summary.rejected() > 0) {
+                System.out.println(warning(Prefix.WARNING + " " + summary.rejected()
+                        + " row(s) rejected, see " + rejectFile));
+            }
+        } catch (IOException e) {
+            System.out.println(error(Prefix.ERROR + "Cannot read file: " + e.getMessage()));
+        } catch (ValidationException e) {
+            System.out.println(error(Prefix.WARNING + " " + e.getMessage()));
+        } catch (SQLException e) {
+            System.out.println(error(Prefix.ERROR + e.getMessage()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.out.println(error(Prefix.WARNING + " Import interrupted"));
+        }
+        waitForEnter();
+    }
+
     private void displayUserDetails(User user) {
         System.out.println(success( Prefix.SUCCESS + " User found:\n"));
         System.out.println(info("  ID:       ") + highlight(String.valueOf(user.id())));
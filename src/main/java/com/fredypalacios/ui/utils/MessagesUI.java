@@ -28,6 +28,7 @@ public final class MessagesUI {
     public static final class Titles {
         public static final String MAIN_MENU = "MAIN MENU";
         public static final String DASHBOARD = "📊 DASHBOARD";
+        public static final String LOGIN = "\n═══ 🔐 SIGN IN ═══\n";
 
         public static final String USER_MANAGEMENT = "\n═══ 👤 USER MANAGEMENT ═══\n";
         public static final String LIST_USER = "\n═══ 📋 USER LIST ═══\n";
@@ -37,12 +38,22 @@ public final class MessagesUI {
         public static final String SEARCH_USER_BY_ID = "\n═══ 🔍 SEARCH USER ═══\n";
         public static final String SEARCH_USER_BY_USERNAME = "\n═══ 🔍 SEARCH BY USERNAME ═══\n";
         public static final String CHANGE_PASSWORD = "\n═══ 🔑 CHANGE PASSWORD ═══\n";
+        public static final String IMPORT_USERS = "\n═══ 📥 IMPORT USERS ═══\n";
 
         public static final String PRODUCT_MANAGEMENT = "\n═══ 📦 PRODUCT MANAGEMENT ═══\n";
         public static final String CREATE_PRODUCT = "\n═══ ➕ CREATE PRODUCT ═══\n";
         public static final String UPDATE_STOCK = "\n═══ ✏️ UPDATE STOCK ═══\n";
         public static final String LOW_STOCK_PRODUCTS = "\n═══ LOW STOCK PRODUCTS ═══\n";
         public static final String SEARCH_BY_SKU = "\n═══ 🔍 SEARCH BY SKU ═══\n";
+        public static final String SEARCH_PRODUCTS = "\n═══ 🔍 SEARCH PRODUCTS ═══\n";
+        public static final String BROWSE_BY_LOCATION = "\n═══ 📍 BROWSE BY LOCATION ═══\n";
+        public static final String PLAN_PICK_ROUTE = "\n═══ 🧭 PLAN PICK ROUTE ═══\n";
+        public static final String PLAN_PICK_WAVES = "\n═══ 🌊 PLAN PICK WAVES ═══\n";
+        public static final String IMPORT_PRODUCTS = "\n═══ 📥 IMPORT PRODUCTS ═══\n";
+        public static final String CYCLE_COUNT = "\n═══ 🧮 CYCLE COUNT RECONCILIATION ═══\n";
+        public static final String RECEIVE_DELIVERY = "\n═══ 🚚 RECEIVE DELIVERY (ASN) ═══\n";
+        public static final String SCAN_MODE = "\n═══ 🔫 SCAN MODE ═══\n";
+        public static final String EXPORT_DATA = "\n═══ 📤 EXPORT DATA ═══\n";
 
         public static final String CATEGORY_MANAGEMENT = "\n ═══ 🏷️  CATEGORY MANAGEMENT ═══ \n";
         public static final String CREATE_CATEGORY = "\n═══ ➕ CREATE CATEGORY ═══\n";
@@ -0,0 +1,8 @@
+package com.fredypalacios.utils;
+
+public class AuthenticationException extends Exception {
+
+    public AuthenticationException(String message) {
+        super(message);
+    }
+}
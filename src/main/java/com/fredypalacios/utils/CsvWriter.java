@@ -0,0 +1,70 @@
+package com.fredypalacios.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+
+// Writes RFC 4180 records; fields are quoted only when they contain a comma, quote or line break
+public class CsvWriter implements Closeable {
+
+    private final Writer writer;
+
+    public CsvWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    public void writeRecord(Iterable<String> fields) throws IOException {
+        boolean first = true;
+        for (String value : fields) {
+            if (!first) {
+                writer.write(',');
+            }
+            writeField(value);
+            first = false;
+        }
+        writer.write('\n');
+    }
+
+    public void writeRecord(String... fields) throws IOException {
+        writeRecord(Arrays.asList(fields));
+    }
+
+    private void writeField(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (!needsQuotes(value)) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+
+    private static boolean needsQuotes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
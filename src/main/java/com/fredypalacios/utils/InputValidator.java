@@ -1,14 +1,36 @@
 package com.fredypalacios.utils;
 
-import java.util.regex.Pattern;
+import static com.fredypalacios.utils.TextRule.*;
 
+// Field rules shared by the console and the imports. The static validate methods throw on the
+// first problem; bulk callers use the rules directly with a reused ValidationResult instead.
 public class InputValidator {
 
-    private static final Pattern USERNAME_PATTERN = Pattern.compile("^[a-zA-Z0-9_]{3,20}$");
+    public static final TextRule USERNAME = TextRule.required("Username cannot be empty")
+        .withLength(3, "Username must be 3-20 alphanumeric characters or underscores",
+            20, "Username must be 3-20 alphanumeric characters or underscores")
+        .allowing(LETTER | DIGIT | UNDERSCORE, "Username must be 3-20 alphanumeric characters or underscores");
 
-    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
+    public static final TextRule PASSWORD = TextRule.required("Password cannot be empty")
+        .withLength(8, "Password must be at least 8 characters", Integer.MAX_VALUE, null)
+        .requiring(UPPER, "Password must contain at least one uppercase letter")
+        .requiring(LOWER, "Password must contain at least one lowercase letter")
+        .requiring(DIGIT, "Password must contain at least one number");
 
-    private static final Pattern SKU_PATTERN = Pattern.compile("^[A-Z0-9-]{3,50}$");
+    public static final TextRule EMAIL = TextRule.required("Email cannot be empty")
+        .lowerCased()
+        .asEmail("Invalid email format")
+        .withLength(0, null, 100, "Email is too long (max 100 characters)");
+
+    public static final TextRule FULL_NAME = TextRule.required("Full name cannot be empty")
+        .withLength(2, "Full name must be at least 2 characters", 100, "Full name is too long (max 100 characters)")
+        .allowing(LETTER | WHITESPACE, "Full name can only contain letters and spaces");
+
+    public static final TextRule SKU = TextRule.required("SKU cannot be empty")
+        .upperCased()
+        .withLength(3, "SKU must be 3-50 uppercase alphanumeric characters or hyphens",
+            50, "SKU must be 3-50 uppercase alphanumeric characters or hyphens")
+        .allowing(UPPER | DIGIT | HYPHEN, "SKU must be 3-50 uppercase alphanumeric characters or hyphens");
 
     private InputValidator() {
         throw new UnsupportedOperationException("Utility class");
@@ -23,82 +45,23 @@ public class InputValidator {
     }
 
     public static String validateUsername(String username) throws ValidationException {
-
-        username = requiredNotEmpty(username, "Username cannot be empty");
-
-        if (!USERNAME_PATTERN.matcher(username).matches()) {
-            throw new ValidationException("Username must be 3-20 alphanumeric characters or underscores");
-        }
-
-        return username;
+        return USERNAME.validate(username);
     }
 
     public static String validatePassword(String password) throws ValidationException {
-
-        password = requiredNotEmpty(password,"Password cannot be empty");
-
-        if (password.length() < 8) {
-            throw new ValidationException("Password must be at least 8 characters");
-        }
-
-        if (!password.matches(".*[A-Z].*")) {
-            throw new ValidationException("Password must contain at least one uppercase letter");
-        }
-
-        if (!password.matches(".*[a-z].*")) {
-            throw new ValidationException("Password must contain at least one lowercase letter");
-        }
-
-        if (!password.matches(".*[0-9].*")) {
-            throw new ValidationException("Password must contain at least one number");
-        }
-
-        return password;
+        return PASSWORD.validate(password);
     }
 
     public static String validateEmail(String email) throws ValidationException {
-
-        email = requiredNotEmpty(email, "Email cannot be empty").toLowerCase();
-
-        if (!EMAIL_PATTERN.matcher(email).matches()) {
-            throw new ValidationException("Invalid email format");
-        }
-
-        if (email.length() > 100) {
-            throw new ValidationException("Email is too long (max 100 characters)");
-        }
-
-        return email;
+        return EMAIL.validate(email);
     }
 
     public static String validateFullName(String fullName) throws ValidationException {
-
-        fullName = requiredNotEmpty(fullName,"Full name cannot be empty");
-
-        if (fullName.length() < 2) {
-            throw new ValidationException("Full name must be at least 2 characters");
-        }
-
-        if (fullName.length() > 100) {
-            throw new ValidationException("Full name is too long (max 100 characters)");
-        }
-
-        if (!fullName.matches("^[a-zA-Z\\s]+$")) {
-            throw new ValidationException("Full name can only contain letters and spaces");
-        }
-
-        return fullName;
+        return FULL_NAME.validate(fullName);
     }
 
     public static String validateSKU(String sku) throws ValidationException {
-
-        sku = requiredNotEmpty(sku,"SKU cannot be empty" ).toUpperCase();
-
-        if (!SKU_PATTERN.matcher(sku).matches()) {
-            throw new ValidationException("SKU must be 3-50 uppercase alphanumeric characters or hyphens");
-        }
-
-        return sku;
+        return SKU.validate(sku);
     }
 
     public static double validatePrice(double price) throws ValidationException {
@@ -133,24 +96,6 @@ public class InputValidator {
             int maxLength,
             boolean allowEmpty
     ) throws ValidationException {
-        if (value == null) {
-            throw new ValidationException(fieldName + " cannot be null");
-        }
-
-        String trimmed = value.trim();
-
-        if (!allowEmpty && trimmed.isBlank()) {
-            throw new ValidationException(fieldName + " cannot be empty");
-        }
-
-        if (trimmed.length() < minLength) {
-            throw new ValidationException(fieldName + " must be at least " + minLength + " characters");
-        }
-
-        if (trimmed.length() > maxLength) {
-            throw new ValidationException(fieldName + " is too long (max " + maxLength + " characters)");
-        }
-
-        return trimmed;
+        return TextRule.text(fieldName, minLength, maxLength, allowEmpty).validate(value);
     }
 }
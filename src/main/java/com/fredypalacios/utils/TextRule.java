@@ -0,0 +1,266 @@
+package com.fredypalacios.utils;
+
+import java.util.Arrays;
+
+// A precompiled check for one text field. The trimmed value is scanned once, collecting the set of
+// character classes it contains, and every constraint is then answered from that set and the
+// length: no regex, no copy of the string, and no exception unless validate() is used.
+// Rules are immutable; the with-methods return a changed copy and are meant for static setup.
+public final class TextRule {
+
+    public static final int UPPER = 1;
+    public static final int LOWER = 1 << 1;
+    public static final int DIGIT = 1 << 2;
+    public static final int UNDERSCORE = 1 << 3;
+    public static final int HYPHEN = 1 << 4;
+    public static final int DOT = 1 << 5;
+    public static final int PLUS = 1 << 6;
+    public static final int AT = 1 << 7;
+    // The characters \s matches: space, tab, line feed, vertical tab, form feed, carriage return
+    public static final int WHITESPACE = 1 << 8;
+    public static final int OTHER = 1 << 9;
+    public static final int LETTER = UPPER | LOWER;
+    public static final int ANY = (1 << 10) - 1;
+
+    private static final int[] ASCII_CLASSES = asciiClasses();
+
+    private enum CaseMode { KEEP, UPPER, LOWER }
+
+    private final String nullMessage;
+    private final String emptyMessage;
+    private final String blankMessage;
+    private final int minLength;
+    private final String tooShortMessage;
+    private final int maxLength;
+    private final String tooLongMessage;
+    private final int allowed;
+    private final String invalidMessage;
+    private final int[] required;
+    private final String[] missingMessages;
+    private final CaseMode caseMode;
+    private final boolean email;
+
+    private TextRule(
+        String nullMessage, String emptyMessage, String blankMessage,
+        int minLength, String tooShortMessage, int maxLength, String tooLongMessage,
+        int allowed, String invalidMessage, int[] required, String[] missingMessages,
+        CaseMode caseMode, boolean email
+    ) {
+        this.nullMessage = nullMessage;
+        this.emptyMessage = emptyMessage;
+        this.blankMessage = blankMessage;
+        this.minLength = minLength;
+        this.tooShortMessage = tooShortMessage;
+        this.maxLength = maxLength;
+        this.tooLongMessage = tooLongMessage;
+        this.allowed = allowed;
+        this.invalidMessage = invalidMessage;
+        this.required = required;
+        this.missingMessages = missingMessages;
+        this.caseMode = caseMode;
+        this.email = email;
+    }
+
+    // Rejects null and "" with the message, then checks the trimmed value, like requiredNotEmpty
+    public static TextRule required(String emptyMessage) {
+        return new TextRule(emptyMessage, emptyMessage, null, 0, null, Integer.MAX_VALUE, null,
+                ANY, null, new int[0], new String[0], CaseMode.KEEP, false);
+    }
+
+    // The rule behind InputValidator.validateString
+    public static TextRule text(String fieldName, int minLength, int maxLength, boolean allowEmpty) {
+        return new TextRule(fieldName + " cannot be null", null, allowEmpty ? null : fieldName + " cannot be empty",
+                minLength, fieldName + " must be at least " + minLength + " characters",
+                maxLength, fieldName + " is too long (max " + maxLength + " characters)",
+                ANY, null, new int[0], new String[0], CaseMode.KEEP, false);
+    }
+
+    public TextRule withLength(int minLength, String tooShortMessage, int maxLength, String tooLongMessage) {
+        return new TextRule(nullMessage, emptyMessage, blankMessage, minLength, tooShortMessage, maxLength,
+                tooLongMessage, allowed, invalidMessage, required, missingMessages, caseMode, email);
+    }
+
+    // Only characters of the given classes may appear, checked after the length
+    public TextRule allowing(int classes, String invalidMessage) {
+        return new TextRule(nullMessage, emptyMessage, blankMessage, minLength, tooShortMessage, maxLength,
+                tooLongMessage, classes, invalidMessage, required, missingMessages, caseMode, email);
+    }
+
+    // At least one character of the classes must appear; checks run in the order they were added
+    public TextRule requiring(int classes, String missingMessage) {
+        int[] nextRequired = Arrays.copyOf(required, required.length + 1);
+        String[] nextMessages = Arrays.copyOf(missingMessages, missingMessages.length + 1);
+        nextRequired[required.length] = classes;
+        nextMessages[missingMessages.length] = missingMessage;
+        return new TextRule(nullMessage, emptyMessage, blankMessage, minLength, tooShortMessage, maxLength,
+                tooLongMessage, allowed, invalidMessage, nextRequired, nextMessages, caseMode, email);
+    }
+
+    public TextRule upperCased() {
+        return new TextRule(nullMessage, emptyMessage, blankMessage, minLength, tooShortMessage, maxLength,
+                tooLongMessage, allowed, invalidMessage, required, missingMessages, CaseMode.UPPER, email);
+    }
+
+    public TextRule lowerCased() {
+        return new TextRule(nullMessage, emptyMessage, blankMessage, minLength, tooShortMessage, maxLength,
+                tooLongMessage, allowed, invalidMessage, required, missingMessages, CaseMode.LOWER, email);
+    }
+
+    // local@domain.tld with the characters of the former email regex; checked before the length
+    public TextRule asEmail(String invalidMessage) {
+        return new TextRule(nullMessage, emptyMessage, blankMessage, minLength, tooShortMessage, maxLength,
+                tooLongMessage, allowed, invalidMessage, required, missingMessages, caseMode, true);
+    }
+
+    // Adds the first failure to the result; true when there was none
+    public boolean check(String value, ValidationResult result) {
+        String error = firstError(value);
+        if (error != null) {
+            result.add(error);
+            return false;
+        }
+        return true;
+    }
+
+    public String validate(String value) throws ValidationException {
+        String error = firstError(value);
+        if (error != null) {
+            throw new ValidationException(error);
+        }
+        return normalize(value);
+    }
+
+    // The value as stored: trimmed, and upper or lower cased if the rule says so
+    public String normalize(String value) {
+        String trimmed = value.trim();
+        return switch (caseMode) {
+            case KEEP -> trimmed;
+            case UPPER -> trimmed.toUpperCase();
+            case LOWER -> trimmed.toLowerCase();
+        };
+    }
+
+    // Message of the first constraint the value breaks, or null
+    public String firstError(String value) {
+        if (value == null) {
+            return nullMessage;
+        }
+        if (value.isEmpty() && emptyMessage != null) {
+            return emptyMessage;
+        }
+
+        int start = 0;
+        int end = value.length();
+        while (start < end && value.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && value.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (start == end && blankMessage != null) {
+            return blankMessage;
+        }
+        return scan(value, start, end, caseMode != CaseMode.KEEP);
+    }
+
+    private String scan(String value, int start, int end, boolean foldCase) {
+        int seen = 0;
+        int at = -1;
+        int ats = 0;
+        int localSeen = 0;
+        int domainSeen = 0;
+        int lastDot = -1;
+        int tldSeen = 0;
+
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            int type = c < 128 ? ASCII_CLASSES[c] : OTHER;
+            if (foldCase) {
+                if (type == OTHER) {
+                    // Case mapping outside ASCII can change letters or the length; check the mapped copy
+                    String normalized = normalize(value);
+                    return scan(normalized, 0, normalized.length(), false);
+                }
+                if (type == LOWER && caseMode == CaseMode.UPPER) {
+                    type = UPPER;
+                } else if (type == UPPER && caseMode == CaseMode.LOWER) {
+                    type = LOWER;
+                }
+            }
+            seen |= type;
+
+            if (email) {
+                if (type == AT) {
+                    ats++;
+                    at = i;
+                } else if (at < 0) {
+                    localSeen |= type;
+                } else {
+                    domainSeen |= type;
+                    if (type == DOT) {
+                        lastDot = i;
+                        tldSeen = 0;
+                    } else {
+                        tldSeen |= type;
+                    }
+                }
+            }
+        }
+
+        int length = end - start;
+        if (email && !isEmail(start, end, at, ats, localSeen, domainSeen, lastDot, tldSeen)) {
+            return invalidMessage;
+        }
+        if (length < minLength) {
+            return tooShortMessage;
+        }
+        if (length > maxLength) {
+            return tooLongMessage;
+        }
+        if ((seen & ~allowed) != 0) {
+            return invalidMessage;
+        }
+        for (int i = 0; i < required.length; i++) {
+            if ((seen & required[i]) == 0) {
+                return missingMessages[i];
+            }
+        }
+        return null;
+    }
+
+    // One @, a non-empty local part, and a domain ending in a dot and at least two letters
+    private static boolean isEmail(
+        int start, int end, int at, int ats, int localSeen, int domainSeen, int lastDot, int tldSeen
+    ) {
+        return ats == 1
+            && at > start
+            && (localSeen & ~(LETTER | DIGIT | PLUS | UNDERSCORE | DOT | HYPHEN)) == 0
+            && (domainSeen & ~(LETTER | DIGIT | DOT | HYPHEN)) == 0
+            && lastDot > at + 1
+            && end - lastDot - 1 >= 2
+            && (tldSeen & ~LETTER) == 0;
+    }
+
+    private static int[] asciiClasses() {
+        int[] classes = new int[128];
+        Arrays.fill(classes, OTHER);
+        for (char c = 'A'; c <= 'Z'; c++) {
+            classes[c] = UPPER;
+        }
+        for (char c = 'a'; c <= 'z'; c++) {
+            classes[c] = LOWER;
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            classes[c] = DIGIT;
+        }
+        classes['_'] = UNDERSCORE;
+        classes['-'] = HYPHEN;
+        classes['.'] = DOT;
+        classes['+'] = PLUS;
+        classes['@'] = AT;
+        for (char c : new char[] {' ', '\t', '\n', 0x0B, '\f', '\r'}) {
+            classes[c] = WHITESPACE;
+        }
+        return classes;
+    }
+}
@@ -0,0 +1,49 @@
+package com.fredypalacios.utils;
+
+import java.util.Arrays;
+
+// Collects validation failures without throwing, so one object can check a whole row and be
+// reset for the next. Messages are the rules' precomputed strings, so adding one allocates nothing.
+public final class ValidationResult {
+    private static final int INITIAL_CAPACITY = 8;
+
+    private String[] messages = new String[INITIAL_CAPACITY];
+    private int count;
+
+    public void reset() {
+        count = 0;
+    }
+
+    public void add(String message) {
+        if (count == messages.length) {
+            messages = Arrays.copyOf(messages, count * 2);
+        }
+        messages[count++] = message;
+    }
+
+    public boolean isValid() {
+        return count == 0;
+    }
+
+    public int getErrorCount() {
+        return count;
+    }
+
+    public String getMessage(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return messages[index];
+    }
+
+    // All messages in the order they were added
+    public String summary() {
+        return String.join("; ", Arrays.asList(messages).subList(0, count));
+    }
+
+    public void throwIfInvalid() throws ValidationException {
+        if (count > 0) {
+            throw new ValidationException(summary());
+        }
+    }
+}
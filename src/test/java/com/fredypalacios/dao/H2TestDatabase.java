@@ -0,0 +1,67 @@
+package com.fredypalacios.dao;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+// In-memory H2 database in Oracle mode built from database/schema.sql, for DAO tests
+public final class H2TestDatabase {
+
+    private static final Path SCHEMA = Path.of("database", "schema.sql");
+
+    private final String url;
+
+    private H2TestDatabase() {
+        this.url = "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=Oracle;DB_CLOSE_DELAY=-1";
+    }
+
+    public static H2TestDatabase create() {
+        H2TestDatabase database = new H2TestDatabase();
+        database.loadSchema();
+        return database;
+    }
+
+    public Supplier<Connection> connectionSupplier() {
+        return this::getConnection;
+    }
+
+    public Connection getConnection() {
+        try {
+            return DriverManager.getConnection(url);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public void execute(String sql) {
+        try (Connection connection = getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void loadSchema() {
+        String schema;
+        try {
+            schema = Files.readString(SCHEMA);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        for (String statement : schema.split(";")) {
+            String sql = statement.replaceAll("(?m)^--.*$", "").trim();
+            // The schema drops tables first, which fails on an empty database
+            if (!sql.isEmpty() && !sql.toUpperCase().startsWith("DROP")) {
+                execute(sql);
+            }
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.fredypalacios.dao;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.fredypalacios.enums.ProductInsertResult;
+import com.fredypalacios.enums.UpsertOutcome;
+import com.fredypalacios.model.Location;
+import com.fredypalacios.model.Product;
+import com.fredypalacios.model.UpsertSummary;
+
+@DisplayName("ProductDAO Tests (H2)")
+class ProductDAOTest {
+
+    private H2TestDatabase database;
+    private ProductDAO productDAO;
+
+    @BeforeEach
+    void setUp() {
+        database = H2TestDatabase.create();
+        database.execute("INSERT INTO categories (name, description, active) VALUES ('Home', 'Household', 1)");
+        database.execute("INSERT INTO categories (name, description, active) VALUES ('Legacy', 'Retired', 0)");
+        productDAO = new ProductDAO(database.connectionSupplier());
+    }
+
+    private Product product(String sku, int categoryId) {
+        return new Product(sku, "Product " + sku, "Desc", 10.0, 20, 5, "A-1-3", categoryId);
+    }
+
+    @Nested
+    @DisplayName("Batch lookup tests")
+    class BatchLookupTests {
+
+        @Test
+        @DisplayName("FindBySkus should return only existing products")
+        void findBySkus_shouldReturnExistingProducts() throws SQLException {
+            productDAO.create(product("SKU-001", 1));
+            productDAO.create(product("SKU-002", 1));
+
+            List<Product> result = productDAO.findBySkus(List.of("SKU-001", "SKU-002", "SKU-404"));
+
+            assertEquals(2, result.size());
+        }
+
+        @Test
+        @DisplayName("FindByIds should handle more keys than the IN list limit")
+        void findByIds_shouldChunkLargeKeySets() throws SQLException {
+            productDAO.create(product("SKU-001", 1));
+            List<Integer> ids = IntStream.rangeClosed(1, 2500).boxed().toList();
+
+            List<Product> result = productDAO.findByIds(ids);
+
+            assertEquals(1, result.size());
+            assertEquals("SKU-001", result.get(0).sku());
+        }
+    }
+
+    @Nested
+    @DisplayName("Category-guarded insert tests")
+    class GuardedInsertTests {
+
+        @Test
+        @DisplayName("Insert into an active category should create the product")
+        void createInActiveCategory_activeCategory_shouldCreate() throws SQLException {
+            ProductInsertResult result = productDAO.createInActiveCategory(product("SKU-001", 1));
+
+            assertEquals(ProductInsertResult.CREATED, result);
+            assertNotNull(productDAO.findBySku("SKU-001"));
+        }
+
+        @Test
+        @DisplayName("Insert into an inactive category should be rejected")
+        void createInActiveCategory_inactiveCategory_shouldBeRejected() throws SQLException {
+            ProductInsertResult result = productDAO.createInActiveCategory(product("SKU-001", 2));
+
+            assertEquals(ProductInsertResult.CATEGORY_INACTIVE, result);
+            assertNull(productDAO.findBySku("SKU-001"));
+        }
+
+        @Test
+        @DisplayName("Insert into a missing category should be rejected")
+        void createInActiveCategory_missingCategory_shouldBeRejected() throws SQLException {
+            ProductInsertResult result = productDAO.createInActiveCategory(product("SKU-001", 99));
+
+            assertEquals(ProductInsertResult.CATEGORY_NOT_FOUND, result);
+        }
+
+        @Test
+        @DisplayName("Batched insert should report a result per row")
+        void createAllInActiveCategory_shouldReportPerRow() throws SQLException {
+            List<ProductInsertResult> results = productDAO.createAllInActiveCategory(List.of(
+                product("SKU-001", 1),
+                product("SKU-002", 2),
+                product("SKU-003", 99),
+                product("SKU-004", 1)
+            ));
+
+            assertEquals(List.of(
+                ProductInsertResult.CREATED,
+                ProductInsertResult.CATEGORY_INACTIVE,
+                ProductInsertResult.CATEGORY_NOT_FOUND,
+                ProductInsertResult.CREATED
+            ), results);
+            assertEquals(2, productDAO.findAll().size());
+        }
+    }
+
+    @Nested
+    @DisplayName("Upsert by SKU tests")
+    class UpsertTests {
+
+        @Test
+        @DisplayName("Upsert of a new SKU should insert it")
+        void upsertBySku_newSku_shouldInsert() throws SQLException {
+            UpsertOutcome outcome = productDAO.upsertBySku(product("SKU-001", 1));
+
+            assertEquals(UpsertOutcome.INSERTED, outcome);
+            assertEquals("Product SKU-001", productDAO.findBySku("SKU-001").name());
+        }
+
+        @Test
+        @DisplayName("Upsert of an identical row should leave it unchanged")
+        void upsertBySku_identicalRow_shouldBeUnchanged() throws SQLException {
+            productDAO.create(product("SKU-001", 1));
+
+            UpsertOutcome outcome = productDAO.upsertBySku(product("SKU-001", 1));
+
+            assertEquals(UpsertOutcome.UNCHANGED, outcome);
+        }
+
+        @Test
+        @DisplayName("Upsert of a changed row should update it and keep reserved stock")
+        void upsertBySku_changedRow_shouldUpdate() throws SQLException {
+            productDAO.create(product("SKU-001", 1));
+            database.execute("UPDATE products SET reserved_stock = 3 WHERE sku = 'SKU-001'");
+            Product changed = new Product("SKU-001", "Renamed", "Desc", 12.5, 20, 5, "A-1-3", 1);
+
+            UpsertOutcome outcome = productDAO.upsertBySku(changed);
+
+            Product stored = productDAO.findBySku("SKU-001");
+            assertEquals(UpsertOutcome.UPDATED, outcome);
+            assertEquals("Renamed", stored.name());
+            assertEquals(12.5, stored.price());
+            assertEquals(3, stored.reservedStock());
+        }
+
+        @Test
+        @DisplayName("Batched upsert should report inserted, updated and unchanged counts")
+        void upsertAllBySku_shouldReportCounts() throws SQLException {
+            productDAO.create(product("SKU-001", 1));
+            productDAO.create(product("SKU-002", 1));
+
+            UpsertSummary summary = productDAO.upsertAllBySku(List.of(
+                product("SKU-001", 1),
+                new Product("SKU-002", "Renamed", null, 10.0, 20, 5, "A-1-3", 1),
+                product("SKU-003", 1),
+                new Product("SKU-003", "Renamed again", "Desc", 10.0, 20, 5, "A-1-3", 1)
+            ));
+
+            assertEquals(new UpsertSummary(1, 2, 1), summary);
+            assertEquals(3, productDAO.findAll().size());
+            assertEquals("Renamed again", productDAO.findBySku("SKU-003").name());
+        }
+    }
+
+    @Nested
+    @DisplayName("Structured location tests")
+    class LocationTests {
+
+        @Test
+        @DisplayName("Aisle and rack queries should use the structured columns")
+        void findByAisle_shouldUseStructuredColumns() throws SQLException {
+            productDAO.create(new Product("SKU-001", "One", "", 1.0, 1, 0, "A-1-3", 1));
+            productDAO.create(new Product("SKU-002", "Two", "", 1.0, 1, 0, "a-04-1", 1));
+            productDAO.create(new Product("SKU-003", "Three", "", 1.0, 1, 0, "B-1-1", 1));
+            productDAO.create(new Product("SKU-004", "Four", "", 1.0, 1, 0, "Dock", 1));
+
+            assertEquals(2, productDAO.findByAisle("MAIN", "A").size());
+            assertEquals(1, productDAO.findByRackRange("MAIN", "A", 2, 9).size());
+            assertEquals("SKU-003", productDAO.findByBin(Location.parse("B-1-1")).get(0).sku());
+        }
+
+        @Test
+        @DisplayName("Upsert should keep structured columns in sync with the location")
+        void upsertBySku_shouldRewriteStructuredColumns() throws SQLException {
+            productDAO.create(new Product("SKU-001", "One", "", 1.0, 1, 0, "A-1-3", 1));
+
+            productDAO.upsertBySku(new Product("SKU-001", "One", "", 1.0, 1, 0, "C-2-2", 1));
+
+            assertTrue(productDAO.findByAisle("MAIN", "A").isEmpty());
+            assertEquals(1, productDAO.findByAisle("MAIN", "C").size());
+        }
+    }
+
+    @Nested
+    @DisplayName("Stock reservation tests")
+    class ReservationTests {
+
+        @Test
+        @DisplayName("ReserveStock should add to reserved stock of every product")
+        void reserveStock_enoughStock_shouldReserveAll() throws SQLException {
+            productDAO.create(product("SKU-001", 1));
+            productDAO.create(product("SKU-002", 1));
+
+            List<Integer> shortIds = productDAO.reserveStock(Map.of(1, 5, 2, 20));
+
+            assertTrue(shortIds.isEmpty());
+            assertEquals(5, productDAO.findById(1).reservedStock());
+            assertEquals(20, productDAO.findById(2).reservedStock());
+        }
+
+        @Test
+        @DisplayName("ReserveStock should reserve nothing when one product falls short")
+        void reserveStock_shortProduct_shouldRollBack() throws SQLException {
+            productDAO.create(product("SKU-001", 1));
+            productDAO.create(product("SKU-002", 1));
+            productDAO.reserveStock(Map.of(2, 15));
+
+            List<Integer> shortIds = productDAO.reserveStock(Map.of(1, 5, 2, 6));
+
+            assertEquals(List.of(2), shortIds);
+            assertEquals(0, productDAO.findById(1).reservedStock());
+            assertEquals(15, productDAO.findById(2).reservedStock());
+        }
+    }
+}
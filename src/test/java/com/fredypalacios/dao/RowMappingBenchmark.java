@@ -0,0 +1,66 @@
+package com.fredypalacios.dao;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.fredypalacios.model.Category;
+import com.fredypalacios.model.Product;
+import com.fredypalacios.tools.CatalogGenerator;
+
+// Maps the products table through AbstractDAO, materialized into a list and streamed row by row,
+// against a generated catalog in an in-memory H2 built from database/schema.sql.
+// Run with: mvn -q test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+//           -Dexec.args="-cp %classpath org.openjdk.jmh.Main RowMappingBenchmark"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RowMappingBenchmark {
+
+    private static final int CATEGORIES = 50;
+
+    @Param({"1000", "10000"})
+    private int rows;
+
+    private ProductDAO productDAO;
+    private CategoryDAO categoryDAO;
+
+    @Setup
+    public void setUp() throws SQLException {
+        H2TestDatabase database = H2TestDatabase.create();
+        productDAO = new ProductDAO(database.connectionSupplier());
+        categoryDAO = new CategoryDAO(database.connectionSupplier());
+        new CatalogGenerator(productDAO, categoryDAO, CatalogGenerator.DEFAULT_SEED).generate(CATEGORIES, rows);
+    }
+
+    @Benchmark
+    public List<Product> findAll() throws SQLException {
+        return productDAO.findAll();
+    }
+
+    @Benchmark
+    public long forEach(Blackhole blackhole) throws SQLException {
+        return productDAO.forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public Category findById() throws SQLException {
+        return categoryDAO.findById(1);
+    }
+}
@@ -0,0 +1,53 @@
+package com.fredypalacios.dao;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fredypalacios.enums.UserRole;
+import com.fredypalacios.model.User;
+
+@DisplayName("UserDAO Tests (H2)")
+class UserDAOTest {
+
+    private UserDAO userDAO;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        userDAO = new UserDAO(H2TestDatabase.create().connectionSupplier());
+        userDAO.create(new User("picker1", "$2a$12$original", "picker@test.com", "Picker One", UserRole.PICKER));
+    }
+
+    @Test
+    @DisplayName("Update should change the profile and keep the password")
+    void update_shouldKeepPassword() throws SQLException {
+        User existing = userDAO.findByUserName("picker1");
+        User changed = new User(existing.id(), existing.username(), "ignored", "new@test.com",
+                "Picker Renamed", UserRole.RECEIVER, existing.createdAt());
+
+        assertTrue(userDAO.update(changed));
+
+        User stored = userDAO.findById(existing.id());
+        assertEquals("new@test.com", stored.email());
+        assertEquals("Picker Renamed", stored.fullName());
+        assertEquals(UserRole.RECEIVER, stored.role());
+        assertEquals("$2a$12$original", stored.password());
+    }
+
+    @Test
+    @DisplayName("UpdatePassword should replace only the password hash")
+    void updatePassword_shouldReplaceHash() throws SQLException {
+        User existing = userDAO.findByUserName("picker1");
+
+        assertTrue(userDAO.updatePassword(existing.id(), "$2a$12$replaced"));
+
+        User stored = userDAO.findById(existing.id());
+        assertEquals("$2a$12$replaced", stored.password());
+        assertEquals("picker@test.com", stored.email());
+        assertFalse(userDAO.updatePassword(999, "$2a$12$replaced"));
+    }
+}
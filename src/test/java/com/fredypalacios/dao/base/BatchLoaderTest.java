@@ -0,0 +1,91 @@
+package com.fredypalacios.dao.base;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("BatchLoader Tests")
+class BatchLoaderTest {
+
+    private final List<List<Integer>> batches = new ArrayList<>();
+    private BatchLoader<Integer, String> loader;
+
+    @BeforeEach
+    void setUp() {
+        batches.clear();
+        loader = BatchLoader.of(keys -> {
+            batches.add(keys);
+            return keys.stream()
+                    .filter(key -> key < 100)
+                    .map(key -> "value-" + key)
+                    .toList();
+        }, value -> Integer.parseInt(value.substring("value-".length())));
+    }
+
+    @Test
+    @DisplayName("Keys registered in a scope should be resolved with one batch")
+    void dispatch_shouldResolvePendingKeysInOneBatch() throws SQLException {
+        loader.load(1);
+        loader.load(2);
+        loader.load(1);
+        loader.load(3);
+
+        loader.dispatch();
+
+        assertEquals(1, batches.size());
+        assertEquals(List.of(1, 2, 3), batches.get(0));
+        assertEquals("value-2", loader.get(2));
+        assertEquals(1, batches.size());
+    }
+
+    @Test
+    @DisplayName("Get should memoize values and misses for the scope")
+    void get_shouldMemoizeValuesAndMisses() throws SQLException {
+        assertEquals("value-5", loader.get(5));
+        assertNull(loader.get(500));
+
+        assertEquals("value-5", loader.get(5));
+        assertNull(loader.get(500));
+
+        assertEquals(2, batches.size());
+    }
+
+    @Test
+    @DisplayName("Get of an unloaded key should dispatch it together with pending keys")
+    void get_shouldDispatchPendingKeysTogether() throws SQLException {
+        loader.load(7);
+
+        assertEquals("value-8", loader.get(8));
+
+        assertEquals(1, batches.size());
+        assertEquals(List.of(7, 8), batches.get(0));
+    }
+
+    @Test
+    @DisplayName("GetAll should skip missing keys and only query unknown ones")
+    void getAll_shouldSkipMissingKeys() throws SQLException {
+        loader.get(1);
+
+        Map<Integer, String> result = loader.getAll(List.of(1, 2, 999));
+
+        assertEquals(Map.of(1, "value-1", 2, "value-2"), result);
+        assertEquals(List.of(2, 999), batches.get(1));
+    }
+
+    @Test
+    @DisplayName("Clear should start a new scope")
+    void clear_shouldForgetMemoizedValues() throws SQLException {
+        loader.get(1);
+        loader.clear();
+        loader.get(1);
+
+        assertEquals(2, batches.size());
+    }
+}
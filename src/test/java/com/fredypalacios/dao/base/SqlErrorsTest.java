@@ -0,0 +1,49 @@
+package com.fredypalacios.dao.base;
+
+import java.sql.BatchUpdateException;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fredypalacios.dao.H2TestDatabase;
+
+@DisplayName("SqlErrors Tests")
+class SqlErrorsTest {
+
+    private static SQLException errorFrom(H2TestDatabase database, String sql) {
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> database.execute(sql));
+        return (SQLException) e.getCause();
+    }
+
+    @Test
+    @DisplayName("H2 should report duplicate keys as unique violations and nothing else")
+    void h2_onlyDuplicateKeys_shouldMatch() {
+        H2TestDatabase database = H2TestDatabase.create();
+        database.execute("INSERT INTO categories (name, description, active) VALUES ('Home', 'Household', 1)");
+
+        assertTrue(SqlErrors.isUniqueViolation(errorFrom(database,
+                "INSERT INTO categories (name, description, active) VALUES ('Home', 'Again', 1)")));
+        assertFalse(SqlErrors.isUniqueViolation(errorFrom(database,
+                "INSERT INTO categories (name, description, active) VALUES ('Garden', 'Bad flag', 7)")));
+        assertFalse(SqlErrors.isUniqueViolation(errorFrom(database,
+                "INSERT INTO products (sku, name, price, status, category_id) VALUES ('SKU-1', 'x', 1, 'AVAILABLE', 99)")));
+    }
+
+    @Test
+    @DisplayName("Oracle should match ORA-00001 only, also when wrapped in a batch failure")
+    void oracle_onlyUniqueCode_shouldMatch() {
+        SQLException unique = new SQLIntegrityConstraintViolationException("ORA-00001: unique constraint", "23000", 1);
+        SQLException foreignKey = new SQLIntegrityConstraintViolationException("ORA-02291: parent key not found",
+                "23000", 2291);
+        BatchUpdateException batch = new BatchUpdateException("batch failed", "99999", 0, new int[0]);
+        batch.setNextException(unique);
+
+        assertTrue(SqlErrors.isUniqueViolation(unique));
+        assertFalse(SqlErrors.isUniqueViolation(foreignKey));
+        assertTrue(SqlErrors.isUniqueViolation(batch));
+    }
+}
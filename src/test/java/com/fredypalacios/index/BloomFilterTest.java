@@ -0,0 +1,73 @@
+package com.fredypalacios.index;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("BloomFilter Tests")
+class BloomFilterTest {
+
+    @Test
+    @DisplayName("Every string put should be reported as possibly present")
+    void put_shouldNeverMiss() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("SKU-" + i);
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("SKU-" + i));
+        }
+    }
+
+    @Test
+    @DisplayName("False positives should stay near the configured rate")
+    void mightContain_shouldKeepFalsePositiveRate() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user" + i + "@test.com");
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("other" + i + "@test.com")) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 2_000, "False positives: " + falsePositives);
+    }
+
+    @Test
+    @DisplayName("Put should report whether the string looked new")
+    void put_shouldReportChange() {
+        BloomFilter filter = new BloomFilter(100, 0.01);
+
+        assertTrue(filter.put("picker1"));
+        assertFalse(filter.put("picker1"));
+        assertEquals(1, filter.getInsertions());
+    }
+
+    @Test
+    @DisplayName("Filter should be saturated past its expected insertions")
+    void isSaturated_shouldFollowInsertions() {
+        BloomFilter filter = new BloomFilter(10, 0.01);
+        for (int i = 0; i < 10; i++) {
+            filter.put("key" + i);
+        }
+        assertFalse(filter.isSaturated());
+
+        for (int i = 10; i < 20; i++) {
+            filter.put("key" + i);
+        }
+        assertTrue(filter.isSaturated());
+    }
+
+    @Test
+    @DisplayName("Constructor should reject invalid sizing")
+    void constructor_shouldRejectInvalidSizing() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 0));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 1));
+    }
+}
@@ -0,0 +1,140 @@
+package com.fredypalacios.index;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.fredypalacios.enums.ProductStatus;
+import com.fredypalacios.model.Location;
+import com.fredypalacios.model.Product;
+
+class LocationIndexTest {
+
+    private static Product product(int id, String location) {
+        return new Product(
+            id, "SKU-" + id, "Product " + id, "", 10.0, 5, 0, 1, location,
+            ProductStatus.AVAILABLE, 1, LocalDateTime.now()
+        );
+    }
+
+    private static List<Integer> ids(List<Product> products) {
+        return products.stream().map(Product::id).toList();
+    }
+
+    @Nested
+    @DisplayName("Location parsing tests")
+    class ParseTests {
+
+        @Test
+        @DisplayName("Three-part code should use the default zone")
+        void parse_threeParts_shouldUseDefaultZone() {
+            assertEquals(new Location("MAIN", "A", 1, 3), Location.parse("a-1-3"));
+        }
+
+        @Test
+        @DisplayName("Four-part code should read the zone")
+        void parse_fourParts_shouldReadZone() {
+            assertEquals(new Location("COLD", "B", 12, 4), Location.parse("COLD-B-12-4"));
+        }
+
+        @Test
+        @DisplayName("Numeric aisles should ignore leading zeros")
+        void parse_numericAisle_shouldDropLeadingZeros() {
+            assertEquals(Location.parse("07-1-1"), Location.parse("7-1-1"));
+        }
+
+        @ParameterizedTest
+        @NullAndEmptySource
+        @ValueSource(strings = {"A-01", "Shelf near door", "A-B-C-D-E"})
+        @DisplayName("Free-form codes should not parse")
+        void parse_freeForm_shouldReturnNull(String code) {
+            assertNull(Location.parse(code));
+        }
+
+        @Test
+        @DisplayName("Aisles should order by length before letters")
+        void compareTo_shouldOrderAislesNaturally() {
+            assertTrue(Location.parse("B-1-1").compareTo(Location.parse("AA-1-1")) < 0);
+            assertTrue(Location.parse("9-1-1").compareTo(Location.parse("10-1-1")) < 0);
+        }
+    }
+
+    @Nested
+    @DisplayName("Location index tests")
+    class IndexTests {
+
+        private LocationIndex index;
+
+        @BeforeEach
+        void setUp() {
+            index = new LocationIndex();
+            index.rebuild(List.of(
+                product(1, "A-1-3"),
+                product(2, "A-2-1"),
+                product(3, "A-2-1"),
+                product(4, "A-5-2"),
+                product(5, "B-1-1"),
+                product(6, "COLD-A-1-1"),
+                product(7, "Back office")
+            ));
+        }
+
+        @Test
+        @DisplayName("Aisle lookup should return products ordered by rack and bin")
+        void findInAisle_shouldReturnOrderedProducts() {
+            assertEquals(List.of(1, 2, 3, 4), ids(index.findInAisle("MAIN", "A")));
+        }
+
+        @Test
+        @DisplayName("Rack range lookup should be inclusive")
+        void findInRackRange_shouldBeInclusive() {
+            assertEquals(List.of(2, 3, 4), ids(index.findInRackRange("MAIN", "A", 2, 5)));
+        }
+
+        @Test
+        @DisplayName("Reversed or negative rack ranges should match nothing instead of failing")
+        void findInRackRange_invalidRange_shouldBeEmpty() {
+            assertTrue(index.findInRackRange("MAIN", "A", 5, 3).isEmpty());
+            assertTrue(index.findInRackRange("MAIN", "A", -5, -1).isEmpty());
+            assertEquals(ids(index.findInRackRange("MAIN", "A", 0, 5)), ids(index.findInRackRange("MAIN", "A", -1, 5)));
+        }
+
+        @Test
+        @DisplayName("Counters should report aisle, rack and bin occupancy")
+        void counters_shouldReportOccupancy() {
+            assertEquals(4, index.countInAisle("MAIN", "A"));
+            assertEquals(3, index.occupiedBinsInAisle("MAIN", "A"));
+            assertEquals(2, index.countInRack("MAIN", "A", 2));
+            assertEquals(2, index.countInBin(Location.parse("A-2-1")));
+            assertEquals(1, index.countInAisle("COLD", "A"));
+        }
+
+        @Test
+        @DisplayName("Moving a product should update ranges and counters")
+        void put_movedProduct_shouldUpdateCounters() {
+            index.put(product(3, "B-1-1"));
+
+            assertEquals(List.of(5, 3), ids(index.findInBin(Location.parse("B-1-1"))));
+            assertEquals(3, index.countInAisle("MAIN", "A"));
+            assertEquals(3, index.occupiedBinsInAisle("MAIN", "A"));
+        }
+
+        @Test
+        @DisplayName("Removing the last product of a bin should free the bin")
+        void remove_lastProductInBin_shouldFreeBin() {
+            index.remove(4);
+
+            assertEquals(2, index.occupiedBinsInAisle("MAIN", "A"));
+            assertTrue(index.findInRackRange("MAIN", "A", 5, 5).isEmpty());
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.fredypalacios.index;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fredypalacios.enums.ProductStatus;
+import com.fredypalacios.model.Product;
+
+@DisplayName("ProductSearchIndex Tests")
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex index;
+
+    private static Product product(int id, String sku, String name) {
+        return new Product(
+            id, sku, name, "", 10.0, 5, 0, 1, "A-1-1",
+            ProductStatus.AVAILABLE, 1, LocalDateTime.now()
+        );
+    }
+
+    private static List<String> skus(List<Product> products) {
+        return products.stream().map(Product::sku).toList();
+    }
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex();
+        index.rebuild(List.of(
+            product(1, "H-A-001", "Lodge 26 skillet"),
+            product(2, "H-A-0010", "Cast iron pan"),
+            product(3, "K-B-100", "Chef knife"),
+            product(4, "K-B-200", "Paring knife"),
+            product(5, "L-C-300", "Skillet lid")
+        ));
+    }
+
+    @Test
+    @DisplayName("Exact SKU should rank before longer SKUs with the same prefix")
+    void search_exactSkuShouldRankFirst() {
+        List<Product> result = index.search("h-a-001", 10);
+
+        assertEquals(List.of("H-A-001", "H-A-0010"), skus(result));
+    }
+
+    @Test
+    @DisplayName("Name prefix should rank before word prefix")
+    void search_namePrefixShouldRankBeforeWordPrefix() {
+        List<Product> result = index.search("skil", 10);
+
+        assertEquals(List.of("L-C-300", "H-A-001"), skus(result));
+    }
+
+    @Test
+    @DisplayName("Fragment inside a name should be found by substring")
+    void search_substringShouldMatch() {
+        List<Product> result = index.search("ron pa", 10);
+
+        assertEquals(List.of("H-A-0010"), skus(result));
+    }
+
+    @Test
+    @DisplayName("Search should respect the limit")
+    void search_shouldRespectLimit() {
+        assertEquals(1, index.search("knife", 1).size());
+    }
+
+    @Test
+    @DisplayName("Renamed products should only match their new name")
+    void put_renamedProduct_shouldReplaceOldKeys() {
+        index.put(product(3, "K-B-100", "Bread saw"));
+
+        assertEquals(List.of("K-B-200"), skus(index.search("knife", 10)));
+        assertEquals(List.of("K-B-100"), skus(index.search("read sa", 10)));
+    }
+
+    @Test
+    @DisplayName("Removed products should not be returned")
+    void remove_shouldHideProduct() {
+        index.remove(5);
+
+        assertEquals(List.of("H-A-001"), skus(index.search("skillet", 10)));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    @DisplayName("Renames and removals should not leave grams behind")
+    void putAndRemove_shouldKeepGramsBounded() {
+        int initialGrams = index.gramCount();
+
+        for (int i = 0; i < 100; i++) {
+            index.put(product(3, "K-B-100", "Bread saw " + i));
+            index.put(product(3, "K-B-100", "Chef knife"));
+        }
+        assertEquals(initialGrams, index.gramCount());
+        assertEquals(List.of("K-B-100"), skus(index.search("chef k", 10)));
+
+        index.put(product(6, "Z-Z-999", "Quartz vase"));
+        index.remove(6);
+        assertEquals(initialGrams, index.gramCount());
+        assertTrue(index.search("quartz", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Blank query should return no results")
+    void search_blankQuery_shouldReturnEmpty() {
+        assertTrue(index.search("  ", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Suggest should find SKUs with a typo")
+    void suggest_skuWithTypo_shouldReturnClosestFirst() {
+        List<Product> result = index.suggest("H-A-01", 2);
+
+        assertEquals(List.of("H-A-001", "H-A-0010"), skus(result));
+    }
+
+    @Test
+    @DisplayName("Suggest should find names with a typo")
+    void suggest_nameWithTypo_shouldMatch() {
+        List<Product> result = index.suggest("chef knfe", 5);
+
+        assertEquals(List.of("K-B-100"), skus(result));
+    }
+
+    @Test
+    @DisplayName("Suggest should not return products too far from the query")
+    void suggest_unrelatedQuery_shouldReturnEmpty() {
+        assertTrue(index.suggest("X-Z-999", 5).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Suggest should ignore removed products")
+    void suggest_removedProduct_shouldBeIgnored() {
+        index.remove(1);
+
+        assertEquals(List.of("H-A-0010"), skus(index.suggest("H-A-01", 5)));
+    }
+}
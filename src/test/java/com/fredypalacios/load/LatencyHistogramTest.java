@@ -0,0 +1,74 @@
+package com.fredypalacios.load;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("LatencyHistogram Tests")
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("Small values should be recorded exactly")
+    void percentile_smallValues_shouldBeExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 50; i++) {
+            histogram.record(i);
+        }
+
+        assertEquals(25, histogram.percentile(50));
+        assertEquals(50, histogram.percentile(100));
+        assertEquals(1, histogram.percentile(0));
+        assertEquals(25.5, histogram.getMean(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Percentiles should stay within the bucket precision of the exact values")
+    void percentile_shouldMatchSortedValues() {
+        Random random = new Random(42);
+        long[] values = new long[100_000];
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < values.length; i++) {
+            // Log-normal-ish spread from microseconds to seconds, like service latencies
+            values[i] = (long) Math.exp(7 + random.nextGaussian() * 2.5);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double percentile : new double[] {50, 90, 99, 99.9}) {
+            long exact = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+            long reported = histogram.percentile(percentile);
+            assertTrue(reported >= exact && reported <= exact * 1.04, percentile + ": " + exact + " vs " + reported);
+        }
+        assertEquals(values[values.length - 1], histogram.getMax());
+    }
+
+    @Test
+    @DisplayName("Bucket indexes should be contiguous and cover their values")
+    void indexOf_shouldCoverValues() {
+        for (long value : new long[] {63, 64, 65, 127, 128, 1_000_000, Long.MAX_VALUE}) {
+            int index = LatencyHistogram.indexOf(value);
+            assertTrue(LatencyHistogram.highestValueIn(index) >= value);
+            assertTrue(index == 0 || LatencyHistogram.highestValueIn(index - 1) < value);
+        }
+    }
+
+    @Test
+    @DisplayName("Add should merge counts and the maximum")
+    void add_shouldMergeHistograms() {
+        LatencyHistogram first = new LatencyHistogram();
+        LatencyHistogram second = new LatencyHistogram();
+        first.record(10);
+        second.record(2_000);
+        second.record(3_000);
+
+        first.add(second);
+
+        assertEquals(3, first.getCount());
+        assertEquals(3_000, first.getMax());
+        assertEquals(10, first.percentile(33));
+    }
+}
@@ -0,0 +1,284 @@
+package com.fredypalacios.load;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fredypalacios.dao.CategoryDAO;
+import com.fredypalacios.dao.H2TestDatabase;
+import com.fredypalacios.dao.ProductDAO;
+import com.fredypalacios.dao.UserDAO;
+import com.fredypalacios.enums.UserRole;
+import com.fredypalacios.model.ReceiptLine;
+import com.fredypalacios.security.AccessGuard;
+import com.fredypalacios.service.CategoryService;
+import com.fredypalacios.service.PasswordHashingService;
+import com.fredypalacios.service.ProductService;
+import com.fredypalacios.service.ReceivingService;
+import com.fredypalacios.service.UserService;
+import com.fredypalacios.tools.CatalogGenerator;
+
+// Drives the service layer from many warehouse terminals at once against a generated H2 catalog
+// and reports throughput and latency percentiles per operation. Each terminal is a thread signed
+// in with one role and runs that role's mix: pickers mostly scan, receivers post deliveries,
+// controllers look up and adjust stock, managers browse users and categories. Every terminal
+// builds its own services, as the console does per session; the database is shared.
+// Arguments: [terminals] [seconds] [think time ms], default 50 terminals for 30 s with no think time.
+// Run with: mvn -q test-compile exec:java -Dexec.classpathScope=test
+//           -Dexec.mainClass=com.fredypalacios.load.WorkloadSimulator -Dexec.args="50 30 0"
+public class WorkloadSimulator {
+
+    private static final int CATEGORIES = 10;
+    private static final int PRODUCTS = 5_000;
+    private static final int USERS = 100;
+    // 80% of the scans hit the 20% fastest-moving SKUs
+    private static final double HOT_SHARE = 0.8;
+    private static final int HOT_PRODUCTS = PRODUCTS / 5;
+    private static final int LOADER_BATCH = 10;
+    private static final int RECEIPT_LINES = 10;
+    private static final int WARMUP_SECONDS = 5;
+    // ASN references must be unique across the warm-up and measured runs
+    private static final AtomicLong RECEIPTS = new AtomicLong();
+
+    // Share of the terminals per role, in percent
+    private static final Map<UserRole, Integer> ROLE_MIX = Map.of(
+        UserRole.PICKER, 60,
+        UserRole.RECEIVER, 15,
+        UserRole.CONTROLLER, 20,
+        UserRole.MANAGER, 5
+    );
+
+    @FunctionalInterface
+    private interface Operation {
+        void run() throws Exception;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int terminals = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        long thinkMillis = args.length > 2 ? Long.parseLong(args[2]) : 0;
+
+        H2TestDatabase database = H2TestDatabase.create();
+        seed(database);
+
+        System.out.printf("Warming up %d terminals for %d s%n", terminals, WARMUP_SECONDS);
+        run(database, terminals, WARMUP_SECONDS, thinkMillis);
+
+        System.out.printf("Measuring %d terminals for %d s, think time %d ms%n", terminals, seconds, thinkMillis);
+        List<Terminal> finished = run(database, terminals, seconds, thinkMillis);
+        report(finished, seconds);
+        PasswordHashingService.shared().close();
+    }
+
+    private static List<Terminal> run(H2TestDatabase database, int terminals, int seconds, long thinkMillis)
+            throws Exception {
+        List<Terminal> pool = new ArrayList<>(terminals);
+        for (int i = 0; i < terminals; i++) {
+            pool.add(new Terminal(i, roleFor(i, terminals), database, thinkMillis));
+        }
+
+        // Platform threads, one per terminal: the project targets Java 17, which has no virtual threads
+        ExecutorService executor = Executors.newFixedThreadPool(terminals);
+        CountDownLatch start = new CountDownLatch(1);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        List<Future<?>> futures = new ArrayList<>(terminals);
+        for (Terminal terminal : pool) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                terminal.runUntil(deadline);
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        return pool;
+    }
+
+    // Deals roles out by their share so any terminal count gets the same mix
+    private static UserRole roleFor(int terminal, int terminals) {
+        int slot = (int) ((long) terminal * 100 / terminals);
+        int upTo = 0;
+        for (UserRole role : UserRole.values()) {
+            upTo += ROLE_MIX.getOrDefault(role, 0);
+            if (slot < upTo) {
+                return role;
+            }
+        }
+        return UserRole.PICKER;
+    }
+
+    private static void seed(H2TestDatabase database) throws SQLException {
+        for (int i = 0; i < USERS; i++) {
+            UserRole role = UserRole.values()[i % UserRole.values().length];
+            database.execute("INSERT INTO users (username, password, email, full_name, role) VALUES "
+                    + "('user" + i + "', '$2a$12$hash', 'user" + i + "@test.com', 'User " + i + "', '"
+                    + role.name() + "')");
+        }
+        new CatalogGenerator(new ProductDAO(database.connectionSupplier()),
+                new CategoryDAO(database.connectionSupplier()), CatalogGenerator.DEFAULT_SEED)
+                .generate(CATEGORIES, PRODUCTS);
+    }
+
+    private static String sku(int index) {
+        return CatalogGenerator.sku(index);
+    }
+
+    private static void report(List<Terminal> terminals, int seconds) {
+        Map<String, LatencyHistogram> latencies = new TreeMap<>();
+        Map<String, Long> errors = new TreeMap<>();
+        Map<String, String> firstErrors = new TreeMap<>();
+        LatencyHistogram all = new LatencyHistogram();
+        for (Terminal terminal : terminals) {
+            terminal.latencies.forEach((name, histogram) -> {
+                latencies.computeIfAbsent(name, key -> new LatencyHistogram()).add(histogram);
+                all.add(histogram);
+            });
+            terminal.errors.forEach((name, count) -> errors.merge(name, count, Long::sum));
+            terminal.firstErrors.forEach(firstErrors::putIfAbsent);
+        }
+        latencies.put("TOTAL", all);
+
+        System.out.printf("%-22s %9s %9s %9s %9s %9s %9s %9s %7s%n",
+                "OPERATION", "COUNT", "OPS/S", "P50 ms", "P90 ms", "P99 ms", "P99.9 ms", "MAX ms", "ERRORS");
+        latencies.forEach((name, histogram) -> System.out.printf(
+                "%-22s %9d %9.1f %9.3f %9.3f %9.3f %9.3f %9.3f %7d%n",
+                name, histogram.getCount(), (double) histogram.getCount() / seconds,
+                millis(histogram.percentile(50)), millis(histogram.percentile(90)),
+                millis(histogram.percentile(99)), millis(histogram.percentile(99.9)),
+                millis(histogram.getMax()),
+                name.equals("TOTAL") ? errors.values().stream().mapToLong(Long::longValue).sum()
+                        : errors.getOrDefault(name, 0L)));
+        firstErrors.forEach((name, message) -> System.out.printf("First error in %s: %s%n", name, message));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static final class Terminal {
+        private final int number;
+        private final UserRole role;
+        private final long thinkMillis;
+        private final Random random;
+        private final ProductService productService;
+        private final CategoryService categoryService;
+        private final UserService userService;
+        private final ReceivingService receivingService;
+        private final Map<String, LatencyHistogram> latencies = new TreeMap<>();
+        private final Map<String, Long> errors = new TreeMap<>();
+        private final Map<String, String> firstErrors = new TreeMap<>();
+
+        private Terminal(int number, UserRole role, H2TestDatabase database, long thinkMillis) {
+            this.number = number;
+            this.role = role;
+            this.thinkMillis = thinkMillis;
+            this.random = new Random(number);
+
+            AccessGuard guard = AccessGuard.forRole(role);
+            ProductDAO productDAO = new ProductDAO(database.connectionSupplier());
+            this.productService = new ProductService(productDAO, guard);
+            this.categoryService = new CategoryService(new CategoryDAO(database.connectionSupplier()), guard);
+            this.userService = new UserService(new UserDAO(database.connectionSupplier()),
+                    PasswordHashingService.shared(), guard);
+            this.receivingService = new ReceivingService(productDAO, guard);
+        }
+
+        private void runUntil(long deadline) throws InterruptedException {
+            while (System.nanoTime() < deadline) {
+                switch (role) {
+                    case PICKER -> picker();
+                    case RECEIVER -> receiver();
+                    case CONTROLLER -> controller();
+                    case MANAGER -> manager();
+                }
+                if (thinkMillis > 0) {
+                    Thread.sleep(thinkMillis);
+                }
+            }
+        }
+
+        // Scan-heavy: single lookups, the odd batched tote lookup and category browse
+        private void picker() {
+            int roll = random.nextInt(10);
+            if (roll < 8) {
+                timed("picker.scan", () -> productService.findBySku(randomSku()));
+            } else if (roll < 9) {
+                timed("picker.toteLookup", () -> {
+                    List<String> skus = new ArrayList<>(LOADER_BATCH);
+                    for (int i = 0; i < LOADER_BATCH; i++) {
+                        skus.add(randomSku());
+                    }
+                    productService.newSkuLoader().getAll(skus);
+                });
+            } else {
+                timed("picker.categories", categoryService::findAllActive);
+            }
+        }
+
+        // Bulk: whole deliveries posted in one transaction, checked against scans
+        private void receiver() {
+            if (random.nextInt(10) < 3) {
+                timed("receiver.receive", () -> {
+                    List<ReceiptLine> lines = new ArrayList<>(RECEIPT_LINES);
+                    for (int i = 0; i < RECEIPT_LINES; i++) {
+                        lines.add(new ReceiptLine(randomSku(), 1 + random.nextInt(20)));
+                    }
+                    receivingService.receive("RCV-" + RECEIPTS.incrementAndGet(), lines);
+                });
+            } else {
+                timed("receiver.scan", () -> productService.findBySku(randomSku()));
+            }
+        }
+
+        // Count-heavy: look a product up, then correct its stock
+        private void controller() {
+            int roll = random.nextInt(10);
+            if (roll < 5) {
+                timed("controller.scan", () -> productService.findBySku(randomSku()));
+            } else if (roll < 9) {
+                timed("controller.adjust", () ->
+                        productService.updateStock(1 + random.nextInt(PRODUCTS), random.nextInt(200)));
+            } else {
+                timed("controller.lowStock", productService::findLowStockProducts);
+            }
+        }
+
+        private void manager() {
+            int roll = random.nextInt(10);
+            if (roll < 3) {
+                timed("manager.users", userService::findAll);
+            } else if (roll < 7) {
+                timed("manager.userLookup", () -> userService.findByUsername("user" + random.nextInt(USERS)));
+            } else {
+                timed("manager.categories", categoryService::findAll);
+            }
+        }
+
+        private String randomSku() {
+            return random.nextDouble() < HOT_SHARE ? sku(random.nextInt(HOT_PRODUCTS)) : sku(random.nextInt(PRODUCTS));
+        }
+
+        private void timed(String name, Operation operation) {
+            long start = System.nanoTime();
+            try {
+                operation.run();
+            } catch (Exception e) {
+                errors.merge(name, 1L, Long::sum);
+                firstErrors.putIfAbsent(name, e.getClass().getSimpleName() + ": " + e.getMessage());
+            }
+            latencies.computeIfAbsent(name, key -> new LatencyHistogram()).record(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.fredypalacios.performance;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import com.fredypalacios.dao.CategoryDAO;
+import com.fredypalacios.dao.H2TestDatabase;
+import com.fredypalacios.dao.ProductDAO;
+import com.fredypalacios.dao.UserDAO;
+import com.fredypalacios.load.LatencyHistogram;
+import com.fredypalacios.model.DashboardStats;
+import com.fredypalacios.model.Product;
+import com.fredypalacios.security.AccessGuard;
+import com.fredypalacios.service.DashboardService;
+import com.fredypalacios.tools.CatalogGenerator;
+
+// Runs only with -P performance. The catalog is generated once for the class and only read from;
+// each test warms its operation up before measuring it against the stored baseline.
+@Tag("performance")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("Catalog performance budgets (H2)")
+class CatalogPerformanceTest {
+
+    private static final int SKU_LOOKUPS = 20_000;
+    private static final int REPORT_RUNS = 20;
+    private static final int WARMUP_DIVISOR = 4;
+    private static final int BULK_PRODUCTS = 20_000;
+
+    private PerformanceBaseline baseline;
+    private CatalogGenerator generator;
+    private ProductDAO productDAO;
+    private DashboardService dashboardService;
+    private int products;
+    private int categoryCount;
+    private long seed;
+
+    @BeforeAll
+    void setUp() throws SQLException {
+        baseline = PerformanceBaseline.load();
+        products = baseline.dataset("products");
+        categoryCount = baseline.dataset("categories");
+        seed = baseline.dataset("seed");
+
+        H2TestDatabase database = H2TestDatabase.create();
+        productDAO = new ProductDAO(database.connectionSupplier());
+        CategoryDAO categoryDAO = new CategoryDAO(database.connectionSupplier());
+        generator = new CatalogGenerator(productDAO, categoryDAO, seed);
+        generator.generate(categoryCount, products);
+
+        dashboardService = new DashboardService(productDAO, new UserDAO(database.connectionSupplier()), categoryDAO,
+                AccessGuard.system());
+    }
+
+    @AfterAll
+    void writeResults() {
+        baseline.writeResults();
+    }
+
+    @Test
+    @DisplayName("FindBySku should stay within its p95 budget")
+    void findBySku_shouldMeetBudget() throws SQLException {
+        SplittableRandom random = new SplittableRandom(1);
+        for (int i = 0; i < SKU_LOOKUPS / WARMUP_DIVISOR; i++) {
+            productDAO.findBySku(CatalogGenerator.sku(random.nextInt(products)));
+        }
+
+        LatencyHistogram latencies = new LatencyHistogram();
+        for (int i = 0; i < SKU_LOOKUPS; i++) {
+            String sku = CatalogGenerator.sku(random.nextInt(products));
+            long start = System.nanoTime();
+            Product product = productDAO.findBySku(sku);
+            latencies.record(System.nanoTime() - start);
+            assertNotNull(product);
+        }
+
+        baseline.assertLatency("findBySku", latencies);
+    }
+
+    @Test
+    @DisplayName("FindLowStockProducts should stay within its p95 budget")
+    void findLowStockProducts_shouldMeetBudget() throws SQLException {
+        for (int i = 0; i < REPORT_RUNS / WARMUP_DIVISOR; i++) {
+            productDAO.findLowStockProducts();
+        }
+
+        LatencyHistogram latencies = new LatencyHistogram();
+        for (int i = 0; i < REPORT_RUNS; i++) {
+            long start = System.nanoTime();
+            List<Product> lowStock = productDAO.findLowStockProducts();
+            latencies.record(System.nanoTime() - start);
+            assertFalse(lowStock.isEmpty());
+        }
+
+        baseline.assertLatency("findLowStockProducts", latencies);
+    }
+
+    @Test
+    @DisplayName("Dashboard statistics should stay within their p95 budget")
+    void dashboardStatistics_shouldMeetBudget() throws SQLException {
+        for (int i = 0; i < REPORT_RUNS / WARMUP_DIVISOR; i++) {
+            dashboardService.getStatistics();
+        }
+
+        LatencyHistogram latencies = new LatencyHistogram();
+        for (int i = 0; i < REPORT_RUNS; i++) {
+            long start = System.nanoTime();
+            DashboardStats stats = dashboardService.getStatistics();
+            latencies.record(System.nanoTime() - start);
+            assertTrue(stats.products() >= products);
+        }
+
+        baseline.assertLatency("dashboardStatistics", latencies);
+    }
+
+    @Test
+    @DisplayName("Bulk create should keep its insert throughput")
+    void bulkCreate_shouldMeetBudget() throws SQLException {
+        // A database of its own with only the categories, so the inserted rows never reach the catalog
+        // the other budgets read, whatever order the tests run in
+        H2TestDatabase database = H2TestDatabase.create();
+        ProductDAO bulkDAO = new ProductDAO(database.connectionSupplier());
+        CategoryDAO bulkCategoryDAO = new CategoryDAO(database.connectionSupplier());
+        new CatalogGenerator(bulkDAO, bulkCategoryDAO, seed).generate(categoryCount, 0);
+        int[] bulkCategoryIds = bulkCategoryDAO.findAll().stream().mapToInt(category -> category.id()).toArray();
+
+        int warmUp = BULK_PRODUCTS / WARMUP_DIVISOR;
+        bulkDAO.createAll(batch(0, warmUp, bulkCategoryIds));
+
+        List<Product> batch = batch(warmUp, BULK_PRODUCTS, bulkCategoryIds);
+        long start = System.nanoTime();
+        int created = bulkDAO.createAll(batch);
+        long elapsed = System.nanoTime() - start;
+
+        assertEquals(BULK_PRODUCTS, created);
+        baseline.assertThroughput("bulkCreate", created * 1_000_000_000.0 / elapsed);
+    }
+
+    private List<Product> batch(int from, int size, int[] categoryIds) {
+        List<Product> batch = new ArrayList<>(size);
+        for (int i = from; i < from + size; i++) {
+            batch.add(generator.product(i, categoryIds));
+        }
+        return batch;
+    }
+}
@@ -0,0 +1,98 @@
+package com.fredypalacios.performance;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fredypalacios.load.LatencyHistogram;
+
+// Stored budgets for the performance suite: the dataset they were measured on and, per operation,
+// a p95 latency that may not grow or a throughput that may not shrink by more than the tolerance.
+// Every measurement is also written to target/performance/results.properties, in the same keys, so a
+// new baseline is a copy of that file after an accepted change.
+final class PerformanceBaseline {
+    static final String RESOURCE = "/performance/baseline.properties";
+    static final Path RESULTS = Path.of("target", "performance", "results.properties");
+    static final double DEFAULT_TOLERANCE = 0.30;
+
+    private final Properties baseline;
+    private final Properties results = new Properties();
+    private final double tolerance;
+
+    private PerformanceBaseline(Properties baseline, double tolerance) {
+        this.baseline = baseline;
+        this.tolerance = tolerance;
+    }
+
+    static PerformanceBaseline load() {
+        Properties baseline = new Properties();
+        try (InputStream input = PerformanceBaseline.class.getResourceAsStream(RESOURCE)) {
+            if (input == null) {
+                throw new IllegalStateException(RESOURCE + " not found in test resources");
+            }
+            baseline.load(input);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        double tolerance = Double.parseDouble(System.getProperty("perf.tolerance", String.valueOf(DEFAULT_TOLERANCE)));
+        return new PerformanceBaseline(baseline, tolerance);
+    }
+
+    int dataset(String key) {
+        String value = baseline.getProperty("dataset." + key);
+        if (value == null) {
+            throw new IllegalStateException("Baseline has no dataset." + key);
+        }
+        results.setProperty("dataset." + key, value);
+        return Integer.parseInt(value);
+    }
+
+    // Fails when the p95 latency in microseconds exceeds the baseline plus the tolerance
+    void assertLatency(String operation, LatencyHistogram latencies) {
+        String key = operation + ".p95.micros";
+        long measured = latencies.percentile(95) / 1_000;
+        results.setProperty(key, String.valueOf(measured));
+
+        long budget = budget(key);
+        assertTrue(measured <= budget * (1 + tolerance), String.format(
+                "%s p95 of %d us exceeds the baseline of %d us by more than %.0f%%",
+                operation, measured, budget, tolerance * 100));
+    }
+
+    // Fails when the throughput falls below the baseline minus the tolerance
+    void assertThroughput(String operation, double perSecond) {
+        String key = operation + ".perSecond";
+        long measured = Math.round(perSecond);
+        results.setProperty(key, String.valueOf(measured));
+
+        long budget = budget(key);
+        assertTrue(measured >= budget * (1 - tolerance), String.format(
+                "%s throughput of %d/s is below the baseline of %d/s by more than %.0f%%",
+                operation, measured, budget, tolerance * 100));
+    }
+
+    void writeResults() {
+        try {
+            Files.createDirectories(RESULTS.getParent());
+            try (Writer writer = Files.newBufferedWriter(RESULTS)) {
+                results.store(writer, "Measured with tolerance " + tolerance);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long budget(String key) {
+        String value = baseline.getProperty(key);
+        if (value == null) {
+            fail("No baseline for " + key + "; copy it from " + RESULTS);
+        }
+        return Long.parseLong(value);
+    }
+}
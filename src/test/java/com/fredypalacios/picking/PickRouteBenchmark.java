@@ -0,0 +1,60 @@
+package com.fredypalacios.picking;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.fredypalacios.model.Location;
+
+// Compares route length and planning time of each strategy on random batches.
+// Run with: mvn -q test-compile exec:java -Dexec.classpathScope=test
+//           -Dexec.mainClass=com.fredypalacios.picking.PickRouteBenchmark
+public class PickRouteBenchmark {
+
+    private static final int AISLES = 20;
+    private static final int RACKS_PER_AISLE = 50;
+    private static final int[] BATCH_SIZES = {50, 200, 500};
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 20;
+
+    public static void main(String[] args) {
+        PickRouteOptimizer optimizer = new PickRouteOptimizer(new WarehouseLayout(RACKS_PER_AISLE));
+
+        System.out.printf("%-8s %-12s %12s %12s %12s%n", "STOPS", "STRATEGY", "LENGTH (m)", "VS S-SHAPE", "TIME (ms)");
+        for (int size : BATCH_SIZES) {
+            double sShapeLength = 0;
+            for (RoutingStrategy strategy : RoutingStrategy.values()) {
+                Random random = new Random(size);
+                for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                    optimizer.route(batch(random, size), strategy);
+                }
+
+                random = new Random(size);
+                double length = 0;
+                long nanos = 0;
+                for (int i = 0; i < MEASURED_ROUNDS; i++) {
+                    PickRoute route = optimizer.route(batch(random, size), strategy);
+                    length += route.length();
+                    nanos += route.computeNanos();
+                }
+                length /= MEASURED_ROUNDS;
+                if (strategy == RoutingStrategy.S_SHAPE) {
+                    sShapeLength = length;
+                }
+
+                System.out.printf("%-8d %-12s %12.1f %11.1f%% %12.3f%n", size, strategy, length,
+                        100.0 * (length - sShapeLength) / sShapeLength, nanos / 1_000_000.0 / MEASURED_ROUNDS);
+            }
+        }
+    }
+
+    private static List<PickStop> batch(Random random, int size) {
+        List<PickStop> stops = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String aisle = String.valueOf((char) ('A' + random.nextInt(AISLES)));
+            Location location = new Location(Location.DEFAULT_ZONE, aisle, random.nextInt(RACKS_PER_AISLE), 1);
+            stops.add(new PickStop("SKU-" + i, "Product " + i, 1, location));
+        }
+        return stops;
+    }
+}
@@ -0,0 +1,177 @@
+package com.fredypalacios.picking;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import com.fredypalacios.model.Location;
+
+class PickRouteOptimizerTest {
+
+    private static final WarehouseLayout LAYOUT = new WarehouseLayout(10);
+    private final PickRouteOptimizer optimizer = new PickRouteOptimizer(LAYOUT);
+
+    private static PickStop stop(String code) {
+        return new PickStop(code, "Product " + code, 1, Location.parse(code));
+    }
+
+    private static List<String> codes(List<PickStop> stops) {
+        return stops.stream().map(PickStop::sku).toList();
+    }
+
+    private static List<PickStop> randomBatch(long seed, int size) {
+        Random random = new Random(seed);
+        List<PickStop> stops = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            stops.add(stop((char) ('A' + random.nextInt(8)) + "-" + random.nextInt(10) + "-" + (i % 4)));
+        }
+        return stops;
+    }
+
+    @Nested
+    @DisplayName("Layout tests")
+    class LayoutTests {
+
+        @Test
+        @DisplayName("Letter aisles should count like spreadsheet columns")
+        void aisleNumber_letters_shouldCountFromOne() {
+            assertEquals(1, WarehouseLayout.aisleNumber("A"));
+            assertEquals(26, WarehouseLayout.aisleNumber("Z"));
+            assertEquals(27, WarehouseLayout.aisleNumber("AA"));
+            assertEquals(12, WarehouseLayout.aisleNumber("12"));
+        }
+
+        @Test
+        @DisplayName("Aisle codes mixing letters and digits should be refused instead of colliding")
+        void aisleNumber_mixedCode_shouldThrow() {
+            assertThrows(IllegalArgumentException.class, () -> WarehouseLayout.aisleNumber("A1"));
+            assertThrows(IllegalArgumentException.class, () -> WarehouseLayout.aisleNumber("1A"));
+            assertFalse(WarehouseLayout.isGridAisle("A1"));
+            assertTrue(WarehouseLayout.isGridAisle("AA"));
+        }
+
+        @Test
+        @DisplayName("Same aisle distance should walk straight along it")
+        void distance_sameAisle_shouldBeStraight() {
+            assertEquals(6.0, LAYOUT.distance(3, 1, 3, 7), 1e-9);
+        }
+
+        @Test
+        @DisplayName("Cross-aisle distance should use the closer cross-aisle")
+        void distance_otherAisle_shouldUseCloserCrossAisle() {
+            // Aisle length 12: via front 1 + 2, via back 11 + 10
+            assertEquals(3 + 3.0, LAYOUT.distance(3, 1, 6, 2), 1e-9);
+            // Via back 1 + 2, via front 11 + 10
+            assertEquals(3 + 3.0, LAYOUT.distance(3, 11, 6, 10), 1e-9);
+        }
+    }
+
+    @Nested
+    @DisplayName("Heuristic tests")
+    class HeuristicTests {
+
+        @Test
+        @DisplayName("S-shape should alternate direction aisle by aisle")
+        void sShape_shouldAlternateDirection() {
+            List<PickStop> route = optimizer.sShape(new ArrayList<>(List.of(
+                    stop("B-1-1"), stop("A-5-1"), stop("A-1-1"), stop("B-7-1"))));
+
+            assertEquals(List.of("A-1-1", "A-5-1", "B-7-1", "B-1-1"), codes(route));
+        }
+
+        @Test
+        @DisplayName("Largest gap should split middle aisles between front and back")
+        void largestGap_shouldSplitMiddleAisles() {
+            List<PickStop> route = optimizer.largestGap(new ArrayList<>(List.of(
+                    stop("A-2-1"), stop("B-0-1"), stop("B-9-1"), stop("C-4-1"))));
+
+            // B-9 is taken from the back on the way out, B-0 from the front on the way home
+            assertEquals(List.of("A-2-1", "B-9-1", "C-4-1", "B-0-1"), codes(route));
+        }
+
+        @Test
+        @DisplayName("Single aisle should be walked front to back")
+        void largestGap_singleAisle_shouldWalkUp() {
+            List<PickStop> route = optimizer.largestGap(new ArrayList<>(List.of(
+                    stop("A-6-1"), stop("A-2-1"))));
+
+            assertEquals(List.of("A-2-1", "A-6-1"), codes(route));
+        }
+
+        @Test
+        @DisplayName("2-opt should never lengthen the route")
+        void twoOpt_shouldNotLengthenRoute() {
+            List<PickStop> batch = randomBatch(7, 60);
+            double before = optimizer.routeLength(batch);
+            double after = optimizer.routeLength(optimizer.twoOpt(batch));
+
+            assertTrue(after <= before + 1e-9);
+        }
+    }
+
+    @Nested
+    @DisplayName("Route tests")
+    class RouteTests {
+
+        @ParameterizedTest
+        @EnumSource(RoutingStrategy.class)
+        @DisplayName("Every strategy should visit each stop exactly once")
+        void route_shouldVisitEachStopOnce(RoutingStrategy strategy) {
+            List<PickStop> batch = randomBatch(42, 80);
+            PickRoute route = optimizer.route(batch, strategy);
+
+            assertEquals(batch.size(), route.stops().size());
+            assertEquals(new HashSet<>(batch), new HashSet<>(route.stops()));
+            assertEquals(strategy, route.strategy());
+        }
+
+        @Test
+        @DisplayName("Optimized route should not be longer than either heuristic")
+        void route_optimized_shouldBeShortest() {
+            List<PickStop> batch = randomBatch(3, 120);
+            double sShape = optimizer.route(batch, RoutingStrategy.S_SHAPE).length();
+            double largestGap = optimizer.route(batch, RoutingStrategy.LARGEST_GAP).length();
+            double optimized = optimizer.route(batch, RoutingStrategy.OPTIMIZED).length();
+
+            assertTrue(optimized <= Math.min(sShape, largestGap) + 1e-9);
+        }
+
+        @Test
+        @DisplayName("Stops without a structured location should be kept apart")
+        void route_unlocatedStops_shouldBeKeptApart() {
+            PickStop loose = new PickStop("LOOSE", "Loose", 2, null);
+            PickRoute route = optimizer.route(List.of(stop("A-1-1"), loose), RoutingStrategy.OPTIMIZED);
+
+            assertEquals(List.of("A-1-1"), codes(route.stops()));
+            assertEquals(List.of(loose), route.unlocated());
+        }
+
+        @Test
+        @DisplayName("Aisles 1 and A should stay separate aisles and mixed codes off the grid")
+        void route_letterAndNumberAisles_shouldNotMerge() {
+            PickRoute route = optimizer.route(
+                    List.of(stop("1-1-1"), stop("A-5-1"), stop("1-8-1"), stop("A1-2-1")), RoutingStrategy.S_SHAPE);
+
+            assertEquals(List.of("1-1-1", "1-8-1", "A-5-1"), codes(route.stops()));
+            assertEquals(List.of("A1-2-1"), codes(route.unlocated()));
+        }
+
+        @Test
+        @DisplayName("Zones should be routed one after the other")
+        void route_multipleZones_shouldGroupByZone() {
+            PickRoute route = optimizer.route(
+                    List.of(stop("COLD-A-1-1"), stop("A-3-1"), stop("COLD-B-1-1")), RoutingStrategy.S_SHAPE);
+
+            assertEquals(List.of("COLD-A-1-1", "COLD-B-1-1", "A-3-1"), codes(route.stops()));
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.fredypalacios.picking;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fredypalacios.enums.ProductStatus;
+import com.fredypalacios.model.OrderLine;
+import com.fredypalacios.model.Product;
+
+class WavePlannerTest {
+
+    private static final WarehouseLayout LAYOUT = new WarehouseLayout(20);
+
+    private static Product product(int id, String location, int stock, int reserved) {
+        return new Product(
+            id, "SKU-" + id, "Product " + id, "", 10.0, stock, reserved, 1, location,
+            ProductStatus.AVAILABLE, 1, LocalDateTime.now()
+        );
+    }
+
+    private static Map<String, Product> catalog(Product... products) {
+        Map<String, Product> catalog = new HashMap<>();
+        for (Product product : products) {
+            catalog.put(product.sku(), product);
+        }
+        return catalog;
+    }
+
+    @Test
+    @DisplayName("Orders sharing SKUs should land in the same wave")
+    void plan_overlappingOrders_shouldShareWave() {
+        Map<String, Product> products = catalog(
+                product(1, "A-1-1", 100, 0), product(2, "B-5-1", 100, 0),
+                product(3, "E-2-1", 100, 0), product(4, "F-9-1", 100, 0));
+        List<OrderLine> lines = List.of(
+                new OrderLine("O1", "SKU-1", 1), new OrderLine("O1", "SKU-2", 1),
+                new OrderLine("O2", "SKU-3", 1), new OrderLine("O2", "SKU-4", 1),
+                new OrderLine("O3", "SKU-1", 2), new OrderLine("O4", "SKU-4", 1));
+
+        WavePlan plan = new WavePlanner(LAYOUT, 2, 10, 1).plan(lines, products);
+
+        assertEquals(2, plan.waves().size());
+        assertEquals(List.of("O1", "O3"), plan.waves().get(0).orderIds());
+        assertEquals(List.of("O2", "O4"), plan.waves().get(1).orderIds());
+        assertEquals(Map.of(1, 3, 2, 1), plan.waves().get(0).reservations());
+    }
+
+    @Test
+    @DisplayName("Orders beyond available stock should be held first come, first served")
+    void plan_insufficientStock_shouldHoldLaterOrders() {
+        Map<String, Product> products = catalog(product(1, "A-1-1", 10, 4));
+        List<OrderLine> lines = List.of(
+                new OrderLine("O1", "SKU-1", 4), new OrderLine("O2", "SKU-1", 3),
+                new OrderLine("O3", "SKU-1", 2), new OrderLine("O4", "SKU-404", 1));
+
+        WavePlan plan = new WavePlanner(LAYOUT, 10, 10, 1).plan(lines, products);
+
+        assertEquals(List.of("O1", "O3"), plan.waves().get(0).orderIds());
+        assertEquals(WavePlanner.INSUFFICIENT_STOCK + "SKU-1", plan.held().get("O2"));
+        assertEquals(WavePlanner.UNKNOWN_SKU + "SKU-404", plan.held().get("O4"));
+    }
+
+    @Test
+    @DisplayName("Orders should be planned in the zone holding most of their lines")
+    void plan_zones_shouldSeparateWaves() {
+        Map<String, Product> products = catalog(
+                product(1, "COLD-A-1-1", 10, 0), product(2, "COLD-A-2-1", 10, 0), product(3, "A-1-1", 10, 0));
+        List<OrderLine> lines = List.of(
+                new OrderLine("O1", "SKU-1", 1), new OrderLine("O1", "SKU-2", 1), new OrderLine("O1", "SKU-3", 1),
+                new OrderLine("O2", "SKU-3", 1));
+
+        WavePlan plan = new WavePlanner(LAYOUT, 10, 10, 1).plan(lines, products);
+
+        assertEquals(2, plan.waves().size());
+        assertEquals("COLD", plan.waves().get(0).zone());
+        assertEquals(List.of("O1"), plan.waves().get(0).orderIds());
+        assertEquals("MAIN", plan.waves().get(1).zone());
+    }
+
+    @Test
+    @DisplayName("Pick lists should split the route between pickers")
+    void plan_pickers_shouldSplitRoute() {
+        Map<String, Product> products = catalog(
+                product(1, "A-1-1", 10, 0), product(2, "B-1-1", 10, 0), product(3, "C-1-1", 10, 0));
+        List<OrderLine> lines = List.of(
+                new OrderLine("O1", "SKU-1", 1), new OrderLine("O1", "SKU-2", 1), new OrderLine("O1", "SKU-3", 1));
+
+        Wave wave = new WavePlanner(LAYOUT, 10, 10, 2).plan(lines, products).waves().get(0);
+
+        assertEquals(2, wave.pickLists().size());
+        assertEquals(3, wave.pickLists().stream().mapToInt(list -> list.stops().size()).sum());
+    }
+
+    @Test
+    @DisplayName("Large runs should respect wave limits and release every order once")
+    void plan_largeRun_shouldRespectLimits() {
+        Random random = new Random(11);
+        Map<String, Product> products = new HashMap<>();
+        for (int id = 1; id <= 2000; id++) {
+            Product product = product(id, (char) ('A' + id % 20) + "-" + id % 20 + "-1", 1_000_000, 0);
+            products.put(product.sku(), product);
+        }
+        List<OrderLine> lines = new ArrayList<>();
+        for (int order = 0; order < 10_000; order++) {
+            for (int line = random.nextInt(5); line >= 0; line--) {
+                // Squaring skews demand towards low ids, as real order streams do
+                int id = 1 + (int) (1999 * Math.pow(random.nextDouble(), 2));
+                lines.add(new OrderLine("O" + order, "SKU-" + id, 1));
+            }
+        }
+
+        WavePlan plan = new WavePlanner(LAYOUT, 40, 150, 3).plan(lines, products);
+
+        Set<String> released = new HashSet<>();
+        for (Wave wave : plan.waves()) {
+            assertTrue(wave.orderIds().size() <= 40);
+            assertTrue(wave.stopCount() <= 150);
+            for (String orderId : wave.orderIds()) {
+                assertTrue(released.add(orderId));
+            }
+        }
+        assertEquals(10_000, released.size());
+        assertTrue(plan.held().isEmpty());
+    }
+}
@@ -0,0 +1,166 @@
+package com.fredypalacios.scan;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("ScanBatcher Tests")
+class ScanBatcherTest {
+
+    // Records every committed batch; SKUs starting with X are reported as unknown
+    private static final class RecordingSink implements ScanSink {
+        private final List<Map<String, Integer>> batches = new ArrayList<>();
+
+        @Override
+        public synchronized Set<String> commit(long batch, Map<String, Integer> quantities) {
+            batches.add(new LinkedHashMap<>(quantities));
+            return quantities.keySet().stream().filter(sku -> sku.startsWith("X")).collect(Collectors.toSet());
+        }
+
+        synchronized List<Map<String, Integer>> batches() {
+            return new ArrayList<>(batches);
+        }
+    }
+
+    @Nested
+    @DisplayName("Batching")
+    class BatchingTests {
+
+        @Test
+        @DisplayName("Scans should be summed per SKU and committed every N scans")
+        void offer_shouldCommitEveryNScans() throws Exception {
+            RecordingSink sink = new RecordingSink();
+            ScanBatcher batcher = new ScanBatcher(sink, 3, 60_000, 100);
+
+            batcher.offer(new Scan("SKU-A", 1));
+            batcher.offer(new Scan("SKU-B", 2));
+            batcher.offer(new Scan("SKU-A", 1));
+            batcher.offer(new Scan("SKU-C", 1));
+            batcher.close();
+
+            assertEquals(List.of(Map.of("SKU-A", 2, "SKU-B", 2), Map.of("SKU-C", 1)), sink.batches());
+            assertEquals(4, batcher.getScans());
+            assertEquals(5, batcher.getCommittedUnits());
+            assertEquals(2, batcher.getBatches());
+        }
+
+        @Test
+        @DisplayName("A partial batch should be committed once its delay runs out")
+        void offer_shouldCommitAfterDelay() throws Exception {
+            CountDownLatch committed = new CountDownLatch(1);
+            ScanBatcher batcher = new ScanBatcher((batch, quantities) -> {
+                committed.countDown();
+                return Set.of();
+            }, 1_000, 50, 100);
+
+            batcher.offer(new Scan("SKU-A", 1));
+
+            assertTrue(committed.await(5, TimeUnit.SECONDS));
+            batcher.close();
+            assertEquals(1, batcher.getBatches());
+        }
+
+        @Test
+        @DisplayName("Unknown SKUs should be reported and left out of the committed units")
+        void offer_unknownSku_shouldNotCountUnits() throws Exception {
+            RecordingSink sink = new RecordingSink();
+            ScanBatcher batcher = new ScanBatcher(sink, 10, 60_000, 100);
+
+            batcher.offer(new Scan("SKU-A", 2));
+            batcher.offer(new Scan("XYZ-1", 5));
+            batcher.close();
+
+            assertEquals(2, batcher.getCommittedUnits());
+            assertEquals(List.of("XYZ-1"), batcher.getUnknownSkus());
+        }
+    }
+
+    @Nested
+    @DisplayName("Backpressure and failures")
+    class FailureTests {
+
+        @Test
+        @DisplayName("Producers should block while the sink is slow and the queue is full")
+        void offer_slowSink_shouldBlockProducer() throws Exception {
+            CountDownLatch release = new CountDownLatch(1);
+            ScanBatcher batcher = new ScanBatcher((batch, quantities) -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return Set.of();
+            }, 1, 60_000, 2);
+
+            Thread producer = new Thread(() -> {
+                try {
+                    for (int i = 0; i < 10; i++) {
+                        batcher.offer(new Scan("SKU-A", 1));
+                    }
+                } catch (SQLException | InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            producer.start();
+            producer.join(300);
+
+            assertTrue(producer.isAlive());
+            assertTrue(batcher.getScans() < 10);
+
+            release.countDown();
+            producer.join(5_000);
+            batcher.close();
+            assertEquals(10, batcher.getCommittedUnits());
+            assertTrue(batcher.getBlockedNanos() > 0);
+        }
+
+        @Test
+        @DisplayName("A failed commit should be retried with the same batch")
+        void flush_transientFailure_shouldRetry() throws Exception {
+            AtomicInteger calls = new AtomicInteger();
+            List<Long> numbers = new ArrayList<>();
+            ScanBatcher batcher = new ScanBatcher((batch, quantities) -> {
+                numbers.add(batch);
+                if (calls.incrementAndGet() < ScanBatcher.MAX_ATTEMPTS) {
+                    throw new SQLException("Connection reset");
+                }
+                return Set.of();
+            }, 2, 60_000, 10);
+
+            for (int i = 0; i < 4; i++) {
+                batcher.offer(new Scan("SKU-A", 1));
+            }
+            batcher.close();
+
+            assertEquals(List.of(1L, 1L, 1L, 2L), numbers);
+            assertEquals(4, batcher.getCommittedUnits());
+        }
+
+        @Test
+        @DisplayName("A commit that keeps failing should stop the batcher and surface the error")
+        void flush_persistentFailure_shouldThrow() throws Exception {
+            ScanBatcher batcher = new ScanBatcher((batch, quantities) -> {
+                throw new SQLException("Database down");
+            }, 1, 60_000, 10);
+
+            batcher.offer(new Scan("SKU-A", 1));
+
+            SQLException e = assertThrows(SQLException.class, batcher::close);
+            assertEquals("Database down", e.getMessage());
+            assertThrows(SQLException.class, () -> batcher.offer(new Scan("SKU-B", 1)));
+        }
+    }
+}
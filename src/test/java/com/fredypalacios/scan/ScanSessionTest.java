@@ -0,0 +1,82 @@
+package com.fredypalacios.scan;
+
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fredypalacios.model.ScanSummary;
+import com.fredypalacios.utils.ValidationException;
+
+@DisplayName("ScanSession Tests")
+class ScanSessionTest {
+
+    private final Map<String, Integer> received = new HashMap<>();
+
+    private ScanSession newSession(AtomicReference<ScanSummary> finished) {
+        ScanBatcher batcher = new ScanBatcher((batch, quantities) -> {
+            synchronized (received) {
+                quantities.forEach((sku, quantity) -> received.merge(sku, quantity, Integer::sum));
+            }
+            return Set.of();
+        }, 100, 50, 1_000);
+        return new ScanSession(batcher, finished::set);
+    }
+
+    @Test
+    @DisplayName("Lines should be parsed as SKU or SKU,QUANTITY and invalid ones counted")
+    void ingest_shouldParseLines() throws Exception {
+        AtomicReference<ScanSummary> finished = new AtomicReference<>();
+        ScanSession session = newSession(finished);
+
+        session.ingest(new StringReader("sku-a\nSKU-B,4\n\nbad sku!\nSKU-A,0\nSKU-A\n"));
+        ScanSummary summary = session.finish();
+
+        assertEquals(Map.of("SKU-A", 2, "SKU-B", 4), received);
+        assertEquals(3, summary.scans());
+        assertEquals(2, summary.invalidLines());
+        assertEquals(6, summary.units());
+        assertSame(summary, finished.get());
+        assertSame(summary, session.finish());
+    }
+
+    @Test
+    @DisplayName("Scans sent to the loopback socket should be committed")
+    void listen_shouldReadScansFromSocket() throws Exception {
+        ScanSession session = newSession(new AtomicReference<>());
+        int port = session.listen(0);
+
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            OutputStream out = socket.getOutputStream();
+            out.write("SKU-A\nSKU-A,2\nSKU-C\n".getBytes(StandardCharsets.UTF_8));
+            out.flush();
+        }
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (session.getScans() < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        ScanSummary summary = session.finish();
+
+        assertEquals(3, summary.scans());
+        assertEquals(Map.of("SKU-A", 3, "SKU-C", 1), received);
+    }
+
+    @Test
+    @DisplayName("Parsing should reject non-positive quantities")
+    void parse_zeroQuantity_shouldThrow() throws Exception {
+        assertNull(Scan.parse("   "));
+        assertEquals(new Scan("SKU-A", 3), Scan.parse(" sku-a , 3 "));
+        assertThrows(ValidationException.class, () -> Scan.parse("SKU-A,0"));
+        assertThrows(ValidationException.class, () -> Scan.parse("SKU-A,x"));
+    }
+}
@@ -0,0 +1,56 @@
+package com.fredypalacios.security;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fredypalacios.enums.Permission;
+import com.fredypalacios.enums.UserRole;
+
+// Cost of one permission check that passes, against picking the permission without checking it.
+// Run with: mvn -q test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+//           -Dexec.args="-cp %classpath org.openjdk.jmh.Main AccessGuardBenchmark"
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccessGuardBenchmark {
+
+    private static final Permission[] PERMISSIONS = Permission.values();
+
+    private AccessGuard guard;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        guard = AccessGuard.forRole(UserRole.MANAGER);
+    }
+
+    @Benchmark
+    public Permission baseline() {
+        return nextPermission();
+    }
+
+    @Benchmark
+    public Permission require() {
+        Permission permission = nextPermission();
+        guard.require(permission);
+        return permission;
+    }
+
+    private Permission nextPermission() {
+        next = next + 1 == PERMISSIONS.length ? 0 : next + 1;
+        return PERMISSIONS[next];
+    }
+}
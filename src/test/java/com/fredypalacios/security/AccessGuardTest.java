@@ -0,0 +1,212 @@
+package com.fredypalacios.security;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import com.fredypalacios.dao.CategoryDAO;
+import com.fredypalacios.dao.ProductDAO;
+import com.fredypalacios.dao.UserDAO;
+import com.fredypalacios.enums.Permission;
+import com.fredypalacios.enums.UserRole;
+import com.fredypalacios.model.PickLine;
+import com.fredypalacios.model.Session;
+import com.fredypalacios.model.User;
+import com.fredypalacios.service.DashboardService;
+import com.fredypalacios.service.PasswordHashingService;
+import com.fredypalacios.service.PickingService;
+import com.fredypalacios.service.ProductService;
+import com.fredypalacios.service.UserService;
+
+@DisplayName("AccessGuard Tests")
+class AccessGuardTest {
+
+    private static Session session(int userId, UserRole role) {
+        Instant now = Instant.now();
+        return new Session("token", userId, "user" + userId, role, now, now.plusSeconds(60));
+    }
+
+    @Nested
+    @DisplayName("Role mask tests")
+    class RoleMaskTests {
+
+        @ParameterizedTest
+        @EnumSource(Permission.class)
+        @DisplayName("Manager should hold every permission")
+        void manager_shouldHoldEveryPermission(Permission permission) {
+            assertTrue(AccessGuard.allows(UserRole.MANAGER, permission));
+            assertTrue(AccessGuard.forRole(UserRole.MANAGER).can(permission));
+        }
+
+        @ParameterizedTest
+        @EnumSource(Permission.class)
+        @DisplayName("Masks should match the roles listed on each permission")
+        void masks_shouldMatchPermissionRoles(Permission permission) {
+            for (UserRole role : UserRole.values()) {
+                assertEquals(permission.getRoles().contains(role), AccessGuard.allows(role, permission),
+                        role + " / " + permission);
+            }
+        }
+
+        @Test
+        @DisplayName("Picker should only view")
+        void picker_shouldOnlyView() {
+            AccessGuard guard = AccessGuard.forRole(UserRole.PICKER);
+
+            assertTrue(guard.can(Permission.PRODUCT_VIEW));
+            assertTrue(guard.can(Permission.CATEGORY_VIEW));
+            assertFalse(guard.can(Permission.PRODUCT_MANAGE));
+            assertFalse(guard.can(Permission.STOCK_ADJUST));
+            assertFalse(guard.can(Permission.USER_VIEW));
+        }
+
+        @Test
+        @DisplayName("Receiver and controller should get their stock permissions")
+        void receiverAndController_shouldGetStockPermissions() {
+            assertTrue(AccessGuard.allows(UserRole.RECEIVER, Permission.STOCK_RECEIVE));
+            assertFalse(AccessGuard.allows(UserRole.RECEIVER, Permission.STOCK_COUNT));
+            assertTrue(AccessGuard.allows(UserRole.CONTROLLER, Permission.STOCK_COUNT));
+            assertFalse(AccessGuard.allows(UserRole.CONTROLLER, Permission.STOCK_RECEIVE));
+        }
+
+        @Test
+        @DisplayName("Allows should deny a null role")
+        void allows_shouldDenyNullRole() {
+            assertFalse(AccessGuard.allows(null, Permission.PRODUCT_VIEW));
+        }
+    }
+
+    @Nested
+    @DisplayName("Sign-in tests")
+    class SignInTests {
+
+        @ParameterizedTest
+        @EnumSource(Permission.class)
+        @DisplayName("Signed-out guard should deny everything")
+        void signedOut_shouldDenyEverything(Permission permission) {
+            AccessGuard guard = AccessGuard.signedOut();
+
+            AccessDeniedException exception = assertThrows(AccessDeniedException.class, () -> guard.require(permission));
+            assertEquals(permission, exception.getPermission());
+            assertTrue(exception.getMessage().contains("Signed-out users"));
+        }
+
+        @Test
+        @DisplayName("SignIn should grant the session role and signOut should revoke it")
+        void signInAndOut_shouldSwitchGrant() {
+            AccessGuard guard = AccessGuard.signedOut();
+
+            guard.signIn(session(7, UserRole.RECEIVER));
+            assertDoesNotThrow(() -> guard.require(Permission.STOCK_RECEIVE));
+            AccessDeniedException exception = assertThrows(AccessDeniedException.class,
+                    () -> guard.require(Permission.PRODUCT_MANAGE));
+            assertTrue(exception.getMessage().contains("Receivers cannot manage products"));
+
+            guard.signOut();
+            assertFalse(guard.can(Permission.STOCK_RECEIVE));
+        }
+
+        @Test
+        @DisplayName("RequireSelfOr should let a user act on their own account only")
+        void requireSelfOr_shouldAllowOwnAccount() {
+            AccessGuard guard = AccessGuard.signedOut();
+            guard.signIn(session(7, UserRole.PICKER));
+
+            assertDoesNotThrow(() -> guard.requireSelfOr(7, Permission.USER_MANAGE));
+            assertThrows(AccessDeniedException.class, () -> guard.requireSelfOr(8, Permission.USER_MANAGE));
+        }
+
+        @Test
+        @DisplayName("System guard should allow everything and refuse sign-in changes")
+        void system_shouldAllowEverything() {
+            AccessGuard guard = AccessGuard.system();
+
+            for (Permission permission : Permission.values()) {
+                assertTrue(guard.can(permission));
+            }
+            assertThrows(IllegalStateException.class, guard::signOut);
+            assertThrows(IllegalStateException.class, () -> guard.signIn(session(1, UserRole.PICKER)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Service boundary tests")
+    class ServiceBoundaryTests {
+
+        @Test
+        @DisplayName("UserService should refuse a picker before reaching the database")
+        void userService_shouldRefusePicker() throws SQLException {
+            UserDAO userDAO = mock(UserDAO.class);
+            try (PasswordHashingService hashingService = new PasswordHashingService(1, 1)) {
+                UserService userService = new UserService(userDAO, hashingService, AccessGuard.forRole(UserRole.PICKER));
+
+                assertThrows(AccessDeniedException.class, userService::findAll);
+                assertThrows(AccessDeniedException.class, () -> userService.delete(1));
+            }
+            verifyNoInteractions(userDAO);
+        }
+
+        @Test
+        @DisplayName("A picker should change their own password without viewing other users")
+        void userService_shouldLetPickerChangeOwnPassword() throws Exception {
+            UserDAO userDAO = mock(UserDAO.class);
+            User picker = new User(7, "picker7", "$2a$12$hash", "picker7@test.com", "Picker Seven",
+                    UserRole.PICKER, LocalDateTime.now());
+            when(userDAO.findById(7)).thenReturn(picker);
+            when(userDAO.updatePassword(eq(7), anyString())).thenReturn(true);
+            AccessGuard guard = AccessGuard.signedOut();
+            guard.signIn(session(7, UserRole.PICKER));
+
+            try (PasswordHashingService hashingService = new PasswordHashingService(1, 1)) {
+                UserService userService = new UserService(userDAO, hashingService, guard);
+
+                assertEquals(picker, userService.findAccount(7));
+                assertTrue(userService.updatePassword(7, "NewSeason2024"));
+                assertThrows(AccessDeniedException.class, () -> userService.findAccount(8));
+                assertThrows(AccessDeniedException.class, () -> userService.updatePassword(8, "NewSeason2024"));
+            }
+            verify(userDAO, never()).findById(8);
+        }
+
+        @Test
+        @DisplayName("ProductService should let a picker read but not change stock")
+        void productService_shouldLetPickerRead() throws Exception {
+            ProductDAO productDAO = mock(ProductDAO.class);
+            ProductService productService = new ProductService(productDAO, AccessGuard.forRole(UserRole.PICKER));
+
+            productService.findAll();
+            assertThrows(AccessDeniedException.class, () -> productService.updateStock(1, 5));
+
+            verify(productDAO).findAll();
+            verify(productDAO, never()).updateStock(anyInt(), anyInt());
+        }
+    
+        @Test
+        @DisplayName("Picking and the dashboard should refuse signed-out users before reaching the database")
+        void pickingAndDashboard_shouldRefuseSignedOut() {
+            ProductDAO productDAO = mock(ProductDAO.class);
+            AccessGuard guard = AccessGuard.signedOut();
+            PickingService pickingService = new PickingService(productDAO, null, guard);
+            DashboardService dashboardService = new DashboardService(productDAO, mock(UserDAO.class),
+                    mock(CategoryDAO.class), guard);
+
+            assertThrows(AccessDeniedException.class,
+                    () -> pickingService.planRoute(List.of(new PickLine("SKU-1", 1))));
+            assertThrows(AccessDeniedException.class, dashboardService::getStatistics);
+            verifyNoInteractions(productDAO);
+        }
+    }
+}
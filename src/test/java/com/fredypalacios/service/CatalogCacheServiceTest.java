@@ -0,0 +1,216 @@
+package com.fredypalacios.service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fredypalacios.dao.H2TestDatabase;
+import com.fredypalacios.dao.ProductDAO;
+import com.fredypalacios.dao.base.RowHandler;
+import com.fredypalacios.model.CacheLoadSummary;
+import com.fredypalacios.model.Product;
+
+@DisplayName("CatalogCacheService Tests (H2)")
+class CatalogCacheServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private H2TestDatabase database;
+    private ProductDAO productDAO;
+    private Path snapshotFile;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        database = H2TestDatabase.create();
+        database.execute("INSERT INTO categories (name, description, active) VALUES ('Home', 'Household', 1)");
+        productDAO = new ProductDAO(database.connectionSupplier());
+        for (int i = 1; i <= 20; i++) {
+            productDAO.create(new Product("SKU-" + i, "Product " + i, null, 9.99, 10, 2, "A-1-" + i, 1));
+        }
+        snapshotFile = directory.resolve("cache").resolve("catalog.snap");
+    }
+
+    private CatalogCacheService newCache() {
+        return new CatalogCacheService(productDAO, snapshotFile);
+    }
+
+    // Spreads the rows an hour apart in the past, so only the newest one falls inside the
+    // refresh overlap of a snapshot taken now
+    private void ageAllRows() {
+        database.execute("UPDATE products SET last_update = DATEADD('HOUR', id, TIMESTAMP '2024-01-01 00:00:00')");
+    }
+
+    private static List<Product> sorted(List<Product> products) {
+        return products.stream().sorted(Comparator.comparingInt(Product::id)).toList();
+    }
+
+    @Test
+    @DisplayName("Without a snapshot the cache should load every row from the database")
+    void products_noSnapshot_shouldLoadCold() throws Exception {
+        CatalogCacheService cache = newCache();
+
+        assertEquals(20, cache.products().size());
+        CacheLoadSummary load = cache.getLastLoad();
+        assertFalse(load.fromSnapshot());
+        assertEquals(20, load.refreshed());
+    }
+
+    @Test
+    @DisplayName("A restart should restore the snapshot and refetch only changed rows")
+    void products_afterSave_shouldRefreshOnlyChangedRows() throws Exception {
+        ageAllRows();
+        CatalogCacheService first = newCache();
+        first.products();
+        assertTrue(first.saveSnapshot());
+
+        Product changed = productDAO.findBySku("SKU-3");
+        productDAO.updateStock(changed.id(), 77);
+        productDAO.delete(productDAO.findBySku("SKU-4").id());
+        productDAO.create(new Product("SKU-NEW", "Fresh", null, 1.5, 5, 1, "B-1-1", 1));
+
+        CatalogCacheService second = newCache();
+        List<Product> products = sorted(second.products());
+        CacheLoadSummary load = second.getLastLoad();
+
+        assertTrue(load.fromSnapshot());
+        assertEquals(20, load.restored());
+        // The two changed rows plus the newest row, which sits on the watermark
+        assertEquals(3, load.refreshed());
+        assertEquals(1, load.removed());
+        assertEquals(sorted(productDAO.findAll()), products);
+    }
+
+    @Test
+    @DisplayName("Local writes after a load should not move the watermark past other sessions' changes")
+    void saveSnapshot_afterLocalWrite_shouldKeepLoadWatermark() throws Exception {
+        ageAllRows();
+        CatalogCacheService cache = newCache();
+        cache.products();
+
+        // Another session changes SKU-5 while this one updates SKU-6 through the listener
+        Product other = productDAO.findBySku("SKU-5");
+        productDAO.updateStock(other.id(), 55);
+        database.execute("UPDATE products SET last_update = TIMESTAMP '2024-01-02 06:00:00' WHERE sku = 'SKU-5'");
+        Product local = productDAO.findBySku("SKU-6");
+        productDAO.updateStock(local.id(), 66);
+        cache.onProductSaved(productDAO.findById(local.id()));
+        cache.saveSnapshot();
+
+        List<Product> restored = newCache().products();
+
+        assertEquals(55, restored.stream().filter(p -> p.sku().equals("SKU-5")).findFirst().orElseThrow().stock());
+        assertEquals(66, restored.stream().filter(p -> p.sku().equals("SKU-6")).findFirst().orElseThrow().stock());
+    }
+
+    @Test
+    @DisplayName("A snapshot whose ids do not match the database should trigger a full load")
+    void products_unseenRow_shouldFallBackToColdLoad() throws Exception {
+        ageAllRows();
+        CatalogCacheService first = newCache();
+        first.products();
+        first.saveSnapshot();
+
+        // An old-stamped row the snapshot never saw cannot be found by the delta query
+        productDAO.create(new Product("SKU-OLD", "Old", null, 1.0, 1, 0, "C-1-1", 1));
+        database.execute("UPDATE products SET last_update = TIMESTAMP '2023-01-01 00:00:00' WHERE sku = 'SKU-OLD'");
+
+        CatalogCacheService second = newCache();
+
+        assertEquals(21, second.products().size());
+        assertFalse(second.getLastLoad().fromSnapshot());
+    }
+
+    @Test
+    @DisplayName("A snapshot of another database should be ignored even when its ids match")
+    void products_foreignSnapshot_shouldLoadCold() throws Exception {
+        ageAllRows();
+        CatalogCacheService first = newCache();
+        first.products();
+        first.saveSnapshot();
+
+        H2TestDatabase other = H2TestDatabase.create();
+        other.execute("INSERT INTO categories (name, description, active) VALUES ('Home', 'Household', 1)");
+        ProductDAO otherDAO = new ProductDAO(other.connectionSupplier());
+        for (int i = 1; i <= 20; i++) {
+            otherDAO.create(new Product("SKU-" + i, "Other " + i, null, 1.0, 1, 0, "B-1-" + i, 1));
+        }
+        // Stamped like the snapshot's rows, so a delta query alone would not notice the difference
+        other.execute("UPDATE products SET last_update = DATEADD('HOUR', id, TIMESTAMP '2024-01-01 00:00:00')");
+
+        CatalogCacheService cache = new CatalogCacheService(otherDAO, snapshotFile);
+
+        assertEquals(sorted(otherDAO.findAll()), sorted(cache.products()));
+        assertFalse(cache.getLastLoad().fromSnapshot());
+    }
+
+    @Test
+    @DisplayName("A corrupt snapshot should be ignored")
+    void products_corruptSnapshot_shouldLoadCold() throws Exception {
+        Files.createDirectories(snapshotFile.getParent());
+        Files.write(snapshotFile, new byte[200]);
+
+        CatalogCacheService cache = newCache();
+
+        assertEquals(20, cache.products().size());
+        assertFalse(cache.getLastLoad().fromSnapshot());
+    }
+
+    @Test
+    @DisplayName("A bulk change should be picked up with a delta query on next access")
+    void onProductsReplaced_shouldRefreshOnNextAccess() throws Exception {
+        ageAllRows();
+        CatalogCacheService cache = newCache();
+        cache.products();
+
+        productDAO.create(new Product("SKU-BULK", "Bulk", null, 2.0, 3, 1, "D-1-1", 1));
+        cache.onProductsReplaced();
+
+        assertEquals(21, cache.products().size());
+        assertEquals(2, cache.getLastLoad().refreshed());
+    }
+
+    @Test
+    @DisplayName("A save and a bulk change announced while a load is reading should not be lost")
+    void events_duringLoad_shouldSurviveTheLoad() throws Exception {
+        Product stored = productDAO.findBySku("SKU-2");
+        Product renamed = new Product(stored.id(), stored.sku(), "Renamed", stored.description(), stored.price(),
+                stored.stock(), stored.reservedStock(), stored.minStock(), stored.location(), stored.status(),
+                stored.categoryId(), stored.lastUpdate());
+        CatalogCacheService[] cache = new CatalogCacheService[1];
+        ProductDAO racing = new ProductDAO(database.connectionSupplier()) {
+            @Override
+            public long forEach(RowHandler<Product> handler) throws SQLException {
+                long count = super.forEach(handler);
+                // Another session's writes land after the rows were read but before the load ends
+                cache[0].onProductSaved(renamed);
+                cache[0].onProductsReplaced();
+                return count;
+            }
+        };
+        cache[0] = new CatalogCacheService(racing, snapshotFile);
+
+        List<Product> products = cache[0].products();
+        CacheLoadSummary firstLoad = cache[0].getLastLoad();
+        cache[0].products();
+
+        assertTrue(products.contains(renamed));
+        assertNotSame(firstLoad, cache[0].getLastLoad());
+    }
+
+    @Test
+    @DisplayName("Nothing should be written before the first load")
+    void saveSnapshot_beforeLoad_shouldDoNothing() throws Exception {
+        assertFalse(newCache().saveSnapshot());
+        assertFalse(Files.exists(snapshotFile));
+    }
+}
@@ -16,10 +16,12 @@ import org.junit.jupiter.params.provider.NullAndEmptySource;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.fredypalacios.dao.CategoryDAO;
 import com.fredypalacios.model.Category;
+import com.fredypalacios.security.AccessGuard;
 import com.fredypalacios.utils.ValidationException;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,6 +31,9 @@ public class CategoryServiceTest {
     @Mock
     private CategoryDAO categoryDAO;
 
+    @Spy
+    private AccessGuard accessGuard = AccessGuard.system();
+
     @InjectMocks
     private CategoryService categoryService;
 
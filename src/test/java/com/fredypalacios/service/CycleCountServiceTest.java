@@ -0,0 +1,228 @@
+package com.fredypalacios.service;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fredypalacios.dao.H2TestDatabase;
+import com.fredypalacios.dao.ProductDAO;
+import com.fredypalacios.dao.StockMovementDAO;
+import com.fredypalacios.dao.base.RowHandler;
+import com.fredypalacios.enums.CountScope;
+import com.fredypalacios.enums.MovementType;
+import com.fredypalacios.enums.ProductStatus;
+import com.fredypalacios.enums.UserRole;
+import com.fredypalacios.model.Product;
+import com.fredypalacios.model.ReconciliationReport;
+import com.fredypalacios.model.StockMovement;
+import com.fredypalacios.model.StockVariance;
+import com.fredypalacios.security.AccessGuard;
+import com.fredypalacios.utils.CsvReader;
+import com.fredypalacios.utils.ValidationException;
+
+@DisplayName("CycleCountService Tests (H2)")
+class CycleCountServiceTest {
+
+    private ProductDAO productDAO;
+    private StockMovementDAO movementDAO;
+    private CycleCountService cycleCountService;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        H2TestDatabase database = H2TestDatabase.create();
+        database.execute("INSERT INTO categories (name, description, active) VALUES ('Home', 'Household', 1)");
+        productDAO = new ProductDAO(database.connectionSupplier());
+        movementDAO = new StockMovementDAO(database.connectionSupplier());
+        productDAO.create(new Product("SKU-A", "Alpha", null, 2.0, 10, 2, "A-1-1", 1));
+        productDAO.create(new Product("SKU-B", "Bravo", null, 5.0, 20, 2, "A-1-2", 1));
+        productDAO.create(new Product("SKU-C", "Charlie", null, 1.0, 30, 2, "A-1-3", 1));
+        productDAO.create(new Product("SKU-D", "Delta", null, 3.0, 4, 2, "A-1-4", 1));
+        cycleCountService = new CycleCountService(productDAO, AccessGuard.forRole(UserRole.CONTROLLER));
+    }
+
+    private ReconciliationReport reconcile(String csv, CountScope scope)
+            throws IOException, ValidationException, SQLException {
+        return cycleCountService.reconcile(new CsvReader(new StringReader(csv)), scope);
+    }
+
+    @Nested
+    @DisplayName("Reconcile")
+    class ReconcileTests {
+
+        @Test
+        @DisplayName("Counts in any order should be merged with stock and only differences reported")
+        void reconcile_partial_shouldReportVariances() throws Exception {
+            ReconciliationReport report = reconcile("""
+                bin,sku,counted
+                A-1-3,sku-c,30
+                A-1-1,SKU-A,7
+                A-1-2,SKU-B,25
+                """, CountScope.PARTIAL);
+
+            assertEquals(4, report.scanned());
+            assertEquals(3, report.matched());
+            assertEquals(0, report.uncounted());
+            assertEquals(List.of("SKU-A", "SKU-B"), report.variances().stream().map(StockVariance::sku).toList());
+            assertEquals(-3, report.variances().get(0).difference());
+            assertEquals(2, report.netUnits());
+            assertEquals(8, report.absoluteUnits());
+            assertEquals(-6.0 + 25.0, report.netValue(), 0.001);
+        }
+
+        @Test
+        @DisplayName("A SKU counted in several bins should be summed")
+        void reconcile_repeatedSku_shouldSumCounts() throws Exception {
+            ReconciliationReport report = reconcile("sku,quantity\nSKU-B,12\nSKU-B,8\n", CountScope.PARTIAL);
+
+            assertEquals(1, report.countedSkus());
+            assertTrue(report.variances().isEmpty());
+            assertEquals(1.0, report.accuracy());
+        }
+
+        @Test
+        @DisplayName("A full count should treat uncounted products as zero")
+        void reconcile_full_shouldZeroUncounted() throws Exception {
+            ReconciliationReport report = reconcile("sku,counted\nSKU-A,10\nSKU-B,20\n", CountScope.FULL);
+
+            assertEquals(2, report.uncounted());
+            assertEquals(List.of("SKU-C", "SKU-D"), report.variances().stream().map(StockVariance::sku).toList());
+            assertEquals(0, report.variances().get(1).counted());
+        }
+
+        @Test
+        @DisplayName("Unknown SKUs before, between and after products should all be listed")
+        void reconcile_unknownSkus_shouldBeListed() throws Exception {
+            ReconciliationReport report = reconcile("sku,counted\nAAA-1,1\nSKU-BB,2\nZZZ-9,3\nSKU-A,10\n",
+                    CountScope.PARTIAL);
+
+            assertEquals(List.of("AAA-1", "SKU-BB", "ZZZ-9"), report.unknownSkus());
+            assertEquals(1, report.matched());
+        }
+
+        @Test
+        @DisplayName("Products streamed in a linguistic rather than binary order should still be matched")
+        void reconcile_nonBinaryOrder_shouldMatchEveryProduct() throws Exception {
+            ProductDAO reversing = new ProductDAO(H2TestDatabase.create().connectionSupplier()) {
+                @Override
+                public long forEachOrderedBySku(RowHandler<Product> handler) throws SQLException {
+                    List<Product> products = new ArrayList<>();
+                    productDAO.forEachOrderedBySku(products::add);
+                    Collections.reverse(products);
+                    for (Product product : products) {
+                        handler.accept(product);
+                    }
+                    return products.size();
+                }
+            };
+            CycleCountService service = new CycleCountService(reversing, AccessGuard.forRole(UserRole.CONTROLLER));
+
+            ReconciliationReport report = service.reconcile(
+                    new CsvReader(new StringReader("sku,counted\nAAA-1,1\nSKU-A,7\nSKU-C,30\nZZZ-9,3\n")),
+                    CountScope.FULL);
+
+            assertEquals(4, report.scanned());
+            assertEquals(2, report.matched());
+            assertEquals(2, report.uncounted());
+            assertEquals(List.of("SKU-A", "SKU-B", "SKU-D"), report.variances().stream().map(StockVariance::sku).toList());
+            assertEquals(List.of("AAA-1", "ZZZ-9"), report.unknownSkus());
+        }
+
+        @Test
+        @DisplayName("Unreadable lines should be rejected with their line number")
+        void reconcile_badLines_shouldBeRejected() throws Exception {
+            ReconciliationReport report = reconcile("sku,counted\nSKU-A,ten\nSKU-B,-1\nSKU-C,30\n",
+                    CountScope.PARTIAL);
+
+            assertEquals(2, report.rejectedLines().size());
+            assertTrue(report.rejectedLines().get(0).startsWith("Line 2:"));
+            assertEquals(1, report.matched());
+        }
+
+        @Test
+        @DisplayName("A header without the counted column should be refused")
+        void reconcile_missingColumn_shouldThrow() {
+            assertThrows(ValidationException.class, () -> reconcile("sku,bin\nSKU-A,A-1-1\n", CountScope.PARTIAL));
+        }
+    }
+
+    @Nested
+    @DisplayName("Apply adjustments")
+    class ApplyTests {
+
+        @Test
+        @DisplayName("Approved counts should become the new stock with a matching status")
+        void applyAdjustments_shouldUpdateStock() throws Exception {
+            ReconciliationReport report = reconcile("sku,counted\nSKU-A,0\nSKU-B,2\n", CountScope.PARTIAL);
+            List<Integer> events = new ArrayList<>();
+            cycleCountService.addChangeListener(new ProductChangeListener() {
+                @Override
+                public void onProductSaved(Product product) {
+                }
+
+                @Override
+                public void onProductDeleted(int productId) {
+                }
+
+                @Override
+                public void onProductsReplaced() {
+                    events.add(1);
+                }
+            });
+
+            assertTrue(cycleCountService.applyAdjustments(report.variances()).isEmpty());
+
+            Product a = productDAO.findBySku("SKU-A");
+            Product b = productDAO.findBySku("SKU-B");
+            assertEquals(0, a.stock());
+            assertEquals(ProductStatus.OUT_OF_STOCK, a.status());
+            assertEquals(2, b.stock());
+            assertEquals(ProductStatus.LOW_STOCK, b.status());
+            assertEquals(1, events.size());
+
+            List<StockMovement> movements = movementDAO.findAll();
+            assertEquals(List.of(-10, -18), movements.stream().map(StockMovement::quantity).toList());
+            assertTrue(movements.stream().allMatch(m -> m.type() == MovementType.COUNT_ADJUSTMENT
+                    && m.reference().startsWith("COUNT-")));
+        }
+
+        @Test
+        @DisplayName("Stock moved after the report should roll the whole batch back")
+        void applyAdjustments_movedStock_shouldApplyNothing() throws Exception {
+            ReconciliationReport report = reconcile("sku,counted\nSKU-A,9\nSKU-B,19\n", CountScope.PARTIAL);
+            productDAO.updateStock(productDAO.findBySku("SKU-B").id(), 21);
+
+            List<StockVariance> moved = cycleCountService.applyAdjustments(report.variances());
+
+            assertEquals(List.of("SKU-B"), moved.stream().map(StockVariance::sku).toList());
+            assertEquals(10, productDAO.findBySku("SKU-A").stock());
+            assertEquals(21, productDAO.findBySku("SKU-B").stock());
+            assertTrue(movementDAO.findAll().isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("The variance report should hold one row per variance")
+    void writeVarianceReport_shouldWriteCsv(@TempDir Path directory) throws Exception {
+        ReconciliationReport report = reconcile("sku,counted\nSKU-A,7\n", CountScope.PARTIAL);
+        Path target = directory.resolve("variance.csv");
+
+        cycleCountService.writeVarianceReport(report, target);
+
+        List<String> lines = Files.readAllLines(target);
+        assertEquals(2, lines.size());
+        assertEquals("SKU-A,Alpha,A-1-1,10,7,-3,-6.00,false", lines.get(1));
+    }
+}
@@ -0,0 +1,84 @@
+package com.fredypalacios.service;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fredypalacios.dao.CategoryDAO;
+import com.fredypalacios.dao.H2TestDatabase;
+import com.fredypalacios.dao.ProductDAO;
+import com.fredypalacios.dao.UserDAO;
+import com.fredypalacios.enums.ProductStatus;
+import com.fredypalacios.model.DashboardStats;
+import com.fredypalacios.model.Product;
+import com.fredypalacios.model.User;
+import com.fredypalacios.security.AccessGuard;
+import com.fredypalacios.tools.CatalogGenerator;
+
+// Dashboard statistics over a generated H2 catalog: the streamed pass against loading every table into lists
+// as the dashboard used to.
+// Run with: mvn -q test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+//           -Dexec.args="-cp %classpath org.openjdk.jmh.Main DashboardServiceBenchmark"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DashboardServiceBenchmark {
+
+    private static final int CATEGORIES = 50;
+
+    @Param({"1000", "10000"})
+    private int products;
+
+    private ProductDAO productDAO;
+    private UserDAO userDAO;
+    private CategoryDAO categoryDAO;
+    private DashboardService dashboardService;
+
+    @Setup
+    public void setUp() throws SQLException {
+        H2TestDatabase database = H2TestDatabase.create();
+        for (int i = 0; i < 20; i++) {
+            database.execute("INSERT INTO users (username, password, email, full_name, role) VALUES "
+                    + "('picker" + i + "', '$2a$12$hash', 'picker" + i + "@test.com', 'Picker', 'PICKER')");
+        }
+        productDAO = new ProductDAO(database.connectionSupplier());
+        userDAO = new UserDAO(database.connectionSupplier());
+        categoryDAO = new CategoryDAO(database.connectionSupplier());
+        dashboardService = new DashboardService(productDAO, userDAO, categoryDAO, AccessGuard.system());
+        new CatalogGenerator(productDAO, categoryDAO, CatalogGenerator.DEFAULT_SEED).generate(CATEGORIES, products);
+    }
+
+    @Benchmark
+    public DashboardStats getStatistics() throws SQLException {
+        return dashboardService.getStatistics();
+    }
+
+    @Benchmark
+    public DashboardStats listBased() throws SQLException {
+        List<Product> all = productDAO.findAll();
+        List<Product> lowStock = productDAO.findLowStockProducts();
+        List<User> users = userDAO.findAll();
+        int categories = categoryDAO.findAll().size();
+
+        double totalValue = all.stream().mapToDouble(product -> product.price() * product.stock()).sum();
+        long available = all.stream().filter(product -> product.status() == ProductStatus.AVAILABLE).count();
+        long outOfStock = all.stream().filter(product -> product.status() == ProductStatus.OUT_OF_STOCK).count();
+        return new DashboardStats(all.size(), available, outOfStock, lowStock.size(), totalValue,
+                categories, users.size());
+    }
+}
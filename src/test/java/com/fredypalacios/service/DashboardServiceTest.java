@@ -0,0 +1,66 @@
+package com.fredypalacios.service;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fredypalacios.dao.CategoryDAO;
+import com.fredypalacios.dao.H2TestDatabase;
+import com.fredypalacios.dao.ProductDAO;
+import com.fredypalacios.dao.UserDAO;
+import com.fredypalacios.enums.UserRole;
+import com.fredypalacios.model.DashboardStats;
+import com.fredypalacios.model.Product;
+import com.fredypalacios.security.AccessGuard;
+
+@DisplayName("DashboardService Tests (H2)")
+class DashboardServiceTest {
+
+    private H2TestDatabase database;
+    private ProductDAO productDAO;
+    private DashboardService dashboardService;
+
+    @BeforeEach
+    void setUp() {
+        database = H2TestDatabase.create();
+        database.execute("INSERT INTO categories (name, description, active) VALUES ('Home', 'Household', 1)");
+        database.execute("INSERT INTO categories (name, description, active) VALUES ('Legacy', 'Retired', 0)");
+        database.execute("""
+            INSERT INTO users (username, password, email, full_name, role)
+            VALUES ('picker1', '$2a$12$hash', 'picker@test.com', 'Picker One', 'PICKER')
+            """);
+        productDAO = new ProductDAO(database.connectionSupplier());
+        dashboardService = new DashboardService(productDAO, new UserDAO(database.connectionSupplier()),
+                new CategoryDAO(database.connectionSupplier()), AccessGuard.forRole(UserRole.MANAGER));
+    }
+
+    @Test
+    @DisplayName("Statistics should count products by status and sum the inventory value")
+    void getStatistics_shouldAggregateProducts() throws SQLException {
+        productDAO.create(new Product("SKU-1", "Lamp", "Desk lamp", 10.0, 20, 5, "A-1-1", 1));
+        productDAO.create(new Product("SKU-2", "Chair", "Office chair", 50.0, 3, 5, "A-1-2", 1));
+        productDAO.create(new Product("SKU-3", "Table", "Side table", 80.0, 0, 2, "A-1-3", 1));
+
+        DashboardStats stats = dashboardService.getStatistics();
+
+        assertEquals(3, stats.products());
+        assertEquals(1, stats.available());
+        assertEquals(1, stats.outOfStock());
+        assertEquals(2, stats.lowStock());
+        assertEquals(350.0, stats.inventoryValue(), 0.001);
+        assertEquals(2, stats.categories());
+        assertEquals(1, stats.users());
+    }
+
+    @Test
+    @DisplayName("Statistics of an empty catalog should be zero")
+    void getStatistics_emptyCatalog_shouldBeZero() throws SQLException {
+        DashboardStats stats = dashboardService.getStatistics();
+
+        assertEquals(new DashboardStats(0, 0, 0, 0, 0.0, 2, 1), stats);
+    }
+}
@@ -0,0 +1,120 @@
+package com.fredypalacios.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fredypalacios.dao.CategoryDAO;
+import com.fredypalacios.dao.H2TestDatabase;
+import com.fredypalacios.dao.ProductDAO;
+import com.fredypalacios.dao.UserDAO;
+import com.fredypalacios.enums.ExportEntity;
+import com.fredypalacios.enums.ExportFormat;
+import com.fredypalacios.enums.UserRole;
+import com.fredypalacios.model.ExportSummary;
+import com.fredypalacios.model.Product;
+import com.fredypalacios.security.AccessGuard;
+import com.fredypalacios.utils.CsvReader;
+
+@DisplayName("ExportService Tests (H2)")
+class ExportServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private ProductDAO productDAO;
+    private ExportService exportService;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        H2TestDatabase database = H2TestDatabase.create();
+        database.execute("INSERT INTO categories (name, description, active) VALUES ('Home', 'Household', 1)");
+        database.execute("""
+            INSERT INTO users (username, password, email, full_name, role)
+            VALUES ('admin', 'secret-hash', 'admin@example.com', 'Admin User', 'MANAGER')
+            """);
+        productDAO = new ProductDAO(database.connectionSupplier());
+        exportService = new ExportService(productDAO, new UserDAO(database.connectionSupplier()),
+                new CategoryDAO(database.connectionSupplier()), AccessGuard.forRole(UserRole.MANAGER));
+    }
+
+    private static String gunzip(Path file) throws IOException {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    @DisplayName("CSV export should write a header and one quoted-as-needed record per row")
+    void export_productsCsv_shouldRoundTrip() throws Exception {
+        productDAO.create(new Product("SKU-001", "Chair, oak", "Says \"sturdy\"", 49.5, 3, 1, "A-1-1", 1));
+        productDAO.create(new Product("SKU-002", "Lámpara", "", 12.0, 8, 2, "", 1));
+        Path target = directory.resolve("products.csv");
+
+        ExportSummary summary = exportService.export(ExportEntity.PRODUCTS, ExportFormat.CSV, target, false);
+
+        assertEquals(2, summary.rows());
+        assertEquals(Files.size(target), summary.bytes());
+        try (CsvReader reader = new CsvReader(Files.newBufferedReader(target))) {
+            assertEquals(ExportEntity.PRODUCTS.getColumns(), reader.next());
+            List<String> first = reader.next();
+            assertEquals("Chair, oak", first.get(2));
+            assertEquals("Says \"sturdy\"", first.get(3));
+            assertEquals("Lámpara", reader.next().get(2));
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    @DisplayName("Gzipped JSON Lines export should escape strings and keep numbers bare")
+    void export_productsJsonGzip_shouldWriteObjects() throws Exception {
+        productDAO.create(new Product("SKU-001", "Desk", "Line one\nline \"two\"", 120.25, 4, 1, "A-1-1", 1));
+        Path target = directory.resolve("products.jsonl.gz");
+
+        exportService.export(ExportEntity.PRODUCTS, ExportFormat.JSON_LINES, target, true);
+
+        String json = gunzip(target);
+        assertTrue(json.startsWith("{\"id\":1,\"sku\":\"SKU-001\",\"name\":\"Desk\","));
+        assertTrue(json.contains("\"description\":\"Line one\\nline \\\"two\\\"\""));
+        assertTrue(json.contains("\"price\":120.25,\"stock\":4"));
+        assertTrue(json.endsWith("}\n"));
+    }
+
+    @Test
+    @DisplayName("User export should never include password hashes")
+    void export_users_shouldOmitPasswords() throws Exception {
+        Path target = directory.resolve("users.csv");
+
+        exportService.export(ExportEntity.USERS, ExportFormat.CSV, target, false);
+
+        String csv = Files.readString(target);
+        assertTrue(csv.contains("admin@example.com"));
+        assertFalse(csv.contains("secret-hash"));
+    }
+
+    @Test
+    @DisplayName("Exports larger than the writer buffer should be complete")
+    void export_manyRows_shouldWriteEveryRow() throws Exception {
+        for (int i = 0; i < 3000; i++) {
+            productDAO.create(new Product("SKU-" + i, "Product ñ " + i, "x".repeat(40), 1.0, 1, 0, "", 1));
+        }
+        Path target = directory.resolve("products.csv.gz");
+
+        ExportSummary summary = exportService.export(ExportEntity.PRODUCTS, ExportFormat.CSV, target, true);
+
+        assertEquals(3000, summary.rows());
+        assertEquals(3001, gunzip(target).lines().count());
+    }
+}
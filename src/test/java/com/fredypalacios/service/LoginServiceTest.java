@@ -0,0 +1,280 @@
+package com.fredypalacios.service;
+
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mindrot.jbcrypt.BCrypt;
+
+import com.fredypalacios.dao.H2TestDatabase;
+import com.fredypalacios.dao.UserDAO;
+import com.fredypalacios.enums.UserRole;
+import com.fredypalacios.model.Session;
+import com.fredypalacios.model.User;
+import com.fredypalacios.utils.AuthenticationException;
+import com.fredypalacios.utils.PasswordHasher;
+
+@DisplayName("LoginService Tests (H2)")
+class LoginServiceTest {
+
+    private static final String PASSWORD = "Season2024";
+
+    private H2TestDatabase database;
+    private UserDAO userDAO;
+    private PasswordHashingService hashingService;
+    private MutableClock clock;
+    private LoginService loginService;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        database = H2TestDatabase.create();
+        userDAO = new UserDAO(database.connectionSupplier());
+        hashingService = new PasswordHashingService(1, 8);
+        clock = new MutableClock(Instant.parse("2024-03-01T08:00:00Z"));
+        loginService = new LoginService(userDAO, hashingService, clock);
+        userDAO.create(new User("picker1", PasswordHasher.hash(PASSWORD), "picker@test.com", "Picker One", UserRole.PICKER));
+    }
+
+    @AfterEach
+    void tearDown() {
+        hashingService.close();
+    }
+
+    @Nested
+    @DisplayName("Session tests")
+    class SessionTests {
+
+        @Test
+        @DisplayName("Login should issue a token that authenticates until logout")
+        void login_shouldIssueSession() throws Exception {
+            Session session = loginService.login("picker1", PASSWORD);
+
+            assertEquals("picker1", session.username());
+            assertEquals(UserRole.PICKER, session.role());
+            assertSame(session, loginService.authenticate(session.token()));
+
+            loginService.logout(session.token());
+
+            assertNull(loginService.authenticate(session.token()));
+        }
+
+        @Test
+        @DisplayName("Sessions should expire after the session TTL")
+        void authenticate_afterTtl_shouldReturnNull() throws Exception {
+            Session session = loginService.login("picker1", PASSWORD);
+
+            clock.advance(LoginService.SESSION_TTL);
+
+            assertNull(loginService.authenticate(session.token()));
+            assertEquals(0, loginService.getActiveSessions());
+        }
+
+        @Test
+        @DisplayName("InvalidateSessions should end every session of the user")
+        void invalidateSessions_shouldEndUserSessions() throws Exception {
+            Session first = loginService.login("picker1", PASSWORD);
+            Session second = loginService.login("picker1", PASSWORD);
+
+            loginService.invalidateSessions(first.userId());
+
+            assertNull(loginService.authenticate(first.token()));
+            assertNull(loginService.authenticate(second.token()));
+            assertNotEquals(first.token(), second.token());
+        }
+
+        @Test
+        @DisplayName("Unknown users and wrong passwords should fail the same way")
+        void login_withBadCredentials_shouldFail() {
+            AuthenticationException wrongPassword = assertThrows(AuthenticationException.class,
+                    () -> loginService.login("picker1", "Wrong2024"));
+            AuthenticationException unknownUser = assertThrows(AuthenticationException.class,
+                    () -> loginService.login("nobody", PASSWORD));
+
+            assertEquals(wrongPassword.getMessage(), unknownUser.getMessage());
+        }
+    }
+
+    @Nested
+    @DisplayName("Throttling tests")
+    class ThrottlingTests {
+
+        private void failAttempts(int count) {
+            for (int i = 0; i < count; i++) {
+                assertThrows(AuthenticationException.class, () -> loginService.login("picker1", "Wrong2024"));
+            }
+        }
+
+        @Test
+        @DisplayName("Repeated failures should lock the name out, even for the right password")
+        void login_afterFreeAttempts_shouldLockOut() {
+            failAttempts(LoginService.FREE_ATTEMPTS);
+
+            AuthenticationException error = assertThrows(AuthenticationException.class,
+                    () -> loginService.login("PICKER1", PASSWORD));
+
+            assertTrue(error.getMessage().startsWith("Too many failed attempts"));
+        }
+
+        @Test
+        @DisplayName("The lockout should lift after its period")
+        void login_afterLockout_shouldSucceed() throws Exception {
+            failAttempts(LoginService.FREE_ATTEMPTS);
+
+            clock.advance(LoginService.BASE_LOCKOUT);
+
+            assertNotNull(loginService.login("picker1", PASSWORD));
+        }
+
+        @Test
+        @DisplayName("Each failure past the free attempts should double the lockout")
+        void login_furtherFailures_shouldDoubleLockout() {
+            failAttempts(LoginService.FREE_ATTEMPTS);
+            clock.advance(LoginService.BASE_LOCKOUT);
+            failAttempts(1);
+
+            clock.advance(LoginService.BASE_LOCKOUT);
+
+            assertThrows(AuthenticationException.class, () -> loginService.login("picker1", PASSWORD));
+            clock.advance(LoginService.BASE_LOCKOUT);
+            assertDoesNotThrow(() -> loginService.login("picker1", PASSWORD));
+        }
+
+        @Test
+        @DisplayName("Once failures spread over many names spend the global budget, names that failed should be refused")
+        void login_sprayedFailures_shouldExhaustBudget() {
+            LoginService budgeted = new LoginService(userDAO, hashingService, clock, 3);
+            assertThrows(AuthenticationException.class, () -> budgeted.login("picker1", "Wrong2024"));
+            for (int i = 0; i < 2; i++) {
+                String name = "sprayed" + i;
+                assertThrows(AuthenticationException.class, () -> budgeted.login(name, PASSWORD));
+            }
+
+            AuthenticationException error = assertThrows(AuthenticationException.class,
+                    () -> budgeted.login("picker1", PASSWORD));
+            assertTrue(error.getMessage().startsWith("Too many failed logins"));
+            error = assertThrows(AuthenticationException.class, () -> budgeted.login("sprayed9", PASSWORD));
+            assertEquals("Invalid username or password", error.getMessage());
+
+            clock.advance(LoginService.FAILURE_WINDOW);
+            assertDoesNotThrow(() -> budgeted.login("picker1", PASSWORD));
+        }
+
+        @Test
+        @DisplayName("A user with the right password should still sign in while the global budget is spent")
+        void login_budgetSpent_validUserShouldSucceed() throws Exception {
+            LoginService budgeted = new LoginService(userDAO, hashingService, clock, 3);
+            for (int i = 0; i < 10; i++) {
+                String name = "sprayed" + i;
+                assertThrows(AuthenticationException.class, () -> budgeted.login(name, PASSWORD));
+            }
+
+            assertNotNull(budgeted.login("picker1", PASSWORD));
+        }
+
+        @Test
+        @DisplayName("A successful login should reset the failure count")
+        void login_success_shouldResetFailures() throws Exception {
+            failAttempts(LoginService.FREE_ATTEMPTS - 1);
+            loginService.login("picker1", PASSWORD);
+
+            failAttempts(LoginService.FREE_ATTEMPTS - 1);
+
+            assertNotNull(loginService.login("picker1", PASSWORD));
+        }
+    }
+
+    @Nested
+    @DisplayName("Rehash tests")
+    class RehashTests {
+
+        @Test
+        @DisplayName("A plain-text legacy password should be replaced by a hash before the login succeeds")
+        void login_legacyPlainText_shouldRehash() throws Exception {
+            userDAO.create(new User("admin", "admin123", "admin@test.com", "Administrator", UserRole.MANAGER));
+
+            loginService.login("admin", "admin123");
+
+            String stored = userDAO.findByUserName("admin").password();
+            assertTrue(stored.startsWith("$2a$12$"));
+            assertTrue(PasswordHasher.verify("admin123", stored));
+        }
+
+        @Test
+        @DisplayName("A plain-text password that cannot be rehashed should not log in")
+        void login_legacyPlainTextRehashFails_shouldFail() throws Exception {
+            userDAO.create(new User("admin", "admin123", "admin@test.com", "Administrator", UserRole.MANAGER));
+            UserDAO failingDAO = new UserDAO(database.connectionSupplier()) {
+                @Override
+                public boolean updatePasswordIfUnchanged(int id, String expectedHash, String passwordHash) {
+                    return false;
+                }
+            };
+            LoginService service = new LoginService(failingDAO, hashingService, clock);
+
+            assertThrows(AuthenticationException.class, () -> service.login("admin", "admin123"));
+            assertEquals("admin123", userDAO.findByUserName("admin").password());
+        }
+
+        @Test
+        @DisplayName("A hash below the current cost should be upgraded after login")
+        void login_weakHash_shouldRehash() throws Exception {
+            userDAO.create(new User("legacy", BCrypt.hashpw(PASSWORD, BCrypt.gensalt(4)), "legacy@test.com",
+                    "Legacy User", UserRole.RECEIVER));
+
+            loginService.login("legacy", PASSWORD);
+            hashingService.close();
+
+            String stored = userDAO.findByUserName("legacy").password();
+            assertFalse(PasswordHasher.needsRehash(stored));
+            assertTrue(PasswordHasher.verify(PASSWORD, stored));
+        }
+
+        @Test
+        @DisplayName("A current hash should be left as it is")
+        void login_currentHash_shouldNotRehash() throws Exception {
+            String before = userDAO.findByUserName("picker1").password();
+
+            loginService.login("picker1", PASSWORD);
+            hashingService.close();
+
+            assertEquals(before, userDAO.findByUserName("picker1").password());
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.fredypalacios.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.fredypalacios.utils.PasswordHasher;
+
+@DisplayName("PasswordHashingService Tests")
+class PasswordHashingServiceTest {
+
+    private PasswordHashingService hashingService;
+
+    @AfterEach
+    void tearDown() {
+        if (hashingService != null) {
+            hashingService.close();
+        }
+    }
+
+    @Nested
+    @DisplayName("Hashing tests")
+    class HashingTests {
+
+        @Test
+        @DisplayName("HashAsync should complete with a verifiable BCrypt hash")
+        void hashAsync_shouldCompleteWithHash() throws Exception {
+            hashingService = new PasswordHashingService(2, 4);
+
+            String hash = hashingService.hashAsync("Secret123").get();
+
+            assertTrue(hash.startsWith("$2a$"));
+            assertTrue(PasswordHasher.verify("Secret123", hash));
+        }
+
+        @Test
+        @DisplayName("Hash should rethrow the hasher's exception on the caller thread")
+        void hash_withBlankPassword_shouldThrow() {
+            hashingService = new PasswordHashingService(1, 4);
+
+            assertThrows(IllegalArgumentException.class, () -> hashingService.hash("  "));
+        }
+
+        @Test
+        @DisplayName("Verify should match only the original password")
+        void verify_shouldMatchOriginalPassword() {
+            hashingService = new PasswordHashingService(1, 4);
+            String hash = hashingService.hash("Secret123");
+
+            assertTrue(hashingService.verify("Secret123", hash));
+            assertFalse(hashingService.verify("Secret124", hash));
+        }
+    }
+
+    @Nested
+    @DisplayName("Queue limit tests")
+    class QueueLimitTests {
+
+        @Test
+        @DisplayName("HashAsync should fail fast once the queue limit is reached")
+        void hashAsync_whenFull_shouldReject() throws Exception {
+            hashingService = new PasswordHashingService(1, 1);
+
+            CompletableFuture<String> accepted = hashingService.hashAsync("Secret123");
+            CompletableFuture<String> rejected = hashingService.hashAsync("Secret456");
+
+            ExecutionException error = assertThrows(ExecutionException.class, rejected::get);
+            assertInstanceOf(RejectedExecutionException.class, error.getCause());
+            assertNotNull(accepted.get());
+        }
+
+        @Test
+        @DisplayName("Finished hashes should free their place in the queue")
+        void hashAsync_afterCompletion_shouldAcceptAgain() throws Exception {
+            hashingService = new PasswordHashingService(1, 1);
+
+            hashingService.hashAsync("Secret123").get();
+
+            assertNotNull(hashingService.hashAsync("Secret456").get());
+        }
+
+        @Test
+        @DisplayName("HashWhenAvailable should wait for room instead of failing")
+        void hashWhenAvailable_shouldWaitForRoom() throws Exception {
+            hashingService = new PasswordHashingService(1, 1);
+            List<CompletableFuture<String>> futures = new ArrayList<>();
+
+            for (int i = 0; i < 3; i++) {
+                futures.add(hashingService.hashWhenAvailable("Secret12" + i));
+            }
+
+            for (CompletableFuture<String> future : futures) {
+                assertNotNull(future.get());
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Priority tests")
+    class PriorityTests {
+
+        @Test
+        @DisplayName("Interactive hashing should run ahead of queued bulk work")
+        void hash_shouldJumpAheadOfBulkWork() throws Exception {
+            hashingService = new PasswordHashingService(1, 8);
+            List<CompletableFuture<String>> bulk = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                bulk.add(hashingService.hashAsync("Bulk1234" + i));
+            }
+
+            hashingService.hash("Interactive1");
+
+            // One thread runs the first bulk hash, then the interactive one, so the last is still waiting
+            assertFalse(bulk.get(3).isDone());
+            CompletableFuture.allOf(bulk.toArray(CompletableFuture[]::new)).get();
+        }
+    }
+
+    @Nested
+    @DisplayName("Close tests")
+    class CloseTests {
+
+        @Test
+        @DisplayName("Close should finish queued work and reject new work")
+        void close_shouldDrainAndReject() throws Exception {
+            hashingService = new PasswordHashingService(1, 4);
+            CompletableFuture<String> queued = hashingService.hashAsync("Secret123");
+
+            hashingService.close();
+
+            assertTrue(queued.isDone());
+            assertNotNull(queued.get());
+            ExecutionException error = assertThrows(ExecutionException.class,
+                () -> hashingService.hashAsync("Secret456").get());
+            assertInstanceOf(RejectedExecutionException.class, error.getCause());
+        }
+    }
+}
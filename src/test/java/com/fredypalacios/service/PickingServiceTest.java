@@ -0,0 +1,88 @@
+package com.fredypalacios.service;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fredypalacios.dao.ProductDAO;
+import com.fredypalacios.dao.base.BatchLoader;
+import com.fredypalacios.enums.ProductStatus;
+import com.fredypalacios.enums.UserRole;
+import com.fredypalacios.model.PickLine;
+import com.fredypalacios.model.Product;
+import com.fredypalacios.picking.PickRoute;
+import com.fredypalacios.picking.RoutingStrategy;
+import com.fredypalacios.security.AccessGuard;
+import com.fredypalacios.utils.ValidationException;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PickingService Tests")
+class PickingServiceTest {
+
+    private static final List<Product> CATALOG = List.of(
+        product(1, "SKU-001", "B-4-1"),
+        product(2, "SKU-002", "A-2-1"),
+        product(3, "SKU-003", "Back office")
+    );
+
+    @Mock
+    private ProductDAO productDAO;
+
+    private PickingService pickingService;
+
+    private static Product product(int id, String sku, String location) {
+        return new Product(
+            id, sku, "Product " + id, "", 10.0, 20, 0, 1, location,
+            ProductStatus.AVAILABLE, 1, LocalDateTime.now()
+        );
+    }
+
+    @BeforeEach
+    void setUp() {
+        pickingService = new PickingService(productDAO, null, AccessGuard.forRole(UserRole.PICKER));
+        when(productDAO.newSkuLoader()).thenReturn(BatchLoader.of(
+                skus -> CATALOG.stream().filter(p -> skus.contains(p.sku())).toList(),
+                Product::sku
+        ));
+    }
+
+    @Test
+    @DisplayName("PlanRoute should merge repeated SKUs into one stop")
+    void planRoute_repeatedSku_shouldMergeQuantities() throws ValidationException, SQLException {
+        PickRoute route = pickingService.planRoute(List.of(
+                new PickLine("sku-001", 2), new PickLine("SKU-002", 1), new PickLine("SKU-001", 3)));
+
+        assertEquals(2, route.stops().size());
+        assertEquals("SKU-002", route.stops().get(0).sku());
+        assertEquals(5, route.stops().get(1).quantity());
+    }
+
+    @Test
+    @DisplayName("PlanRoute should list free-form locations as unlocated")
+    void planRoute_freeFormLocation_shouldBeUnlocated() throws ValidationException, SQLException {
+        PickRoute route = pickingService.planRoute(
+                List.of(new PickLine("SKU-003", 1), new PickLine("SKU-002", 1)), RoutingStrategy.S_SHAPE);
+
+        assertEquals(1, route.stops().size());
+        assertEquals("SKU-003", route.unlocated().get(0).sku());
+    }
+
+    @Test
+    @DisplayName("PlanRoute should reject unknown SKUs")
+    void planRoute_unknownSku_shouldThrow() {
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> pickingService.planRoute(List.of(new PickLine("SKU-404", 1))));
+
+        assertTrue(exception.getMessage().contains("SKU-404"));
+    }
+}
@@ -0,0 +1,146 @@
+package com.fredypalacios.service;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fredypalacios.dao.CategoryDAO;
+import com.fredypalacios.dao.H2TestDatabase;
+import com.fredypalacios.dao.ProductDAO;
+import com.fredypalacios.enums.ImportMode;
+import com.fredypalacios.enums.UserRole;
+import com.fredypalacios.model.ImportSummary;
+import com.fredypalacios.model.Product;
+import com.fredypalacios.security.AccessGuard;
+import com.fredypalacios.utils.CsvReader;
+import com.fredypalacios.utils.CsvWriter;
+import com.fredypalacios.utils.ValidationException;
+
+@DisplayName("ProductImportService Tests (H2)")
+class ProductImportServiceTest {
+
+    private static final String HEADER = "sku,name,description,price,stock,min_stock,location,category\n";
+
+    private H2TestDatabase database;
+    private ProductDAO productDAO;
+    private ProductImportService importService;
+    private StringWriter rejects;
+    private List<ImportSummary> progress;
+
+    @BeforeEach
+    void setUp() {
+        database = H2TestDatabase.create();
+        database.execute("INSERT INTO categories (name, description, active) VALUES ('Home', 'Household', 1)");
+        database.execute("INSERT INTO categories (name, description, active) VALUES ('Legacy', 'Retired', 0)");
+        productDAO = new ProductDAO(database.connectionSupplier());
+        importService = new ProductImportService(productDAO, new CategoryDAO(database.connectionSupplier()),
+                AccessGuard.forRole(UserRole.MANAGER));
+        rejects = new StringWriter();
+        progress = new ArrayList<>();
+    }
+
+    private ImportSummary importCsv(String csv, ImportMode mode, int chunkSize)
+            throws IOException, ValidationException, SQLException {
+        return importService.importCsv(new CsvReader(new StringReader(csv)), new CsvWriter(rejects),
+                mode, chunkSize, progress::add);
+    }
+
+    @Test
+    @DisplayName("Valid rows should be inserted in chunks with progress after each")
+    void importCsv_validRows_shouldInsertInChunks() throws Exception {
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int i = 1; i <= 25; i++) {
+            csv.append("SKU-").append(i).append(",Product ").append(i).append(",,9.99,10,2,A-1-").append(i).append(",home\n");
+        }
+
+        ImportSummary summary = importCsv(csv.toString(), ImportMode.INSERT, 10);
+
+        assertEquals(25, summary.read());
+        assertEquals(25, summary.inserted());
+        assertEquals(3, progress.size());
+        assertEquals(25, progress.get(2).read());
+        assertEquals(25, productDAO.findAll().size());
+        assertEquals("A-1-7", productDAO.findBySku("SKU-7").location());
+    }
+
+    @Test
+    @DisplayName("A category retired mid-import should reject the remaining rows")
+    void importCsv_categoryRetiredMidImport_shouldReject() throws Exception {
+        String csv = HEADER
+                + "SKU-1,First,,1.00,1,0,,Home\n"
+                + "SKU-2,Second,,1.00,1,0,,Home\n";
+
+        ImportSummary summary = importService.importCsv(new CsvReader(new StringReader(csv)), new CsvWriter(rejects),
+                ImportMode.INSERT, 1, chunk -> database.execute("UPDATE categories SET active = 0 WHERE name = 'Home'"));
+
+        assertEquals(1, summary.inserted());
+        assertEquals(1, summary.rejected());
+        assertNull(productDAO.findBySku("SKU-2"));
+        assertTrue(rejects.toString().contains("SKU-2,Second,,1.00,1,0,,Home,Category is inactive: Home"));
+    }
+
+    @Test
+    @DisplayName("Invalid rows should go to the reject file with the reason")
+    void importCsv_invalidRows_shouldBeRejected() throws Exception {
+        String csv = HEADER
+                + "SKU-1,Good,,1.00,1,0,,Home\n"
+                + "SKU-2,Bad price,,abc,1,0,,Home\n"
+                + "SKU-3,Retired,,1.00,1,0,,Legacy\n"
+                + "SKU-4,Nowhere,,1.00,1,0,,Garden\n"
+                + "SKU-1,Repeat,,1.00,1,0,,Home\n"
+                + "x,Short sku,,1.00,1,0,,Home\n";
+
+        ImportSummary summary = importCsv(csv, ImportMode.INSERT, 100);
+
+        assertEquals(1, summary.inserted());
+        assertEquals(5, summary.rejected());
+        String rejected = rejects.toString();
+        assertTrue(rejected.startsWith("sku,name,description,price,stock,min_stock,location,category,error"));
+        assertTrue(rejected.contains("Invalid price: abc"));
+        assertTrue(rejected.contains("Category is inactive: Legacy"));
+        assertTrue(rejected.contains("Category does not exist: Garden"));
+        assertTrue(rejected.contains("Duplicate SKU in file: SKU-1"));
+    }
+
+    @Test
+    @DisplayName("Insert mode should reject SKUs that already exist")
+    void importCsv_insertExistingSku_shouldReject() throws Exception {
+        productDAO.create(new Product("SKU-1", "Stored", "", 1.0, 1, 0, "", 1));
+
+        ImportSummary summary = importCsv(HEADER + "SKU-1,Again,,1.00,1,0,,1\n", ImportMode.INSERT, 100);
+
+        assertEquals(0, summary.inserted());
+        assertTrue(rejects.toString().contains("SKU already exists: SKU-1"));
+    }
+
+    @Test
+    @DisplayName("Upsert mode should update existing SKUs")
+    void importCsv_upsert_shouldUpdateExisting() throws Exception {
+        productDAO.create(new Product("SKU-1", "Stored", "", 1.0, 1, 0, "", 1));
+
+        ImportSummary summary = importCsv(
+                HEADER + "SKU-1,Renamed,,1.00,1,0,,Home\nSKU-2,New,,2.00,5,0,,Home\n", ImportMode.UPSERT, 100);
+
+        assertEquals(1, summary.inserted());
+        assertEquals(1, summary.updated());
+        assertEquals("Renamed", productDAO.findBySku("SKU-1").name());
+    }
+
+    @Test
+    @DisplayName("Missing required columns should stop the import")
+    void importCsv_missingColumns_shouldThrow() {
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> importCsv("sku,name\nSKU-1,Thing\n", ImportMode.INSERT, 100));
+
+        assertTrue(exception.getMessage().contains("price"));
+    }
+}
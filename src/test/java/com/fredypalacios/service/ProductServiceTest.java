@@ -18,13 +18,15 @@ import org.junit.jupiter.params.provider.NullAndEmptySource;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import com.fredypalacios.dao.CategoryDAO;
 import com.fredypalacios.dao.ProductDAO;
+import com.fredypalacios.enums.ProductInsertResult;
 import com.fredypalacios.enums.ProductStatus;
-import com.fredypalacios.model.Category;
 import com.fredypalacios.model.Product;
+import com.fredypalacios.model.SkuLookup;
+import com.fredypalacios.security.AccessGuard;
 import com.fredypalacios.utils.ValidationException;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,7 +37,13 @@ class ProductServiceTest {
     private ProductDAO productDAO;
 
     @Mock
-    private CategoryDAO categoryDAO;
+    private UniqueKeyService uniqueKeys;
+
+    @Mock
+    private ProductSearchService searchService;
+
+    @Spy
+    private AccessGuard accessGuard = AccessGuard.system();
 
     @InjectMocks
     private ProductService productService;
@@ -134,6 +142,40 @@ class ProductServiceTest {
         verify(productDAO, times(1)).findBySku("NONEXISTENT");
     }
 
+    @Test
+    @DisplayName("LookupSku should offer suggestions from the search index on a miss")
+    void lookupSku_whenNotExists_shouldSuggest() throws SQLException {
+        Product close = new Product(
+            1, "SKU-001", "Laptop", "Gaming",
+            1299.99, 10, 0, 5, "A-01",
+            ProductStatus.AVAILABLE, 1, LocalDateTime.now()
+        );
+        when(productDAO.findBySku(" SKU-010 ")).thenReturn(null);
+        when(searchService.suggest("SKU-010")).thenReturn(List.of(close));
+
+        SkuLookup lookup = productService.lookupSku(" SKU-010 ");
+
+        assertFalse(lookup.found());
+        assertEquals(List.of(close), lookup.suggestions());
+    }
+
+    @Test
+    @DisplayName("LookupSku should not search for suggestions when the SKU exists")
+    void lookupSku_whenExists_shouldNotSuggest() throws SQLException {
+        Product product = new Product(
+            1, "SKU-001", "Laptop", "Gaming",
+            1299.99, 10, 0, 5, "A-01",
+            ProductStatus.AVAILABLE, 1, LocalDateTime.now()
+        );
+        when(productDAO.findBySku("SKU-001")).thenReturn(product);
+
+        SkuLookup lookup = productService.lookupSku("SKU-001");
+
+        assertEquals(product, lookup.product());
+        assertTrue(lookup.suggestions().isEmpty());
+        verifyNoInteractions(searchService);
+    }
+
     @ParameterizedTest
     @NullAndEmptySource
     @ValueSource(strings = {"   "})
@@ -176,11 +218,9 @@ class ProductServiceTest {
     }
 
     @Test
-    @DisplayName("Create should validate category exists")
-    void create_shouldValidateCategoryExists() throws SQLException, ValidationException {
-        Category category = new Category(1, "Electronics", "Devices", true);
-        when(categoryDAO.findById(1)).thenReturn(category);
-        when(productDAO.create(any(Product.class))).thenReturn(true);
+    @DisplayName("Create should insert through the category-guarded path")
+    void create_shouldInsertWithCategoryGuard() throws SQLException, ValidationException {
+        when(productDAO.createInActiveCategory(any(Product.class))).thenReturn(ProductInsertResult.CREATED);
 
         boolean result = productService.create(
             "SKU-001", "Laptop", "Gaming laptop",
@@ -188,14 +228,51 @@ class ProductServiceTest {
         );
 
         assertTrue(result);
-        verify(categoryDAO, times(1)).findById(1);
-        verify(productDAO, times(1)).create(any(Product.class));
+        verify(productDAO, times(1)).createInActiveCategory(any(Product.class));
+        verify(uniqueKeys).recordSku("SKU-001");
+        verify(productDAO, never()).create(any());
+    }
+
+    @Test
+    @DisplayName("Create should reject a taken SKU before inserting")
+    void create_existingSku_shouldThrowBeforeInsert() throws SQLException {
+        when(uniqueKeys.skuExists("SKU-001")).thenReturn(true);
+
+        ValidationException exception = assertThrows(
+                ValidationException.class,
+                () -> productService.create(
+                "SKU-001", "Laptop", "Gaming",
+                1299.99, 10, 5, "A-01", 1
+            )
+        );
+
+        assertEquals("SKU already exists: SKU-001", exception.getMessage());
+        verify(productDAO, never()).createInActiveCategory(any());
+    }
+
+    @Test
+    @DisplayName("Create should report a unique violation from a concurrent insert as a duplicate")
+    void create_uniqueViolation_shouldThrowValidationException() throws SQLException {
+        when(productDAO.createInActiveCategory(any(Product.class)))
+                .thenThrow(new SQLException("unique constraint violated", "23505"));
+
+        ValidationException exception = assertThrows(
+                ValidationException.class,
+                () -> productService.create(
+                "SKU-001", "Laptop", "Gaming",
+                1299.99, 10, 5, "A-01", 1
+            )
+        );
+
+        assertEquals("SKU already exists: SKU-001", exception.getMessage());
+        verify(uniqueKeys, never()).recordSku(any());
     }
 
     @Test
     @DisplayName("Create should throw exception if category not exists")
     void create_categoryNotExists_shouldThrowException() throws SQLException {
-        when(categoryDAO.findById(999)).thenReturn(null);
+        when(productDAO.createInActiveCategory(any(Product.class)))
+                .thenReturn(ProductInsertResult.CATEGORY_NOT_FOUND);
 
         ValidationException exception = assertThrows(
                 ValidationException.class,
@@ -206,14 +283,13 @@ class ProductServiceTest {
         );
 
         assertEquals("Category does not exist", exception.getMessage());
-        verify(productDAO, never()).create(any());
     }
 
     @Test
     @DisplayName("Create should throw exception if category is inactive")
     void create_inactiveCategory_shouldThrowException() throws SQLException {
-        Category inactiveCategory = new Category(1, "Electronics", "Devices", false);
-        when(categoryDAO.findById(1)).thenReturn(inactiveCategory);
+        when(productDAO.createInActiveCategory(any(Product.class)))
+                .thenReturn(ProductInsertResult.CATEGORY_INACTIVE);
 
         ValidationException exception = assertThrows(
                 ValidationException.class,
@@ -224,15 +300,11 @@ class ProductServiceTest {
         );
 
         assertEquals("Category is inactive", exception.getMessage());
-        verify(productDAO, never()).create(any());
     }
 
     @Test
     @DisplayName("Create with invalid SKU should throw ValidationException")
     void create_withInvalidSKU_shouldThrowException() throws SQLException {
-        Category category = new Category(1, "Electronics", "Devices", true);
-        when(categoryDAO.findById(1)).thenReturn(category);
-
         assertThrows(
             ValidationException.class,
             () -> productService.create(
@@ -241,15 +313,12 @@ class ProductServiceTest {
             )
         );
 
-        verify(productDAO, never()).create(any());
+        verify(productDAO, never()).createInActiveCategory(any());
     }
 
     @Test
     @DisplayName("Create with negative price should throw ValidationException")
     void create_withNegativePrice_shouldThrowException() throws SQLException {
-        Category category = new Category(1, "Electronics", "Devices", true);
-        when(categoryDAO.findById(1)).thenReturn(category);
-
         assertThrows(
             ValidationException.class,
             () -> productService.create(
@@ -258,24 +327,21 @@ class ProductServiceTest {
             )
         );
 
-        verify(productDAO, never()).create(any());
+        verify(productDAO, never()).createInActiveCategory(any());
     }
 
     @Test
     @DisplayName("Create with negative stock should throw ValidationException")
     void create_withNegativeStock_shouldThrowException() throws SQLException {
-        Category category = new Category(1, "Electronics", "Devices", true);
-        when(categoryDAO.findById(1)).thenReturn(category);
-
-    assertThrows(
-        ValidationException.class,
-        () -> productService.create(
-            "SKU-001", "Product", "Desc",
-            99.99, -5, 5, "A-01", 1
-        )
-    );
+        assertThrows(
+            ValidationException.class,
+            () -> productService.create(
+                "SKU-001", "Product", "Desc",
+                99.99, -5, 5, "A-01", 1
+            )
+        );
 
-        verify(productDAO, never()).create(any());
+        verify(productDAO, never()).createInActiveCategory(any());
     }
 
     @Test
@@ -0,0 +1,149 @@
+package com.fredypalacios.service;
+
+import java.io.StringReader;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.fredypalacios.dao.H2TestDatabase;
+import com.fredypalacios.dao.ProductDAO;
+import com.fredypalacios.dao.StockMovementDAO;
+import com.fredypalacios.enums.MovementType;
+import com.fredypalacios.enums.ProductStatus;
+import com.fredypalacios.enums.UserRole;
+import com.fredypalacios.model.Product;
+import com.fredypalacios.model.ReceiptLine;
+import com.fredypalacios.model.ReceiptSummary;
+import com.fredypalacios.model.StockMovement;
+import com.fredypalacios.security.AccessGuard;
+import com.fredypalacios.utils.CsvReader;
+import com.fredypalacios.utils.ValidationException;
+
+@DisplayName("ReceivingService Tests (H2)")
+class ReceivingServiceTest {
+
+    private H2TestDatabase database;
+    private ProductDAO productDAO;
+    private StockMovementDAO stockMovementDAO;
+    private ReceivingService receivingService;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        database = H2TestDatabase.create();
+        database.execute("INSERT INTO categories (name, description, active) VALUES ('Home', 'Household', 1)");
+        productDAO = new ProductDAO(database.connectionSupplier());
+        stockMovementDAO = new StockMovementDAO(database.connectionSupplier());
+        productDAO.create(new Product("SKU-A", "Alpha", null, 2.0, 0, 5, "A-1-1", 1));
+        productDAO.create(new Product("SKU-B", "Bravo", null, 5.0, 20, 2, "A-1-2", 1));
+        receivingService = new ReceivingService(productDAO, AccessGuard.forRole(UserRole.RECEIVER));
+    }
+
+    @Nested
+    @DisplayName("Receive")
+    class ReceiveTests {
+
+        @Test
+        @DisplayName("Every line should raise stock and leave one movement record")
+        void receive_shouldPostStockAndMovements() throws Exception {
+            ReceiptSummary summary = receivingService.receive("asn-1", List.of(
+                new ReceiptLine("sku-a", 3),
+                new ReceiptLine("SKU-B", 10),
+                new ReceiptLine("SKU-A", 4)
+            ));
+
+            assertEquals("ASN-1", summary.reference());
+            assertEquals(3, summary.lines());
+            assertEquals(2, summary.products());
+            assertEquals(17, summary.units());
+
+            Product a = productDAO.findBySku("SKU-A");
+            assertEquals(7, a.stock());
+            assertEquals(ProductStatus.AVAILABLE, a.status());
+            assertEquals(30, productDAO.findBySku("SKU-B").stock());
+
+            List<StockMovement> movements = stockMovementDAO.findByReference("ASN-1");
+            assertEquals(List.of(3, 10, 4), movements.stream().map(StockMovement::quantity).toList());
+            assertTrue(movements.stream().allMatch(m -> m.type() == MovementType.RECEIPT));
+            assertEquals(2, stockMovementDAO.findByProduct(a.id()).size());
+        }
+
+        @Test
+        @DisplayName("An unknown SKU should reject the whole delivery")
+        void receive_unknownSku_shouldPostNothing() throws Exception {
+            ValidationException e = assertThrows(ValidationException.class, () -> receivingService.receive("ASN-2",
+                    List.of(new ReceiptLine("SKU-A", 3), new ReceiptLine("SKU-X", 1))));
+
+            assertTrue(e.getMessage().contains("SKU-X"));
+            assertEquals(0, productDAO.findBySku("SKU-A").stock());
+            assertTrue(stockMovementDAO.findAll().isEmpty());
+        }
+
+        @Test
+        @DisplayName("Posting the same ASN twice should be refused")
+        void receive_sameReference_shouldThrow() throws Exception {
+            receivingService.receive("ASN-3", List.of(new ReceiptLine("SKU-B", 1)));
+
+            assertThrows(ValidationException.class,
+                    () -> receivingService.receive("asn-3", List.of(new ReceiptLine("SKU-B", 1))));
+            assertEquals(21, productDAO.findBySku("SKU-B").stock());
+        }
+
+        @Test
+        @DisplayName("An ASN already in the receipts table should be refused without moving stock")
+        void receive_recordedReference_shouldThrow() throws Exception {
+            // What a concurrent posting of the same ASN leaves behind once it commits
+            database.execute("INSERT INTO receipts (reference) VALUES ('ASN-4')");
+
+            assertThrows(ValidationException.class,
+                    () -> receivingService.receive("ASN-4", List.of(new ReceiptLine("SKU-B", 5))));
+            assertEquals(20, productDAO.findBySku("SKU-B").stock());
+            assertTrue(stockMovementDAO.findAll().isEmpty());
+        }
+
+        @Test
+        @DisplayName("A received product should not be deletable out from under its ledger")
+        void receive_thenDeleteProduct_shouldKeepMovements() throws Exception {
+            receivingService.receive("ASN-5", List.of(new ReceiptLine("SKU-B", 2)));
+            int productId = productDAO.findBySku("SKU-B").id();
+
+            assertThrows(SQLException.class, () -> productDAO.delete(productId));
+            assertEquals(1, stockMovementDAO.findByReference("ASN-5").size());
+        }
+
+        @Test
+        @DisplayName("A missing ASN number should be refused")
+        void receive_blankReference_shouldThrow() {
+            assertThrows(ValidationException.class,
+                    () -> receivingService.receive(" ", List.of(new ReceiptLine("SKU-B", 1))));
+        }
+    }
+
+    @Nested
+    @DisplayName("Read lines")
+    class ReadLinesTests {
+
+        @Test
+        @DisplayName("Columns should be found by name and other columns ignored")
+        void readLines_shouldParseByHeader() throws Exception {
+            List<ReceiptLine> lines = receivingService.readLines(new CsvReader(new StringReader(
+                    "pallet,quantity,sku\nP1,5,sku-a\nP2,7,SKU-B\n")));
+
+            assertEquals(List.of(new ReceiptLine("SKU-A", 5), new ReceiptLine("SKU-B", 7)), lines);
+        }
+
+        @Test
+        @DisplayName("A bad quantity should reject the file with its line number")
+        void readLines_badQuantity_shouldThrow() {
+            ValidationException e = assertThrows(ValidationException.class, () -> receivingService.readLines(
+                    new CsvReader(new StringReader("sku,quantity\nSKU-A,5\nSKU-B,0\n"))));
+
+            assertTrue(e.getMessage().startsWith("Line 3:"));
+        }
+    }
+}
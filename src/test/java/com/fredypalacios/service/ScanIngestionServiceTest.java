@@ -0,0 +1,144 @@
+package com.fredypalacios.service;
+
+import java.io.StringReader;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fredypalacios.dao.H2TestDatabase;
+import com.fredypalacios.dao.ProductDAO;
+import com.fredypalacios.dao.StockMovementDAO;
+import com.fredypalacios.enums.MovementType;
+import com.fredypalacios.enums.UserRole;
+import com.fredypalacios.model.Product;
+import com.fredypalacios.model.ScanSummary;
+import com.fredypalacios.model.StockMovement;
+import com.fredypalacios.security.AccessGuard;
+
+@DisplayName("ScanIngestionService Tests (H2)")
+class ScanIngestionServiceTest {
+
+    private static final AccessGuard RECEIVER = AccessGuard.forRole(UserRole.RECEIVER);
+
+    private H2TestDatabase database;
+    private ProductDAO productDAO;
+    private StockMovementDAO stockMovementDAO;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        database = H2TestDatabase.create();
+        database.execute("INSERT INTO categories (name, description, active) VALUES ('Home', 'Household', 1)");
+        productDAO = new ProductDAO(database.connectionSupplier());
+        stockMovementDAO = new StockMovementDAO(database.connectionSupplier());
+        productDAO.create(new Product("SKU-A", "Alpha", null, 2.0, 0, 5, "A-1-1", 1));
+        productDAO.create(new Product("SKU-B", "Bravo", null, 5.0, 20, 2, "A-1-2", 1));
+    }
+
+    @Test
+    @DisplayName("A stream of scans should be posted as receipts in micro-batches")
+    void ingest_shouldReceiveStockInBatches() throws Exception {
+        ScanIngestionService service = new ScanIngestionService(productDAO, 4, 60_000, 16, RECEIVER);
+        StringBuilder scans = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            scans.append(i % 2 == 0 ? "SKU-A\n" : "SKU-B,3\n");
+        }
+
+        ScanSummary summary = service.ingest(new StringReader(scans.toString()));
+
+        assertEquals(10, summary.scans());
+        assertEquals(20, summary.units());
+        assertEquals(3, summary.batches());
+        assertEquals(5, productDAO.findBySku("SKU-A").stock());
+        assertEquals(35, productDAO.findBySku("SKU-B").stock());
+
+        List<StockMovement> movements = stockMovementDAO.findAll();
+        assertEquals(6, movements.size());
+        assertTrue(movements.stream().allMatch(m -> m.type() == MovementType.RECEIPT
+                && m.reference().startsWith("SCAN-")));
+    }
+
+    @Test
+    @DisplayName("A batch retried after a commit that went through should not be posted twice")
+    void ingest_retryAfterLostCommit_shouldPostOnce() throws Exception {
+        AtomicInteger posts = new AtomicInteger();
+        ProductDAO flaky = new ProductDAO(database.connectionSupplier()) {
+            @Override
+            public List<Integer> postReceipt(String reference, List<StockMovement> movements) throws SQLException {
+                boolean first = posts.incrementAndGet() == 1;
+                List<Integer> missingIds = super.postReceipt(reference, movements);
+                if (first) {
+                    throw new SQLException("Connection reset after commit");
+                }
+                return missingIds;
+            }
+        };
+        ScanIngestionService service = new ScanIngestionService(flaky, 100, 60_000, 100, RECEIVER);
+
+        ScanSummary summary = service.ingest(new StringReader("SKU-A,4\nSKU-B,1\n"));
+
+        assertEquals(2, posts.get());
+        assertEquals(5, summary.units());
+        assertEquals(4, productDAO.findBySku("SKU-A").stock());
+        assertEquals(21, productDAO.findBySku("SKU-B").stock());
+        assertEquals(2, stockMovementDAO.findAll().size());
+    }
+
+    @Test
+    @DisplayName("Unknown SKUs should be skipped without holding up the rest of the batch")
+    void ingest_unknownSku_shouldBeReported() throws Exception {
+        ScanIngestionService service = new ScanIngestionService(productDAO, 100, 60_000, 100, RECEIVER);
+        List<Integer> refreshes = new ArrayList<>();
+        service.addChangeListener(new ProductChangeListener() {
+            @Override
+            public void onProductSaved(Product product) {
+            }
+
+            @Override
+            public void onProductDeleted(int productId) {
+            }
+
+            @Override
+            public void onProductsReplaced() {
+                refreshes.add(1);
+            }
+        });
+
+        ScanSummary summary = service.ingest(new StringReader("SKU-A\nSKU-ZZZ\nSKU-A\n"));
+
+        assertEquals(List.of("SKU-ZZZ"), summary.unknownSkus());
+        assertEquals(2, summary.units());
+        assertEquals(2, productDAO.findBySku("SKU-A").stock());
+        assertEquals(1, refreshes.size());
+    }
+
+    @Test
+    @DisplayName("Products deleted during each retry should all be reported and the rest posted")
+    void ingest_productsDeletedDuringRetries_shouldBeReported() throws Exception {
+        productDAO.create(new Product("SKU-C", "Charlie", null, 1.0, 0, 1, "A-1-3", 1));
+        // Each post first loses one more product, as if another terminal deleted it meanwhile
+        List<String> deletions = new ArrayList<>(List.of("SKU-A", "SKU-B"));
+        ProductDAO racingDAO = new ProductDAO(database.connectionSupplier()) {
+            @Override
+            public List<Integer> postReceipt(String reference, List<StockMovement> movements) throws SQLException {
+                if (!deletions.isEmpty()) {
+                    database.execute("DELETE FROM products WHERE sku = '" + deletions.remove(0) + "'");
+                }
+                return super.postReceipt(reference, movements);
+            }
+        };
+        ScanIngestionService service = new ScanIngestionService(racingDAO, 100, 60_000, 100, RECEIVER);
+
+        ScanSummary summary = service.ingest(new StringReader("SKU-A\nSKU-B\nSKU-C,4\n"));
+
+        assertEquals(List.of("SKU-A", "SKU-B"), summary.unknownSkus().stream().sorted().toList());
+        assertEquals(4, productDAO.findBySku("SKU-C").stock());
+        assertEquals(1, stockMovementDAO.findAll().size());
+    }
+}
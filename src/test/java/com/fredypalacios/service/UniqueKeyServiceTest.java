@@ -0,0 +1,94 @@
+package com.fredypalacios.service;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fredypalacios.dao.H2TestDatabase;
+import com.fredypalacios.dao.ProductDAO;
+import com.fredypalacios.dao.UserDAO;
+
+@DisplayName("UniqueKeyService Tests (H2)")
+class UniqueKeyServiceTest {
+
+    private H2TestDatabase database;
+    private UniqueKeyService uniqueKeys;
+
+    @BeforeEach
+    void setUp() {
+        database = H2TestDatabase.create();
+        database.execute("INSERT INTO categories (name, description, active) VALUES ('Home', 'Household', 1)");
+        database.execute("""
+            INSERT INTO products (sku, name, price, stock, min_stock, status, category_id)
+            VALUES ('SKU-1', 'Lamp', 19.99, 5, 1, 'AVAILABLE', 1)
+            """);
+        database.execute("""
+            INSERT INTO users (username, password, email, full_name, role)
+            VALUES ('picker1', '$2a$12$hash', 'picker@test.com', 'Picker One', 'PICKER')
+            """);
+        uniqueKeys = new UniqueKeyService(new ProductDAO(database.connectionSupplier()),
+                new UserDAO(database.connectionSupplier()));
+    }
+
+    @Test
+    @DisplayName("Checks should go to the database until the filters are loaded")
+    void beforeLoad_shouldLookUpEveryKey() throws SQLException {
+        assertFalse(uniqueKeys.isLoaded());
+        assertTrue(uniqueKeys.skuExists("SKU-1"));
+        assertFalse(uniqueKeys.skuExists("SKU-2"));
+
+        assertEquals(2, uniqueKeys.getLookups());
+        assertEquals(0, uniqueKeys.getSkippedLookups());
+    }
+
+    @Test
+    @DisplayName("Loaded filters should skip the lookup for new keys and confirm existing ones")
+    void afterLoad_shouldSkipLookupForNewKeys() throws SQLException {
+        uniqueKeys.load();
+
+        assertFalse(uniqueKeys.skuExists("SKU-2"));
+        assertFalse(uniqueKeys.usernameExists("receiver1"));
+        assertFalse(uniqueKeys.emailExists("receiver@test.com"));
+        assertEquals(3, uniqueKeys.getSkippedLookups());
+        assertEquals(0, uniqueKeys.getLookups());
+
+        assertTrue(uniqueKeys.skuExists("SKU-1"));
+        assertTrue(uniqueKeys.usernameExists("picker1"));
+        assertTrue(uniqueKeys.emailExists("picker@test.com"));
+        assertEquals(3, uniqueKeys.getLookups());
+    }
+
+    @Test
+    @DisplayName("Recorded keys should be confirmed against the database")
+    void record_shouldMakeKeysPossible() throws SQLException {
+        uniqueKeys.load();
+        database.execute("""
+            INSERT INTO products (sku, name, price, stock, min_stock, status, category_id)
+            VALUES ('SKU-2', 'Chair', 49.99, 3, 1, 'AVAILABLE', 1)
+            """);
+
+        uniqueKeys.recordSku("SKU-2");
+        uniqueKeys.recordUser("receiver1", "receiver@test.com");
+
+        assertTrue(uniqueKeys.skuExists("SKU-2"));
+        assertTrue(uniqueKeys.mightContainUsername("receiver1"));
+        assertTrue(uniqueKeys.mightContainEmail("receiver@test.com"));
+        assertFalse(uniqueKeys.usernameExists("receiver1"));
+    }
+
+    @Test
+    @DisplayName("A single-table service should load only its own keys")
+    void forProducts_shouldLoadProductsOnly() throws SQLException {
+        UniqueKeyService productKeys = UniqueKeyService.forProducts(new ProductDAO(database.connectionSupplier()));
+
+        productKeys.loadIfNeeded();
+
+        assertTrue(productKeys.isLoaded());
+        assertTrue(productKeys.mightContainSku("SKU-1"));
+        assertFalse(productKeys.mightContainSku("SKU-2"));
+    }
+}
@@ -0,0 +1,144 @@
+package com.fredypalacios.service;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fredypalacios.dao.H2TestDatabase;
+import com.fredypalacios.dao.UserDAO;
+import com.fredypalacios.enums.UserRole;
+import com.fredypalacios.model.User;
+import com.fredypalacios.model.UserImportSummary;
+import com.fredypalacios.security.AccessGuard;
+import com.fredypalacios.utils.CsvReader;
+import com.fredypalacios.utils.CsvWriter;
+import com.fredypalacios.utils.PasswordHasher;
+import com.fredypalacios.utils.ValidationException;
+
+@DisplayName("UserImportService Tests (H2)")
+class UserImportServiceTest {
+
+    private static final String HEADER = "username,password,email,full_name,role\n";
+
+    private UserDAO userDAO;
+    private PasswordHashingService hashingService;
+    private UserImportService importService;
+    private StringWriter rejects;
+    private List<UserImportSummary> progress;
+
+    @BeforeEach
+    void setUp() {
+        userDAO = new UserDAO(H2TestDatabase.create().connectionSupplier());
+        hashingService = new PasswordHashingService(2, 4);
+        importService = new UserImportService(userDAO, hashingService, AccessGuard.forRole(UserRole.MANAGER));
+        rejects = new StringWriter();
+        progress = new ArrayList<>();
+    }
+
+    @AfterEach
+    void tearDown() {
+        hashingService.close();
+    }
+
+    private UserImportSummary importCsv(String csv, int batchSize) throws Exception {
+        return importService.importCsv(new CsvReader(new StringReader(csv)), new CsvWriter(rejects),
+                batchSize, progress::add);
+    }
+
+    @Test
+    @DisplayName("Valid rows should be created with hashed passwords in batches")
+    void importCsv_validRows_shouldCreateUsers() throws Exception {
+        StringBuilder csv = new StringBuilder(HEADER);
+        String[] names = {"Ana", "Bruno", "Carla", "Diego", "Elena"};
+        for (int i = 1; i <= names.length; i++) {
+            csv.append("picker").append(i).append(",Season2024").append(i)
+               .append(",picker").append(i).append("@test.com,").append(names[i - 1]).append(" Picker,picker\n");
+        }
+
+        UserImportSummary summary = importCsv(csv.toString(), 2);
+
+        assertEquals(5, summary.read());
+        assertEquals(5, summary.created());
+        assertEquals(0, summary.rejected());
+        assertEquals(4, progress.size());
+        User stored = userDAO.findByUserName("picker3");
+        assertEquals(UserRole.PICKER, stored.role());
+        assertTrue(PasswordHasher.verify("Season20243", stored.password()));
+    }
+
+    @Test
+    @DisplayName("Invalid rows should be rejected without their password")
+    void importCsv_invalidRows_shouldBeRejected() throws Exception {
+        String csv = HEADER
+                + "good_one,Season2024,good@test.com,Good One,receiver\n"
+                + "ab,Season2024,short@test.com,Too Short,picker\n"
+                + "weakpass,weak,weak@test.com,Weak Pass,picker\n"
+                + "badrole,Season2024,role@test.com,Bad Role,janitor\n";
+
+        UserImportSummary summary = importCsv(csv, 10);
+
+        assertEquals(4, summary.read());
+        assertEquals(1, summary.created());
+        assertEquals(3, summary.rejected());
+        String output = rejects.toString();
+        assertTrue(output.contains("Invalid role: janitor"));
+        assertTrue(output.contains("Line 3: Username must be"));
+        assertFalse(output.contains("Season2024"));
+        assertFalse(output.contains(",weak,"));
+    }
+
+    @Test
+    @DisplayName("Every invalid field of a row should be reported in its reject line")
+    void importCsv_invalidFields_shouldAllBeReported() throws Exception {
+        String csv = HEADER + "ab,weak,not-an-email,R2D2,janitor\n";
+
+        UserImportSummary summary = importCsv(csv, 10);
+
+        assertEquals(1, summary.rejected());
+        String output = rejects.toString();
+        assertTrue(output.contains("Line 2: Username must be 3-20 alphanumeric characters or underscores; "
+                + "Password must be at least 8 characters; Invalid email format; "
+                + "Full name can only contain letters and spaces; Invalid role: janitor"));
+    }
+
+    @Test
+    @DisplayName("Duplicates in the file or the table should be reported per row")
+    void importCsv_duplicates_shouldBeRejectedPerRow() throws Exception {
+        userDAO.create(new User("existing", "$2a$12$hash", "taken@test.com", "Existing", UserRole.MANAGER));
+        String csv = HEADER
+                + "existing,Season2024,other@test.com,Same Name,picker\n"
+                + "newname,Season2024,taken@test.com,Same Email,picker\n"
+                + "fresh,Season2024,fresh@test.com,Fresh,picker\n"
+                + "fresh,Season2024,fresh2@test.com,Fresh Again,picker\n"
+                + "fresh3,Season2024,FRESH@test.com,Fresh Email,picker\n";
+
+        UserImportSummary summary = importCsv(csv, 10);
+
+        assertEquals(1, summary.created());
+        assertEquals(4, summary.rejected());
+        String output = rejects.toString();
+        assertTrue(output.contains("Username already exists"));
+        assertTrue(output.contains("Email already exists"));
+        assertTrue(output.contains("Duplicate username in file: fresh"));
+        assertTrue(output.contains("Duplicate email in file: fresh@test.com"));
+        assertNotNull(userDAO.findByUserName("fresh"));
+        assertEquals(2, userDAO.findAll().size());
+    }
+
+    @Test
+    @DisplayName("A header without the required columns should fail the import")
+    void importCsv_missingColumns_shouldThrow() {
+        ValidationException error = assertThrows(ValidationException.class,
+                () -> importCsv("username,email\nsomeone,someone@test.com\n", 10));
+
+        assertTrue(error.getMessage().contains("password"));
+    }
+}
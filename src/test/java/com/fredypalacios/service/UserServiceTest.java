@@ -19,11 +19,13 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.fredypalacios.dao.UserDAO;
 import com.fredypalacios.enums.UserRole;
 import com.fredypalacios.model.User;
+import com.fredypalacios.security.AccessGuard;
 import com.fredypalacios.utils.ValidationException;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +35,15 @@ class UserServiceTest {
     @Mock
     private UserDAO userDAO;
 
+    @Spy
+    private PasswordHashingService hashingService = new PasswordHashingService(2, 16);
+
+    @Mock
+    private UniqueKeyService uniqueKeys;
+
+    @Spy
+    private AccessGuard accessGuard = AccessGuard.system();
+
     @InjectMocks
     private UserService userService;
 
@@ -163,6 +174,7 @@ class UserServiceTest {
         );
 
         assertTrue(result);
+        verify(uniqueKeys).recordUser("admin123", "admin@test.com");
         verify(userDAO, times(1)).create(argThat(user ->
             user.username().equals("admin123") &&
                 !user.password().equals("SecurePass123!") &&
@@ -172,6 +184,23 @@ class UserServiceTest {
         ));
     }
 
+    @Test
+    @DisplayName("Create should reject a taken username or email before hashing")
+    void create_existingKeys_shouldThrowBeforeHashing() throws SQLException {
+        when(uniqueKeys.usernameExists("admin123")).thenReturn(true);
+        when(uniqueKeys.emailExists("taken@test.com")).thenReturn(true);
+
+        ValidationException username = assertThrows(ValidationException.class,
+            () -> userService.create("admin123", "SecurePass123!", "new@test.com", "John Admin", UserRole.MANAGER));
+        ValidationException email = assertThrows(ValidationException.class,
+            () -> userService.create("fresh123", "SecurePass123!", "taken@test.com", "John Admin", UserRole.MANAGER));
+
+        assertEquals("Username already exists: admin123", username.getMessage());
+        assertEquals("Email already exists: taken@test.com", email.getMessage());
+        verify(hashingService, never()).hash(any());
+        verify(userDAO, never()).create(any());
+    }
+
     @Test
     @DisplayName("Create should hash password before saving")
     void create_shouldHashPassword() throws SQLException, ValidationException {
@@ -267,18 +296,18 @@ class UserServiceTest {
                 UserRole.MANAGER, LocalDateTime.now()
         );
         when(userDAO.findById(1)).thenReturn(existingUser);
-        when(userDAO.update(any(User.class))).thenReturn(true);
+        when(userDAO.updatePassword(eq(1), anyString())).thenReturn(true);
         String newPlainPassword = "NewPassword123!";
 
         boolean result = userService.updatePassword(1, newPlainPassword);
 
         assertTrue(result);
-        verify(userDAO, times(1)).update(argThat(user ->
-            user.id() == 1 &&
-                !user.password().equals(newPlainPassword) &&
-                user.password().startsWith("$2a$") &&
-                !user.password().equals("oldHashedPass")
+        verify(userDAO, times(1)).updatePassword(eq(1), argThat(hash ->
+            !hash.equals(newPlainPassword) &&
+                hash.startsWith("$2a$") &&
+                !hash.equals("oldHashedPass")
         ));
+        verify(userDAO, never()).update(any());
     }
 
     @Test
@@ -290,7 +319,7 @@ class UserServiceTest {
 
         assertFalse(result);
         verify(userDAO, times(1)).findById(999);
-        verify(userDAO, never()).update(any());
+        verify(userDAO, never()).updatePassword(anyInt(), any());
     }
 
     @Test
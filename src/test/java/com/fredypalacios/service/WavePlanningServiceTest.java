@@ -0,0 +1,86 @@
+package com.fredypalacios.service;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fredypalacios.dao.H2TestDatabase;
+import com.fredypalacios.dao.ProductDAO;
+import com.fredypalacios.enums.UserRole;
+import com.fredypalacios.model.OrderLine;
+import com.fredypalacios.model.Product;
+import com.fredypalacios.picking.WavePlan;
+import com.fredypalacios.security.AccessDeniedException;
+import com.fredypalacios.security.AccessGuard;
+
+@DisplayName("WavePlanningService Tests (H2)")
+class WavePlanningServiceTest {
+
+    private ProductDAO productDAO;
+    private WavePlanningService wavePlanningService;
+    private final AtomicInteger replaced = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        H2TestDatabase database = H2TestDatabase.create();
+        database.execute("INSERT INTO categories (name, description, active) VALUES ('Home', 'Household', 1)");
+        productDAO = new ProductDAO(database.connectionSupplier());
+        productDAO.create(new Product("SKU-A", "Alpha", null, 2.0, 10, 1, "A-1-1", 1));
+        productDAO.create(new Product("SKU-B", "Bravo", null, 5.0, 10, 1, "B-2-1", 1));
+        wavePlanningService = new WavePlanningService(productDAO, AccessGuard.forRole(UserRole.MANAGER), 40, 150);
+        wavePlanningService.addChangeListener(new ProductChangeListener() {
+            @Override
+            public void onProductSaved(Product product) {
+            }
+
+            @Override
+            public void onProductDeleted(int productId) {
+            }
+
+            @Override
+            public void onProductsReplaced() {
+                replaced.incrementAndGet();
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("Lower-case and padded SKUs should be planned and reserved")
+    void planAndReserve_shouldNormalizeSkus() throws Exception {
+        WavePlan plan = wavePlanningService.planAndReserve(List.of(
+                new OrderLine("O1", " sku-a ", 3),
+                new OrderLine("O2", "Sku-B", 2)), 1);
+
+        assertTrue(plan.held().isEmpty());
+        assertEquals(1, plan.waves().size());
+        assertEquals(3, productDAO.findBySku("SKU-A").reservedStock());
+        assertEquals(2, productDAO.findBySku("SKU-B").reservedStock());
+        assertEquals(1, replaced.get());
+    }
+
+    @Test
+    @DisplayName("Nothing reserved should leave the caches alone")
+    void planAndReserve_nothingReleased_shouldNotNotify() throws Exception {
+        WavePlan plan = wavePlanningService.planAndReserve(List.of(new OrderLine("O1", "SKU-A", 50)), 1);
+
+        assertTrue(plan.waves().isEmpty());
+        assertEquals(0, replaced.get());
+    }
+
+    @Test
+    @DisplayName("Roles without stock reservation should be refused")
+    void planAndReserve_picker_shouldBeDenied() throws Exception {
+        WavePlanningService picker = new WavePlanningService(
+                productDAO, AccessGuard.forRole(UserRole.PICKER), 40, 150);
+
+        assertThrows(AccessDeniedException.class,
+                () -> picker.planAndReserve(List.of(new OrderLine("O1", "SKU-A", 1)), 1));
+        assertEquals(0, productDAO.findBySku("SKU-A").reservedStock());
+    }
+}
@@ -0,0 +1,157 @@
+package com.fredypalacios.snapshot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fredypalacios.enums.ProductStatus;
+import com.fredypalacios.enums.UserRole;
+import com.fredypalacios.model.Category;
+import com.fredypalacios.model.Product;
+import com.fredypalacios.model.User;
+
+class CatalogSnapshotTest {
+
+    private static final LocalDateTime UPDATED = LocalDateTime.of(2024, 5, 17, 9, 30, 15, 123_456_000);
+
+    @TempDir
+    Path directory;
+
+    private static Product product(int id, String location, LocalDateTime lastUpdate) {
+        return new Product(
+            id, "SKU-" + id, "Product " + id, id % 2 == 0 ? null : "Déscription " + id, 19.99 + id,
+            id * 3, id, 2, location, ProductStatus.AVAILABLE, 1 + id % 3, lastUpdate
+        );
+    }
+
+    private Path write(List<Product> products) throws IOException {
+        Path file = directory.resolve("catalog.snap");
+        try (CatalogSnapshotWriter writer = new CatalogSnapshotWriter(file)) {
+            for (Product product : products) {
+                writer.writeProduct(product);
+            }
+            writer.writeCategories(List.of(new Category(1, "Home", "Household", true),
+                    new Category(2, "Legacy", null, false)));
+            writer.writeUsers(List.of(new User(7, "admin", "$2a$12$hash", "admin@example.com",
+                    "Admin User", UserRole.MANAGER, UPDATED)));
+            writer.setSource("WAREHOUSE@jdbc:oracle:thin:@localhost:1521/XEPDB1");
+        }
+        return file;
+    }
+
+    @Test
+    @DisplayName("Every record should read back exactly as written")
+    void open_shouldRoundTripAllSections() throws IOException {
+        List<Product> products = List.of(product(1, "A-1-1", UPDATED), product(2, null, UPDATED.minusDays(1)));
+
+        CatalogSnapshot snapshot = CatalogSnapshot.open(write(products));
+
+        assertEquals(2, snapshot.productCount());
+        assertEquals(products.get(0), snapshot.product(0));
+        assertEquals(products.get(1), snapshot.product(1));
+        assertEquals(UPDATED, snapshot.watermark());
+        assertEquals("WAREHOUSE@jdbc:oracle:thin:@localhost:1521/XEPDB1", snapshot.source());
+        assertEquals(new Category(2, "Legacy", null, false), snapshot.categories().get(1));
+        assertEquals("$2a$12$hash", snapshot.users().get(0).password());
+        assertEquals(UserRole.MANAGER, snapshot.users().get(0).role());
+    }
+
+    @Test
+    @DisplayName("Cursor should walk every product and share dictionary strings")
+    void products_cursor_shouldIterateWithoutObjects() throws IOException {
+        List<Product> products = List.of(
+                product(1, "A-1-1", UPDATED), product(2, "A-1-1", UPDATED), product(3, "B-2-1", UPDATED));
+        CatalogSnapshot.ProductCursor cursor = CatalogSnapshot.open(write(products)).products();
+
+        long stock = 0;
+        String firstLocation = null;
+        int count = 0;
+        while (cursor.next()) {
+            stock += cursor.stock();
+            if (cursor.id() == 1) {
+                firstLocation = cursor.location();
+            } else if (cursor.id() == 2) {
+                assertSame(firstLocation, cursor.location());
+                assertEquals(2199, cursor.priceCents());
+            }
+            count++;
+        }
+
+        assertEquals(3, count);
+        assertEquals(18, stock);
+    }
+
+    @Test
+    @DisplayName("FindById should work with sorted and unsorted ids")
+    void findById_shouldFindProducts() throws IOException {
+        CatalogSnapshot sorted = CatalogSnapshot.open(write(List.of(
+                product(2, "A-1-1", UPDATED), product(5, "A-1-2", UPDATED), product(9, "A-1-3", UPDATED))));
+        assertEquals("SKU-5", sorted.findById(5).sku());
+        assertNull(sorted.findById(4));
+
+        CatalogSnapshot unsorted = CatalogSnapshot.open(write(List.of(
+                product(9, "A-1-1", UPDATED), product(2, "A-1-2", UPDATED))));
+        assertEquals("SKU-2", unsorted.findById(2).sku());
+    }
+
+    @Test
+    @DisplayName("Corrupted files should fail the checksum")
+    void open_corruptedFile_shouldThrow() throws IOException {
+        Path file = write(List.of(product(1, "A-1-1", UPDATED)));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {42}), SnapshotFormat.HEADER_SIZE + 3);
+        }
+
+        IOException exception = assertThrows(IOException.class, () -> CatalogSnapshot.open(file));
+        assertEquals("Snapshot checksum mismatch", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Files that are not snapshots should be rejected")
+    void open_otherFile_shouldThrow() throws IOException {
+        Path file = directory.resolve("other.bin");
+        Files.write(file, new byte[200]);
+
+        assertThrows(IOException.class, () -> CatalogSnapshot.open(file));
+    }
+
+    @Test
+    @DisplayName("Large catalogs should be far smaller than their CSV export")
+    void write_largeCatalog_shouldStayCompact() throws IOException {
+        Path file = directory.resolve("large.snap");
+        long csvBytes = 0;
+        try (CatalogSnapshotWriter writer = new CatalogSnapshotWriter(file)) {
+            for (int id = 1; id <= 50_000; id++) {
+                Product product = product(id, "A-" + id % 40 + "-" + id % 9, UPDATED);
+                writer.writeProduct(product);
+                csvBytes += String.join(",", String.valueOf(product.id()), product.sku(), product.name(),
+                        String.valueOf(product.description()), String.valueOf(product.price()),
+                        String.valueOf(product.stock()), String.valueOf(product.reservedStock()),
+                        String.valueOf(product.minStock()), product.location(), product.status().name(),
+                        String.valueOf(product.categoryId()), product.lastUpdate().toString()).length() + 1;
+            }
+        }
+
+        CatalogSnapshot snapshot = CatalogSnapshot.open(file);
+        CatalogSnapshot.ProductCursor cursor = snapshot.products();
+        int count = 0;
+        while (cursor.next()) {
+            count++;
+        }
+
+        assertEquals(50_000, count);
+        assertEquals("SKU-31337", snapshot.findById(31337).sku());
+        assertTrue(Files.size(file) * 10 < csvBytes * 7);
+    }
+}
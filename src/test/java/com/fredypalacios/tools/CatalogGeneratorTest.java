@@ -0,0 +1,96 @@
+package com.fredypalacios.tools;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fredypalacios.dao.CategoryDAO;
+import com.fredypalacios.dao.H2TestDatabase;
+import com.fredypalacios.dao.ProductDAO;
+import com.fredypalacios.enums.ProductStatus;
+import com.fredypalacios.model.CatalogGenerationSummary;
+import com.fredypalacios.model.Location;
+import com.fredypalacios.model.Product;
+
+@DisplayName("CatalogGenerator Tests (H2)")
+class CatalogGeneratorTest {
+
+    private ProductDAO productDAO;
+    private CategoryDAO categoryDAO;
+
+    @BeforeEach
+    void setUp() {
+        H2TestDatabase database = H2TestDatabase.create();
+        productDAO = new ProductDAO(database.connectionSupplier());
+        categoryDAO = new CategoryDAO(database.connectionSupplier());
+    }
+
+    @Test
+    @DisplayName("Generate should insert every category and product in chunks")
+    void generate_shouldInsertCatalog() throws SQLException {
+        int[] lastProgress = new int[1];
+
+        CatalogGenerationSummary summary = new CatalogGenerator(productDAO, categoryDAO, 7)
+                .generate(40, 25_000, written -> lastProgress[0] = written);
+
+        assertEquals(25_000, summary.products());
+        assertEquals(25_000, productDAO.countAll());
+        assertEquals(40, categoryDAO.countAll());
+        assertEquals(38, categoryDAO.findAllActive().size());
+        assertEquals(25_000, lastProgress[0]);
+        assertEquals("GEN-00000042", productDAO.findBySku("GEN-00000042").sku());
+    }
+
+    @Test
+    @DisplayName("The same seed should produce the same products")
+    void product_sameSeed_shouldBeDeterministic() {
+        int[] categoryIds = {11, 12, 13};
+        CatalogGenerator first = new CatalogGenerator(productDAO, categoryDAO, 42);
+        CatalogGenerator second = new CatalogGenerator(productDAO, categoryDAO, 42);
+        CatalogGenerator other = new CatalogGenerator(productDAO, categoryDAO, 43);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(withoutTimestamp(first.product(i, categoryIds)), withoutTimestamp(second.product(i, categoryIds)));
+        }
+        assertNotEquals(withoutTimestamp(first.product(5, categoryIds)), withoutTimestamp(other.product(5, categoryIds)));
+    }
+
+    @Test
+    @DisplayName("Products should have structured locations, skewed categories and every stock status")
+    void product_shouldFollowDistributions() {
+        CatalogGenerator generator = new CatalogGenerator(productDAO, categoryDAO, 42);
+        int[] categoryIds = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+
+        List<Product> products = IntStream.range(0, 20_000)
+                .mapToObj(i -> generator.product(i, categoryIds))
+                .toList();
+
+        assertTrue(products.stream().allMatch(product -> Location.parse(product.location()) != null));
+        Map<ProductStatus, Long> statuses = products.stream()
+                .collect(Collectors.groupingBy(Product::status, Collectors.counting()));
+        assertEquals(ProductStatus.values().length, statuses.size());
+        long outOfStock = statuses.get(ProductStatus.OUT_OF_STOCK);
+        assertTrue(outOfStock > 1_200 && outOfStock < 2_000, "Out of stock: " + outOfStock);
+
+        Map<Integer, Long> perCategory = products.stream()
+                .collect(Collectors.groupingBy(Product::categoryId, Collectors.counting()));
+        assertTrue(perCategory.get(1) > 4 * perCategory.get(10));
+        assertEquals(products.size(), products.stream().map(Product::sku)
+                .collect(Collectors.toMap(Function.identity(), sku -> 1)).size());
+    }
+
+    private static Product withoutTimestamp(Product product) {
+        return new Product(product.id(), product.sku(), product.name(), product.description(), product.price(),
+                product.stock(), product.reservedStock(), product.minStock(), product.location(), product.status(),
+                product.categoryId(), null);
+    }
+}
@@ -0,0 +1,60 @@
+package com.fredypalacios.utils;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("CSV Reader/Writer Tests")
+class CsvReaderTest {
+
+    private static CsvReader reader(String csv) {
+        return new CsvReader(new StringReader(csv));
+    }
+
+    @Test
+    @DisplayName("Plain records should split on commas and line breaks")
+    void next_plainRecords_shouldSplitFields() throws IOException {
+        CsvReader reader = reader("a,b,c\r\n1,,3\n");
+
+        assertEquals(List.of("a", "b", "c"), reader.next());
+        assertEquals(List.of("1", "", "3"), reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    @DisplayName("Quoted fields should keep commas, quotes and line breaks")
+    void next_quotedFields_shouldKeepSpecialCharacters() throws IOException {
+        CsvReader reader = reader("\"a,b\",\"say \"\"hi\"\"\",\"two\nlines\"\nlast,row");
+
+        assertEquals(List.of("a,b", "say \"hi\"", "two\nlines"), reader.next());
+        assertEquals(List.of("last", "row"), reader.next());
+        assertEquals(3, reader.getLineNumber());
+    }
+
+    @Test
+    @DisplayName("Unterminated quotes should fail with the starting line")
+    void next_unterminatedQuote_shouldThrow() throws IOException {
+        CsvReader reader = reader("ok\n\"broken");
+        reader.next();
+
+        IOException exception = assertThrows(IOException.class, reader::next);
+        assertTrue(exception.getMessage().contains("line 2"));
+    }
+
+    @Test
+    @DisplayName("Written records should read back unchanged")
+    void writeRecord_shouldRoundTrip() throws IOException {
+        StringWriter out = new StringWriter();
+        CsvWriter writer = new CsvWriter(out);
+        writer.writeRecord("plain", "with,comma", "with \"quote\"", "multi\nline");
+        writer.flush();
+
+        assertEquals(List.of("plain", "with,comma", "with \"quote\"", "multi\nline"), reader(out.toString()).next());
+    }
+}
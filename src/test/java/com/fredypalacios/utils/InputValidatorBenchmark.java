@@ -0,0 +1,156 @@
+package com.fredypalacios.utils;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// Validates a batch of user rows, about one in ten invalid, three ways: the former regex and
+// exception checks, the static InputValidator wrappers, and the rules with a reused result.
+// Run with: mvn -q test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+//           -Dexec.args="-cp %classpath org.openjdk.jmh.Main InputValidatorBenchmark"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InputValidatorBenchmark {
+
+    private static final int ROWS = 1_000;
+
+    private String[][] rows;
+    private final ValidationResult result = new ValidationResult();
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        rows = new String[ROWS][];
+        for (int i = 0; i < ROWS; i++) {
+            String[] row = {"user_" + i, "Secret" + i + "pass", "User" + i + "@Example.com", "Full Name", "sku-" + i};
+            if (random.nextInt(10) == 0) {
+                row[random.nextInt(row.length)] = "bad value!";
+            }
+            rows[i] = row;
+        }
+    }
+
+    @Benchmark
+    public void regexWithExceptions(Blackhole blackhole) {
+        for (String[] row : rows) {
+            try {
+                blackhole.consume(RegexValidator.validateUsername(row[0]));
+                blackhole.consume(RegexValidator.validatePassword(row[1]));
+                blackhole.consume(RegexValidator.validateEmail(row[2]));
+                blackhole.consume(RegexValidator.validateFullName(row[3]));
+                blackhole.consume(RegexValidator.validateSku(row[4]));
+            } catch (ValidationException e) {
+                blackhole.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void staticWrappers(Blackhole blackhole) {
+        for (String[] row : rows) {
+            try {
+                blackhole.consume(InputValidator.validateUsername(row[0]));
+                blackhole.consume(InputValidator.validatePassword(row[1]));
+                blackhole.consume(InputValidator.validateEmail(row[2]));
+                blackhole.consume(InputValidator.validateFullName(row[3]));
+                blackhole.consume(InputValidator.validateSKU(row[4]));
+            } catch (ValidationException e) {
+                blackhole.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void rulesWithResult(Blackhole blackhole) {
+        for (String[] row : rows) {
+            result.reset();
+            InputValidator.USERNAME.check(row[0], result);
+            InputValidator.PASSWORD.check(row[1], result);
+            InputValidator.EMAIL.check(row[2], result);
+            InputValidator.FULL_NAME.check(row[3], result);
+            InputValidator.SKU.check(row[4], result);
+            blackhole.consume(result.getErrorCount());
+        }
+    }
+
+    // The validators as they were before the rules, throwing on the first failure
+    private static final class RegexValidator {
+        private static final Pattern USERNAME = Pattern.compile("^[a-zA-Z0-9_]{3,20}$");
+        private static final Pattern EMAIL = Pattern.compile("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
+        private static final Pattern SKU = Pattern.compile("^[A-Z0-9-]{3,50}$");
+
+        static String validateUsername(String username) throws ValidationException {
+            String value = InputValidator.requiredNotEmpty(username, "Username cannot be empty");
+            if (!USERNAME.matcher(value).matches()) {
+                throw new ValidationException("Username must be 3-20 alphanumeric characters or underscores");
+            }
+            return value;
+        }
+
+        static String validatePassword(String password) throws ValidationException {
+            String value = InputValidator.requiredNotEmpty(password, "Password cannot be empty");
+            if (value.length() < 8) {
+                throw new ValidationException("Password must be at least 8 characters");
+            }
+            if (!Pattern.compile("[A-Z]").matcher(value).find()) {
+                throw new ValidationException("Password must contain at least one uppercase letter");
+            }
+            if (!Pattern.compile("[a-z]").matcher(value).find()) {
+                throw new ValidationException("Password must contain at least one lowercase letter");
+            }
+            if (!Pattern.compile("[0-9]").matcher(value).find()) {
+                throw new ValidationException("Password must contain at least one number");
+            }
+            return value;
+        }
+
+        static String validateEmail(String email) throws ValidationException {
+            String value = InputValidator.requiredNotEmpty(email, "Email cannot be empty").toLowerCase();
+            if (!EMAIL.matcher(value).matches()) {
+                throw new ValidationException("Invalid email format");
+            }
+            if (value.length() > 100) {
+                throw new ValidationException("Email is too long (max 100 characters)");
+            }
+            return value;
+        }
+
+        static String validateFullName(String fullName) throws ValidationException {
+            String value = InputValidator.requiredNotEmpty(fullName, "Full name cannot be empty");
+            if (value.length() < 2) {
+                throw new ValidationException("Full name must be at least 2 characters");
+            }
+            if (value.length() > 100) {
+                throw new ValidationException("Full name is too long (max 100 characters)");
+            }
+            if (!value.matches("^[a-zA-Z\\s]+$")) {
+                throw new ValidationException("Full name can only contain letters and spaces");
+            }
+            return value;
+        }
+
+        static String validateSku(String sku) throws ValidationException {
+            String value = InputValidator.requiredNotEmpty(sku, "SKU cannot be empty").toUpperCase();
+            if (!SKU.matcher(value).matches()) {
+                throw new ValidationException("SKU must be 3-50 uppercase alphanumeric characters or hyphens");
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.fredypalacios.utils;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("TextRule Tests")
+class TextRuleTest {
+
+    // The regex checks the rules replaced, kept here as the reference for their messages
+    private static final class RegexValidator {
+        private static final Pattern USERNAME = Pattern.compile("^[a-zA-Z0-9_]{3,20}$");
+        private static final Pattern EMAIL = Pattern.compile("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
+        private static final Pattern SKU = Pattern.compile("^[A-Z0-9-]{3,50}$");
+
+        static String username(String value) {
+            if (value == null || value.isEmpty()) {
+                return "Username cannot be empty";
+            }
+            return USERNAME.matcher(value.trim()).matches()
+                    ? null : "Username must be 3-20 alphanumeric characters or underscores";
+        }
+
+        static String password(String value) {
+            if (value == null || value.isEmpty()) {
+                return "Password cannot be empty";
+            }
+            String password = value.trim();
+            if (password.length() < 8) {
+                return "Password must be at least 8 characters";
+            }
+            if (!Pattern.compile("[A-Z]").matcher(password).find()) {
+                return "Password must contain at least one uppercase letter";
+            }
+            if (!Pattern.compile("[a-z]").matcher(password).find()) {
+                return "Password must contain at least one lowercase letter";
+            }
+            if (!Pattern.compile("[0-9]").matcher(password).find()) {
+                return "Password must contain at least one number";
+            }
+            return null;
+        }
+
+        static String email(String value) {
+            if (value == null || value.isEmpty()) {
+                return "Email cannot be empty";
+            }
+            String email = value.trim().toLowerCase();
+            if (!EMAIL.matcher(email).matches()) {
+                return "Invalid email format";
+            }
+            return email.length() > 100 ? "Email is too long (max 100 characters)" : null;
+        }
+
+        static String fullName(String value) {
+            if (value == null || value.isEmpty()) {
+                return "Full name cannot be empty";
+            }
+            String fullName = value.trim();
+            if (fullName.length() < 2) {
+                return "Full name must be at least 2 characters";
+            }
+            if (fullName.length() > 100) {
+                return "Full name is too long (max 100 characters)";
+            }
+            return fullName.matches("^[a-zA-Z\\s]+$") ? null : "Full name can only contain letters and spaces";
+        }
+
+        static String sku(String value) {
+            if (value == null || value.isEmpty()) {
+                return "SKU cannot be empty";
+            }
+            return SKU.matcher(value.trim().toUpperCase()).matches()
+                    ? null : "SKU must be 3-50 uppercase alphanumeric characters or hyphens";
+        }
+    }
+
+    private static String randomText(Random random, String alphabet, int maxLength) {
+        int length = random.nextInt(maxLength + 1);
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return text.toString();
+    }
+
+    @Nested
+    @DisplayName("Equivalence with the regex checks")
+    class EquivalenceTests {
+
+        private static final String ALPHABET = "aZk9_-.+@ \téıXy0";
+        private static final int SAMPLES = 50_000;
+
+        @Test
+        @DisplayName("Username, password, full name and SKU rules should agree with the regexes")
+        void textRules_shouldMatchRegexes() {
+            Random random = new Random(42);
+            for (int i = 0; i < SAMPLES; i++) {
+                String value = randomText(random, ALPHABET, 24);
+                assertEquals(RegexValidator.username(value), InputValidator.USERNAME.firstError(value), value);
+                assertEquals(RegexValidator.password(value), InputValidator.PASSWORD.firstError(value), value);
+                assertEquals(RegexValidator.fullName(value), InputValidator.FULL_NAME.firstError(value), value);
+                assertEquals(RegexValidator.sku(value), InputValidator.SKU.firstError(value), value);
+            }
+        }
+
+        @Test
+        @DisplayName("Email rule should agree with the regex")
+        void emailRule_shouldMatchRegex() {
+            Random random = new Random(7);
+            String[] samples = {
+                "user@test.com", "a@b.co", "a@b.c", "@b.com", "a@.com", "a@b.", "a@@b.com", "a+b@c-d.org",
+                "a_b@c_d.com", "a@b.c1", "A@B.COM", "  padded@test.com  ", "a@b..com", "a.b@c.d.ef"
+            };
+            for (String sample : samples) {
+                assertEquals(RegexValidator.email(sample), InputValidator.EMAIL.firstError(sample), sample);
+            }
+            for (int i = 0; i < SAMPLES; i++) {
+                String value = randomText(random, "ab1.@-+_ C", 12);
+                assertEquals(RegexValidator.email(value), InputValidator.EMAIL.firstError(value), value);
+            }
+        }
+
+        @Test
+        @DisplayName("Null and empty values should get the required message")
+        void nullAndEmpty_shouldMatchRegexValidator() {
+            for (String value : new String[] {null, "", " "}) {
+                assertEquals(RegexValidator.username(value), InputValidator.USERNAME.firstError(value));
+                assertEquals(RegexValidator.password(value), InputValidator.PASSWORD.firstError(value));
+                assertEquals(RegexValidator.email(value), InputValidator.EMAIL.firstError(value));
+                assertEquals(RegexValidator.fullName(value), InputValidator.FULL_NAME.firstError(value));
+                assertEquals(RegexValidator.sku(value), InputValidator.SKU.firstError(value));
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Result tests")
+    class ResultTests {
+
+        @Test
+        @DisplayName("Check should accumulate one message per failing field")
+        void check_shouldAccumulateMessages() {
+            ValidationResult result = new ValidationResult();
+
+            assertFalse(InputValidator.USERNAME.check("ab", result));
+            assertTrue(InputValidator.EMAIL.check("user@test.com", result));
+            assertFalse(InputValidator.PASSWORD.check("lowercase1", result));
+
+            assertEquals(2, result.getErrorCount());
+            assertEquals("Password must contain at least one uppercase letter", result.getMessage(1));
+            ValidationException exception = assertThrows(ValidationException.class, result::throwIfInvalid);
+            assertEquals("Username must be 3-20 alphanumeric characters or underscores; "
+                    + "Password must contain at least one uppercase letter", exception.getMessage());
+        }
+
+        @Test
+        @DisplayName("Reset should make the result reusable")
+        void reset_shouldClearMessages() throws ValidationException {
+            ValidationResult result = new ValidationResult();
+            for (int i = 0; i < 20; i++) {
+                InputValidator.SKU.check("x", result);
+            }
+            assertEquals(20, result.getErrorCount());
+
+            result.reset();
+
+            assertTrue(result.isValid());
+            assertDoesNotThrow(result::throwIfInvalid);
+        }
+
+        @Test
+        @DisplayName("Normalize should trim and apply the rule's case")
+        void normalize_shouldTrimAndCase() {
+            assertEquals("ABC-1", InputValidator.SKU.normalize("  abc-1 "));
+            assertEquals("user@test.com", InputValidator.EMAIL.normalize(" User@Test.COM"));
+            assertEquals("Ana Maria", InputValidator.FULL_NAME.normalize("Ana Maria "));
+        }
+
+        @Test
+        @DisplayName("Text rule should keep the validateString messages")
+        void text_shouldKeepMessages() {
+            TextRule rule = TextRule.text("Description", 2, 5, false);
+
+            assertEquals("Description cannot be null", rule.firstError(null));
+            assertEquals("Description cannot be empty", rule.firstError("   "));
+            assertEquals("Description must be at least 2 characters", rule.firstError("a"));
+            assertEquals("Description is too long (max 5 characters)", rule.firstError("abcdef"));
+            assertNull(TextRule.text("Description", 0, 5, true).firstError(""));
+        }
+    }
+}